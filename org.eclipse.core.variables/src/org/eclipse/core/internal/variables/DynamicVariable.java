@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.core.internal.variables;
 
+import java.util.Map;
+
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IStatus;
@@ -27,13 +29,41 @@ import org.eclipse.osgi.util.NLS;
  */
 public class DynamicVariable extends StringVariable implements IDynamicVariable {
 
+	/**
+	 * Maximum number of cached values per variable
+	 */
+	private static final int CACHE_SIZE = 64;
+
 	/**
 	 * Resolver, or <code>null</code> until needed
 	 */
 	private IDynamicVariableResolver fResolver;
 
+	/**
+	 * Values by argument, or <code>null</code> if the variable is not declared
+	 * cacheable. The value of a cacheable variable only depends on its argument
+	 * and does not change during a session.
+	 */
+	private final Map<String, String> fValues;
+
 	@Override
 	public String getValue(String argument) throws CoreException {
+		if (fValues == null) {
+			return resolveValue(argument);
+		}
+		synchronized (fValues) {
+			if (fValues.containsKey(argument)) {
+				return fValues.get(argument);
+			}
+		}
+		String value = resolveValue(argument);
+		synchronized (fValues) {
+			fValues.put(argument, value);
+		}
+		return value;
+	}
+
+	private String resolveValue(String argument) throws CoreException {
 		if (!supportsArgument()) {
 			// check for an argument - not supported
 			if (argument != null && argument.length() > 0) {
@@ -68,6 +98,7 @@ public class DynamicVariable extends StringVariable implements IDynamicVariable
 	 */
 	public DynamicVariable(String name, String description, IConfigurationElement configurationElement) {
 		super(name, description, configurationElement);
+		fValues = configurationElement != null && Boolean.parseBoolean(configurationElement.getAttribute("cacheable")) ? new LRUCache<>(CACHE_SIZE) : null; //$NON-NLS-1$
 	}
 
 	@Override
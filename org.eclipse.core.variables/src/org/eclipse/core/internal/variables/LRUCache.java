@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.internal.variables;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Map which evicts its least recently used entry when it grows beyond a
+ * maximum size. Not synchronized.
+ */
+class LRUCache<K, V> extends LinkedHashMap<K, V> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final int fMaxSize;
+
+	/**
+	 * @param maxSize maximum number of entries
+	 */
+	LRUCache(int maxSize) {
+		super(16, 0.75f, true);
+		fMaxSize = maxSize;
+	}
+
+	@Override
+	protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+		return size() > fMaxSize;
+	}
+}
@@ -13,11 +13,10 @@
  *******************************************************************************/
 package org.eclipse.core.internal.variables;
 
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Deque;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
@@ -33,48 +32,18 @@ import org.eclipse.osgi.util.NLS;
  */
 public class StringSubstitutionEngine {
 
-	// delimiters
-	private static final String VARIABLE_START = "${"; //$NON-NLS-1$
-	private static final char VARIABLE_END = '}';
 	private static final char VARIABLE_ARG = ':';
-	// parsing states
-	private static final int SCAN_FOR_START = 0;
-	private static final int SCAN_FOR_END = 1;
 
 	/**
 	 * Resulting string
 	 */
-	private StringBuilder fResult;
+	private String fResult;
 
 	/**
 	 * Whether substitutions were performed
 	 */
 	private boolean fSubs;
 
-	/**
-	 * Stack of variables to resolve
-	 */
-	private Deque<VariableReference> fStack;
-
-	static class VariableReference {
-
-		// the text inside the variable reference
-		private StringBuilder fText;
-
-		public VariableReference() {
-			fText = new StringBuilder();
-		}
-
-		public void append(String text) {
-			fText.append(text);
-		}
-
-		public String getText() {
-			return fText.toString();
-		}
-
-	}
-
 	/**
 	 * Performs recursive string substitution and returns the resulting string.
 	 *
@@ -89,11 +58,11 @@ public class StringSubstitutionEngine {
 	 */
 	public String performStringSubstitution(String expression, boolean reportUndefinedVariables, boolean resolveVariables, IStringVariableManager manager) throws CoreException {
 		substitute(expression, reportUndefinedVariables, resolveVariables, manager);
-		List<HashSet<String>> resolvedVariableSets = new ArrayList<>();
+		List<Set<String>> resolvedVariableSets = new ArrayList<>();
 		while (fSubs) {
-			HashSet<String> resolved = substitute(fResult.toString(), reportUndefinedVariables, true, manager);
+			Set<String> resolved = substitute(fResult, reportUndefinedVariables, true, manager);
 			for(int i=resolvedVariableSets.size()-1; i>=0; i--) {
-				HashSet<String> prevSet = resolvedVariableSets.get(i);
+				Set<String> prevSet = resolvedVariableSets.get(i);
 				if (prevSet.equals(resolved)) {
 					HashSet<String> conflictingSet = new HashSet<>();
 					for (; i<resolvedVariableSets.size(); i++) {
@@ -111,7 +80,7 @@ public class StringSubstitutionEngine {
 
 			resolvedVariableSets.add(resolved);
 		}
-		return fResult.toString();
+		return fResult;
 	}
 
 	/**
@@ -128,7 +97,7 @@ public class StringSubstitutionEngine {
 
 	/**
 	 * Makes a substitution pass of the given expression returns a Set of the variables that were resolved in this
-	 *  pass
+	 *  pass. The expression is parsed once and cached, see {@link SubstitutionTemplate}.
 	 *
 	 * @param expression source expression
 	 * @param reportUndefinedVariables whether to report undefined variables as an error
@@ -137,102 +106,18 @@ public class StringSubstitutionEngine {
 	 * @return the set of {@link String}s resolved from the given expression
 	 * @exception CoreException if unable to resolve a variable
 	 */
-	private HashSet<String> substitute(String expression, boolean reportUndefinedVariables, boolean resolveVariables, IStringVariableManager manager) throws CoreException {
-		fResult = new StringBuilder(expression.length());
-		fStack = new ArrayDeque<>();
+	private Set<String> substitute(String expression, boolean reportUndefinedVariables, boolean resolveVariables, IStringVariableManager manager) throws CoreException {
 		fSubs = false;
-
-		HashSet<String> resolvedVariables = new HashSet<>();
-
-		int pos = 0;
-		int state = SCAN_FOR_START;
-		while (pos < expression.length()) {
-			switch (state) {
-				case SCAN_FOR_START:
-					int start = expression.indexOf(VARIABLE_START, pos);
-					if (start >= 0) {
-						int length = start - pos;
-						// copy non-variable text to the result
-						if (length > 0) {
-							fResult.append(expression.substring(pos, start));
-						}
-						pos = start + 2;
-						state = SCAN_FOR_END;
-
-						fStack.push(new VariableReference());
-					} else {
-						// done - no more variables
-						fResult.append(expression.substring(pos));
-						pos = expression.length();
-					}
-					break;
-				case SCAN_FOR_END:
-					// be careful of nested variables
-					start = expression.indexOf(VARIABLE_START, pos);
-					int end = expression.indexOf(VARIABLE_END, pos);
-					if (end < 0) {
-						// variables are not completed
-						VariableReference tos = fStack.peek();
-						tos.append(expression.substring(pos));
-						pos = expression.length();
-					} else if (start >= 0 && start < end) {
-						// start of a nested variable
-						int length = start - pos;
-						if (length > 0) {
-							VariableReference tos = fStack.peek();
-							tos.append(expression.substring(pos, start));
-						}
-						pos = start + 2;
-						fStack.push(new VariableReference());
-					} else {
-						// end of variable reference
-						VariableReference tos = fStack.pop();
-						String substring = expression.substring(pos, end);
-						tos.append(substring);
-						resolvedVariables.add(substring);
-
-						pos = end + 1;
-						String value= resolve(tos, reportUndefinedVariables, resolveVariables, manager);
-						if (value == null) {
-							value = ""; //$NON-NLS-1$
-						}
-						if (fStack.isEmpty()) {
-							// append to result
-							fResult.append(value);
-							state = SCAN_FOR_START;
-						} else {
-							// append to previous variable
-							tos = fStack.peek();
-							tos.append(value);
-						}
-					}
-					break;
-				default:
-					break;
-			}
-		}
-		// process incomplete variable references
-		while (!fStack.isEmpty()) {
-			VariableReference tos = fStack.pop();
-			if (fStack.isEmpty()) {
-				fResult.append(VARIABLE_START);
-				fResult.append(tos.getText());
-			} else {
-				VariableReference var = fStack.peek();
-				var.append(VARIABLE_START);
-				var.append(tos.getText());
-			}
-		}
-
-
-		return resolvedVariables;
+		SubstitutionTemplate template = SubstitutionTemplate.compile(expression);
+		fResult = template.substitute(text -> resolve(text, reportUndefinedVariables, resolveVariables, manager));
+		return template.getResolvedVariables();
 	}
 
 	/**
 	 * Resolve and return the value of the given variable reference,
 	 * possibly <code>null</code>.
 	 *
-	 * @param var the {@link VariableReference} to try and resolve
+	 * @param text the text of the variable reference to try and resolve
 	 * @param reportUndefinedVariables whether to report undefined variables as
 	 *  an error
 	 * @param resolveVariables whether to resolve the variables value or just to validate that this variable is valid
@@ -240,8 +125,7 @@ public class StringSubstitutionEngine {
 	 * @return variable value, possibly <code>null</code>
 	 * @exception CoreException if unable to resolve a value
 	 */
-	private String resolve(VariableReference var, boolean reportUndefinedVariables, boolean resolveVariables, IStringVariableManager manager) throws CoreException {
-		String text = var.getText();
+	private String resolve(String text, boolean reportUndefinedVariables, boolean resolveVariables, IStringVariableManager manager) throws CoreException {
 		int pos = text.indexOf(VARIABLE_ARG);
 		String name = null;
 		String arg = null;
@@ -263,7 +147,7 @@ public class StringSubstitutionEngine {
 					throw new CoreException(new Status(IStatus.ERROR, VariablesPlugin.getUniqueIdentifier(), VariablesPlugin.INTERNAL_ERROR, NLS.bind(VariablesMessages.StringSubstitutionEngine_3, new String[]{name}), null));
 				}
 				// leave as is
-				return getOriginalVarText(var);
+				return getOriginalVarText(text);
 			}
 
 			if (resolveVariables) {
@@ -271,7 +155,7 @@ public class StringSubstitutionEngine {
 				return dynamicVariable.getValue(arg);
 			}
 			//leave as is
-			return getOriginalVarText(var);
+			return getOriginalVarText(text);
 		}
 
 		if (arg == null) {
@@ -280,16 +164,13 @@ public class StringSubstitutionEngine {
 				return valueVariable.getValue();
 			}
 			//leave as is
-			return getOriginalVarText(var);
+			return getOriginalVarText(text);
 		}
 		// error - an argument specified for a value variable
 		throw new CoreException(new Status(IStatus.ERROR, VariablesPlugin.getUniqueIdentifier(), VariablesPlugin.INTERNAL_ERROR, NLS.bind(VariablesMessages.StringSubstitutionEngine_4, new String[]{valueVariable.getName()}), null));
 	}
 
-	private String getOriginalVarText(VariableReference var) {
-		StringBuilder res = new StringBuilder(var.getText());
-		res.insert(0, VARIABLE_START);
-		res.append(VARIABLE_END);
-		return res.toString();
+	private String getOriginalVarText(String text) {
+		return SubstitutionTemplate.VARIABLE_START + text + SubstitutionTemplate.VARIABLE_END;
 	}
 }
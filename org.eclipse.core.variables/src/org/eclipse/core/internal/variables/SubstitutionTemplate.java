@@ -0,0 +1,252 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.internal.variables;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * An expression parsed into literal text and (possibly nested) variable
+ * references. Parsing an expression once allows to substitute it repeatedly
+ * by only resolving its variable references.
+ * <p>
+ * Templates are immutable and cached by expression.
+ * </p>
+ */
+class SubstitutionTemplate {
+
+	// delimiters
+	static final String VARIABLE_START = "${"; //$NON-NLS-1$
+	static final char VARIABLE_END = '}';
+
+	// parsing states
+	private static final int SCAN_FOR_START = 0;
+	private static final int SCAN_FOR_END = 1;
+
+	/**
+	 * Maximum number of cached templates
+	 */
+	private static final int CACHE_SIZE = 256;
+
+	/**
+	 * Maximum length of cached expressions, longer expressions are parsed on
+	 * every use to bound the memory held by the cache
+	 */
+	private static final int MAX_CACHED_LENGTH = 4096;
+
+	private static final Map<String, SubstitutionTemplate> fgCache = new LRUCache<>(CACHE_SIZE);
+
+	/**
+	 * Resolves the text of a variable reference.
+	 */
+	interface Resolver {
+		/**
+		 * @param text the text inside the variable reference with nested
+		 *            references already resolved
+		 * @return the value, possibly <code>null</code>
+		 * @throws CoreException if unable to resolve the variable
+		 */
+		String resolve(String text) throws CoreException;
+	}
+
+	/**
+	 * Part of an expression.
+	 */
+	private interface Segment {
+		void appendTo(StringBuilder result, Resolver resolver) throws CoreException;
+	}
+
+	private static final class Text implements Segment {
+		private final String fText;
+
+		Text(String text) {
+			fText = text;
+		}
+
+		@Override
+		public void appendTo(StringBuilder result, Resolver resolver) {
+			result.append(fText);
+		}
+	}
+
+	private static final class Reference implements Segment {
+		private final List<Segment> fParts = new ArrayList<>(2);
+		private boolean fTerminated;
+
+		@Override
+		public void appendTo(StringBuilder result, Resolver resolver) throws CoreException {
+			StringBuilder text = new StringBuilder();
+			for (Segment part : fParts) {
+				part.appendTo(text, resolver);
+			}
+			if (fTerminated) {
+				String value = resolver.resolve(text.toString());
+				if (value != null) {
+					result.append(value);
+				}
+			} else {
+				// incomplete references are left as is
+				result.append(VARIABLE_START).append(text);
+			}
+		}
+	}
+
+	private final String fExpression;
+
+	private final Segment[] fSegments;
+
+	private final Set<String> fResolvedVariables;
+
+	private SubstitutionTemplate(String expression, List<Segment> segments, Set<String> resolvedVariables) {
+		fExpression = expression;
+		fSegments = segments.toArray(new Segment[segments.size()]);
+		fResolvedVariables = Collections.unmodifiableSet(resolvedVariables);
+	}
+
+	/**
+	 * Returns the template for the given expression. Templates of expressions
+	 * up to {@link #MAX_CACHED_LENGTH} characters are cached.
+	 *
+	 * @param expression the expression
+	 * @return the parsed expression
+	 */
+	static SubstitutionTemplate compile(String expression) {
+		if (expression.indexOf(VARIABLE_START) < 0) {
+			return new SubstitutionTemplate(expression, Collections.emptyList(), Collections.emptySet());
+		}
+		if (expression.length() > MAX_CACHED_LENGTH) {
+			return parse(expression);
+		}
+		SubstitutionTemplate template;
+		synchronized (fgCache) {
+			template = fgCache.get(expression);
+		}
+		if (template == null) {
+			template = parse(expression);
+			synchronized (fgCache) {
+				fgCache.put(expression, template);
+			}
+		}
+		return template;
+	}
+
+	private static SubstitutionTemplate parse(String expression) {
+		List<Segment> segments = new ArrayList<>();
+		Set<String> resolvedVariables = new HashSet<>();
+		Deque<Reference> stack = new ArrayDeque<>();
+		int pos = 0;
+		int state = SCAN_FOR_START;
+		while (pos < expression.length()) {
+			switch (state) {
+				case SCAN_FOR_START:
+					int start = expression.indexOf(VARIABLE_START, pos);
+					if (start >= 0) {
+						// copy non-variable text
+						if (start > pos) {
+							segments.add(new Text(expression.substring(pos, start)));
+						}
+						pos = start + 2;
+						state = SCAN_FOR_END;
+						stack.push(new Reference());
+					} else {
+						// done - no more variables
+						segments.add(new Text(expression.substring(pos)));
+						pos = expression.length();
+					}
+					break;
+				case SCAN_FOR_END:
+					// be careful of nested variables
+					start = expression.indexOf(VARIABLE_START, pos);
+					int end = expression.indexOf(VARIABLE_END, pos);
+					if (end < 0) {
+						// variables are not completed
+						stack.peek().fParts.add(new Text(expression.substring(pos)));
+						pos = expression.length();
+					} else if (start >= 0 && start < end) {
+						// start of a nested variable
+						if (start > pos) {
+							stack.peek().fParts.add(new Text(expression.substring(pos, start)));
+						}
+						pos = start + 2;
+						stack.push(new Reference());
+					} else {
+						// end of variable reference
+						Reference reference = stack.pop();
+						String substring = expression.substring(pos, end);
+						if (!substring.isEmpty()) {
+							reference.fParts.add(new Text(substring));
+						}
+						reference.fTerminated = true;
+						resolvedVariables.add(substring);
+						pos = end + 1;
+						if (stack.isEmpty()) {
+							segments.add(reference);
+							state = SCAN_FOR_START;
+						} else {
+							stack.peek().fParts.add(reference);
+						}
+					}
+					break;
+				default:
+					break;
+			}
+		}
+		// incomplete variable references
+		while (!stack.isEmpty()) {
+			Reference reference = stack.pop();
+			if (stack.isEmpty()) {
+				segments.add(reference);
+			} else {
+				stack.peek().fParts.add(reference);
+			}
+		}
+		return new SubstitutionTemplate(expression, segments, resolvedVariables);
+	}
+
+	/**
+	 * Returns the variable texts terminated in this expression, used to detect
+	 * reference cycles.
+	 *
+	 * @return unmodifiable set of variable texts
+	 */
+	Set<String> getResolvedVariables() {
+		return fResolvedVariables;
+	}
+
+	/**
+	 * Substitutes the variable references of this template.
+	 *
+	 * @param resolver resolves variable references
+	 * @return the resulting string
+	 * @throws CoreException if unable to resolve a variable
+	 */
+	String substitute(Resolver resolver) throws CoreException {
+		if (fSegments.length == 0) {
+			return fExpression;
+		}
+		StringBuilder result = new StringBuilder(fExpression.length());
+		for (Segment segment : fSegments) {
+			segment.appendTo(result, resolver);
+		}
+		return result.toString();
+	}
+}
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.core;
+
+/**
+ * Describes which debug events a debug event set listener is interested in. A
+ * listener registered with a subscription is only notified of the events of an
+ * event set matching its subscription and is not notified at all if no event
+ * of a set matches.
+ * <p>
+ * An event matches if its kind is one of the subscribed kinds, its detail is
+ * one of the subscribed details (if details are specified) and its source is an
+ * instance of one of the subscribed source types (if source types are
+ * specified).
+ * </p>
+ * <p>
+ * Clients may instantiate this class.
+ * </p>
+ *
+ * @see DebugPlugin#addDebugEventListener(IDebugEventSetListener,
+ *      DebugEventSubscription)
+ * @since 3.21
+ */
+public final class DebugEventSubscription {
+
+	/**
+	 * Bit mask of all debug event kinds.
+	 */
+	public static final int ALL_KINDS = DebugEvent.RESUME | DebugEvent.SUSPEND | DebugEvent.CREATE | DebugEvent.TERMINATE | DebugEvent.CHANGE | DebugEvent.MODEL_SPECIFIC;
+
+	private final int fKinds;
+
+	private final int[] fDetails;
+
+	private final Class<?>[] fSourceTypes;
+
+	/**
+	 * Creates a subscription for events of the given kinds with any detail and
+	 * source.
+	 *
+	 * @param kinds bit mask of event kinds, for example
+	 *            <code>DebugEvent.SUSPEND | DebugEvent.RESUME</code>
+	 */
+	public DebugEventSubscription(int kinds) {
+		this(kinds, null, null);
+	}
+
+	/**
+	 * Creates a subscription for events of the given kinds, details and source
+	 * types.
+	 *
+	 * @param kinds bit mask of event kinds, for example
+	 *            <code>DebugEvent.SUSPEND | DebugEvent.RESUME</code>
+	 * @param details the accepted event details or <code>null</code> to accept
+	 *            any detail
+	 * @param sourceTypes the accepted event source types or <code>null</code>
+	 *            to accept any source
+	 */
+	public DebugEventSubscription(int kinds, int[] details, Class<?>[] sourceTypes) {
+		fKinds = kinds;
+		fDetails = details == null || details.length == 0 ? null : details.clone();
+		fSourceTypes = sourceTypes == null || sourceTypes.length == 0 ? null : sourceTypes.clone();
+	}
+
+	/**
+	 * Returns the bit mask of event kinds this subscription accepts.
+	 *
+	 * @return bit mask of event kinds
+	 */
+	public int getKinds() {
+		return fKinds;
+	}
+
+	/**
+	 * Returns whether the given event matches this subscription.
+	 *
+	 * @param event the event to test
+	 * @return whether the event matches
+	 */
+	public boolean matches(DebugEvent event) {
+		if ((event.getKind() & fKinds) == 0) {
+			return false;
+		}
+		if (fDetails != null) {
+			boolean found = false;
+			for (int detail : fDetails) {
+				if (detail == event.getDetail()) {
+					found = true;
+					break;
+				}
+			}
+			if (!found) {
+				return false;
+			}
+		}
+		if (fSourceTypes != null) {
+			Object source = event.getSource();
+			for (Class<?> type : fSourceTypes) {
+				if (type.isInstance(source)) {
+					return true;
+				}
+			}
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the events of the given set matching this subscription.
+	 *
+	 * @param events the event set
+	 * @return the given array if all events match, the matching events or
+	 *         <code>null</code> if no event matches
+	 */
+	public DebugEvent[] select(DebugEvent[] events) {
+		int matching = 0;
+		for (DebugEvent event : events) {
+			if (matches(event)) {
+				matching++;
+			}
+		}
+		if (matching == events.length) {
+			return events;
+		}
+		if (matching == 0) {
+			return null;
+		}
+		DebugEvent[] selected = new DebugEvent[matching];
+		int index = 0;
+		for (DebugEvent event : events) {
+			if (matches(event)) {
+				selected[index++] = event;
+			}
+		}
+		return selected;
+	}
+}
@@ -25,6 +25,10 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -50,6 +54,7 @@ import org.eclipse.core.runtime.Plugin;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences.IPreferenceChangeListener;
 import org.eclipse.debug.core.model.IDebugElement;
 import org.eclipse.debug.core.model.IDisconnect;
 import org.eclipse.debug.core.model.IDropToFrame;
@@ -63,6 +68,8 @@ import org.eclipse.debug.core.model.IValue;
 import org.eclipse.debug.core.model.RuntimeProcess;
 import org.eclipse.debug.internal.core.BreakpointManager;
 import org.eclipse.debug.internal.core.DebugCoreMessages;
+import org.eclipse.debug.internal.core.DebugEventListenerRegistry;
+import org.eclipse.debug.internal.core.DebugEventListenerRegistry.Registration;
 import org.eclipse.debug.internal.core.DebugOptions;
 import org.eclipse.debug.internal.core.ExpressionManager;
 import org.eclipse.debug.internal.core.IConfigurationElementConstants;
@@ -71,9 +78,13 @@ import org.eclipse.debug.internal.core.LaunchManager;
 import org.eclipse.debug.internal.core.LogicalStructureManager;
 import org.eclipse.debug.internal.core.MemoryBlockManager;
 import org.eclipse.debug.internal.core.Preferences;
+import org.eclipse.debug.internal.core.ProcessExitHandler;
 import org.eclipse.debug.internal.core.StepFilterManager;
+import org.eclipse.debug.internal.core.StreamMonitorScheduler;
 import org.eclipse.debug.internal.core.commands.CommandAdapterFactory;
+import org.eclipse.debug.internal.core.commands.EnabledStateCache;
 import org.eclipse.debug.internal.core.groups.GroupMemberChangeListener;
+import org.eclipse.debug.internal.core.sourcelookup.ParallelSourceLookup;
 import org.eclipse.debug.internal.core.sourcelookup.SourceLookupUtils;
 import org.eclipse.osgi.service.environment.Constants;
 import org.osgi.framework.BundleContext;
@@ -411,7 +422,7 @@ public class DebugPlugin extends Plugin {
 	/**
 	 * The collection of debug event listeners.
 	 */
-	private ListenerList<IDebugEventSetListener> fEventListeners = new ListenerList<>();
+	private final DebugEventListenerRegistry fEventListeners = new DebugEventListenerRegistry();
 
 	/**
 	 * Event filters, or <code>null</code> if none.
@@ -449,7 +460,18 @@ public class DebugPlugin extends Plugin {
 	 *
 	 * @since 3.1
 	 */
-	private List<Object> fEventQueue = new ArrayList<>();
+	private Queue<Object> fEventQueue = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * Number of entries in {@link #fEventQueue}. Maintained separately because
+	 * computing the size of a concurrent queue is expensive.
+	 */
+	private final AtomicInteger fEventQueueDepth = new AtomicInteger();
+
+	/**
+	 * Maximum number of queue entries dispatched in one batch.
+	 */
+	private static final int MAX_EVENT_BATCH_SIZE = 1024;
 
 	/**
 	 * Job to fire events to listeners.
@@ -467,6 +489,21 @@ public class DebugPlugin extends Plugin {
 		EventNotifier fNotifier = new EventNotifier();
 		AsynchRunner fRunner = new AsynchRunner();
 
+		/**
+		 * Whether identical consecutive change event sets are merged, see
+		 * {@link IInternalDebugCoreConstants#PREF_MERGE_CHANGE_EVENTS}
+		 */
+		volatile boolean fMergeChangeEvents;
+
+		/**
+		 * Updates {@link #fMergeChangeEvents} when the preference changes.
+		 */
+		final IPreferenceChangeListener fPreferenceListener = event -> {
+			if (IInternalDebugCoreConstants.PREF_MERGE_CHANGE_EVENTS.equals(event.getKey())) {
+				updateMergeChangeEvents();
+			}
+		};
+
 		/**
 		 * Creates a new event dispatch job.
 		 */
@@ -478,23 +515,80 @@ public class DebugPlugin extends Plugin {
 
 		@Override
 		protected IStatus run(IProgressMonitor monitor) {
-
-			while (!fEventQueue.isEmpty()) {
-				Object next = null;
-				synchronized (fEventQueue) {
-					if (!fEventQueue.isEmpty()) {
-						next = fEventQueue.remove(0);
+			List<Object> batch = new ArrayList<>();
+			while (drainEventQueue(batch) > 0) {
+				boolean merge = fMergeChangeEvents;
+				int merged = 0;
+				for (int i = 0; i < batch.size(); i++) {
+					Object next = batch.get(i);
+					if (next instanceof Runnable) {
+						fRunner.async((Runnable) next);
+					} else if (next != null) {
+						DebugEvent[] events = (DebugEvent[]) next;
+						if (merge && i + 1 < batch.size() && isRedundantChange(events, batch.get(i + 1))) {
+							// the following identical change supersedes this one
+							merged++;
+							continue;
+						}
+						fNotifier.dispatch(events);
 					}
 				}
-				if (next instanceof Runnable) {
-					fRunner.async((Runnable) next);
-				} else if (next != null) {
-					fNotifier.dispatch((DebugEvent[]) next);
+				if (DebugOptions.DEBUG_EVENTS) {
+					DebugOptions.trace("Dispatched " + batch.size() + " queued entries, merged " + merged + ", queue depth " + fEventQueueDepth.get()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 				}
+				batch.clear();
 			}
 			return Status.OK_STATUS;
 		}
 
+		void updateMergeChangeEvents() {
+			fMergeChangeEvents = Platform.getPreferencesService().getBoolean(getUniqueIdentifier(), IInternalDebugCoreConstants.PREF_MERGE_CHANGE_EVENTS, false, null);
+		}
+
+		/**
+		 * Moves the currently queued entries to the given batch.
+		 *
+		 * @param batch list to add queued entries to
+		 * @return number of entries moved
+		 */
+		private int drainEventQueue(List<Object> batch) {
+			Object next;
+			while (batch.size() < MAX_EVENT_BATCH_SIZE && (next = fEventQueue.poll()) != null) {
+				fEventQueueDepth.decrementAndGet();
+				batch.add(next);
+			}
+			return batch.size();
+		}
+
+		/**
+		 * Returns whether the given event set consists only of change events
+		 * which are repeated identically by the next queue entry.
+		 *
+		 * @param events event set to test
+		 * @param next the following queue entry
+		 * @return whether the event set can be skipped
+		 */
+		private boolean isRedundantChange(DebugEvent[] events, Object next) {
+			if (!(next instanceof DebugEvent[])) {
+				return false;
+			}
+			DebugEvent[] nextEvents = (DebugEvent[]) next;
+			if (events.length != nextEvents.length) {
+				return false;
+			}
+			for (int i = 0; i < events.length; i++) {
+				DebugEvent event = events[i];
+				DebugEvent nextEvent = nextEvents[i];
+				if (event.getKind() != DebugEvent.CHANGE || nextEvent.getKind() != DebugEvent.CHANGE
+						|| event.getSource() != nextEvent.getSource()
+						|| event.getDetail() != nextEvent.getDetail()
+						|| !Objects.equals(event.getData(), nextEvent.getData())) {
+					return false;
+				}
+			}
+			return true;
+		}
+
 		@Override
 		public boolean shouldRun() {
 			return shouldSchedule();
@@ -557,7 +651,23 @@ public class DebugPlugin extends Plugin {
 	 * @since 2.0
 	 */
 	public void addDebugEventListener(IDebugEventSetListener listener) {
-		fEventListeners.add(listener);
+		fEventListeners.add(listener, null);
+	}
+
+	/**
+	 * Adds the given listener to the collection of registered debug event
+	 * listeners. The listener is only notified of events matching the given
+	 * subscription and is not notified of event sets without any matching
+	 * event. If an identical listener is already registered its subscription is
+	 * replaced.
+	 *
+	 * @param listener the listener to add
+	 * @param subscription the events the listener is interested in or
+	 *            <code>null</code> for all events
+	 * @since 3.21
+	 */
+	public void addDebugEventListener(IDebugEventSetListener listener, DebugEventSubscription subscription) {
+		fEventListeners.add(listener, subscription);
 	}
 
 	/**
@@ -571,12 +681,16 @@ public class DebugPlugin extends Plugin {
 	 * @since 2.0
 	 */
 	public void fireDebugEventSet(DebugEvent[] events) {
-		if (isShuttingDown() || events == null || fEventListeners.isEmpty()) {
+		if (events == null) {
 			return;
 		}
-		synchronized (fEventQueue) {
-			fEventQueue.add(events);
+		// the model changed, commands must compute their enabled state again
+		EnabledStateCache.invalidateAll();
+		if (isShuttingDown() || fEventListeners.isEmpty()) {
+			return;
 		}
+		fEventQueueDepth.incrementAndGet();
+		fEventQueue.add(events);
 		fEventDispatchJob.schedule();
 	}
 
@@ -590,9 +704,8 @@ public class DebugPlugin extends Plugin {
 	 * @since 2.1
 	 */
 	public void asyncExec(Runnable r) {
-		synchronized (fEventQueue) {
-			fEventQueue.add(r);
-		}
+		fEventQueueDepth.incrementAndGet();
+		fEventQueue.add(r);
 		fEventDispatchJob.schedule();
 	}
 
@@ -714,8 +827,12 @@ public class DebugPlugin extends Plugin {
 
 			fEventListeners.clear();
 			fEventFilters.clear();
+			Preferences.removePreferenceListener(getUniqueIdentifier(), fEventDispatchJob.fPreferenceListener);
 
 			SourceLookupUtils.shutdown();
+			ParallelSourceLookup.shutdown();
+			StreamMonitorScheduler.shutdown();
+			ProcessExitHandler.shutdown();
 			Preferences.savePreferences(DebugPlugin.getUniqueIdentifier());
 			ResourcesPlugin.getWorkspace().removeSaveParticipant(getUniqueIdentifier());
 		} finally {
@@ -728,6 +845,8 @@ public class DebugPlugin extends Plugin {
 	public void start(BundleContext context) throws Exception {
 		super.start(context);
 		new DebugOptions(context);
+		Preferences.addPreferenceListener(getUniqueIdentifier(), fEventDispatchJob.fPreferenceListener);
+		fEventDispatchJob.updateMergeChangeEvents();
 		ResourcesPlugin.getWorkspace().addSaveParticipant(getUniqueIdentifier(),
 				new ISaveParticipant() {
 					@Override
@@ -1196,6 +1315,7 @@ public class DebugPlugin extends Plugin {
 	class EventNotifier implements ISafeRunnable {
 
 		private DebugEvent[] fEvents;
+		private DebugEvent[] fListenerEvents;
 		private IDebugEventSetListener fListener;
 		private IDebugEventFilter fFilter;
 		private int fMode;
@@ -1223,7 +1343,7 @@ public class DebugPlugin extends Plugin {
 					fEvents = fFilter.filterDebugEvents(fEvents);
 					break;
 				case NOTIFY_EVENTS:
-					fListener.handleDebugEvents(fEvents);
+					fListener.handleDebugEvents(fListenerEvents);
 					break;
 				default:
 					break;
@@ -1255,11 +1375,19 @@ public class DebugPlugin extends Plugin {
 					DebugOptions.trace(event.toString());
 				}
 			}
-			for (IDebugEventSetListener iDebugEventSetListener : fEventListeners) {
-				fListener = iDebugEventSetListener;
-				SafeRunner.run(this);
+			int kinds = 0;
+			for (DebugEvent event : fEvents) {
+				kinds |= event.getKind();
+			}
+			for (Registration registration : fEventListeners.getRegistrations(kinds)) {
+				fListenerEvents = registration.select(fEvents);
+				if (fListenerEvents != null) {
+					fListener = registration.getListener();
+					SafeRunner.run(this);
+				}
 			}
 			fEvents = null;
+			fListenerEvents = null;
 			fFilter = null;
 			fListener = null;
 		}
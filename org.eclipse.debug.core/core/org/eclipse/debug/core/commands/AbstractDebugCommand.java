@@ -13,8 +13,13 @@
  *******************************************************************************/
 package org.eclipse.debug.core.commands;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -27,11 +32,18 @@ import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.IRequest;
 import org.eclipse.debug.internal.core.DebugOptions;
+import org.eclipse.debug.internal.core.commands.EnabledStateCache;
 
 /**
  * Abstract implementation of a debug command handler. Handles {@link IDebugCommandRequest}
  * and {@link IEnabledStateRequest} updates asynchronously using jobs.
  * <p>
+ * Enabled state requests for the same elements share one update job while it
+ * is waiting to run. Commands can reuse computed enabled states for the same
+ * elements until the next debug event is fired, see
+ * {@link #isCacheEnabledState()}.
+ * </p>
+ * <p>
  * Clients may subclass this class.
  * </p>
  * @since 3.6
@@ -39,89 +51,170 @@ import org.eclipse.debug.internal.core.DebugOptions;
 public abstract class AbstractDebugCommand implements IDebugCommandHandler {
 
 	/**
-	 * Job to update enabled state of action.
+	 * Job to update enabled state of action. Requests for the same elements
+	 * made before the job runs join it and share its result.
 	 */
 	private class UpdateJob extends Job implements IJobChangeListener {
 
 		/**
-		 * The request to update
+		 * The elements of the requests
+		 */
+		private final List<Object> elements;
+
+		/**
+		 * The request this job was created for
 		 */
-		private IEnabledStateRequest request;
+		private final IEnabledStateRequest first;
+
+		/**
+		 * The requests to update, guarded by {@link #fUpdateJobs}
+		 */
+		private final List<IEnabledStateRequest> requests = new ArrayList<>();
 
 		/**
 		 * Whether this job has been run
 		 */
 		private boolean run = false;
 
+		/**
+		 * Whether requests can no longer join this job, guarded by
+		 * {@link #fUpdateJobs}
+		 */
+		private boolean closed = false;
+
 		/**
 		 * Creates a new job to update the specified request
 		 *
 		 * @param stateRequest the {@link IEnabledStateRequest}
 		 */
-		UpdateJob(IEnabledStateRequest stateRequest) {
+		UpdateJob(List<Object> elements, IEnabledStateRequest stateRequest) {
 			super(getEnabledStateTaskName());
-			request = stateRequest;
+			this.elements = elements;
+			first = stateRequest;
+			requests.add(stateRequest);
 			setSystem(true);
-			setRule(getEnabledStateSchedulingRule(request));
-			getJobManager().addJobChangeListener(this);
+			setRule(getEnabledStateSchedulingRule(stateRequest));
+			addJobChangeListener(this);
+		}
+
+		/**
+		 * Adds a request for the same elements unless the job already runs.
+		 * Must be called while holding {@link #fUpdateJobs}.
+		 *
+		 * @return whether the request joined this job
+		 */
+		boolean join(IEnabledStateRequest stateRequest) {
+			if (closed) {
+				return false;
+			}
+			requests.add(stateRequest);
+			return true;
+		}
+
+		/**
+		 * Stops requests from joining and returns the joined requests.
+		 */
+		private IEnabledStateRequest[] close() {
+			synchronized (fUpdateJobs) {
+				closed = true;
+				if (fUpdateJobs.get(elements) == this) {
+					fUpdateJobs.remove(elements);
+				}
+				return requests.toArray(new IEnabledStateRequest[requests.size()]);
+			}
 		}
 
 		@Override
 		protected IStatus run(IProgressMonitor monitor) {
 			run = true;
+			IEnabledStateRequest[] joined = close();
 			if (DebugOptions.DEBUG_COMMANDS) {
-				DebugOptions.trace("can execute command: " + AbstractDebugCommand.this); //$NON-NLS-1$
+				DebugOptions.trace("can execute command: " + AbstractDebugCommand.this + (joined.length > 1 ? " (" + joined.length + " requests)" : "")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 			}
 			if (monitor.isCanceled()) {
 				if (DebugOptions.DEBUG_COMMANDS) {
 					DebugOptions.trace(" >> *CANCELED* <<"); //$NON-NLS-1$
 				}
-				request.cancel();
+				cancelAll(joined);
 			}
-			Object[] elements = request.getElements();
-			Object[] targets = new Object[elements.length];
-			if (!request.isCanceled()) {
-				for (int i = 0; i < elements.length; i++) {
-					targets[i] = getTarget(elements[i]);
+			// one evaluation for all requests, the first one not canceled
+			// is passed to isExecutable()
+			IEnabledStateRequest request = null;
+			for (IEnabledStateRequest r : joined) {
+				if (!r.isCanceled()) {
+					request = r;
+					break;
+				}
+			}
+			if (request != null) {
+				long generation = EnabledStateCache.getGeneration();
+				Object[] targets = new Object[elements.size()];
+				for (int i = 0; i < targets.length; i++) {
+					targets[i] = getTarget(elements.get(i));
 					if (targets[i] == null) {
-						request.setEnabled(false);
-						request.cancel();
+						for (IEnabledStateRequest r : joined) {
+							r.setEnabled(false);
+						}
+						cancelAll(joined);
 						if (DebugOptions.DEBUG_COMMANDS) {
 							DebugOptions.trace(" >> false (no adapter)"); //$NON-NLS-1$
 						}
+						break;
 					}
 				}
 				if (monitor.isCanceled()) {
-					request.cancel();
+					cancelAll(joined);
 				}
-			}
-			if (!request.isCanceled()) {
-				targets = coalesce(targets);
-				monitor.beginTask(getEnabledStateTaskName(), targets.length);
-				try {
-					boolean executable = isExecutable(targets, monitor, request);
-					if (DebugOptions.DEBUG_COMMANDS) {
-						DebugOptions.trace(" >> " + executable); //$NON-NLS-1$
-					}
-					request.setEnabled(executable);
-				} catch (CoreException e) {
-					request.setStatus(e.getStatus());
-					request.setEnabled(false);
-					if (DebugOptions.DEBUG_COMMANDS) {
-						DebugOptions.trace(" >> ABORTED"); //$NON-NLS-1$
-						DebugOptions.trace("\t" + e.getStatus().getMessage()); //$NON-NLS-1$
+				if (!request.isCanceled()) {
+					targets = coalesce(targets);
+					monitor.beginTask(getEnabledStateTaskName(), targets.length);
+					try {
+						boolean executable = isExecutable(targets, monitor, request);
+						if (DebugOptions.DEBUG_COMMANDS) {
+							DebugOptions.trace(" >> " + executable); //$NON-NLS-1$
+						}
+						IStatus status = request.getStatus();
+						EnabledStateCache cache = getEnabledStateCache();
+						if (cache != null && !request.isCanceled() && (status == null || status.isOK())) {
+							cache.put(elements, executable, generation);
+						}
+						for (IEnabledStateRequest r : joined) {
+							r.setEnabled(executable);
+							if (r != request && status != null) {
+								r.setStatus(status);
+							}
+						}
+					} catch (CoreException e) {
+						for (IEnabledStateRequest r : joined) {
+							r.setStatus(e.getStatus());
+							r.setEnabled(false);
+						}
+						if (DebugOptions.DEBUG_COMMANDS) {
+							DebugOptions.trace(" >> ABORTED"); //$NON-NLS-1$
+							DebugOptions.trace("\t" + e.getStatus().getMessage()); //$NON-NLS-1$
+						}
 					}
 				}
 			}
-			monitor.setCanceled(request.isCanceled());
-			request.done();
+			boolean canceled = true;
+			for (IEnabledStateRequest r : joined) {
+				canceled &= r.isCanceled();
+				r.done();
+			}
+			monitor.setCanceled(canceled);
 			monitor.done();
 			return Status.OK_STATUS;
 		}
 
+		private void cancelAll(IEnabledStateRequest[] joined) {
+			for (IEnabledStateRequest r : joined) {
+				r.cancel();
+			}
+		}
+
 		@Override
 		public boolean belongsTo(Object family) {
-			Object myFamily = getEnabledStateJobFamily(request);
+			Object myFamily = getEnabledStateJobFamily(first);
 			if (myFamily != null) {
 				return myFamily.equals(family);
 			}
@@ -138,15 +231,15 @@ public abstract class AbstractDebugCommand implements IDebugCommandHandler {
 
 		@Override
 		public void done(IJobChangeEvent event) {
-			if (event.getJob() == this) {
-				if (!run) {
-					request.cancel();
-					request.done();
-					if (DebugOptions.DEBUG_COMMANDS) {
-						DebugOptions.trace(" >> *CANCELED* <<" + AbstractDebugCommand.this); //$NON-NLS-1$
-					}
+			if (!run) {
+				// canceled before running
+				for (IEnabledStateRequest r : close()) {
+					r.cancel();
+					r.done();
+				}
+				if (DebugOptions.DEBUG_COMMANDS) {
+					DebugOptions.trace(" >> *CANCELED* <<" + AbstractDebugCommand.this); //$NON-NLS-1$
 				}
-				getJobManager().removeJobChangeListener(this);
 			}
 		}
 
@@ -164,11 +257,22 @@ public abstract class AbstractDebugCommand implements IDebugCommandHandler {
 
 		@Override
 		public String toString() {
-			return getName() + " on " + request; //$NON-NLS-1$
+			return getName() + " on " + first; //$NON-NLS-1$
 		}
 
 	}
 
+	/**
+	 * Update jobs not yet running by the elements they update, guarded by
+	 * itself
+	 */
+	private final Map<List<Object>, UpdateJob> fUpdateJobs = new HashMap<>();
+
+	/**
+	 * Recently computed enabled states, created on first use if enabled
+	 */
+	private EnabledStateCache fEnabledStates;
+
 	/**
 	 * Scheduling rule to serialize commands on an object
 	 */
@@ -251,10 +355,58 @@ public abstract class AbstractDebugCommand implements IDebugCommandHandler {
 
 	@Override
 	public void canExecute(final IEnabledStateRequest request) {
-		Job job = new UpdateJob(request);
+		List<Object> elements = Arrays.asList(request.getElements());
+		EnabledStateCache cache = getEnabledStateCache();
+		Boolean enabled = cache != null ? cache.get(elements) : null;
+		if (enabled != null) {
+			if (DebugOptions.DEBUG_COMMANDS) {
+				DebugOptions.trace("can execute command: " + this + " >> " + enabled + " (cached)"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			}
+			request.setEnabled(enabled.booleanValue());
+			request.done();
+			return;
+		}
+		UpdateJob job;
+		synchronized (fUpdateJobs) {
+			job = fUpdateJobs.get(elements);
+			if (job != null && job.join(request)) {
+				// the scheduled update answers this request too
+				return;
+			}
+			job = new UpdateJob(elements, request);
+			fUpdateJobs.put(elements, job);
+		}
 		job.schedule();
 	}
 
+	/**
+	 * Returns whether the enabled state computed for elements is reused for
+	 * later requests for the same elements, until the next debug event is
+	 * fired. Only commands whose enabled state depends solely on the state of
+	 * the debug model, as reported by debug events, should cache it. A state
+	 * computed with an error status is never cached.
+	 * <p>
+	 * Returns <code>false</code> by default. Subclasses may override.
+	 * </p>
+	 *
+	 * @return whether computed enabled states are cached
+	 * @since 3.21
+	 */
+	protected boolean isCacheEnabledState() {
+		return false;
+	}
+
+	/**
+	 * Returns the cache of computed enabled states or <code>null</code> if
+	 * this command does not cache them.
+	 */
+	private synchronized EnabledStateCache getEnabledStateCache() {
+		if (fEnabledStates == null && isCacheEnabledState()) {
+			fEnabledStates = new EnabledStateCache();
+		}
+		return fEnabledStates;
+	}
+
 	/**
 	 * Returns the name to use for a job and progress monitor task names when performing
 	 * an {@link IEnabledStateRequest}.
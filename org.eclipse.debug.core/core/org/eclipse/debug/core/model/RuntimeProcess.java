@@ -20,9 +20,11 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import org.eclipse.core.runtime.CoreException;
@@ -37,6 +39,7 @@ import org.eclipse.debug.core.ILaunch;
 import org.eclipse.debug.core.ILaunchConfiguration;
 import org.eclipse.debug.internal.core.DebugCoreMessages;
 import org.eclipse.debug.internal.core.NullStreamsProxy;
+import org.eclipse.debug.internal.core.ProcessExitHandler;
 import org.eclipse.debug.internal.core.StreamsProxy;
 
 /**
@@ -73,11 +76,21 @@ public class RuntimeProcess extends PlatformObject implements IProcess {
 	private int fExitValue;
 
 	/**
-	 * The monitor which listens for this runtime process' system process
-	 * to terminate.
+	 * Completes when this runtime process' system process terminated.
+	 */
+	private final CompletableFuture<Process> fProcessExit;
+
+	/**
+	 * The monitor which waits for a system process not implemented by the JDK
+	 * to terminate, <code>null</code> for JDK processes.
 	 */
 	private final ProcessMonitorThread fMonitor;
 
+	/**
+	 * Whether the termination of the system process was handled.
+	 */
+	private final AtomicBoolean fExitHandled = new AtomicBoolean();
+
 	/**
 	 * The streams proxy for this process
 	 */
@@ -152,12 +165,31 @@ public class RuntimeProcess extends PlatformObject implements IProcess {
 		fThreadNameSuffix = getPidInfo(process, launch);
 
 		fStreamsProxy = createStreamsProxy();
-		fMonitor = new ProcessMonitorThread(fThreadNameSuffix);
-		fMonitor.start();
+		if (isJdkProcess(process)) {
+			fMonitor = null;
+			fProcessExit = process.onExit();
+			fProcessExit.whenComplete((exited, error) -> ProcessExitHandler.execute(this::handleExit));
+		} else {
+			// the default onExit() blocks a common pool thread, use an own one
+			fProcessExit = new CompletableFuture<>();
+			fMonitor = new ProcessMonitorThread(fThreadNameSuffix);
+			fMonitor.start();
+		}
 		launch.addProcess(this);
 		fireCreationEvent();
 	}
 
+	/**
+	 * Returns whether the given process is implemented by the JDK, which
+	 * detects the exit of its processes without blocking a thread per process.
+	 *
+	 * @param process the system process
+	 * @return whether {@link Process#onExit()} can be used for the process
+	 */
+	private static boolean isJdkProcess(Process process) {
+		return process.getClass().getModule() == Process.class.getModule();
+	}
+
 	private static String getPidInfo(Process process, ILaunch launch) {
 		String pid;
 		ILaunchConfiguration lc = launch == null ? null : launch.getLaunchConfiguration();
@@ -257,15 +289,15 @@ public class RuntimeProcess extends PlatformObject implements IProcess {
 
 				// await termination of process and descendants
 				try { // (in total don't wait longer than TERMINATION_TIMEOUT)
-					long waitStart = System.currentTimeMillis();
-					if (process.waitFor(TERMINATION_TIMEOUT, TimeUnit.MILLISECONDS)) {
-						fExitValue = process.exitValue();
-						if (waitFor(descendants, waitStart)) {
-							return;
-						}
-					}
+					getExit(process, descendants).get(TERMINATION_TIMEOUT, TimeUnit.MILLISECONDS);
+					fExitValue = process.exitValue();
+					return;
 				} catch (InterruptedException e) {
 					Thread.currentThread().interrupt();
+				} catch (ExecutionException e) { // should not happen
+					throw new IllegalStateException(e.getCause());
+				} catch (TimeoutException e) {
+					// process or any descendant did not terminate in time
 				}
 			} finally {
 				if (fStreamsProxy instanceof StreamsProxy) {
@@ -273,40 +305,56 @@ public class RuntimeProcess extends PlatformObject implements IProcess {
 				}
 			}
 
-			// clean-up
-			fMonitor.killThread();
+			// clean-up, stop waiting for the process
+			if (fMonitor != null) {
+				fMonitor.killThread();
+			}
+			ProcessExitHandler.execute(this::handleExit);
 			IStatus status = new Status(IStatus.ERROR, DebugPlugin.getUniqueIdentifier(), DebugException.TARGET_REQUEST_FAILED, DebugCoreMessages.RuntimeProcess_terminate_failed, null);
 			throw new DebugException(status);
 		}
 	}
 
 	/**
-	 * Awaits the termination of the processes of the given ProcessHandles.
-	 * <p>
-	 * If all of the specified processes terminate before {@code waitStart} +
-	 * {@link #TERMINATION_TIMEOUT} this methods returns {@code true}. If any
-	 * process has not terminated until the so specified timeout this methods
-	 * aborts waiting and returns {@code false}.
-	 * </p>
+	 * Returns a future completing when the given process and all given
+	 * descendants have terminated.
 	 *
-	 * @param descendants the list of handles to the processes to await
-	 * @param waitStart the time when await of the process termination started
-	 * @return true if each process has terminated (before timeout), else false
-	 * @throws InterruptedException if the current thread was interrupted while
-	 *             waiting
+	 * @param process the system process
+	 * @param descendants the handles to the descendants of the process
+	 * @return future completing when all processes have terminated
+	 */
+	private CompletableFuture<Void> getExit(Process process, List<ProcessHandle> descendants) {
+		CompletableFuture<?>[] exits = new CompletableFuture<?>[descendants.size() + 1];
+		exits[0] = process == fProcess ? fProcessExit : process.onExit();
+		for (int i = 0; i < descendants.size(); i++) {
+			exits[i + 1] = descendants.get(i).onExit();
+		}
+		return CompletableFuture.allOf(exits);
+	}
+
+	/**
+	 * Handles the termination of the system process on a thread of the
+	 * {@link ProcessExitHandler}, which is named after this process meanwhile.
+	 * For JDK processes the exit itself is detected by
+	 * {@link Process#onExit()}, so no thread is blocked per process.
 	 */
-	private boolean waitFor(List<ProcessHandle> descendants, long waitStart) throws InterruptedException {
+	private void handleExit() {
+		Thread thread = Thread.currentThread();
+		String name = thread.getName();
+		thread.setName(DebugCoreMessages.ProcessMonitorJob_0 + fThreadNameSuffix);
 		try {
-			for (ProcessHandle handle : descendants) {
-				long remainingTime = TERMINATION_TIMEOUT - (System.currentTimeMillis() - waitStart);
-				// await termination of this descendant
-				handle.onExit().get(remainingTime, TimeUnit.MILLISECONDS);
-			}
-			return true;
-		} catch (ExecutionException e) { // should not happen
-			throw new IllegalStateException(e.getCause());
-		} catch (TimeoutException e) {
-			return false; // any sub-processes timed out
+			processExited();
+		} finally {
+			thread.setName(name);
+		}
+	}
+
+	/**
+	 * Handles the termination of the system process once.
+	 */
+	private void processExited() {
+		if (fExitHandled.compareAndSet(false, true)) {
+			terminated();
 		}
 	}
 
@@ -475,8 +523,8 @@ public class RuntimeProcess extends PlatformObject implements IProcess {
 	}
 
 	/**
-	 * Monitors a system process, waiting for it to terminate, and
-	 * then notifies the associated runtime process.
+	 * Monitors a system process not implemented by the JDK, waiting for it to
+	 * terminate, and then notifies the associated runtime process.
 	 */
 	private class ProcessMonitorThread extends Thread {
 
@@ -494,11 +542,12 @@ public class RuntimeProcess extends PlatformObject implements IProcess {
 			if (!fExit && fOSProcess != null) {
 				try {
 					fOSProcess.waitFor();
+					fProcessExit.complete(fOSProcess);
 				} catch (InterruptedException ie) {
 					// clear interrupted state
 					Thread.interrupted();
 				} finally {
-					RuntimeProcess.this.terminated();
+					RuntimeProcess.this.processExited();
 				}
 			}
 		}
@@ -36,6 +36,7 @@ import org.eclipse.debug.core.ILaunchManager;
 import org.eclipse.debug.core.IStatusHandler;
 import org.eclipse.debug.core.model.IStackFrame;
 import org.eclipse.debug.core.sourcelookup.containers.DefaultSourceContainer;
+import org.eclipse.debug.internal.core.sourcelookup.SourceLookupCache;
 import org.eclipse.debug.internal.core.sourcelookup.SourceLookupMessages;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -89,6 +90,8 @@ public abstract class AbstractSourceLookupDirector implements ISourceLookupDirec
 	protected Map<Object, Object> fResolvedElements = null;
 	// current participant performing lookup or <code>null</code>
 	private ISourceLookupParticipant fCurrentParticipant;
+	// cache of lookup results for the current source containers, or <code>null</code>
+	private SourceLookupCache fLookupCache;
 
 	protected static final IStatus fPromptStatus = new Status(IStatus.INFO, "org.eclipse.debug.ui", 200, "", null);  //$NON-NLS-1$//$NON-NLS-2$
 	protected static final IStatus fResolveDuplicatesStatus = new Status(IStatus.INFO, "org.eclipse.debug.ui", 205, "", null);  //$NON-NLS-1$//$NON-NLS-2$
@@ -219,6 +222,7 @@ public abstract class AbstractSourceLookupDirector implements ISourceLookupDirec
 		}
 		fSourceContainers = null;
 		fResolvedElements = null;
+		disposeLookupCache();
 	}
 
 	/**
@@ -442,6 +446,7 @@ public abstract class AbstractSourceLookupDirector implements ISourceLookupDirec
 			for (ISourceContainer container : containers) {
 				container.init(this);
 			}
+			disposeLookupCache();
 		}
 		// clear resolved duplicates
 		fResolvedElements = null;
@@ -649,6 +654,13 @@ public abstract class AbstractSourceLookupDirector implements ISourceLookupDirec
 
 	@Override
 	public void clearSourceElements(Object element) {
+		SourceLookupCache cache;
+		synchronized (this) {
+			cache = fLookupCache;
+		}
+		if (cache != null) {
+			cache.clear();
+		}
 		List<Object> list = doSourceLookup(element);
 		if (list.size() > 0) {
 			for (Object obj : list) {
@@ -721,6 +733,30 @@ public abstract class AbstractSourceLookupDirector implements ISourceLookupDirec
 		}
 	}
 
+	/**
+	 * Returns the cache of lookup results for the current source containers,
+	 * or <code>null</code> if lookup results are not cached.
+	 *
+	 * @return lookup result cache or <code>null</code>
+	 */
+	synchronized SourceLookupCache getLookupCache() {
+		if (fLookupCache == null && fSourceContainers != null) {
+			fLookupCache = SourceLookupCache.create(getId(), fSourceContainers);
+		}
+		return fLookupCache;
+	}
+
+	/**
+	 * Disposes the cache of lookup results for the previous source
+	 * containers.
+	 */
+	private synchronized void disposeLookupCache() {
+		if (fLookupCache != null) {
+			fLookupCache.dispose();
+			fLookupCache = null;
+		}
+	}
+
 	/**
 	 * Sets the current participant or <code>null</code> if none.
 	 *
@@ -21,6 +21,8 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
 import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.internal.core.sourcelookup.ParallelSourceLookup;
+import org.eclipse.debug.internal.core.sourcelookup.SourceLookupCache;
 import org.eclipse.debug.internal.core.sourcelookup.SourceLookupMessages;
 
 
@@ -57,23 +59,53 @@ public abstract class AbstractSourceLookupParticipant implements ISourceLookupPa
 		}
 		String name = getSourceName(object);
 		if (name != null) {
+			SourceLookupCache cache = getLookupCache();
+			String key = null;
+			if (cache != null) {
+				key = SourceLookupCache.getKey(this, name, results != null);
+				Object[] cached = cache.get(key);
+				if (cached != null) {
+					return cached;
+				}
+			}
 			ISourceContainer[] containers = getSourceContainers();
-			for (ISourceContainer c : containers) {
+			Object[] outcomes = null;
+			int parallelism = ParallelSourceLookup.getParallelism();
+			if (parallelism > 1 && containers.length > 1) {
+				ISourceContainer[] delegates = new ISourceContainer[containers.length];
+				for (int i = 0; i < containers.length; i++) {
+					delegates[i] = getDelegateContainer(containers[i]);
+				}
+				outcomes = ParallelSourceLookup.search(delegates, name, results != null, parallelism);
+			}
+			for (int i = 0; i < containers.length; i++) {
 				try {
-					ISourceContainer container = getDelegateContainer(c);
-					if (container != null) {
-						Object[] objects = container.findSourceElements(name);
-						if (objects.length > 0) {
-							//it will only not be null when we care about duplicates
-							//saves the computation in isFindDuplicates()
-							if (results != null) {
-								Collections.addAll(results, objects);
-							} else {
-								if (objects.length == 1) {
-									return objects;
-								}
-								return new Object[]{objects[0]};
+					Object[] objects = null;
+					if (outcomes == null) {
+						ISourceContainer container = getDelegateContainer(containers[i]);
+						if (container != null) {
+							objects = container.findSourceElements(name);
+						}
+					} else if (outcomes[i] instanceof CoreException) {
+						throw (CoreException) outcomes[i];
+					} else {
+						// null when an earlier container answered first
+						objects = (Object[]) outcomes[i];
+					}
+					if (objects != null && objects.length > 0) {
+						//it will only not be null when we care about duplicates
+						//saves the computation in isFindDuplicates()
+						if (results != null) {
+							Collections.addAll(results, objects);
+						} else {
+							if (objects.length != 1) {
+								objects = new Object[] { objects[0] };
+							}
+							if (cache != null && single == null) {
+								// an earlier container may find it once it recovers
+								cache.put(key, objects);
 							}
+							return objects;
 						}
 					}
 				} catch (CoreException e) {
@@ -87,6 +119,10 @@ public abstract class AbstractSourceLookupParticipant implements ISourceLookupPa
 					}
 				}
 			}
+			if (cache != null && single == null) {
+				// only complete results are cached
+				cache.put(key, results == null ? EMPTY : results.toArray());
+			}
 		}
 		if (results == null) {
 			if (multiStatus != null) {
@@ -99,6 +135,18 @@ public abstract class AbstractSourceLookupParticipant implements ISourceLookupPa
 		return results.toArray();
 	}
 
+	/**
+	 * Returns the cache of lookup results of this participant's source lookup
+	 * director, or <code>null</code> if none.
+	 */
+	private SourceLookupCache getLookupCache() {
+		ISourceLookupDirector director = getDirector();
+		if (director instanceof AbstractSourceLookupDirector) {
+			return ((AbstractSourceLookupDirector) director).getLookupCache();
+		}
+		return null;
+	}
+
 	/**
 	 * Returns the source container to search in place of the given source
 	 * container, or <code>null</code> if the given source container is not
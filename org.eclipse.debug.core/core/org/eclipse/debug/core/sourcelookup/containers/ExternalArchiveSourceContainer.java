@@ -17,11 +17,8 @@ import java.io.File;
 import java.io.IOException;
 import java.text.MessageFormat;
 import java.util.ArrayList;
-import java.util.Enumeration;
-import java.util.HashSet;
-import java.util.Iterator;
+import java.util.Collections;
 import java.util.List;
-import java.util.Set;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -30,6 +27,7 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.sourcelookup.ISourceContainerType;
+import org.eclipse.debug.internal.core.sourcelookup.ArchiveIndex;
 import org.eclipse.debug.internal.core.sourcelookup.SourceLookupMessages;
 import org.eclipse.debug.internal.core.sourcelookup.SourceLookupUtils;
 
@@ -46,7 +44,7 @@ public class ExternalArchiveSourceContainer extends AbstractSourceContainer {
 
 	private boolean fDisposed;
 	private boolean fDetectRoots;
-	private Set<String> fPotentialRoots;
+	private boolean fReferenced;
 	private List<String> fRoots = new ArrayList<>();
 	private String fArchivePath;
 	/**
@@ -77,21 +75,39 @@ public class ExternalArchiveSourceContainer extends AbstractSourceContainer {
 		fDetectRoots = detectRootPaths;
 	}
 
-	// Suppress resource leak warning. The ZipFile is provided from
-	// SourceLookupUtils which take care to close them at some point.
-	@SuppressWarnings("resource")
 	@Override
 	public Object[] findSourceElements(String name) throws CoreException {
 		String newname = name.replace('\\', '/');
-		ZipFile file = getArchive();
-		if (file == null) {
+		ArchiveIndex index = getArchiveIndex();
+		if (index == null) {
 			return EMPTY;
 		}
+		try {
+			return findSourceElements(index, newname);
+		} finally {
+			SourceLookupUtils.ungetArchiveIndex(index);
+		}
+	}
+
+	/**
+	 * Returns the storages of the entries matching the given name in the
+	 * archive.
+	 *
+	 * @param index index of the zip file to search in
+	 * @param newname name of the source elements with '/' separators
+	 * @return the matching {@link ZipEntryStorage}s
+	 * @exception CoreException if an exception occurs while searching
+	 */
+	// Suppress resource leak warning. The ZipFile is provided from
+	// SourceLookupUtils which take care to close them at some point.
+	@SuppressWarnings("resource")
+	private Object[] findSourceElements(ArchiveIndex index, String newname) throws CoreException {
+		ZipFile file = index.getArchive();
 		// NOTE: archive can be closed between get (above) and synchronized block (below)
 		synchronized (file) {
 			boolean isQualfied = newname.indexOf('/') > 0;
 			if (fDetectRoots && isQualfied) {
-				ZipEntry entry = searchRoots(file, newname);
+				ZipEntry entry = searchRoots(index, newname);
 				if (entry != null) {
 					return new Object[]{new ZipEntryStorage(file, entry)};
 				}
@@ -109,35 +125,34 @@ public class ExternalArchiveSourceContainer extends AbstractSourceContainer {
 					// can't be any duplicates if there is an exact match
 					return new Object[]{new ZipEntryStorage(file, entry)};
 				}
-				// search
-				Enumeration<? extends ZipEntry> entries = file.entries();
+				// search entries ending with the name, they share its base name
+				List<? extends ZipEntry> candidates;
+				if (index.getInvalidEntry(newname) == null) {
+					candidates = index.getEntries(ArchiveIndex.getBaseName(newname));
+				} else {
+					// rare, search in archive order to fail only if an invalid
+					// entry is reached before a match
+					candidates = Collections.list(file.entries());
+				}
 				List<ZipEntryStorage> matches = null;
-				try {
-					File zipFile = new File(fArchivePath);
-					String zipFileCanonical = zipFile.getCanonicalPath();
-					while (entries.hasMoreElements()) {
-						entry = entries.nextElement();
-						String entryName = entry.getName();
-						if (entryName.endsWith(newname)) {
-							String zipEntryCanonical = (new File(zipFile, entryName)).getCanonicalPath();
-							if (!zipEntryCanonical.startsWith(zipFileCanonical + File.separator)) {
-								throw new CoreException(new Status(IStatus.ERROR, DebugPlugin.getUniqueIdentifier(), "Invalid path: " + zipEntryCanonical)); //$NON-NLS-1$
-							}
-							if (isQualfied || entryName.length() == newname.length() || entryName.charAt(entryName.length() - newname.length() - 1) == '/') {
-								if (isFindDuplicates()) {
-									if (matches == null) {
-										matches = new ArrayList<>();
-									}
-									matches.add(new ZipEntryStorage(file, entry));
-								} else {
-									return new Object[] {
-											new ZipEntryStorage(file, entry) };
+				for (ZipEntry candidate : candidates) {
+					String entryName = candidate.getName();
+					if (entryName.endsWith(newname)) {
+						if (index.isInvalidEntry(entryName)) {
+							throw new CoreException(new Status(IStatus.ERROR, DebugPlugin.getUniqueIdentifier(), "Invalid path: " + new File(fArchivePath, entryName).getAbsolutePath())); //$NON-NLS-1$
+						}
+						if (isQualfied || entryName.length() == newname.length() || entryName.charAt(entryName.length() - newname.length() - 1) == '/') {
+							if (isFindDuplicates()) {
+								if (matches == null) {
+									matches = new ArrayList<>();
 								}
+								matches.add(new ZipEntryStorage(file, candidate));
+							} else {
+								return new Object[] {
+										new ZipEntryStorage(file, candidate) };
 							}
 						}
 					}
-				} catch (IOException e) {
-					throw new CoreException(new Status(IStatus.ERROR, DebugPlugin.getUniqueIdentifier(), "Invalid path: " + fArchivePath)); //$NON-NLS-1$
 				}
 				if (matches != null) {
 					return matches.toArray();
@@ -152,72 +167,59 @@ public class ExternalArchiveSourceContainer extends AbstractSourceContainer {
 	 * on its type, or <code>null</code> if none. Detects a root if a root has
 	 * not yet been detected for the given file type.
 	 *
-	 * @param file zip file to search in
+	 * @param index index of the zip file to search in
 	 * @param name file name
 	 * @return the {@link ZipEntry} with the given name or <code>null</code>
 	 * @exception CoreException if an exception occurs while detecting the root
 	 */
-	private synchronized ZipEntry searchRoots(ZipFile file, String name) throws CoreException {
+	@SuppressWarnings("resource")
+	private synchronized ZipEntry searchRoots(ArchiveIndex index, String name) throws CoreException {
 		if (fDisposed) {
 			return null;
 		}
-		if (fPotentialRoots == null) {
-			fPotentialRoots = new HashSet<>();
-			fPotentialRoots.add(""); //$NON-NLS-1$
-			// all potential roots are the directories
-			try {
-				Enumeration<? extends ZipEntry> entries = file.entries();
-				while (entries.hasMoreElements()) {
-					ZipEntry entry = entries.nextElement();
-					if (entry.isDirectory()) {
-						fPotentialRoots.add(entry.getName());
-					} else {
-						String entryName = entry.getName();
-						int index = entryName.lastIndexOf('/');
-						while (index > 0) {
-							if (fPotentialRoots.add(entryName.substring(0, index + 1))) {
-								entryName = entryName.substring(0, index);
-								index = entryName.lastIndexOf('/');
-							} else {
-								break;
-							}
-						}
-					}
+		ZipFile file = index.getArchive();
+		try {
+			int i = 0;
+			while (i < fRoots.size()) {
+				String root = fRoots.get(i);
+				ZipEntry entry = file.getEntry(root+name);
+				if (entry != null) {
+					return entry;
 				}
-			} catch (IllegalStateException e) {
-				// archive was closed between retrieving and locking
-				throw new CoreException(new Status(IStatus.ERROR, DebugPlugin.getUniqueIdentifier(),
-					e.getMessage(), e));
+				i++;
 			}
+		} catch (IllegalStateException e) {
+			// archive was closed between retrieving and locking
+			throw new CoreException(new Status(IStatus.ERROR, DebugPlugin.getUniqueIdentifier(),
+				e.getMessage(), e));
 		}
-		int i = 0;
-		while (i < fRoots.size()) {
-			String root = fRoots.get(i);
-			ZipEntry entry = file.getEntry(root+name);
-			if (entry != null) {
-				return entry;
-			}
-			i++;
+		// potential roots are the directories containing an entry ending with
+		// the name, as a file or as a directory
+		String baseName = ArchiveIndex.getBaseName(name);
+		ZipEntry entry = searchPotentialRoots(index.getEntries(baseName), name);
+		if (entry == null) {
+			entry = searchPotentialRoots(index.getDirectories(baseName), name + '/');
 		}
-		if (!fPotentialRoots.isEmpty()) {
-			for (String root : fPotentialRoots) {
-				ZipEntry entry = file.getEntry(root + name);
-				if (entry != null) {
-					if (root != null) {
-						fRoots.add(root);
-						fPotentialRoots.remove(root);
-						// remove any roots that begin with the new root, as
-						// roots
-						// cannot be nested
-						Iterator<String> rs = fPotentialRoots.iterator();
-						while (rs.hasNext()) {
-							String r = rs.next();
-							if (r.startsWith(root)) {
-								rs.remove();
-							}
-						}
-					}
-					return entry;
+		return entry;
+	}
+
+	/**
+	 * Returns the first of the given entries which is named by the given
+	 * suffix relative to a potential root, and adds the root to the detected
+	 * roots.
+	 *
+	 * @param candidates entries to consider
+	 * @param suffix entry name relative to the root
+	 * @return the matching entry or <code>null</code>
+	 */
+	private ZipEntry searchPotentialRoots(List<ZipEntry> candidates, String suffix) {
+		for (ZipEntry candidate : candidates) {
+			String entryName = candidate.getName();
+			if (entryName.endsWith(suffix)) {
+				String root = entryName.substring(0, entryName.length() - suffix.length());
+				if ((root.isEmpty() || root.endsWith("/")) && !isNested(root)) { //$NON-NLS-1$
+					fRoots.add(root);
+					return candidate;
 				}
 			}
 		}
@@ -225,17 +227,42 @@ public class ExternalArchiveSourceContainer extends AbstractSourceContainer {
 	}
 
 	/**
-	 * Returns the archive to search in.
-	 * @return the {@link ZipFile} to search in
+	 * Returns whether the given potential root is nested in a detected root,
+	 * as roots cannot be nested.
+	 *
+	 * @param root potential root
+	 * @return whether the root begins with a detected root
+	 */
+	private boolean isNested(String root) {
+		for (String r : fRoots) {
+			if (root.startsWith(r)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the index of the archive to search in. The search must end with
+	 * {@link SourceLookupUtils#ungetArchiveIndex(ArchiveIndex)}.
+	 * @return the {@link ArchiveIndex} to search in
 	 *
 	 * @throws CoreException if unable to access the archive
 	 */
-	private synchronized ZipFile getArchive() throws CoreException {
-		if (fDisposed) {
-			return null;
+	private ArchiveIndex getArchiveIndex() throws CoreException {
+		synchronized (this) {
+			if (fDisposed) {
+				return null;
+			}
+			if (!fReferenced) {
+				// keeps the archive open across launches while this container
+				// is in use
+				SourceLookupUtils.acquireArchive(fArchivePath);
+				fReferenced = true;
+			}
 		}
 		try {
-			return SourceLookupUtils.getZipFile(fArchivePath);
+			return SourceLookupUtils.getArchiveIndex(fArchivePath);
 		} catch (IOException e) {
 			File file = new File(fArchivePath);
 			if (file.exists()) {
@@ -243,6 +270,10 @@ public class ExternalArchiveSourceContainer extends AbstractSourceContainer {
 			} else {
 				warn(MessageFormat.format(SourceLookupMessages.ExternalArchiveSourceContainer_1, new Object[] { fArchivePath }), e);
 			}
+		} catch (IllegalStateException e) {
+			// archive was closed while being indexed
+			throw new CoreException(new Status(IStatus.ERROR, DebugPlugin.getUniqueIdentifier(),
+					e.getMessage(), e));
 		}
 		return null;
 	}
@@ -282,10 +313,11 @@ public class ExternalArchiveSourceContainer extends AbstractSourceContainer {
 	@Override
 	public synchronized void dispose() {
 		super.dispose();
-		if (fPotentialRoots != null) {
-			fPotentialRoots.clear();
-		}
 		fRoots.clear();
+		if (fReferenced) {
+			SourceLookupUtils.releaseArchive(fArchivePath);
+			fReferenced = false;
+		}
 		fDisposed = true;
 	}
 }
@@ -28,6 +28,7 @@ import org.eclipse.core.runtime.PlatformObject;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.internal.core.sourcelookup.SourceLookupMessages;
+import org.eclipse.debug.internal.core.sourcelookup.SourceLookupUtils;
 
 /**
  * Storage implementation for zip entries.
@@ -66,8 +67,19 @@ public class ZipEntryStorage extends PlatformObject implements IStorage {
 	@Override
 	public InputStream getContents() throws CoreException {
 		try {
-			return getArchive().getInputStream(getZipEntry());
-		} catch (IOException e) {
+			try {
+				return getArchive().getInputStream(getZipEntry());
+			} catch (IllegalStateException e) {
+				// the zip file was closed, read the entry from the archive
+				// still cached or opened again
+				ZipFile archive = SourceLookupUtils.getZipFile(getArchive().getName());
+				ZipEntry entry = archive.getEntry(getZipEntry().getName());
+				if (entry == null) {
+					throw new IOException(e);
+				}
+				return archive.getInputStream(entry);
+			}
+		} catch (IOException | IllegalStateException e) {
 			throw new CoreException(new Status(IStatus.ERROR, DebugPlugin.getUniqueIdentifier(), DebugPlugin.ERROR, SourceLookupMessages.ZipEntryStorage_0, e));
 		}
 	}
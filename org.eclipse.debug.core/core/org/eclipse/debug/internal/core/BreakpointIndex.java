@@ -0,0 +1,264 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.internal.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.debug.core.model.IBreakpoint;
+
+/**
+ * Lookup tables for the breakpoints registered with the
+ * {@link BreakpointManager}. Breakpoints are indexed by model identifier and
+ * by marker resource and line number.
+ * <p>
+ * The keys a breakpoint was indexed with are remembered, so a breakpoint can be
+ * removed after its marker was deleted. Since a marker's line number can change
+ * at any time, lookups by line verify the current line and repair stale
+ * entries of the resource.
+ * </p>
+ * <p>
+ * All methods are synchronized on this index. Lookups return copies and
+ * preserve registration order.
+ * </p>
+ */
+class BreakpointIndex {
+
+	/**
+	 * Line number used for breakpoints without line number attribute.
+	 */
+	private static final int NO_LINE = -1;
+
+	/**
+	 * The keys a breakpoint is indexed with.
+	 */
+	private static final class Entry {
+		final String fModelIdentifier;
+		final IResource fResource;
+		int fLine;
+
+		Entry(String modelIdentifier, IResource resource, int line) {
+			fModelIdentifier = modelIdentifier;
+			fResource = resource;
+			fLine = line;
+		}
+	}
+
+	private final Map<IBreakpoint, Entry> fEntries = new HashMap<>();
+
+	private final Map<String, Set<IBreakpoint>> fByModel = new HashMap<>();
+
+	private final Map<IResource, Map<Integer, Set<IBreakpoint>>> fByLocation = new HashMap<>();
+
+	/**
+	 * Adds the given breakpoint to the index. Has no effect if the breakpoint is
+	 * already indexed.
+	 *
+	 * @param breakpoint the breakpoint to add
+	 */
+	synchronized void add(IBreakpoint breakpoint) {
+		if (fEntries.containsKey(breakpoint)) {
+			return;
+		}
+		IMarker marker = breakpoint.getMarker();
+		IResource resource = marker == null ? null : marker.getResource();
+		Entry entry = new Entry(breakpoint.getModelIdentifier(), resource, getLine(marker));
+		fEntries.put(breakpoint, entry);
+		if (entry.fModelIdentifier != null) {
+			fByModel.computeIfAbsent(entry.fModelIdentifier, k -> new LinkedHashSet<>()).add(breakpoint);
+		}
+		addLocation(breakpoint, entry);
+	}
+
+	/**
+	 * Removes the given breakpoint from the index.
+	 *
+	 * @param breakpoint the breakpoint to remove
+	 */
+	synchronized void remove(IBreakpoint breakpoint) {
+		Entry entry = fEntries.remove(breakpoint);
+		if (entry == null) {
+			return;
+		}
+		if (entry.fModelIdentifier != null) {
+			Set<IBreakpoint> breakpoints = fByModel.get(entry.fModelIdentifier);
+			if (breakpoints != null) {
+				breakpoints.remove(breakpoint);
+				if (breakpoints.isEmpty()) {
+					fByModel.remove(entry.fModelIdentifier);
+				}
+			}
+		}
+		removeLocation(breakpoint, entry);
+	}
+
+	/**
+	 * Updates the line number of the given breakpoint after its marker changed.
+	 * Has no effect if the breakpoint is not indexed.
+	 *
+	 * @param breakpoint the changed breakpoint
+	 */
+	synchronized void update(IBreakpoint breakpoint) {
+		Entry entry = fEntries.get(breakpoint);
+		if (entry != null) {
+			updateLine(breakpoint, entry, getLine(breakpoint.getMarker()));
+		}
+	}
+
+	/**
+	 * Removes all breakpoints from the index.
+	 */
+	synchronized void clear() {
+		fEntries.clear();
+		fByModel.clear();
+		fByLocation.clear();
+	}
+
+	/**
+	 * @param breakpoint the breakpoint to test
+	 * @return whether the breakpoint is indexed
+	 */
+	synchronized boolean contains(IBreakpoint breakpoint) {
+		return fEntries.containsKey(breakpoint);
+	}
+
+	/**
+	 * Returns the breakpoints with the given model identifier.
+	 *
+	 * @param modelIdentifier the model identifier
+	 * @return the breakpoints in registration order
+	 */
+	synchronized IBreakpoint[] getBreakpoints(String modelIdentifier) {
+		Set<IBreakpoint> breakpoints = fByModel.get(modelIdentifier);
+		if (breakpoints == null) {
+			return new IBreakpoint[0];
+		}
+		return breakpoints.toArray(new IBreakpoint[breakpoints.size()]);
+	}
+
+	/**
+	 * Returns the breakpoints with markers on the given resource or its
+	 * descendants.
+	 *
+	 * @param container the resource
+	 * @return the breakpoints
+	 */
+	synchronized List<IBreakpoint> getBreakpoints(IResource container) {
+		List<IBreakpoint> result = new ArrayList<>();
+		IPath path = container.getFullPath();
+		fByLocation.forEach((resource, lines) -> {
+			if (path.isPrefixOf(resource.getFullPath())) {
+				lines.values().forEach(result::addAll);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Returns a breakpoint with a marker on the same resource and line as the
+	 * given marker.
+	 *
+	 * @param marker the marker
+	 * @return a matching breakpoint or <code>null</code>
+	 */
+	synchronized IBreakpoint findBreakpoint(IMarker marker) {
+		if (!marker.exists()) {
+			return null;
+		}
+		IResource resource = marker.getResource();
+		Map<Integer, Set<IBreakpoint>> lines = fByLocation.get(resource);
+		if (lines == null) {
+			return null;
+		}
+		int line = getLine(marker);
+		Set<IBreakpoint> candidates = lines.get(Integer.valueOf(line));
+		if (candidates != null) {
+			for (IBreakpoint breakpoint : candidates) {
+				if (getLine(breakpoint.getMarker()) == line) {
+					return breakpoint;
+				}
+			}
+		}
+		// the marker of an indexed breakpoint might have moved without update
+		// yet, refresh the resource's entries
+		IBreakpoint match = null;
+		List<IBreakpoint> breakpoints = new ArrayList<>();
+		lines.values().forEach(breakpoints::addAll);
+		for (IBreakpoint breakpoint : breakpoints) {
+			int current = getLine(breakpoint.getMarker());
+			updateLine(breakpoint, fEntries.get(breakpoint), current);
+			if (match == null && current == line) {
+				match = breakpoint;
+			}
+		}
+		return match;
+	}
+
+	private void updateLine(IBreakpoint breakpoint, Entry entry, int line) {
+		if (entry.fLine != line) {
+			removeLocation(breakpoint, entry);
+			entry.fLine = line;
+			addLocation(breakpoint, entry);
+		}
+	}
+
+	private void addLocation(IBreakpoint breakpoint, Entry entry) {
+		if (entry.fResource != null) {
+			fByLocation.computeIfAbsent(entry.fResource, k -> new HashMap<>()).computeIfAbsent(Integer.valueOf(entry.fLine), k -> new LinkedHashSet<>()).add(breakpoint);
+		}
+	}
+
+	private void removeLocation(IBreakpoint breakpoint, Entry entry) {
+		if (entry.fResource == null) {
+			return;
+		}
+		Map<Integer, Set<IBreakpoint>> lines = fByLocation.get(entry.fResource);
+		if (lines == null) {
+			return;
+		}
+		Integer line = Integer.valueOf(entry.fLine);
+		Collection<IBreakpoint> breakpoints = lines.get(line);
+		if (breakpoints != null) {
+			breakpoints.remove(breakpoint);
+			if (breakpoints.isEmpty()) {
+				lines.remove(line);
+				if (lines.isEmpty()) {
+					fByLocation.remove(entry.fResource);
+				}
+			}
+		}
+	}
+
+	private static int getLine(IMarker marker) {
+		if (marker == null) {
+			return NO_LINE;
+		}
+		try {
+			Object line = marker.getAttribute(IMarker.LINE_NUMBER);
+			return line instanceof Integer ? ((Integer) line).intValue() : NO_LINE;
+		} catch (CoreException e) {
+			// marker does not exist anymore
+			return NO_LINE;
+		}
+	}
+}
@@ -16,6 +16,7 @@ package org.eclipse.debug.internal.core;
 
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
@@ -37,15 +38,19 @@ import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.ICoreRunnable;
 import org.eclipse.core.runtime.IExtensionPoint;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.ListenerList;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobGroup;
+import org.eclipse.core.runtime.preferences.IPreferencesService;
 import org.eclipse.debug.core.DebugException;
 import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.IBreakpointListener;
@@ -81,6 +86,12 @@ public class BreakpointManager implements IBreakpointManager, IResourceChangeLis
 	 */
 	private Vector<IBreakpoint> fBreakpoints;
 
+	/**
+	 * Lookup tables for the registered breakpoints by model identifier and
+	 * location. Updated together with {@link #fBreakpoints}.
+	 */
+	private final BreakpointIndex fBreakpointIndex = new BreakpointIndex();
+
 	/**
 	 * Map of breakpoint import participants.
 	 * Map has the form:
@@ -123,14 +134,14 @@ public class BreakpointManager implements IBreakpointManager, IResourceChangeLis
 	 * key: a marker type
 	 * value: the breakpoint extension which corresponds to that marker type
 	 */
-	private final HashMap<String, IConfigurationElement> fBreakpointExtensions;
+	private final Map<String, IConfigurationElement> fBreakpointExtensions;
 
 	/**
 	 * Collection of markers that associates markers to breakpoints
 	 * key: a marker
 	 * value: the breakpoint which contains that marker
 	 */
-	private final HashMap<IMarker, IBreakpoint> fMarkersToBreakpoints;
+	private final Map<IMarker, IBreakpoint> fMarkersToBreakpoints;
 
 	/**
 	 * Collection of breakpoint listeners.
@@ -165,6 +176,17 @@ public class BreakpointManager implements IBreakpointManager, IResourceChangeLis
 	 */
 	private final Set<IBreakpoint> fTriggerPointDisabledList = new LinkedHashSet<>();
 
+	/**
+	 * Job loading breakpoints in background or <code>null</code> if none.
+	 */
+	private BreakpointLoadJob fLoadJob;
+
+	/**
+	 * Time in milliseconds it took to load the persisted breakpoints or
+	 * <code>-1</code> if not loaded yet.
+	 */
+	private volatile long fInitializationTime = -1;
+
 
 	/**
 	 * Listens to POST_CHANGE notifications of breakpoint markers to detect when
@@ -259,8 +281,8 @@ public class BreakpointManager implements IBreakpointManager, IResourceChangeLis
 	 * Constructs a new breakpoint manager.
 	 */
 	public BreakpointManager() {
-		fMarkersToBreakpoints = new HashMap<>(10);
-		fBreakpointExtensions = new HashMap<>(15);
+		fMarkersToBreakpoints = Collections.synchronizedMap(new HashMap<>(10));
+		fBreakpointExtensions = Collections.synchronizedMap(new HashMap<>(15));
 	}
 
 	/**
@@ -310,9 +332,23 @@ public class BreakpointManager implements IBreakpointManager, IResourceChangeLis
 	 * @throws CoreException if a problem is encountered
 	 */
 	protected IMarker[] getPersistedMarkers(IResource resource) throws CoreException {
+		return getPersistedMarkers(resource, IResource.DEPTH_INFINITE);
+	}
+
+	/**
+	 * Returns the persisted markers associated with the given resource up to
+	 * the given depth and deletes invalid breakpoint markers.
+	 *
+	 * @param resource the {@link IResource} to get markers for
+	 * @param depth how far to recurse, see {@link IResource#findMarkers}
+	 * @return the persisted markers
+	 * @throws CoreException if a problem is encountered
+	 * @see #getPersistedMarkers(IResource)
+	 */
+	private IMarker[] getPersistedMarkers(IResource resource, int depth) throws CoreException {
 		final List<IMarker> delete = new ArrayList<>();
 		List<IMarker> persisted = new ArrayList<>();
-		for (IMarker marker : resource.findMarkers(IBreakpoint.BREAKPOINT_MARKER, true, IResource.DEPTH_INFINITE)) {
+		for (IMarker marker : resource.findMarkers(IBreakpoint.BREAKPOINT_MARKER, true, depth)) {
 			// ensure the marker has a valid model identifier attribute
 			// and delete the breakpoint if not
 			String modelId = marker.getAttribute(IBreakpoint.ID, null);
@@ -345,6 +381,12 @@ public class BreakpointManager implements IBreakpointManager, IResourceChangeLis
 	 * and removes all breakpoint listeners.
 	 */
 	public void shutdown() {
+		synchronized (this) {
+			if (fLoadJob != null) {
+				fLoadJob.cancel();
+				fLoadJob = null;
+			}
+		}
 		getWorkspace().removeResourceChangeListener(this);
 		getWorkspace().removeResourceChangeListener(fPostChangeListener);
 		fBreakpointListeners.clear();
@@ -359,6 +401,7 @@ public class BreakpointManager implements IBreakpointManager, IResourceChangeLis
 			fBreakpoints.clear();
 			fBreakpoints = null;
 		}
+		fBreakpointIndex.clear();
 		if(fMarkersToBreakpoints != null) {
 			fMarkersToBreakpoints.clear();
 		}
@@ -441,17 +484,8 @@ public class BreakpointManager implements IBreakpointManager, IResourceChangeLis
 
 	@Override
 	public IBreakpoint[] getBreakpoints(String modelIdentifier) {
-		Vector<IBreakpoint> allBreakpoints = getBreakpoints0();
-		synchronized (allBreakpoints) {
-			ArrayList<IBreakpoint> temp = new ArrayList<>(allBreakpoints.size());
-			for (IBreakpoint breakpoint : allBreakpoints) {
-				String id= breakpoint.getModelIdentifier();
-				if (id != null && id.equals(modelIdentifier)) {
-					temp.add(breakpoint);
-				}
-			}
-			return temp.toArray(new IBreakpoint[temp.size()]);
-		}
+		getBreakpoints0();
+		return fBreakpointIndex.getBreakpoints(modelIdentifier);
 	}
 
 	/**
@@ -459,7 +493,18 @@ public class BreakpointManager implements IBreakpointManager, IResourceChangeLis
 	 * workspace. Start listening to resource deltas.
 	 */
 	private void initializeBreakpoints() {
+		long start = System.currentTimeMillis();
 		setBreakpoints(new Vector<>(10));
+		if (isBackgroundLoading()) {
+			// breakpoints may be created from resource deltas before the job runs
+			initBreakpointExtensions();
+			// listen first so changes made while loading are not missed
+			getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_BUILD);
+			getWorkspace().addResourceChangeListener(fPostChangeListener, IResourceChangeEvent.POST_CHANGE);
+			fLoadJob = new BreakpointLoadJob(start);
+			fLoadJob.schedule();
+			return;
+		}
 		try {
 			loadBreakpoints(getWorkspace().getRoot(), false);
 			getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_BUILD);
@@ -468,6 +513,42 @@ public class BreakpointManager implements IBreakpointManager, IResourceChangeLis
 			DebugPlugin.log(ce);
 			setBreakpoints(new Vector<>(0));
 		}
+		initializationDone(start, false);
+	}
+
+	/**
+	 * @return whether persisted breakpoints are loaded in background
+	 * @see IInternalDebugCoreConstants#PREF_BREAKPOINT_BACKGROUND_LOADING
+	 */
+	private boolean isBackgroundLoading() {
+		IPreferencesService service = Platform.getPreferencesService();
+		return service != null && service.getBoolean(DebugPlugin.getUniqueIdentifier(), IInternalDebugCoreConstants.PREF_BREAKPOINT_BACKGROUND_LOADING, false, null);
+	}
+
+	/**
+	 * Records the time it took to load the persisted breakpoints.
+	 *
+	 * @param start time loading started in milliseconds
+	 * @param background whether breakpoints were loaded in background
+	 */
+	private void initializationDone(long start, boolean background) {
+		fInitializationTime = System.currentTimeMillis() - start;
+		if (DebugOptions.DEBUG) {
+			Vector<IBreakpoint> breakpoints = fBreakpoints;
+			DebugOptions.trace("Loaded " + (breakpoints == null ? 0 : breakpoints.size()) + " breakpoints in " + fInitializationTime + "ms" + (background ? " (background)" : "")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+		}
+	}
+
+	/**
+	 * Returns the time in milliseconds it took to load the persisted
+	 * breakpoints of the workspace. When loading in background this is the
+	 * time until all projects are loaded.
+	 *
+	 * @return load time in milliseconds or <code>-1</code> if breakpoints are
+	 *         not loaded yet
+	 */
+	public long getInitializationTime() {
+		return fInitializationTime;
 	}
 
 	/**
@@ -475,7 +556,8 @@ public class BreakpointManager implements IBreakpointManager, IResourceChangeLis
 	 */
 	@Override
 	public boolean isRegistered(IBreakpoint breakpoint) {
-		return getBreakpoints0().contains(breakpoint);
+		getBreakpoints0();
+		return fBreakpointIndex.contains(breakpoint);
 	}
 
 
@@ -495,13 +577,14 @@ public class BreakpointManager implements IBreakpointManager, IResourceChangeLis
 		final List<IBreakpoint> remove = new ArrayList<>(breakpoints.length);
 		List<IBreakpoint> bps = getBreakpoints0();
 		for (IBreakpoint breakpoint : breakpoints) {
-			if (bps.contains(breakpoint)) {
+			if (fBreakpointIndex.contains(breakpoint)) {
 				remove.add(breakpoint);
 			}
 		}
 		if (!remove.isEmpty()) {
 			for (IBreakpoint breakpoint : remove) {
 				bps.remove(breakpoint);
+				fBreakpointIndex.remove(breakpoint);
 				fMarkersToBreakpoints.remove(breakpoint.getMarker());
 				// If the breakpoint is a trigger point, remove else do nothing.
 				removeTriggerPoint(breakpoint);
@@ -597,12 +680,13 @@ public class BreakpointManager implements IBreakpointManager, IResourceChangeLis
 		List<IBreakpoint> added = new ArrayList<>(breakpoints.length);
 		final List<IBreakpoint> update = new ArrayList<>();
 		for (IBreakpoint breakpoint : breakpoints) {
-			if (!getBreakpoints0().contains(breakpoint)) {
+			if (!isRegistered(breakpoint)) {
 				verifyBreakpoint(breakpoint);
 				if (breakpoint.isRegistered()) {
 					// If notify == false, the breakpoints are just being added at startup
 					added.add(breakpoint);
 					getBreakpoints0().add(breakpoint);
+					fBreakpointIndex.add(breakpoint);
 					fMarkersToBreakpoints.put(breakpoint.getMarker(), breakpoint);
 					if (breakpoint instanceof ITriggerPoint && ((ITriggerPoint) breakpoint).isTriggerPoint()) {
 						addTriggerPoint(breakpoint);
@@ -622,6 +706,7 @@ public class BreakpointManager implements IBreakpointManager, IResourceChangeLis
 				List<IBreakpoint> bps = getBreakpoints0();
 				for (IBreakpoint breakpoint : update) {
 					bps.add(breakpoint);
+					fBreakpointIndex.add(breakpoint);
 					breakpoint.setRegistered(true);
 					fMarkersToBreakpoints.put(breakpoint.getMarker(), breakpoint);
 				}
@@ -653,7 +738,7 @@ public class BreakpointManager implements IBreakpointManager, IResourceChangeLis
 	 */
 	@Override
 	public void fireBreakpointChanged(IBreakpoint breakpoint) {
-		if (getBreakpoints0().contains(breakpoint)) {
+		if (isRegistered(breakpoint)) {
 			List<IBreakpoint> changed = new ArrayList<>();
 			changed.add(breakpoint);
 			fireUpdate(changed, null, CHANGED);
@@ -860,18 +945,8 @@ public class BreakpointManager implements IBreakpointManager, IResourceChangeLis
 		 * @return matching breakpoint if exists else return <code>null</code>
 		 */
 		private IBreakpoint findMatchingBreakpoint(IMarker marker) {
-			try {
-				Integer line = (Integer) marker.getAttribute(IMarker.LINE_NUMBER);
-				for (IBreakpoint breakpoint : getBreakpoints0()) {
-					IMarker bpMarker = breakpoint.getMarker();
-					if (bpMarker != null && marker.getResource().equals(bpMarker.getResource()) && bpMarker.getAttribute(IMarker.LINE_NUMBER, -1) == (line == null ? -1 : line.intValue())) {
-						return breakpoint;
-					}
-				}
-			} catch (CoreException e) {
-				// ignore
-			}
-			return null;
+			getBreakpoints0();
+			return fBreakpointIndex.findBreakpoint(marker);
 		}
 
 		/**
@@ -896,6 +971,10 @@ public class BreakpointManager implements IBreakpointManager, IResourceChangeLis
 		 */
 		protected void handleChangeBreakpoint(IMarker marker, IMarkerDelta delta) {
 			IBreakpoint breakpoint= getBreakpoint(marker);
+			if (breakpoint != null) {
+				// line number may have changed
+				fBreakpointIndex.update(breakpoint);
+			}
 			if (breakpoint != null && isRegistered(breakpoint) && !isChangeSuppressed(breakpoint)) {
 				fChanged.add(breakpoint);
 				fChangedDeltas.add(delta);
@@ -910,12 +989,8 @@ public class BreakpointManager implements IBreakpointManager, IResourceChangeLis
 		private void handleProjectResourceOpenStateChange(final IResource project) {
 			if (!project.isAccessible()) {
 				//closed
-				for (@SuppressWarnings("unchecked") IBreakpoint breakpoint : (Vector<IBreakpoint>) getBreakpoints0().clone()) {
-					IResource markerResource= breakpoint.getMarker().getResource();
-					if (project.getFullPath().isPrefixOf(markerResource.getFullPath())) {
-						fRemoved.add(breakpoint);
-					}
-				}
+				getBreakpoints0();
+				fRemoved.addAll(fBreakpointIndex.getBreakpoints(project));
 				return;
 			}
 			try {
@@ -967,6 +1042,10 @@ public class BreakpointManager implements IBreakpointManager, IResourceChangeLis
 
 	protected void setBreakpoints(Vector<IBreakpoint> breakpoints) {
 		fBreakpoints = breakpoints;
+		fBreakpointIndex.clear();
+		for (IBreakpoint breakpoint : breakpoints) {
+			fBreakpointIndex.add(breakpoint);
+		}
 	}
 
 	/**
@@ -1213,6 +1292,141 @@ public class BreakpointManager implements IBreakpointManager, IResourceChangeLis
 		}
 	}
 
+	/**
+	 * Loads the persisted breakpoints of the workspace in background. Markers
+	 * of each project are read and breakpoints created in parallel jobs. The
+	 * breakpoints of a project are registered at once when the project is
+	 * done. Listeners are notified once about all loaded breakpoints at the
+	 * end.
+	 */
+	class BreakpointLoadJob extends Job {
+
+		private final long fStart;
+
+		private final List<IBreakpoint> fLoaded = new ArrayList<>();
+
+		BreakpointLoadJob(long start) {
+			super("breakpoint loading job"); //$NON-NLS-1$
+			fStart = start;
+			setSystem(true);
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return family == BreakpointManager.this;
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			JobGroup group = new JobGroup("breakpoint loading", Math.max(1, Runtime.getRuntime().availableProcessors()), 0); //$NON-NLS-1$
+			// markers on the workspace root itself
+			schedule(group, getWorkspace().getRoot(), IResource.DEPTH_ZERO);
+			for (IProject project : getWorkspace().getRoot().getProjects()) {
+				if (project.isAccessible()) {
+					schedule(group, project, IResource.DEPTH_INFINITE);
+				}
+			}
+			try {
+				group.join(0, monitor);
+			} catch (OperationCanceledException | InterruptedException e) {
+				group.cancel();
+				return Status.CANCEL_STATUS;
+			}
+			List<IBreakpoint> added = new ArrayList<>(fLoaded.size());
+			synchronized (BreakpointManager.this) {
+				fLoadJob = null;
+				for (IBreakpoint breakpoint : fLoaded) {
+					if (fBreakpointIndex.contains(breakpoint)) {
+						added.add(breakpoint);
+					}
+				}
+			}
+			initializationDone(fStart, true);
+			fireUpdate(added, null, ADDED);
+			return Status.OK_STATUS;
+		}
+
+		private void schedule(JobGroup group, IResource resource, int depth) {
+			Job job = Job.create("breakpoint loading " + resource.getName(), (ICoreRunnable) monitor -> loadBreakpoints(resource, depth)); //$NON-NLS-1$
+			job.setSystem(true);
+			job.setJobGroup(group);
+			job.schedule();
+		}
+
+		/**
+		 * Creates the breakpoints of the given resource and registers them
+		 * without notification.
+		 *
+		 * @param resource the resource to load
+		 * @param depth how far to recurse
+		 * @throws CoreException if markers can not be read
+		 */
+		private void loadBreakpoints(IResource resource, int depth) throws CoreException {
+			List<IBreakpoint> created = new ArrayList<>();
+			for (IMarker marker : getPersistedMarkers(resource, depth)) {
+				try {
+					IBreakpoint breakpoint = createBreakpoint(marker);
+					if (breakpoint != null && breakpoint.isRegistered()) {
+						created.add(breakpoint);
+					}
+				} catch (DebugException e) {
+					DebugPlugin.log(e);
+				}
+			}
+			List<IBreakpoint> registered = registerLoadedBreakpoints(created);
+			synchronized (fLoaded) {
+				fLoaded.addAll(registered);
+			}
+		}
+	}
+
+	/**
+	 * Registers breakpoints loaded in background without notifying listeners.
+	 * Breakpoints whose marker was deleted or registered otherwise meanwhile
+	 * are skipped.
+	 *
+	 * @param loaded the loaded breakpoints
+	 * @return the registered breakpoints
+	 */
+	private synchronized List<IBreakpoint> registerLoadedBreakpoints(List<IBreakpoint> loaded) {
+		Vector<IBreakpoint> breakpoints = fBreakpoints;
+		List<IBreakpoint> registered = new ArrayList<>(loaded.size());
+		if (breakpoints == null) {
+			// shut down
+			return registered;
+		}
+		for (IBreakpoint breakpoint : loaded) {
+			IMarker marker = breakpoint.getMarker();
+			if (!marker.exists() || fMarkersToBreakpoints.containsKey(marker)) {
+				continue;
+			}
+			try {
+				verifyBreakpoint(breakpoint);
+			} catch (DebugException e) {
+				DebugPlugin.log(e);
+				continue;
+			}
+			synchronized (fPostChangMarkersChanged) {
+				fPostBuildMarkersAdded.add(marker);
+			}
+			fBreakpointIndex.add(breakpoint);
+			fMarkersToBreakpoints.put(marker, breakpoint);
+			registered.add(breakpoint);
+		}
+		// all breakpoints of a resource become visible at once
+		breakpoints.addAll(registered);
+		for (IBreakpoint breakpoint : registered) {
+			try {
+				if (breakpoint instanceof ITriggerPoint && ((ITriggerPoint) breakpoint).isTriggerPoint()) {
+					addTriggerPoint(breakpoint);
+				}
+			} catch (CoreException e) {
+				DebugPlugin.log(e);
+			}
+		}
+		return registered;
+	}
+
 	class BreakpointManagerJob extends Job {
 
 		private final IWorkspaceRunnable fRunnable;
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.internal.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.debug.core.DebugEvent;
+import org.eclipse.debug.core.DebugEventSubscription;
+import org.eclipse.debug.core.IDebugEventSetListener;
+
+/**
+ * Registry of debug event set listeners indexed by the event kinds they are
+ * subscribed to. Listeners registered without subscription receive all
+ * events.
+ * <p>
+ * Modifications copy the index so reading is lock free. Listeners are always
+ * returned in registration order.
+ * </p>
+ */
+public class DebugEventListenerRegistry {
+
+	/**
+	 * Bit mask of the event kinds which are indexed. Every combination of
+	 * these kinds is indexed, so event sets of mixed kinds are dispatched
+	 * without filtering the listeners first.
+	 */
+	private static final int KINDS = DebugEvent.RESUME | DebugEvent.SUSPEND | DebugEvent.CREATE | DebugEvent.TERMINATE | DebugEvent.CHANGE | DebugEvent.MODEL_SPECIFIC;
+
+	private static final Registration[] EMPTY = new Registration[0];
+
+	/**
+	 * A registered listener and its optional subscription.
+	 */
+	public static final class Registration {
+		private final IDebugEventSetListener fListener;
+		private final DebugEventSubscription fSubscription;
+
+		Registration(IDebugEventSetListener listener, DebugEventSubscription subscription) {
+			fListener = listener;
+			fSubscription = subscription;
+		}
+
+		/**
+		 * @return the registered listener
+		 */
+		public IDebugEventSetListener getListener() {
+			return fListener;
+		}
+
+		/**
+		 * Returns the events of the given set the listener is interested in.
+		 *
+		 * @param events the event set
+		 * @return the events to deliver or <code>null</code> if none
+		 */
+		public DebugEvent[] select(DebugEvent[] events) {
+			return fSubscription == null ? events : fSubscription.select(events);
+		}
+
+		boolean accepts(int kinds) {
+			return fSubscription == null || (fSubscription.getKinds() & kinds) != 0;
+		}
+	}
+
+	/** All registrations in registration order. */
+	private volatile Registration[] fAll = EMPTY;
+
+	/**
+	 * Registrations per combination of {@link #KINDS}, indexed by the bit
+	 * mask, in registration order.
+	 */
+	private volatile Registration[][] fByKind = createIndex(EMPTY);
+
+	/**
+	 * Registers the given listener. If the listener is already registered its
+	 * subscription is replaced but its position in notification order is kept.
+	 *
+	 * @param listener the listener to add
+	 * @param subscription the events the listener is interested in or
+	 *            <code>null</code> for all events
+	 */
+	public synchronized void add(IDebugEventSetListener listener, DebugEventSubscription subscription) {
+		Registration registration = new Registration(listener, subscription);
+		Registration[] all = fAll;
+		for (int i = 0; i < all.length; i++) {
+			if (all[i].fListener.equals(listener)) {
+				all = all.clone();
+				all[i] = registration;
+				update(all);
+				return;
+			}
+		}
+		all = Arrays.copyOf(all, all.length + 1);
+		all[all.length - 1] = registration;
+		update(all);
+	}
+
+	/**
+	 * Removes the given listener. Has no effect if the listener is not
+	 * registered.
+	 *
+	 * @param listener the listener to remove
+	 */
+	public synchronized void remove(IDebugEventSetListener listener) {
+		Registration[] all = fAll;
+		for (int i = 0; i < all.length; i++) {
+			if (all[i].fListener.equals(listener)) {
+				Registration[] newAll = new Registration[all.length - 1];
+				System.arraycopy(all, 0, newAll, 0, i);
+				System.arraycopy(all, i + 1, newAll, i, all.length - i - 1);
+				update(newAll);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Removes all listeners.
+	 */
+	public synchronized void clear() {
+		update(EMPTY);
+	}
+
+	/**
+	 * @return <code>true</code> if no listener is registered
+	 */
+	public boolean isEmpty() {
+		return fAll.length == 0;
+	}
+
+	/**
+	 * Returns the registrations which may be interested in an event set
+	 * containing events of the given kinds. Callers must still use
+	 * {@link Registration#select(DebugEvent[])} to find the events to deliver.
+	 *
+	 * @param kinds bit mask of the kinds of the events in an event set
+	 * @return registrations in registration order; must not be modified
+	 */
+	public Registration[] getRegistrations(int kinds) {
+		if ((kinds & ~KINDS) != 0) {
+			// unknown kinds, rare
+			return fAll;
+		}
+		return fByKind[kinds];
+	}
+
+	private void update(Registration[] all) {
+		fByKind = createIndex(all);
+		fAll = all;
+	}
+
+	private static Registration[][] createIndex(Registration[] all) {
+		Registration[][] index = new Registration[KINDS + 1][];
+		List<Registration> registrations = new ArrayList<>();
+		for (int kinds = 0; kinds <= KINDS; kinds++) {
+			registrations.clear();
+			for (Registration registration : all) {
+				if (registration.accepts(kinds)) {
+					registrations.add(registration);
+				}
+			}
+			index[kinds] = registrations.size() == all.length ? all : registrations.toArray(new Registration[registrations.size()]);
+		}
+		return index;
+	}
+}
@@ -44,4 +44,119 @@ public interface IInternalDebugCoreConstants {
 	 */
 	String PREF_BREAKPOINT_MANAGER_ENABLED_STATE =  DebugPlugin.getUniqueIdentifier() + ".PREF_BREAKPOINT_MANAGER_ENABLED_STATE"; //$NON-NLS-1$
 
+	/**
+	 * Long preference specifying how many bytes from the start of a process
+	 * output stream are retained in the stream monitor's buffer when the
+	 * buffer is bounded. Default value is <code>1048576</code> (1 MB).
+	 *
+	 * @see #PREF_OUTPUT_BUFFER_TAIL_LIMIT
+	 * @since 3.21
+	 */
+	String PREF_OUTPUT_BUFFER_HEAD_LIMIT = DebugPlugin.getUniqueIdentifier() + ".PREF_OUTPUT_BUFFER_HEAD_LIMIT"; //$NON-NLS-1$
+
+	/**
+	 * Long preference specifying how many of the most recent bytes of a
+	 * process output stream are retained in the stream monitor's buffer.
+	 * Content between head and tail is discarded. A negative value disables
+	 * the limit. Default value is <code>-1</code>.
+	 *
+	 * @see #PREF_OUTPUT_BUFFER_HEAD_LIMIT
+	 * @since 3.21
+	 */
+	String PREF_OUTPUT_BUFFER_TAIL_LIMIT = DebugPlugin.getUniqueIdentifier() + ".PREF_OUTPUT_BUFFER_TAIL_LIMIT"; //$NON-NLS-1$
+
+	/**
+	 * String preference specifying how process stream monitors are run. One
+	 * of {@link StreamMonitorScheduler#MODE_THREAD},
+	 * {@link StreamMonitorScheduler#MODE_SHARED} or
+	 * {@link StreamMonitorScheduler#MODE_VIRTUAL}. Default value is
+	 * {@link StreamMonitorScheduler#MODE_THREAD}.
+	 *
+	 * @since 3.21
+	 */
+	String PREF_STREAM_MONITOR_MODE = DebugPlugin.getUniqueIdentifier() + ".PREF_STREAM_MONITOR_MODE"; //$NON-NLS-1$
+
+	/**
+	 * Long preference specifying the time in milliseconds process output is
+	 * coalesced before stream listeners are notified. With a non-negative
+	 * value listeners are notified asynchronously so slow listeners do not
+	 * block reading the process output. A negative value notifies listeners
+	 * directly from the reading thread. Default value is <code>-1</code>.
+	 *
+	 * @since 3.21
+	 */
+	String PREF_OUTPUT_NOTIFICATION_DELAY = DebugPlugin.getUniqueIdentifier() + ".PREF_OUTPUT_NOTIFICATION_DELAY"; //$NON-NLS-1$
+
+	/**
+	 * Boolean preference controlling whether the debug event dispatcher skips
+	 * a queued set of {@link org.eclipse.debug.core.DebugEvent#CHANGE} events
+	 * if it is immediately followed by an identical set for the same sources.
+	 * Default value is <code>false</code>.
+	 *
+	 * @since 3.21
+	 */
+	String PREF_MERGE_CHANGE_EVENTS = DebugPlugin.getUniqueIdentifier() + ".PREF_MERGE_CHANGE_EVENTS"; //$NON-NLS-1$
+
+	/**
+	 * Boolean preference controlling whether the breakpoint manager loads the
+	 * persisted breakpoints of the workspace in background jobs, one per
+	 * project, instead of on the thread first asking for breakpoints. While
+	 * loading, the manager only reports the breakpoints of projects loaded so
+	 * far. Default value is <code>false</code>.
+	 *
+	 * @since 3.21
+	 */
+	String PREF_BREAKPOINT_BACKGROUND_LOADING = DebugPlugin.getUniqueIdentifier() + ".PREF_BREAKPOINT_BACKGROUND_LOADING"; //$NON-NLS-1$
+
+	/**
+	 * Integer preference for the maximum number of archives kept open for
+	 * source lookup which are no longer referenced by a source container. When
+	 * more such archives are open, the least recently used are evicted.
+	 * Archives referenced by source containers are not limited. Default value
+	 * is <code>64</code>.
+	 *
+	 * @since 3.21
+	 */
+	String PREF_SOURCE_ARCHIVE_CACHE_SIZE = DebugPlugin.getUniqueIdentifier() + ".PREF_SOURCE_ARCHIVE_CACHE_SIZE"; //$NON-NLS-1$
+
+	/**
+	 * Integer preference for the maximum number of source lookup results each
+	 * source lookup director caches by source name. A value of <code>0</code>
+	 * disables the cache. Default value is <code>0</code>.
+	 *
+	 * @since 3.21
+	 */
+	String PREF_SOURCE_LOOKUP_CACHE_SIZE = DebugPlugin.getUniqueIdentifier() + ".PREF_SOURCE_LOOKUP_CACHE_SIZE"; //$NON-NLS-1$
+
+	/**
+	 * Boolean preference controlling whether cached source lookup results are
+	 * persisted across sessions, per list of source containers. Only applies
+	 * when {@link #PREF_SOURCE_LOOKUP_CACHE_SIZE} is positive. Default value is
+	 * <code>false</code>.
+	 *
+	 * @since 3.21
+	 */
+	String PREF_SOURCE_LOOKUP_CACHE_PERSIST = DebugPlugin.getUniqueIdentifier() + ".PREF_SOURCE_LOOKUP_CACHE_PERSIST"; //$NON-NLS-1$
+
+	/**
+	 * Integer preference for the number of threads source lookup participants
+	 * search the source containers of a director with. Values lower than
+	 * <code>2</code> search the containers sequentially. The first container
+	 * in order with a match wins unless duplicates are searched. Default value
+	 * is <code>0</code>.
+	 *
+	 * @since 3.21
+	 */
+	String PREF_SOURCE_LOOKUP_PARALLELISM = DebugPlugin.getUniqueIdentifier() + ".PREF_SOURCE_LOOKUP_PARALLELISM"; //$NON-NLS-1$
+
+	/**
+	 * Integer preference for the number of elements of the same debug model a
+	 * debug command operating on each selected element executes on
+	 * concurrently. Values lower than <code>2</code> execute the command on
+	 * one element after the other. Default value is <code>0</code>.
+	 *
+	 * @since 3.21
+	 */
+	String PREF_COMMAND_PARALLELISM = DebugPlugin.getUniqueIdentifier() + ".PREF_COMMAND_PARALLELISM"; //$NON-NLS-1$
+
 }
@@ -19,6 +19,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.util.Vector;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.eclipse.debug.core.DebugPlugin;
 
@@ -45,6 +46,26 @@ public class InputStreamMonitor {
 	 */
 	private Thread fThread;
 
+	/**
+	 * Whether this monitor writes using the pool for blocking tasks of shared
+	 * monitors instead of a dedicated thread.
+	 *
+	 * @see StreamMonitorScheduler#MODE_SHARED
+	 */
+	private boolean fShared;
+
+	/**
+	 * Whether a task to write the queue is scheduled. Guarded by
+	 * {@link #fLock}.
+	 */
+	private boolean fWriteScheduled;
+
+	/**
+	 * Whether the monitor was closed while running in shared mode. Guarded by
+	 * {@link #fLock}.
+	 */
+	private boolean fSharedClosed;
+
 	/**
 	 * A lock for ensuring that writes to the queue are contiguous
 	 */
@@ -107,6 +128,7 @@ public class InputStreamMonitor {
 		synchronized (fLock) {
 			fQueue.add(fCharset == null ? text.getBytes() : text.getBytes(fCharset));
 			fLock.notifyAll();
+			scheduleSharedWrite();
 		}
 	}
 
@@ -124,6 +146,7 @@ public class InputStreamMonitor {
 			System.arraycopy(data, offset, copy, 0, length);
 			fQueue.add(copy);
 			fLock.notifyAll();
+			scheduleSharedWrite();
 		}
 	}
 
@@ -132,15 +155,44 @@ public class InputStreamMonitor {
 	}
 
 	/**
-	 * Starts a thread which writes the stream.
+	 * Starts a thread which writes the stream. Depending on
+	 * {@link StreamMonitorScheduler#getMode()} a dedicated thread, a virtual
+	 * thread or a pooled thread while content is queued is used.
 	 *
 	 * @param threadName Thread name
 	 */
 	public void startMonitoring(String threadName) {
+		startMonitoring(threadName, StreamMonitorScheduler.getMode());
+	}
+
+	/**
+	 * Starts writing the stream using the given mode.
+	 *
+	 * @param threadName Thread name
+	 * @param mode one of the {@link StreamMonitorScheduler} modes
+	 */
+	public void startMonitoring(String threadName, String mode) {
 		synchronized (this) {
-			if (fThread == null) {
-				fThread = new Thread((Runnable) this::write, threadName);
-				fThread.setDaemon(true);
+			if (fThread == null && !fShared) {
+				Thread thread = null;
+				if (StreamMonitorScheduler.MODE_VIRTUAL.equals(mode)) {
+					thread = StreamMonitorScheduler.newVirtualThread(this::write, threadName);
+					if (thread == null) {
+						mode = StreamMonitorScheduler.MODE_SHARED;
+					}
+				}
+				if (thread == null && StreamMonitorScheduler.MODE_SHARED.equals(mode)) {
+					synchronized (fLock) {
+						fShared = true;
+						scheduleSharedWrite();
+					}
+					return;
+				}
+				if (thread == null) {
+					thread = new Thread((Runnable) this::write, threadName);
+					thread.setDaemon(true);
+				}
+				fThread = thread;
 				fThread.start();
 			}
 		}
@@ -159,6 +211,67 @@ public class InputStreamMonitor {
 		if (thread != null) {
 			thread.interrupt();
 		}
+		synchronized (fLock) {
+			if (fShared && !fSharedClosed) {
+				// a running write task notices the flag before it finishes
+				scheduleSharedWrite();
+				fSharedClosed = true;
+			}
+		}
+	}
+
+	/**
+	 * Schedules writing of the queued content if this monitor runs in shared
+	 * mode. Writing may block if the process does not read its input, so it
+	 * does not run on the shared pool. Must be called while holding
+	 * {@link #fLock}.
+	 */
+	private void scheduleSharedWrite() {
+		if (!fShared || fSharedClosed || fWriteScheduled) {
+			return;
+		}
+		fWriteScheduled = true;
+		try {
+			StreamMonitorScheduler.getBlockingPool().execute(this::writeShared);
+		} catch (RejectedExecutionException e) {
+			// pool was shut down
+			fWriteScheduled = false;
+		}
+	}
+
+	/**
+	 * Writes the queued content and closes the stream if the monitor was
+	 * closed meanwhile.
+	 */
+	private void writeShared() {
+		while (true) {
+			while (!fQueue.isEmpty() && !fClosed) {
+				byte[] data = fQueue.firstElement();
+				fQueue.removeElementAt(0);
+				try {
+					fStream.write(data);
+					fStream.flush();
+				} catch (IOException e) {
+					DebugPlugin.log(e);
+				}
+			}
+			boolean close;
+			synchronized (fLock) {
+				if (!fQueue.isEmpty() && !fClosed && !fSharedClosed) {
+					continue;
+				}
+				fWriteScheduled = false;
+				close = fSharedClosed;
+			}
+			if (close && !fClosed) {
+				try {
+					fStream.close();
+				} catch (IOException e) {
+					DebugPlugin.log(e);
+				}
+			}
+			return;
+		}
 	}
 
 	/**
@@ -0,0 +1,307 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.internal.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.ILaunchConfiguration;
+
+/**
+ * Index of the launch configurations known by the {@link LaunchManager}.
+ * Besides the list of all configurations it maintains lookup tables by name,
+ * type identifier, project of the configuration file and mapped resource.
+ * <p>
+ * The index is updated incrementally when configurations are added, changed
+ * or removed. The keys of a configuration are computed when it is added or
+ * changed and remembered so it can be removed after its file was deleted.
+ * </p>
+ * <p>
+ * All methods are synchronized on this index. Lookups return copies. The keys
+ * of a configuration are computed before acquiring the lock of this index as
+ * reading the attributes of a configuration locks the launch manager, which
+ * may already be locked by a caller of a lookup.
+ * </p>
+ */
+class LaunchConfigurationIndex {
+
+	/**
+	 * The keys a configuration is indexed with.
+	 */
+	private static final class Entry {
+		final String fName;
+		final String fTypeId;
+		final IProject fProject;
+		final IResource[] fMappedResources;
+
+		Entry(ILaunchConfiguration config) {
+			fName = config.getName();
+			String typeId = null;
+			try {
+				typeId = config.getType().getIdentifier();
+			} catch (CoreException e) {
+				// not indexed by type
+			}
+			IResource[] mapped = null;
+			try {
+				mapped = config.getMappedResources();
+			} catch (CoreException e) {
+				DebugPlugin.log(e);
+			}
+			fTypeId = typeId;
+			fMappedResources = mapped == null ? new IResource[0] : mapped;
+			IFile file = config.getFile();
+			fProject = file == null ? null : file.getProject();
+		}
+	}
+
+	/** All configurations in the order they were added. */
+	private final List<ILaunchConfiguration> fAll = new ArrayList<>(20);
+
+	private final Map<ILaunchConfiguration, Entry> fEntries = new HashMap<>();
+
+	private final Map<String, Set<ILaunchConfiguration>> fByName = new HashMap<>();
+
+	private final Map<String, Set<ILaunchConfiguration>> fByType = new HashMap<>();
+
+	private final Map<IProject, Set<ILaunchConfiguration>> fByProject = new HashMap<>();
+
+	private final Map<IResource, Set<ILaunchConfiguration>> fByMappedResource = new HashMap<>();
+
+	/**
+	 * Configurations with a mapped file, keyed by the project of the file.
+	 */
+	private final Map<IProject, Set<ILaunchConfiguration>> fByMappedFileProject = new HashMap<>();
+
+	/**
+	 * Returns a copy of the list of all indexed configurations.
+	 *
+	 * @return all configurations
+	 */
+	synchronized List<ILaunchConfiguration> getConfigurations() {
+		return new ArrayList<>(fAll);
+	}
+
+	/**
+	 * Adds the given configuration. Has no effect if it is already indexed.
+	 *
+	 * @param config the configuration to add
+	 * @return whether the configuration was added
+	 */
+	boolean add(ILaunchConfiguration config) {
+		if (contains(config)) {
+			return false;
+		}
+		Entry entry = new Entry(config);
+		synchronized (this) {
+			if (fEntries.containsKey(config)) {
+				return false;
+			}
+			fAll.add(config);
+			fEntries.put(config, entry);
+			addKeys(config, entry);
+		}
+		return true;
+	}
+
+	/**
+	 * Recomputes the keys of the given configuration after its attributes
+	 * changed. Has no effect if the configuration is not indexed.
+	 *
+	 * @param config the changed configuration
+	 */
+	void update(ILaunchConfiguration config) {
+		if (!contains(config)) {
+			return;
+		}
+		Entry entry = new Entry(config);
+		synchronized (this) {
+			Entry previous = fEntries.get(config);
+			if (previous != null) {
+				removeKeys(config, previous);
+				fEntries.put(config, entry);
+				addKeys(config, entry);
+			}
+		}
+	}
+
+	/**
+	 * Removes the given configuration.
+	 *
+	 * @param config the configuration to remove
+	 * @return whether the configuration was indexed
+	 */
+	synchronized boolean remove(ILaunchConfiguration config) {
+		Entry entry = fEntries.remove(config);
+		if (entry == null) {
+			return false;
+		}
+		fAll.remove(config);
+		removeKeys(config, entry);
+		return true;
+	}
+
+	/**
+	 * Removes all configurations.
+	 */
+	synchronized void clear() {
+		fAll.clear();
+		fEntries.clear();
+		fByName.clear();
+		fByType.clear();
+		fByProject.clear();
+		fByMappedResource.clear();
+		fByMappedFileProject.clear();
+	}
+
+	/**
+	 * @param config the configuration to test
+	 * @return whether the configuration is indexed
+	 */
+	synchronized boolean contains(ILaunchConfiguration config) {
+		return fEntries.containsKey(config);
+	}
+
+	/**
+	 * @param name a configuration name
+	 * @return whether a configuration with the given name is indexed
+	 */
+	synchronized boolean containsName(String name) {
+		return fByName.containsKey(name);
+	}
+
+	/**
+	 * @param name a configuration name
+	 * @return the configurations with the given name
+	 */
+	synchronized List<ILaunchConfiguration> getByName(String name) {
+		return copy(fByName.get(name));
+	}
+
+	/**
+	 * @param typeId a launch configuration type identifier
+	 * @return the configurations of the given type
+	 */
+	synchronized List<ILaunchConfiguration> getByType(String typeId) {
+		return copy(fByType.get(typeId));
+	}
+
+	/**
+	 * @param project a project
+	 * @return the configurations stored as files in the given project
+	 */
+	synchronized List<ILaunchConfiguration> getByProject(IProject project) {
+		return copy(fByProject.get(project));
+	}
+
+	/**
+	 * Returns the configurations mapped to the given resource. If the resource
+	 * is a project configurations mapped to files in that project are included.
+	 *
+	 * @param resource a resource
+	 * @return the mapped configurations
+	 */
+	synchronized List<ILaunchConfiguration> getMapped(IResource resource) {
+		Set<ILaunchConfiguration> mapped = fByMappedResource.get(resource);
+		Set<ILaunchConfiguration> fileMapped = resource.getType() == IResource.PROJECT ? fByMappedFileProject.get(resource) : null;
+		if (fileMapped == null) {
+			return copy(mapped);
+		}
+		Set<ILaunchConfiguration> result = new LinkedHashSet<>();
+		if (mapped != null) {
+			result.addAll(mapped);
+		}
+		result.addAll(fileMapped);
+		return new ArrayList<>(result);
+	}
+
+	/**
+	 * Returns the configurations mapped to the given resource or one of its
+	 * descendants.
+	 *
+	 * @param resource a resource
+	 * @return the mapped configurations
+	 */
+	synchronized List<ILaunchConfiguration> getMappedWithin(IResource resource) {
+		Set<ILaunchConfiguration> result = new LinkedHashSet<>();
+		IPath path = resource.getFullPath();
+		fByMappedResource.forEach((mapped, configs) -> {
+			if (resource.equals(mapped) || path.isPrefixOf(mapped.getFullPath())) {
+				result.addAll(configs);
+			}
+		});
+		return new ArrayList<>(result);
+	}
+
+	private void addKeys(ILaunchConfiguration config, Entry entry) {
+		put(fByName, entry.fName, config);
+		put(fByType, entry.fTypeId, config);
+		put(fByProject, entry.fProject, config);
+		for (IResource resource : entry.fMappedResources) {
+			put(fByMappedResource, resource, config);
+			if (resource.getType() == IResource.FILE) {
+				put(fByMappedFileProject, resource.getProject(), config);
+			}
+		}
+	}
+
+	private void removeKeys(ILaunchConfiguration config, Entry entry) {
+		remove(fByName, entry.fName, config);
+		remove(fByType, entry.fTypeId, config);
+		remove(fByProject, entry.fProject, config);
+		for (IResource resource : entry.fMappedResources) {
+			remove(fByMappedResource, resource, config);
+			if (resource.getType() == IResource.FILE) {
+				remove(fByMappedFileProject, resource.getProject(), config);
+			}
+		}
+	}
+
+	private static <K> void put(Map<K, Set<ILaunchConfiguration>> map, K key, ILaunchConfiguration config) {
+		if (key != null) {
+			map.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(config);
+		}
+	}
+
+	private static <K> void remove(Map<K, Set<ILaunchConfiguration>> map, K key, ILaunchConfiguration config) {
+		if (key == null) {
+			return;
+		}
+		Set<ILaunchConfiguration> configs = map.get(key);
+		if (configs != null) {
+			configs.remove(config);
+			if (configs.isEmpty()) {
+				map.remove(key);
+			}
+		}
+	}
+
+	private static List<ILaunchConfiguration> copy(Set<ILaunchConfiguration> configs) {
+		if (configs == null) {
+			return Collections.emptyList();
+		}
+		return new ArrayList<>(configs);
+	}
+}
@@ -53,21 +53,21 @@ public class LaunchConfigurationInfo {
 	/**
 	 * Constants for XML element names and attributes
 	 */
-	private static final String KEY = "key"; //$NON-NLS-1$
-	private static final String VALUE = "value"; //$NON-NLS-1$
-	private static final String SET_ENTRY = "setEntry"; //$NON-NLS-1$
-	private static final String LAUNCH_CONFIGURATION = "launchConfiguration"; //$NON-NLS-1$
-	private static final String MAP_ENTRY = "mapEntry"; //$NON-NLS-1$
-	private static final String LIST_ENTRY = "listEntry"; //$NON-NLS-1$
-	private static final String SET_ATTRIBUTE = "setAttribute"; //$NON-NLS-1$
-	private static final String MAP_ATTRIBUTE = "mapAttribute"; //$NON-NLS-1$
-	private static final String LIST_ATTRIBUTE = "listAttribute"; //$NON-NLS-1$
-	private static final String BOOLEAN_ATTRIBUTE = "booleanAttribute"; //$NON-NLS-1$
-	private static final String INT_ATTRIBUTE = "intAttribute"; //$NON-NLS-1$
-	private static final String STRING_ATTRIBUTE = "stringAttribute"; //$NON-NLS-1$
-	private static final String TYPE = "type"; //$NON-NLS-1$
-	private static final String PROTOTYPE = "prototype"; //$NON-NLS-1$
-	private static final String VISIBLE_ATTRIBUTES = "visibleAttributes"; //$NON-NLS-1$
+	static final String KEY = "key"; //$NON-NLS-1$
+	static final String VALUE = "value"; //$NON-NLS-1$
+	static final String SET_ENTRY = "setEntry"; //$NON-NLS-1$
+	static final String LAUNCH_CONFIGURATION = "launchConfiguration"; //$NON-NLS-1$
+	static final String MAP_ENTRY = "mapEntry"; //$NON-NLS-1$
+	static final String LIST_ENTRY = "listEntry"; //$NON-NLS-1$
+	static final String SET_ATTRIBUTE = "setAttribute"; //$NON-NLS-1$
+	static final String MAP_ATTRIBUTE = "mapAttribute"; //$NON-NLS-1$
+	static final String LIST_ATTRIBUTE = "listAttribute"; //$NON-NLS-1$
+	static final String BOOLEAN_ATTRIBUTE = "booleanAttribute"; //$NON-NLS-1$
+	static final String INT_ATTRIBUTE = "intAttribute"; //$NON-NLS-1$
+	static final String STRING_ATTRIBUTE = "stringAttribute"; //$NON-NLS-1$
+	static final String TYPE = "type"; //$NON-NLS-1$
+	static final String PROTOTYPE = "prototype"; //$NON-NLS-1$
+	static final String VISIBLE_ATTRIBUTES = "visibleAttributes"; //$NON-NLS-1$
 
 	/**
 	 * This configurations attribute table. Keys are <code>String</code>s and
@@ -427,7 +427,9 @@ public class LaunchConfigurationInfo {
 	}
 
 	/**
-	 * Returns the content of this info as XML
+	 * Returns the content of this info as XML. The XML is written by
+	 * {@link LaunchConfigurationXML} and only falls back to a DOM document for
+	 * content the streaming writer cannot reproduce.
 	 *
 	 * @return the content of this info as XML
 	 * @throws CoreException
@@ -439,8 +441,33 @@ public class LaunchConfigurationInfo {
 	 * @throws TransformerException
 	 *             if an exception occurs creating the XML
 	 */
-	@SuppressWarnings("unchecked")
 	protected String getAsXML(String lineDelimeter) throws CoreException, IOException, ParserConfigurationException, TransformerException {
+		ILaunchConfiguration prototype = getPrototype();
+		String visibleAttributes = null;
+		if (prototype == null && isPrototype()) {
+			visibleAttributes = getVisibleAttributes().stream().collect(Collectors.joining(", ")); //$NON-NLS-1$
+		}
+		String xml = LaunchConfigurationXML.write(getType().getIdentifier(), prototype == null ? null : prototype.getName(), visibleAttributes, getAttributeTable(), lineDelimeter);
+		if (xml != null) {
+			return xml;
+		}
+		return getAsDocumentXML(lineDelimeter);
+	}
+
+	/**
+	 * Returns the content of this info as XML, serialized from a DOM
+	 * document. Used for content the streaming writer cannot handle.
+	 *
+	 * @param lineDelimeter the line delimiter to use
+	 * @return the content of this info as XML
+	 * @throws CoreException if a attribute has been set with a null key
+	 * @throws IOException if an exception occurs creating the XML
+	 * @throws ParserConfigurationException if an exception occurs creating the
+	 *             XML
+	 * @throws TransformerException if an exception occurs creating the XML
+	 */
+	@SuppressWarnings("unchecked")
+	protected String getAsDocumentXML(String lineDelimeter) throws CoreException, IOException, ParserConfigurationException, TransformerException {
 		Document doc = LaunchManager.getDocument();
 		Element configRootElement = doc.createElement(LAUNCH_CONFIGURATION);
 		doc.appendChild(configRootElement);
@@ -606,21 +633,7 @@ public class LaunchConfigurationInfo {
 		}
 
 		// read type
-		String id = root.getAttribute(TYPE);
-		if (id == null) {
-			throw getInvalidFormatDebugException();
-		}
-
-		ILaunchConfigurationType type = DebugPlugin.getDefault().getLaunchManager().getLaunchConfigurationType(id);
-		if (type == null) {
-			String message = MessageFormat.format(DebugCoreMessages.LaunchConfigurationInfo_missing_type, id);
-			throw new DebugException(
-					new Status(
-					 IStatus.ERROR, DebugPlugin.getUniqueIdentifier(),
-					 DebugException.MISSING_LAUNCH_CONFIGURATION_TYPE, message, null)
-				);
-		}
-		setType(type);
+		initializeType(root.getAttribute(TYPE));
 
 		NodeList list = root.getChildNodes();
 		Node node = null;
@@ -648,16 +661,52 @@ public class LaunchConfigurationInfo {
 			}
 		}
 
+		initializePrototype(isPrototype, root.getAttribute(VISIBLE_ATTRIBUTES), root.getAttribute(PROTOTYPE));
+	}
+
+	/**
+	 * Sets the type of this info from the type identifier read from XML.
+	 *
+	 * @param id the launch configuration type identifier
+	 * @throws CoreException if the identifier is missing or the type does not
+	 *             exist
+	 */
+	void initializeType(String id) throws CoreException {
+		if (id == null) {
+			throw getInvalidFormatDebugException();
+		}
+
+		ILaunchConfigurationType type = DebugPlugin.getDefault().getLaunchManager().getLaunchConfigurationType(id);
+		if (type == null) {
+			String message = MessageFormat.format(DebugCoreMessages.LaunchConfigurationInfo_missing_type, id);
+			throw new DebugException(
+					new Status(
+					 IStatus.ERROR, DebugPlugin.getUniqueIdentifier(),
+					 DebugException.MISSING_LAUNCH_CONFIGURATION_TYPE, message, null)
+				);
+		}
+		setType(type);
+	}
+
+	/**
+	 * Sets the prototype related state of this info from the values read from
+	 * XML, after the attributes have been read.
+	 *
+	 * @param isPrototype if the XML corresponds to a prototype
+	 * @param visibleAttributes the visible attributes of a prototype joined by
+	 *            <code>", "</code>
+	 * @param prototype the name of the configuration's prototype
+	 * @throws CoreException if the prototypes cannot be retrieved
+	 */
+	void initializePrototype(boolean isPrototype, String visibleAttributes, String prototype) throws CoreException {
 		if (isPrototype) {
 			setIsPrototype(true);
-			String visibleAttributes = root.getAttribute(VISIBLE_ATTRIBUTES);
 			if (visibleAttributes != null && visibleAttributes.length() > 0) {
 				String[] split = visibleAttributes.split(", "); //$NON-NLS-1$
 				setVisibleAttributes(new HashSet<>(Arrays.asList(split)));
 			}
 		} else {
 			setIsPrototype(false);
-			String prototype = root.getAttribute(PROTOTYPE);
 			if (prototype != null && prototype.length() > 0) {
 				ILaunchConfiguration[] launchConfigurations = DebugPlugin.getDefault().getLaunchManager().getLaunchConfigurations(ILaunchConfiguration.PROTOTYPE);
 				for (ILaunchConfiguration iLaunchConfiguration : launchConfigurations) {
@@ -0,0 +1,380 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.internal.core;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * Streaming reader and writer for the launch configuration file format.
+ * <p>
+ * The reader uses a StAX {@link XMLStreamReader} and fills a
+ * {@link LaunchConfigurationInfo} without building a DOM. It accepts the same
+ * documents as {@link LaunchConfigurationInfo#initializeFromXML(org.w3c.dom.Element, boolean)}.
+ * </p>
+ * <p>
+ * The writer produces exactly the bytes the DOM based serialization with
+ * {@link LaunchManager#serializeDocument(org.w3c.dom.Document, String)}
+ * produces, so existing files do not change when they are saved again. Values
+ * the writer cannot reproduce byte for byte, like control characters, are
+ * reported to the caller which then has to use the DOM based serialization.
+ * </p>
+ */
+public class LaunchConfigurationXML {
+
+	private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>"; //$NON-NLS-1$
+
+	private static final String INDENT = "    "; //$NON-NLS-1$
+
+	private static final XMLInputFactory fgInputFactory = createInputFactory();
+
+	private LaunchConfigurationXML() {
+	}
+
+	private static XMLInputFactory createInputFactory() {
+		XMLInputFactory factory = XMLInputFactory.newDefaultFactory();
+		// same element names as seen by the non namespace aware DOM parser
+		factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		return factory;
+	}
+
+	/**
+	 * Returns the launch configuration XML for the given content.
+	 *
+	 * @param typeId the launch configuration type identifier
+	 * @param prototype the name of the configuration's prototype or
+	 *            <code>null</code>
+	 * @param visibleAttributes the visible attributes of a prototype joined by
+	 *            <code>", "</code> or <code>null</code>
+	 * @param attributes the attributes sorted by key
+	 * @param lineDelimiter the line delimiter to use
+	 * @return the XML or <code>null</code> if the content cannot be written
+	 *         identical to the DOM based serialization
+	 */
+	@SuppressWarnings("unchecked")
+	public static String write(String typeId, String prototype, String visibleAttributes, Map<String, ?> attributes, String lineDelimiter) {
+		StringBuilder xml = new StringBuilder(256 + attributes.size() * 96);
+		xml.append(XML_DECLARATION).append(lineDelimiter);
+		xml.append('<').append(LaunchConfigurationInfo.LAUNCH_CONFIGURATION);
+		// the DOM serialization writes attributes sorted by name
+		if (prototype != null && !appendAttribute(xml, LaunchConfigurationInfo.PROTOTYPE, prototype)) {
+			return null;
+		}
+		if (!appendAttribute(xml, LaunchConfigurationInfo.TYPE, typeId)) {
+			return null;
+		}
+		if (visibleAttributes != null && !appendAttribute(xml, LaunchConfigurationInfo.VISIBLE_ATTRIBUTES, visibleAttributes)) {
+			return null;
+		}
+		boolean empty = true;
+		for (Map.Entry<String, ?> entry : attributes.entrySet()) {
+			String key = entry.getKey();
+			Object value = entry.getValue();
+			if (value == null) {
+				continue;
+			}
+			if (key == null) {
+				return null;
+			}
+			if (empty) {
+				xml.append('>').append(lineDelimiter);
+				empty = false;
+			}
+			boolean written;
+			if (value instanceof String) {
+				written = appendKeyValue(xml, LaunchConfigurationInfo.STRING_ATTRIBUTE, key, (String) value, lineDelimiter);
+			} else if (value instanceof Integer) {
+				written = appendKeyValue(xml, LaunchConfigurationInfo.INT_ATTRIBUTE, key, value.toString(), lineDelimiter);
+			} else if (value instanceof Boolean) {
+				written = appendKeyValue(xml, LaunchConfigurationInfo.BOOLEAN_ATTRIBUTE, key, value.toString(), lineDelimiter);
+			} else if (value instanceof List) {
+				written = appendCollection(xml, LaunchConfigurationInfo.LIST_ATTRIBUTE, LaunchConfigurationInfo.LIST_ENTRY, key, (List<String>) value, lineDelimiter);
+			} else if (value instanceof Map) {
+				written = appendMap(xml, key, (Map<String, String>) value, lineDelimiter);
+			} else if (value instanceof Set) {
+				// persist in sorted order
+				List<String> list = new ArrayList<>((Set<String>) value);
+				Collections.sort(list);
+				written = appendCollection(xml, LaunchConfigurationInfo.SET_ATTRIBUTE, LaunchConfigurationInfo.SET_ENTRY, key, list, lineDelimiter);
+			} else {
+				written = false;
+			}
+			if (!written) {
+				return null;
+			}
+		}
+		if (empty) {
+			xml.append("/>").append(lineDelimiter); //$NON-NLS-1$
+		} else {
+			xml.append("</").append(LaunchConfigurationInfo.LAUNCH_CONFIGURATION).append('>').append(lineDelimiter); //$NON-NLS-1$
+		}
+		return xml.toString();
+	}
+
+	private static boolean appendKeyValue(StringBuilder xml, String elementType, String key, String value, String lineDelimiter) {
+		xml.append(INDENT).append('<').append(elementType);
+		if (!appendAttribute(xml, LaunchConfigurationInfo.KEY, key) || !appendAttribute(xml, LaunchConfigurationInfo.VALUE, value)) {
+			return false;
+		}
+		xml.append("/>").append(lineDelimiter); //$NON-NLS-1$
+		return true;
+	}
+
+	private static boolean appendCollection(StringBuilder xml, String elementType, String entryType, String key, Collection<String> values, String lineDelimiter) {
+		xml.append(INDENT).append('<').append(elementType);
+		if (!appendAttribute(xml, LaunchConfigurationInfo.KEY, key)) {
+			return false;
+		}
+		if (values.isEmpty()) {
+			xml.append("/>").append(lineDelimiter); //$NON-NLS-1$
+			return true;
+		}
+		xml.append('>').append(lineDelimiter);
+		for (String value : values) {
+			if (value == null) {
+				return false;
+			}
+			xml.append(INDENT).append(INDENT).append('<').append(entryType);
+			if (!appendAttribute(xml, LaunchConfigurationInfo.VALUE, value)) {
+				return false;
+			}
+			xml.append("/>").append(lineDelimiter); //$NON-NLS-1$
+		}
+		xml.append(INDENT).append("</").append(elementType).append('>').append(lineDelimiter); //$NON-NLS-1$
+		return true;
+	}
+
+	private static boolean appendMap(StringBuilder xml, String key, Map<String, String> map, String lineDelimiter) {
+		xml.append(INDENT).append('<').append(LaunchConfigurationInfo.MAP_ATTRIBUTE);
+		if (!appendAttribute(xml, LaunchConfigurationInfo.KEY, key)) {
+			return false;
+		}
+		if (map.isEmpty()) {
+			xml.append("/>").append(lineDelimiter); //$NON-NLS-1$
+			return true;
+		}
+		xml.append('>').append(lineDelimiter);
+		// persist in sorted order based on keys
+		List<String> keys = new ArrayList<>(map.keySet());
+		Collections.sort(keys);
+		for (String entryKey : keys) {
+			String value = map.get(entryKey);
+			if (value == null) {
+				return false;
+			}
+			xml.append(INDENT).append(INDENT).append('<').append(LaunchConfigurationInfo.MAP_ENTRY);
+			if (!appendAttribute(xml, LaunchConfigurationInfo.KEY, entryKey) || !appendAttribute(xml, LaunchConfigurationInfo.VALUE, value)) {
+				return false;
+			}
+			xml.append("/>").append(lineDelimiter); //$NON-NLS-1$
+		}
+		xml.append(INDENT).append("</").append(LaunchConfigurationInfo.MAP_ATTRIBUTE).append('>').append(lineDelimiter); //$NON-NLS-1$
+		return true;
+	}
+
+	/**
+	 * Appends an attribute escaped like the DOM serialization does.
+	 *
+	 * @return <code>false</code> if the value contains characters whose
+	 *         escaping is not reproduced
+	 */
+	private static boolean appendAttribute(StringBuilder xml, String name, String value) {
+		xml.append(' ').append(name).append("=\""); //$NON-NLS-1$
+		int length = value.length();
+		for (int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			switch (c) {
+				case '&':
+					xml.append("&amp;"); //$NON-NLS-1$
+					break;
+				case '<':
+					xml.append("&lt;"); //$NON-NLS-1$
+					break;
+				case '>':
+					xml.append("&gt;"); //$NON-NLS-1$
+					break;
+				case '"':
+					xml.append("&quot;"); //$NON-NLS-1$
+					break;
+				case '\t':
+					xml.append("&#9;"); //$NON-NLS-1$
+					break;
+				case '\n':
+					xml.append("&#10;"); //$NON-NLS-1$
+					break;
+				case '\r':
+					xml.append("&#13;"); //$NON-NLS-1$
+					break;
+				default:
+					if (c < 0x20) {
+						return false;
+					}
+					if (Character.isSurrogate(c)) {
+						// supplementary characters are written as character
+						// references, unpaired surrogates are rejected by the
+						// DOM serialization
+						if (!Character.isHighSurrogate(c) || i + 1 == length || !Character.isLowSurrogate(value.charAt(i + 1))) {
+							return false;
+						}
+						xml.append("&#").append(Character.toCodePoint(c, value.charAt(++i))).append(';'); //$NON-NLS-1$
+					} else {
+						xml.append(c);
+					}
+			}
+		}
+		xml.append('"');
+		return true;
+	}
+
+	/**
+	 * Initializes the given info from the launch configuration XML in the
+	 * given stream.
+	 *
+	 * @param stream the stream to read from
+	 * @param info the info to initialize
+	 * @param isPrototype if the XML corresponds to a prototype
+	 * @throws CoreException if the XML is not a valid launch configuration or
+	 *             its type does not exist
+	 * @throws XMLStreamException if the XML is not well formed
+	 */
+	public static void read(InputStream stream, LaunchConfigurationInfo info, boolean isPrototype) throws CoreException, XMLStreamException {
+		XMLStreamReader reader;
+		synchronized (fgInputFactory) {
+			reader = fgInputFactory.createXMLStreamReader(stream);
+		}
+		try {
+			while (reader.hasNext() && reader.next() != XMLStreamConstants.START_ELEMENT) {
+				// skip prolog
+			}
+			if (reader.getEventType() != XMLStreamConstants.START_ELEMENT) {
+				// empty document, fail like the parser does for a premature end
+				throw new XMLStreamException(DebugCoreMessages.LaunchConfigurationInfo_Invalid_launch_configuration_XML__10, reader.getLocation());
+			}
+			if (!reader.getLocalName().equalsIgnoreCase(LaunchConfigurationInfo.LAUNCH_CONFIGURATION)) {
+				throw info.getInvalidFormatDebugException();
+			}
+			String visibleAttributes = getAttribute(reader, LaunchConfigurationInfo.VISIBLE_ATTRIBUTES);
+			String prototype = getAttribute(reader, LaunchConfigurationInfo.PROTOTYPE);
+			info.initializeType(getAttribute(reader, LaunchConfigurationInfo.TYPE));
+			while (reader.next() != XMLStreamConstants.END_ELEMENT) {
+				if (reader.getEventType() == XMLStreamConstants.START_ELEMENT) {
+					readAttribute(reader, info);
+				}
+			}
+			// the remainder of the document must be well formed as well
+			while (reader.hasNext()) {
+				reader.next();
+			}
+			info.initializePrototype(isPrototype, visibleAttributes, prototype);
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Reads the attribute element the reader is positioned at and leaves the
+	 * reader at its end.
+	 */
+	private static void readAttribute(XMLStreamReader reader, LaunchConfigurationInfo info) throws CoreException, XMLStreamException {
+		String name = reader.getLocalName();
+		String key = getAttribute(reader, LaunchConfigurationInfo.KEY);
+		if (name.equalsIgnoreCase(LaunchConfigurationInfo.STRING_ATTRIBUTE)) {
+			info.setAttribute(key, getAttribute(reader, LaunchConfigurationInfo.VALUE));
+		} else if (name.equalsIgnoreCase(LaunchConfigurationInfo.INT_ATTRIBUTE)) {
+			info.setAttribute(key, Integer.valueOf(getAttribute(reader, LaunchConfigurationInfo.VALUE)));
+		} else if (name.equalsIgnoreCase(LaunchConfigurationInfo.BOOLEAN_ATTRIBUTE)) {
+			info.setAttribute(key, Boolean.valueOf(getAttribute(reader, LaunchConfigurationInfo.VALUE)));
+		} else if (name.equalsIgnoreCase(LaunchConfigurationInfo.LIST_ATTRIBUTE)) {
+			List<String> list = new ArrayList<>();
+			readEntries(reader, info, LaunchConfigurationInfo.LIST_ENTRY, (entryKey, value) -> list.add(value));
+			info.setAttribute(key, list);
+			return;
+		} else if (name.equalsIgnoreCase(LaunchConfigurationInfo.MAP_ATTRIBUTE)) {
+			Map<String, String> map = new HashMap<>();
+			readEntries(reader, info, LaunchConfigurationInfo.MAP_ENTRY, map::put);
+			info.setAttribute(key, map);
+			return;
+		} else if (name.equalsIgnoreCase(LaunchConfigurationInfo.SET_ATTRIBUTE)) {
+			Set<String> set = new HashSet<>();
+			readEntries(reader, info, LaunchConfigurationInfo.SET_ENTRY, (entryKey, value) -> set.add(value));
+			info.setAttribute(key, set);
+			return;
+		}
+		skipElement(reader);
+	}
+
+	/**
+	 * Consumer of the key and value of an entry element.
+	 */
+	private interface EntryHandler {
+		void entry(String key, String value);
+	}
+
+	/**
+	 * Reads the entry elements of the list, set or map element the reader is
+	 * positioned at and leaves the reader at its end.
+	 */
+	private static void readEntries(XMLStreamReader reader, LaunchConfigurationInfo info, String entryType, EntryHandler handler) throws CoreException, XMLStreamException {
+		while (reader.next() != XMLStreamConstants.END_ELEMENT) {
+			if (reader.getEventType() == XMLStreamConstants.START_ELEMENT) {
+				if (!reader.getLocalName().equalsIgnoreCase(entryType)) {
+					throw info.getInvalidFormatDebugException();
+				}
+				handler.entry(getAttribute(reader, LaunchConfigurationInfo.KEY), getAttribute(reader, LaunchConfigurationInfo.VALUE));
+				skipElement(reader);
+			}
+		}
+	}
+
+	/**
+	 * Skips the content of the element the reader is positioned at and leaves
+	 * the reader at its end.
+	 */
+	private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+		int depth = 1;
+		while (depth > 0) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				depth++;
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				depth--;
+			}
+		}
+	}
+
+	/**
+	 * Returns the value of an attribute of the current element, or an empty
+	 * string if it is not specified like DOM does.
+	 */
+	private static String getAttribute(XMLStreamReader reader, String name) {
+		String value = reader.getAttributeValue(null, name);
+		return value == null ? IInternalDebugCoreConstants.EMPTY_STRING : value;
+	}
+}
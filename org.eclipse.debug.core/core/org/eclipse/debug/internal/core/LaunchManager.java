@@ -51,6 +51,7 @@ import java.util.StringTokenizer;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
@@ -113,9 +114,7 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
-import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
-import org.xml.sax.helpers.DefaultHandler;
 
 /**
  * Manages launch configurations, launch configuration types, and registered launches.
@@ -575,15 +574,10 @@ public class LaunchManager extends PlatformObject implements ILaunchManager, IRe
 	private Map<ILaunchConfiguration, LaunchConfigurationInfo> fLaunchConfigurations = new HashMap<>(10);
 
 	/**
-	 * A cache of launch configuration names currently in the workspace.
+	 * Index of all launch configurations in the workspace or
+	 * <code>null</code> if not initialized yet.
 	 */
-	private volatile String[] fSortedConfigNames = null;
-
-	/**
-	 * Collection of all launch configurations in the workspace.
-	 * <code>List</code> of <code>ILaunchConfiguration</code>.
-	 */
-	private List<ILaunchConfiguration> fLaunchConfigurationIndex = null;
+	private LaunchConfigurationIndex fLaunchConfigurationIndex = null;
 
 	/**
 	 * Launch configuration comparator extensions,
@@ -887,13 +881,6 @@ public class LaunchManager extends PlatformObject implements ILaunchManager, IRe
 		return encoding;
 	}
 
-	/**
-	 * The launch config name cache is cleared when a config is added, deleted or changed.
-	 */
-	protected synchronized void clearConfigNameCache() {
-		fSortedConfigNames = null;
-	}
-
 	/**
 	 * Return an instance of DebugException containing the specified message and Throwable.
 	 * @param message the message for the new {@link DebugException}
@@ -947,12 +934,12 @@ public class LaunchManager extends PlatformObject implements ILaunchManager, IRe
 	 * @since 3.12
 	 */
 	protected LaunchConfigurationInfo createInfoFromXML(InputStream stream, boolean isPrototype) throws CoreException, ParserConfigurationException, IOException, SAXException {
-		Element root = null;
-		DocumentBuilder parser = DocumentBuilderFactory.newInstance().newDocumentBuilder();
-		parser.setErrorHandler(new DefaultHandler());
-		root = parser.parse(new InputSource(stream)).getDocumentElement();
 		LaunchConfigurationInfo info = new LaunchConfigurationInfo();
-		info.initializeFromXML(root, isPrototype);
+		try {
+			LaunchConfigurationXML.read(stream, info, isPrototype);
+		} catch (XMLStreamException e) {
+			throw new SAXException(e);
+		}
 		return info;
 	}
 
@@ -992,9 +979,13 @@ public class LaunchManager extends PlatformObject implements ILaunchManager, IRe
 	 */
 	public ILaunchConfiguration findLaunchConfiguration(String name) {
 		if(name != null) {
-			for (ILaunchConfiguration config : getLaunchConfigurations()) {
-				if(name.equals(config.getName())) {
-					return config;
+			for (ILaunchConfiguration config : getIndex().getByName(name)) {
+				try {
+					if ((config.getKind() & ILaunchConfiguration.CONFIGURATION) > 0) {
+						return config;
+					}
+				} catch (CoreException e) {
+					DebugPlugin.log(e);
 				}
 			}
 		}
@@ -1132,19 +1123,33 @@ public class LaunchManager extends PlatformObject implements ILaunchManager, IRe
 	}
 
 	/**
-	 * Returns a collection of all launch configuration handles in
+	 * Returns a copy of the collection of all launch configuration handles in
 	 * the workspace. This collection is initialized lazily.
 	 *
 	 * @return all launch configuration handles
 	 */
 	public synchronized List<ILaunchConfiguration> getAllLaunchConfigurations() {
+		return getIndex().getConfigurations();
+	}
+
+	/**
+	 * Returns the index of all launch configurations in the workspace. The
+	 * index is initialized lazily.
+	 *
+	 * @return the launch configuration index
+	 */
+	private synchronized LaunchConfigurationIndex getIndex() {
 		if (fLaunchConfigurationIndex == null) {
 			try {
-				fLaunchConfigurationIndex = new ArrayList<>(20);
+				fLaunchConfigurationIndex = new LaunchConfigurationIndex();
+				List<ILaunchConfiguration> valid = new ArrayList<>(20);
 				List<ILaunchConfiguration> configs = findLocalLaunchConfigurations();
-				verifyConfigurations(configs, fLaunchConfigurationIndex);
+				verifyConfigurations(configs, valid);
 				configs = findLaunchConfigurations(ResourcesPlugin.getWorkspace().getRoot());
-				verifyConfigurations(configs, fLaunchConfigurationIndex);
+				verifyConfigurations(configs, valid);
+				for (ILaunchConfiguration config : valid) {
+					fLaunchConfigurationIndex.add(config);
+				}
 			} finally {
 				hookResourceChangeListener();
 			}
@@ -1152,25 +1157,6 @@ public class LaunchManager extends PlatformObject implements ILaunchManager, IRe
 		return fLaunchConfigurationIndex;
 	}
 
-	/**
-	 * Return a sorted array of the names of all <code>ILaunchConfiguration</code>s in
-	 * the workspace.  These are cached, and cache is cleared when a new config is added,
-	 * deleted or changed.
-	 * @return the sorted array of {@link ILaunchConfiguration} names
-	 */
-	protected synchronized String[] getAllSortedConfigNames() {
-		if (fSortedConfigNames == null) {
-			List<ILaunchConfiguration> collection = getAllLaunchConfigurations();
-			ILaunchConfiguration[] configs = collection.toArray(new ILaunchConfiguration[collection.size()]);
-			fSortedConfigNames = new String[configs.length];
-			for (int i = 0; i < configs.length; i++) {
-				fSortedConfigNames[i] = configs[i].getName();
-			}
-			Arrays.sort(fSortedConfigNames);
-		}
-		return fSortedConfigNames;
-	}
-
 	/**
 	 * Returns the comparator registered for the given attribute, or
 	 * <code>null</code> if none.
@@ -1473,7 +1459,7 @@ public class LaunchManager extends PlatformObject implements ILaunchManager, IRe
 	@Override
 	public synchronized ILaunchConfiguration[] getLaunchConfigurations(ILaunchConfigurationType type, int kinds) throws CoreException {
 		List<ILaunchConfiguration> configs = new ArrayList<>();
-		for (ILaunchConfiguration config : getAllLaunchConfigurations()) {
+		for (ILaunchConfiguration config : getIndex().getByType(type.getIdentifier())) {
 			if (config.getType().equals(type) && ((config.getKind() & kinds) > 0)) {
 				configs.add(config);
 			}
@@ -1490,14 +1476,7 @@ public class LaunchManager extends PlatformObject implements ILaunchManager, IRe
 	 *  in the given project
 	 */
 	protected synchronized List<ILaunchConfiguration> getLaunchConfigurations(IProject project) {
-		List<ILaunchConfiguration> configs = new ArrayList<>();
-		for (ILaunchConfiguration config : getAllLaunchConfigurations()) {
-			IFile file = config.getFile();
-			if (file != null && file.getProject().equals(project)) {
-				configs.add(config);
-			}
-		}
-		return configs;
+		return getIndex().getByProject(project);
 	}
 
 	@Override
@@ -1755,27 +1734,7 @@ public class LaunchManager extends PlatformObject implements ILaunchManager, IRe
 	 * @since 3.2
 	 */
 	public ILaunchConfiguration[] getMappedConfigurations(IResource resource) {
-		List<ILaunchConfiguration> configurations = new ArrayList<>();
-		for (ILaunchConfiguration config : getAllLaunchConfigurations()) {
-			try {
-				IResource[] resources = config.getMappedResources();
-				if(resources != null) {
-					for (IResource res : resources) {
-						if(res.equals(resource)) {
-							configurations.add(config);
-							break;
-						} else if (resource.getType() == IResource.PROJECT && res.getType() == IResource.FILE){
-							if (res.getProject().equals(resource)) {
-								configurations.add(config);
-								break;
-							}
-						}
-					}
-				}
-			} catch (CoreException ce) {
-				DebugPlugin.log(ce);
-			}
-		}
+		List<ILaunchConfiguration> configurations = getIndex().getMapped(resource);
 		return configurations.toArray(new ILaunchConfiguration[configurations.size()]);
 	}
 
@@ -2032,12 +1991,7 @@ public class LaunchManager extends PlatformObject implements ILaunchManager, IRe
 
 	@Override
 	public boolean isExistingLaunchConfigurationName(String name) {
-		String[] sortedConfigNames = getAllSortedConfigNames();
-		int index = Arrays.binarySearch(sortedConfigNames, name);
-		if (index < 0) {
-			return false;
-		}
-		return true;
+		return getIndex().containsName(name);
 	}
 
 	/**
@@ -2110,15 +2064,10 @@ public class LaunchManager extends PlatformObject implements ILaunchManager, IRe
 		if (isValid(config)) {
 			boolean added = false;
 			synchronized (this) {
-				List<ILaunchConfiguration> allConfigs = getAllLaunchConfigurations();
-				if (!allConfigs.contains(config)) {
-					allConfigs.add(config);
-					added = true;
-				}
+				added = getIndex().add(config);
 			}
 			if (added) {
 				getConfigurationNotifier().notify(config, ADDED);
-				clearConfigNameCache();
 			}
 		} else {
 			launchConfigurationDeleted(config);
@@ -2138,8 +2087,9 @@ public class LaunchManager extends PlatformObject implements ILaunchManager, IRe
 		synchronized(this) {
 			fLaunchConfigurations.remove(config);
 		}
-		clearConfigNameCache();
 		if (isValid(config)) {
+			// type or mapped resources may have changed
+			getIndex().update(config);
 			// in case the config has been refreshed and it was removed from the
 			// index due to 'out of synch with local file system' (see bug 36147),
 			// add it back (will only add if required)
@@ -2163,11 +2113,10 @@ public class LaunchManager extends PlatformObject implements ILaunchManager, IRe
 		synchronized (this) {
 			Object key = fLaunchConfigurations.remove(config);
 			removed = key != null;
-			getAllLaunchConfigurations().remove(config);
+			getIndex().remove(config);
 		}
 		if (removed) {
 			getConfigurationNotifier().notify(config, REMOVED);
-			clearConfigNameCache();
 		}
 	}
 
@@ -2290,20 +2239,9 @@ public class LaunchManager extends PlatformObject implements ILaunchManager, IRe
 	private ArrayList<ILaunchConfiguration> collectAssociatedLaunches(IResource resource) {
 		ArrayList<ILaunchConfiguration> list = new ArrayList<>();
 		try {
-			ILaunchConfiguration[] configs = DebugPlugin.getDefault().getLaunchManager().getLaunchConfigurations();
-			IResource[] resources = null;
-			for (ILaunchConfiguration config : configs) {
-				if(config.isLocal()) {
-					resources = config.getMappedResources();
-					if(resources != null) {
-						for (IResource res : resources) {
-							if(resource.equals(res) ||
-									resource.getFullPath().isPrefixOf(res.getFullPath())) {
-								list.add(config);
-								break;
-							}
-						}
-					}
+			for (ILaunchConfiguration config : getIndex().getMappedWithin(resource)) {
+				if (config.isLocal() && (config.getKind() & ILaunchConfiguration.CONFIGURATION) > 0) {
+					list.add(config);
 				}
 			}
 		} catch (CoreException e) {
@@ -0,0 +1,288 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.internal.core;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Segmented byte buffer used by {@link OutputStreamMonitor} to keep the
+ * content read from a process stream.
+ * <p>
+ * Content is stored in chunks of fixed maximum size. Appending never copies
+ * previously written chunks. The buffer can optionally be bounded by a
+ * retention policy which keeps the first bytes written (the <i>head</i>) and
+ * the most recently written bytes (the <i>tail</i>). Content between head and
+ * tail is discarded in whole chunks once the tail limit is exceeded.
+ * </p>
+ * <p>
+ * Read access is provided through read-only {@link ByteBuffer} views on the
+ * chunks so callers can process the content without materializing it in a
+ * single array. Chunk content is never modified once written, therefore views
+ * stay valid even if the buffer is modified afterwards.
+ * </p>
+ * <p>
+ * This class is not thread safe. Callers must synchronize access.
+ * </p>
+ */
+public class OutputStreamBuffer {
+
+	/**
+	 * Default maximum size of a single chunk.
+	 */
+	public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+	/**
+	 * Initial size of the chunk currently written to. It grows up to the chunk
+	 * size so small outputs do not allocate whole chunks.
+	 */
+	private static final int INITIAL_CHUNK_SIZE = 256;
+
+	private final int fChunkSize;
+
+	/** Sealed chunks which belong to the retained head. */
+	private final List<byte[]> fHead = new ArrayList<>();
+
+	/** Sealed chunks after the head. Oldest are discarded first. */
+	private final ArrayDeque<byte[]> fTail = new ArrayDeque<>();
+
+	/** The chunk currently written to. May be <code>null</code>. */
+	private byte[] fCurrent;
+
+	/** Number of valid bytes in {@link #fCurrent}. */
+	private int fCurrentLength;
+
+	/** Number of bytes in {@link #fTail}. */
+	private long fTailSize;
+
+	/** Number of retained bytes. */
+	private long fSize;
+
+	/** Number of bytes discarded by the retention policy since last reset. */
+	private long fDiscarded;
+
+	/** Number of head bytes to keep or <code>0</code> to keep no head. */
+	private long fHeadLimit;
+
+	/** Minimal number of tail bytes to keep or negative for unbounded. */
+	private long fTailLimit = -1;
+
+	/**
+	 * Creates an unbounded buffer with default chunk size.
+	 */
+	public OutputStreamBuffer() {
+		this(DEFAULT_CHUNK_SIZE);
+	}
+
+	/**
+	 * Creates an unbounded buffer.
+	 *
+	 * @param chunkSize maximum size of a single chunk
+	 */
+	public OutputStreamBuffer(int chunkSize) {
+		if (chunkSize <= 0) {
+			throw new IllegalArgumentException("Chunk size must be positive."); //$NON-NLS-1$
+		}
+		fChunkSize = chunkSize;
+	}
+
+	/**
+	 * Sets the retention policy of this buffer. If <code>tailLimit</code> is
+	 * negative the buffer is unbounded and <code>headLimit</code> has no
+	 * effect.
+	 * <p>
+	 * Limits are applied in chunk granularity. The head is rounded up to whole
+	 * chunks and at least <code>tailLimit</code> bytes of the most recent
+	 * content are kept.
+	 * </p>
+	 *
+	 * @param headLimit number of bytes at the start of the content which are
+	 *            always retained
+	 * @param tailLimit number of most recent bytes which are retained or
+	 *            negative for no limit
+	 */
+	public void setLimits(long headLimit, long tailLimit) {
+		fHeadLimit = Math.max(0, headLimit);
+		fTailLimit = tailLimit;
+		// redistribute sealed chunks for the new head size
+		List<byte[]> sealed = new ArrayList<>(fHead.size() + fTail.size());
+		sealed.addAll(fHead);
+		sealed.addAll(fTail);
+		fHead.clear();
+		fTail.clear();
+		fTailSize = 0;
+		for (byte[] chunk : sealed) {
+			seal(chunk);
+		}
+		trim();
+	}
+
+	/**
+	 * @return <code>true</code> if this buffer discards content once its
+	 *         limits are exceeded
+	 */
+	public boolean isBounded() {
+		return fTailLimit >= 0;
+	}
+
+	/**
+	 * Appends the given bytes to the buffer.
+	 *
+	 * @param data the data to append
+	 * @param offset start of valid data
+	 * @param length number of valid bytes
+	 */
+	public void write(byte[] data, int offset, int length) {
+		while (length > 0) {
+			if (fCurrent == null) {
+				fCurrent = new byte[Math.min(fChunkSize, Math.max(INITIAL_CHUNK_SIZE, length))];
+				fCurrentLength = 0;
+			} else if (fCurrentLength == fCurrent.length && fCurrent.length < fChunkSize) {
+				int newSize = Math.min(fChunkSize, Math.max(fCurrent.length * 2, fCurrentLength + length));
+				fCurrent = Arrays.copyOf(fCurrent, newSize);
+			}
+			int count = Math.min(length, fCurrent.length - fCurrentLength);
+			System.arraycopy(data, offset, fCurrent, fCurrentLength, count);
+			fCurrentLength += count;
+			fSize += count;
+			offset += count;
+			length -= count;
+			if (fCurrentLength == fChunkSize) {
+				seal(fCurrent);
+				fCurrent = null;
+				fCurrentLength = 0;
+				trim();
+			}
+		}
+	}
+
+	/**
+	 * Removes all content and resets the discarded counter. The retention
+	 * policy is kept.
+	 */
+	public void reset() {
+		fHead.clear();
+		fTail.clear();
+		fCurrent = null;
+		fCurrentLength = 0;
+		fTailSize = 0;
+		fSize = 0;
+		fDiscarded = 0;
+	}
+
+	/**
+	 * @return number of currently retained bytes
+	 */
+	public long size() {
+		return fSize;
+	}
+
+	/**
+	 * @return number of bytes discarded by the retention policy since the last
+	 *         {@link #reset()}
+	 */
+	public long getDiscardedCount() {
+		return fDiscarded;
+	}
+
+	/**
+	 * Returns read-only views on the retained content in order.
+	 *
+	 * @return the content views; never <code>null</code>
+	 */
+	public ByteBuffer[] getChunks() {
+		return getChunks(0);
+	}
+
+	/**
+	 * Returns read-only views on the retained content starting at the given
+	 * offset.
+	 *
+	 * @param offset offset in the retained content to start at
+	 * @return the content views; never <code>null</code>
+	 */
+	public ByteBuffer[] getChunks(long offset) {
+		List<ByteBuffer> views = new ArrayList<>(fHead.size() + fTail.size() + 1);
+		long position = 0;
+		for (byte[] chunk : fHead) {
+			position = addView(views, chunk, chunk.length, position, offset);
+		}
+		for (byte[] chunk : fTail) {
+			position = addView(views, chunk, chunk.length, position, offset);
+		}
+		if (fCurrent != null) {
+			addView(views, fCurrent, fCurrentLength, position, offset);
+		}
+		return views.toArray(new ByteBuffer[views.size()]);
+	}
+
+	/**
+	 * Copies the retained content into a new array.
+	 *
+	 * @return the retained content; never <code>null</code>
+	 */
+	public byte[] toByteArray() {
+		if (fSize > Integer.MAX_VALUE) {
+			throw new OutOfMemoryError("Buffered content exceeds maximum array size."); //$NON-NLS-1$
+		}
+		byte[] result = new byte[(int) fSize];
+		int position = 0;
+		for (ByteBuffer view : getChunks()) {
+			int length = view.remaining();
+			view.get(result, position, length);
+			position += length;
+		}
+		return result;
+	}
+
+	private static long addView(List<ByteBuffer> views, byte[] chunk, int length, long position, long offset) {
+		long end = position + length;
+		if (end > offset && length > 0) {
+			int start = (int) Math.max(0, offset - position);
+			views.add(ByteBuffer.wrap(chunk, start, length - start).asReadOnlyBuffer());
+		}
+		return end;
+	}
+
+	private void seal(byte[] chunk) {
+		if (fHead.size() < getHeadChunkCount()) {
+			fHead.add(chunk);
+		} else {
+			fTail.add(chunk);
+			fTailSize += chunk.length;
+		}
+	}
+
+	private int getHeadChunkCount() {
+		return (int) Math.min(Integer.MAX_VALUE, (fHeadLimit + fChunkSize - 1) / fChunkSize);
+	}
+
+	/**
+	 * Discards the oldest tail chunks as long as enough tail content is left.
+	 */
+	private void trim() {
+		if (!isBounded()) {
+			return;
+		}
+		while (!fTail.isEmpty() && fTailSize + fCurrentLength - fTail.peekFirst().length >= fTailLimit) {
+			byte[] chunk = fTail.removeFirst();
+			fTailSize -= chunk.length;
+			fSize -= chunk.length;
+			fDiscarded += chunk.length;
+		}
+	}
+}
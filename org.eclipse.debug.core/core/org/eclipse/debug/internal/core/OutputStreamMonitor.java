@@ -16,11 +16,18 @@
 package org.eclipse.debug.internal.core;
 
 import java.io.BufferedInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
 
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.ListenerList;
@@ -42,6 +49,31 @@ public class OutputStreamMonitor implements IBinaryStreamMonitor {
 	 */
 	private static final int BUFFER_SIZE = 8192;
 
+	/**
+	 * Maximum number of reads done in one run of a {@link StreamPump} before
+	 * the pool thread is released to serve other monitors.
+	 */
+	private static final int MAX_READS_PER_PUMP = 16;
+
+	/**
+	 * Maximum delay in milliseconds between two polls of an idle stream in
+	 * shared mode, i.e. the latency of the first output after the stream was
+	 * idle. The delay doubles from 1 ms while the stream stays idle.
+	 */
+	static final long MAX_POLL_DELAY = 50;
+
+	/**
+	 * Maximum size of content coalesced into a single listener notification.
+	 */
+	private static final int MAX_BATCH_SIZE = 64 * 1024;
+
+	/**
+	 * If more content than this is waiting for delivery the reading thread
+	 * delivers it itself, which slows down reading until listeners catch up.
+	 * In shared mode the stream is not polled until listeners caught up.
+	 */
+	private static final int MAX_PENDING_BYTES = 4 * 1024 * 1024;
+
 	/**
 	 * The stream being monitored (connected system out or err).
 	 */
@@ -63,25 +95,73 @@ public class OutputStreamMonitor implements IBinaryStreamMonitor {
 	 *
 	 * @see #isBuffered()
 	 */
-	private ByteArrayOutputStream fContents;
+	private OutputStreamBuffer fContents;
+
+	/**
+	 * Number of head bytes retained by the buffer.
+	 *
+	 * @see #setBufferLimits(long, long)
+	 */
+	private long fBufferHeadLimit;
+
+	/**
+	 * Number of tail bytes retained by the buffer or negative for unbounded
+	 * buffering.
+	 *
+	 * @see #setBufferLimits(long, long)
+	 */
+	private long fBufferTailLimit = -1;
 
 	/**
 	 * Decoder used for the buffered content. This is required to keep the state
 	 * of an incomplete character.
 	 */
 	private StreamDecoder fBufferedDecoder;
-	private String fCachedDecodedContents;
+
+	/**
+	 * The buffered content decoded so far, as returned by
+	 * {@link #getContents()}. Only content appended after the last decoding is
+	 * decoded on next access. Value of <code>null</code> if nothing was
+	 * decoded yet.
+	 */
+	private String fDecodedContents;
+
+	/**
+	 * Number of buffered bytes (including discarded bytes) which are already
+	 * part of {@link #fDecodedContents}.
+	 */
+	private long fDecodedBytes;
+
+	/**
+	 * Value of the buffer's discarded counter at the time of last decoding.
+	 * If the buffer discarded content since then the decoded content must be
+	 * rebuild.
+	 */
+	private long fDecodedDiscarded;
 
 	/**
 	 * The thread which reads from the stream
 	 */
 	private Thread fThread;
 
+	/**
+	 * The task polling the stream if the monitor runs in
+	 * {@link StreamMonitorScheduler#MODE_SHARED}.
+	 */
+	private StreamPump fPump;
+
+	/**
+	 * Tells whether the source of the stream has terminated, i.e. polling the
+	 * stream can stop and the rest of it be read until the end of stream.
+	 * Required to read in {@link StreamMonitorScheduler#MODE_SHARED}.
+	 */
+	private BooleanSupplier fSourceTerminated;
+
 	/**
 	 * Whether or not this monitor has been killed. When the monitor is killed,
 	 * it stops reading from the stream immediately.
 	 */
-	private boolean fKilled = false;
+	private volatile boolean fKilled = false;
 
 	private Charset fCharset;
 
@@ -89,6 +169,41 @@ public class OutputStreamMonitor implements IBinaryStreamMonitor {
 
 	private final AtomicBoolean fDone;
 
+	/**
+	 * Content read but not yet delivered to the listeners. Guarded by this
+	 * monitor's lock.
+	 */
+	private final ArrayDeque<PendingContent> fPending = new ArrayDeque<>();
+
+	/**
+	 * Number of bytes in {@link #fPending}. Guarded by this monitor's lock.
+	 */
+	private int fPendingBytes;
+
+	/**
+	 * Whether a delivery of pending content is scheduled on the shared pool.
+	 * Guarded by this monitor's lock.
+	 */
+	private boolean fDeliveryScheduled;
+
+	/**
+	 * Serializes delivery of content to the listeners. Listeners are never
+	 * notified while holding this monitor's lock.
+	 */
+	private final Object fDeliveryLock = new Object();
+
+	/**
+	 * Time in milliseconds content is coalesced before listeners are notified
+	 * or negative to notify listeners directly from the reading thread.
+	 *
+	 * @see #setNotificationDelay(long)
+	 */
+	private volatile long fNotificationDelay = -1;
+
+	private final ListenerNotifier fNotifier = new ListenerNotifier();
+
+	private final StreamMonitorStatistics fStatistics = new StreamMonitorStatistics();
+
 	/**
 	 * Creates an output stream monitor on the given stream (connected to system
 	 * out or err).
@@ -123,11 +238,13 @@ public class OutputStreamMonitor implements IBinaryStreamMonitor {
 	@Override
 	public synchronized void addListener(IStreamListener listener) {
 		fListeners.add(listener);
+		fStatistics.listenerAdded(listener);
 	}
 
 	@Override
 	public synchronized void addBinaryListener(IBinaryStreamListener listener) {
 		fBinaryListeners.add(listener);
+		fStatistics.listenerAdded(listener);
 	}
 
 	/**
@@ -136,10 +253,13 @@ public class OutputStreamMonitor implements IBinaryStreamMonitor {
 	 */
 	protected void close() {
 		Thread thread = null;
+		StreamPump pump = null;
 
 		synchronized (this) {
 			thread = fThread;
 			fThread = null;
+			pump = fPump;
+			fPump = null;
 		}
 
 		if (thread != null) {
@@ -148,58 +268,214 @@ public class OutputStreamMonitor implements IBinaryStreamMonitor {
 			} catch (InterruptedException ie) {
 			}
 
+			fListeners.clear();
+			fBinaryListeners.clear();
+		} else if (pump != null) {
+			try {
+				pump.fFinished.get();
+			} catch (InterruptedException | ExecutionException e) {
+			}
+
 			fListeners.clear();
 			fBinaryListeners.clear();
 		}
 	}
 
 	/**
-	 * Notifies the listeners that content has been appended to the stream. Will
-	 * notify both, binary and text listeners.
+	 * Queues content for delivery to the listeners registered at this moment.
+	 * Content is appended to the last queued batch if it was not yet taken for
+	 * delivery and has the same listeners. Must be called while holding this
+	 * monitor's lock.
 	 *
 	 * @param data that has been appended; not <code>null</code>
-	 * @param offset start of valid data
 	 * @param length number of valid bytes
+	 * @return <code>true</code> if the caller should deliver the queued
+	 *         content itself, <code>false</code> if delivery is scheduled
 	 */
-	private void fireStreamAppended(final byte[] data, int offset, int length) {
-		if (!fListeners.isEmpty()) {
-			String text = fDecoder.decode(data, offset, length);
-			for (final IStreamListener listener : fListeners) {
-				SafeRunner.run(new ISafeRunnable() {
-					@Override
-					public void run() throws Exception {
-						listener.streamAppended(text, OutputStreamMonitor.this);
-					}
+	private boolean queueStreamAppended(byte[] data, int length) {
+		fStatistics.contentRead(length);
+		Object[] listeners = fListeners.getListeners();
+		Object[] binaryListeners = fBinaryListeners.getListeners();
+		if (listeners.length == 0 && binaryListeners.length == 0) {
+			return false;
+		}
+		PendingContent last = fPending.peekLast();
+		if (last != null && last.fListeners == listeners && last.fBinaryListeners == binaryListeners && last.fLength + length <= MAX_BATCH_SIZE) {
+			last.append(data, length);
+		} else {
+			fPending.add(new PendingContent(data, length, listeners, binaryListeners));
+		}
+		fPendingBytes += length;
+		if (fNotificationDelay < 0 || fPendingBytes > MAX_PENDING_BYTES) {
+			return true;
+		}
+		if (!fDeliveryScheduled) {
+			fDeliveryScheduled = true;
+			try {
+				StreamMonitorScheduler.getSharedPool().schedule(this::scheduleDelivery, fNotificationDelay, TimeUnit.MILLISECONDS);
+			} catch (RejectedExecutionException e) {
+				// pool was shut down
+				fDeliveryScheduled = false;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Delivers the queued content on the pool for blocking tasks, listeners
+	 * may be slow and must not stall the monitors served by the shared pool.
+	 */
+	private void scheduleDelivery() {
+		try {
+			StreamMonitorScheduler.getBlockingPool().execute(this::deliverPending);
+		} catch (RejectedExecutionException e) {
+			// pool was shut down
+			deliverPending();
+		}
+	}
 
-					@Override
-					public void handleException(Throwable exception) {
-						DebugPlugin.log(exception);
+	/**
+	 * Delivers all queued content to the listeners in order. Must not be
+	 * called while holding this monitor's lock.
+	 */
+	private void deliverPending() {
+		synchronized (fDeliveryLock) {
+			while (true) {
+				PendingContent content;
+				synchronized (this) {
+					content = fPending.poll();
+					if (content == null) {
+						fDeliveryScheduled = false;
+						return;
 					}
-				});
+					fPendingBytes -= content.fLength;
+				}
+				fireStreamAppended(content);
 			}
 		}
-		if (!fBinaryListeners.isEmpty()) {
-			final byte[] validData;
-			if (offset > 0 || length < data.length) {
-				validData = new byte[length];
-				System.arraycopy(data, offset, validData, 0, length);
-			} else {
-				validData = data;
+	}
+
+	/**
+	 * Notifies the listeners that content has been appended to the stream. Will
+	 * notify both, binary and text listeners. Only listeners which were
+	 * registered when the content was read and are still registered are
+	 * notified.
+	 *
+	 * @param content the content to deliver; not <code>null</code>
+	 */
+	private void fireStreamAppended(PendingContent content) {
+		fStatistics.batchDelivered();
+		if (content.fListeners.length > 0) {
+			String text = fDecoder.decode(content.fData, 0, content.fLength);
+			Object[] current = fListeners.getListeners();
+			for (Object listener : content.fListeners) {
+				if (current == content.fListeners || contains(current, listener)) {
+					fNotifier.notify((IStreamListener) listener, text);
+				}
 			}
-			for (final IBinaryStreamListener listener : fBinaryListeners) {
-				SafeRunner.run(new ISafeRunnable() {
-					@Override
-					public void run() throws Exception {
-						listener.streamAppended(validData, OutputStreamMonitor.this);
-					}
+		}
+		if (content.fBinaryListeners.length > 0) {
+			byte[] data = content.getData();
+			Object[] current = fBinaryListeners.getListeners();
+			for (Object listener : content.fBinaryListeners) {
+				if (current == content.fBinaryListeners || contains(current, listener)) {
+					fNotifier.notify((IBinaryStreamListener) listener, data);
+				}
+			}
+		}
+	}
 
-					@Override
-					public void handleException(Throwable exception) {
-						DebugPlugin.log(exception);
-					}
-				});
+	private static boolean contains(Object[] listeners, Object listener) {
+		for (Object candidate : listeners) {
+			if (candidate == listener) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Content read from the stream and not yet delivered to the listeners.
+	 */
+	private static final class PendingContent {
+		private byte[] fData;
+		private int fLength;
+		private final Object[] fListeners;
+		private final Object[] fBinaryListeners;
+
+		PendingContent(byte[] data, int length, Object[] listeners, Object[] binaryListeners) {
+			fData = Arrays.copyOf(data, length);
+			fLength = length;
+			fListeners = listeners;
+			fBinaryListeners = binaryListeners;
+		}
+
+		void append(byte[] data, int length) {
+			if (fLength + length > fData.length) {
+				fData = Arrays.copyOf(fData, Math.max(fLength + length, fData.length * 2));
+			}
+			System.arraycopy(data, 0, fData, fLength, length);
+			fLength += length;
+		}
+
+		byte[] getData() {
+			if (fData.length != fLength) {
+				fData = Arrays.copyOf(fData, fLength);
+			}
+			return fData;
+		}
+	}
+
+	/**
+	 * Safely notifies a single listener and records the time it needed. Only
+	 * used while holding {@link OutputStreamMonitor#fDeliveryLock} so one
+	 * instance can be reused for all notifications.
+	 */
+	private final class ListenerNotifier implements ISafeRunnable {
+		private IStreamListener fListener;
+		private IBinaryStreamListener fBinaryListener;
+		private String fText;
+		private byte[] fData;
+
+		void notify(IStreamListener listener, String text) {
+			fListener = listener;
+			fText = text;
+			notify(listener);
+		}
+
+		void notify(IBinaryStreamListener listener, byte[] data) {
+			fBinaryListener = listener;
+			fData = data;
+			notify(listener);
+		}
+
+		private void notify(Object listener) {
+			long start = System.nanoTime();
+			try {
+				SafeRunner.run(this);
+			} finally {
+				fStatistics.listenerNotified(listener, System.nanoTime() - start);
+				fListener = null;
+				fBinaryListener = null;
+				fText = null;
+				fData = null;
+			}
+		}
+
+		@Override
+		public void run() throws Exception {
+			if (fListener != null) {
+				fListener.streamAppended(fText, OutputStreamMonitor.this);
+			} else {
+				fBinaryListener.streamAppended(fData, OutputStreamMonitor.this);
 			}
 		}
+
+		@Override
+		public void handleException(Throwable exception) {
+			DebugPlugin.log(exception);
+		}
 	}
 
 	@Override
@@ -207,12 +483,30 @@ public class OutputStreamMonitor implements IBinaryStreamMonitor {
 		if (!isBuffered()) {
 			return ""; //$NON-NLS-1$
 		}
-		if (fCachedDecodedContents != null) {
-			return fCachedDecodedContents;
+		long discarded = fContents.getDiscardedCount();
+		if (fDecodedContents == null || fDecodedDiscarded != discarded) {
+			if (fDecodedContents != null) {
+				// content was dropped from the middle of the buffer; decoder
+				// state is meaningless for the remaining bytes
+				fBufferedDecoder = createDecoder();
+			}
+			fDecodedContents = ""; //$NON-NLS-1$
+			fDecodedBytes = discarded;
+			fDecodedDiscarded = discarded;
 		}
-		byte[] data = getData();
-		fCachedDecodedContents = fBufferedDecoder.decode(data, 0, data.length);
-		return fCachedDecodedContents;
+		// only decode what was appended since last access
+		StringBuilder appended = null;
+		for (ByteBuffer chunk : fContents.getChunks(fDecodedBytes - discarded)) {
+			if (appended == null) {
+				appended = new StringBuilder(chunk.remaining());
+			}
+			fDecodedBytes += chunk.remaining();
+			fBufferedDecoder.decode(appended, chunk);
+		}
+		if (appended != null && appended.length() > 0) {
+			fDecodedContents = fDecodedContents.concat(appended.toString());
+		}
+		return fDecodedContents;
 	}
 
 	@Override
@@ -220,10 +514,79 @@ public class OutputStreamMonitor implements IBinaryStreamMonitor {
 		return isBuffered() ? fContents.toByteArray() : new byte[0];
 	}
 
+	/**
+	 * Returns read-only views on the buffered content. Unlike
+	 * {@link #getData()} this does not copy the content. The views stay valid
+	 * even if the monitor receives more content or is flushed.
+	 *
+	 * @return views on the buffered content; empty if not buffered
+	 */
+	public synchronized ByteBuffer[] getDataChunks() {
+		return isBuffered() ? fContents.getChunks() : new ByteBuffer[0];
+	}
+
+	/**
+	 * Returns the number of bytes discarded from the buffer since last flush
+	 * due to the buffer limits.
+	 *
+	 * @return number of discarded bytes
+	 * @see #setBufferLimits(long, long)
+	 */
+	public synchronized long getDiscardedByteCount() {
+		return isBuffered() ? fContents.getDiscardedCount() : 0;
+	}
+
+	/**
+	 * Limits the content retained while buffering is enabled. The first
+	 * <code>headLimit</code> bytes and at least the last
+	 * <code>tailLimit</code> bytes are kept. Content in between is discarded.
+	 * Limits are applied in chunks of {@link OutputStreamBuffer#DEFAULT_CHUNK_SIZE}.
+	 *
+	 * @param headLimit number of bytes to keep from the start of the stream
+	 * @param tailLimit number of most recent bytes to keep or negative to buffer
+	 *            all content
+	 */
+	public synchronized void setBufferLimits(long headLimit, long tailLimit) {
+		fBufferHeadLimit = headLimit;
+		fBufferTailLimit = tailLimit;
+		if (isBuffered()) {
+			fContents.setLimits(headLimit, tailLimit);
+		}
+	}
+
+	/**
+	 * Sets the time content is coalesced before listeners are notified. With a
+	 * delay of zero or more listeners are notified from a pooled thread, one
+	 * batch at a time per monitor, so slow listeners do not block reading from
+	 * the stream. Content read within the delay is delivered as one batch. A
+	 * negative delay, the default, notifies listeners from the reading thread,
+	 * or right away from a pooled thread if the monitor reads on the shared
+	 * pool.
+	 *
+	 * @param delay delay in milliseconds or negative for direct notification
+	 */
+	public void setNotificationDelay(long delay) {
+		fNotificationDelay = delay;
+	}
+
+	/**
+	 * Returns counters about content read and delivered by this monitor.
+	 *
+	 * @return the monitor's statistics
+	 */
+	public StreamMonitorStatistics getStatistics() {
+		return fStatistics;
+	}
+
+	private StreamDecoder createDecoder() {
+		return new StreamDecoder(fCharset == null ? Charset.defaultCharset() : fCharset);
+	}
+
 	private void read() {
 		try {
 			internalRead();
 		} finally {
+			deliverPending();
 			fDone.set(true);
 		}
 	}
@@ -248,13 +611,7 @@ public class OutputStreamMonitor implements IBinaryStreamMonitor {
 					}
 					read = fStream.read(buffer);
 					if (read > 0) {
-						synchronized (this) {
-							if (isBuffered()) {
-								fCachedDecodedContents = null;
-								fContents.write(buffer, 0, read);
-							}
-							fireStreamAppended(buffer, 0, read);
-						}
+						contentRead(buffer, read, true);
 					}
 				} catch (IOException ioe) {
 					if (!fKilled) {
@@ -278,12 +635,154 @@ public class OutputStreamMonitor implements IBinaryStreamMonitor {
 				}
 			}
 		} finally {
+			closeStream();
+		}
+	}
+
+	/**
+	 * Buffers the given content and notifies listeners.
+	 *
+	 * @param buffer the read content
+	 * @param read number of valid bytes in buffer
+	 * @param inline whether listeners may be notified from the calling thread,
+	 *            otherwise their notification is scheduled
+	 */
+	private void contentRead(byte[] buffer, int read, boolean inline) {
+		boolean deliver;
+		boolean schedule = false;
+		synchronized (this) {
+			if (isBuffered()) {
+				fContents.write(buffer, 0, read);
+			}
+			deliver = queueStreamAppended(buffer, read);
+			if (deliver && !inline) {
+				deliver = false;
+				if (!fDeliveryScheduled) {
+					fDeliveryScheduled = true;
+					schedule = true;
+				}
+			}
+		}
+		if (deliver) {
+			deliverPending();
+		} else if (schedule) {
+			scheduleDelivery();
+		}
+	}
+
+	/**
+	 * @return whether more content than allowed is waiting for delivery
+	 */
+	private synchronized boolean isDeliveryBacklogged() {
+		return fPendingBytes > MAX_PENDING_BYTES;
+	}
+
+	private void closeStream() {
+		try {
+			fStream.close();
+		} catch (IOException e) {
+			DebugPlugin.log(e);
+		}
+	}
+
+	/**
+	 * Reads the stream on the shared pool without blocking a pool thread while
+	 * the stream has no content. The pump reschedules itself until the source
+	 * of the stream terminated, the rest of the stream is then read on the
+	 * pool for blocking tasks. It never runs concurrently with itself so
+	 * content is processed in order.
+	 */
+	private final class StreamPump implements Runnable {
+		private final byte[] fBuffer = new byte[BUFFER_SIZE];
+		private final CompletableFuture<Void> fFinished = new CompletableFuture<>();
+		private long fIdleDelay;
+
+		@Override
+		public void run() {
+			int reads = 0;
+			try {
+				while (reads < MAX_READS_PER_PUMP) {
+					if (fKilled) {
+						finish();
+						return;
+					}
+					if (isDeliveryBacklogged()) {
+						// let listeners catch up
+						break;
+					}
+					// only read on the shared pool if it will not block
+					if (fStream.available() <= 0) {
+						if (fSourceTerminated.getAsBoolean()) {
+							readToEnd();
+							return;
+						}
+						break;
+					}
+					int read = fStream.read(fBuffer);
+					if (read < 0) {
+						finish();
+						return;
+					}
+					if (read > 0) {
+						contentRead(fBuffer, read, false);
+					}
+					reads++;
+				}
+			} catch (IOException | RuntimeException e) {
+				if (!fKilled) {
+					DebugPlugin.log(e);
+				}
+				finish();
+				return;
+			}
+			fIdleDelay = reads > 0 ? 0 : Math.min(MAX_POLL_DELAY, Math.max(1, fIdleDelay * 2));
+			schedule();
+		}
+
+		void schedule() {
+			try {
+				StreamMonitorScheduler.getSharedPool().schedule(this, fIdleDelay, TimeUnit.MILLISECONDS);
+			} catch (RejectedExecutionException e) {
+				// pool was shut down
+				finish();
+			}
+		}
+
+		/**
+		 * Reads the remaining content off the shared pool. The end of stream
+		 * is usually reached at once after the source terminated but the
+		 * stream may be kept open, e.g. by a child of the terminated process.
+		 */
+		private void readToEnd() {
+			try {
+				StreamMonitorScheduler.getBlockingPool().execute(() -> {
+					try {
+						read();
+					} finally {
+						fFinished.complete(null);
+					}
+				});
+			} catch (RejectedExecutionException e) {
+				// pool was shut down
+				finish();
+			}
+		}
+
+		private void finish() {
+			closeStream();
 			try {
-				fStream.close();
-			} catch (IOException e) {
-				DebugPlugin.log(e);
+				StreamMonitorScheduler.getBlockingPool().execute(this::done);
+			} catch (RejectedExecutionException e) {
+				// pool was shut down
+				done();
 			}
 		}
+
+		private void done() {
+			deliverPending();
+			fDone.set(true);
+			fFinished.complete(null);
+		}
 	}
 
 	protected void kill() {
@@ -293,37 +792,82 @@ public class OutputStreamMonitor implements IBinaryStreamMonitor {
 	@Override
 	public synchronized void removeListener(IStreamListener listener) {
 		fListeners.remove(listener);
+		fStatistics.listenerRemoved(listener);
 	}
 
 	@Override
 	public synchronized void removeBinaryListener(IBinaryStreamListener listener) {
 		fBinaryListeners.remove(listener);
+		fStatistics.listenerRemoved(listener);
 	}
 
 	/**
-	 * Starts a thread which reads from the stream
+	 * Starts a thread which reads from the stream. Depending on
+	 * {@link StreamMonitorScheduler#getMode()} the stream is read by a
+	 * dedicated thread, a virtual thread or the shared monitor pool.
 	 *
 	 * @param name Thread name
 	 */
 	protected void startMonitoring(String name) {
+		startMonitoring(name, StreamMonitorScheduler.getMode());
+	}
+
+	/**
+	 * Starts reading from the stream using the given mode. Shared mode is only
+	 * used if a {@link #setSourceTerminatedCondition(BooleanSupplier) source
+	 * terminated condition} is set. Otherwise a thread is used because the end
+	 * of stream cannot be detected without blocking.
+	 *
+	 * @param name Thread name
+	 * @param mode one of the {@link StreamMonitorScheduler} modes
+	 */
+	protected void startMonitoring(String name, String mode) {
 		synchronized (this) {
-			if (fThread == null) {
+			if (fThread == null && fPump == null) {
 				fDone.set(false);
-				fThread = new Thread((Runnable) this::read, name);
-				fThread.setDaemon(true);
-				fThread.setPriority(Thread.MIN_PRIORITY);
+				Thread thread = null;
+				if (StreamMonitorScheduler.MODE_VIRTUAL.equals(mode)) {
+					thread = StreamMonitorScheduler.newVirtualThread(this::read, name);
+					if (thread == null) {
+						mode = StreamMonitorScheduler.MODE_SHARED;
+					}
+				}
+				if (thread == null && StreamMonitorScheduler.MODE_SHARED.equals(mode) && fSourceTerminated != null) {
+					fPump = new StreamPump();
+					fPump.schedule();
+					return;
+				}
+				if (thread == null) {
+					thread = new Thread((Runnable) this::read, name);
+					thread.setDaemon(true);
+					thread.setPriority(Thread.MIN_PRIORITY);
+				}
+				fThread = thread;
 				fThread.start();
 			}
 		}
 	}
 
+	/**
+	 * Sets the condition used to detect that the stream's source (usually a
+	 * process) has terminated. Must be set before monitoring is started to
+	 * allow reading in {@link StreamMonitorScheduler#MODE_SHARED}.
+	 *
+	 * @param sourceTerminated returns <code>true</code> once no more content
+	 *            will be written to the stream
+	 */
+	public synchronized void setSourceTerminatedCondition(BooleanSupplier sourceTerminated) {
+		fSourceTerminated = sourceTerminated;
+	}
+
 	@Override
 	public synchronized void setBuffered(boolean buffer) {
 		if (isBuffered() != buffer) {
-			fCachedDecodedContents = null;
+			fDecodedContents = null;
 			if (buffer) {
-				fContents = new ByteArrayOutputStream();
-				fBufferedDecoder = new StreamDecoder(fCharset == null ? Charset.defaultCharset() : fCharset);
+				fContents = new OutputStreamBuffer();
+				fContents.setLimits(fBufferHeadLimit, fBufferTailLimit);
+				fBufferedDecoder = createDecoder();
 			} else {
 				fContents = null;
 				fBufferedDecoder = null;
@@ -334,7 +878,7 @@ public class OutputStreamMonitor implements IBinaryStreamMonitor {
 	@Override
 	public synchronized void flushContents() {
 		if (isBuffered()) {
-			fCachedDecodedContents = null;
+			fDecodedContents = null;
 			fContents.reset();
 		}
 	}
@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.internal.core;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.debug.core.model.RuntimeProcess;
+
+/**
+ * Runs the termination handling of {@link RuntimeProcess}es once their system
+ * process exited. The handling waits for the output of the process to be
+ * read, so it does not run on the common pool. Threads are only created while
+ * exits are handled and end after some idle time.
+ */
+public final class ProcessExitHandler {
+
+	private static ExecutorService fgPool;
+
+	private ProcessExitHandler() {
+	}
+
+	/**
+	 * Runs the termination handling of a process.
+	 *
+	 * @param handler the termination handling
+	 */
+	public static synchronized void execute(Runnable handler) {
+		if (fgPool == null) {
+			fgPool = Executors.newCachedThreadPool(runnable -> {
+				Thread thread = new Thread(runnable, DebugCoreMessages.ProcessMonitorJob_0);
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		fgPool.execute(handler);
+	}
+
+	/**
+	 * Shuts the pool down if it was created. Called on plug-in shutdown.
+	 */
+	public static synchronized void shutdown() {
+		if (fgPool != null) {
+			fgPool.shutdownNow();
+			fgPool = null;
+		}
+	}
+}
@@ -63,12 +63,7 @@ public class StreamDecoder {
 		this.outputBuffer.clear();
 	}
 
-	private void internalDecode(StringBuilder consumer, byte[] buffer, int offset, int length) {
-		assert (offset >= 0);
-		assert (length >= 0);
-		int position = offset;
-		int end = offset + length;
-		assert (end <= buffer.length);
+	private void internalDecode(StringBuilder consumer, ByteBuffer buffer) {
 		boolean finishedReading = false;
 		do {
 			CoderResult result = this.decoder.decode(this.inputBuffer, this.outputBuffer, false);
@@ -78,10 +73,12 @@ public class StreamDecoder {
 				this.inputBuffer.compact();
 				int remaining = this.inputBuffer.remaining();
 				assert (remaining > 0);
-				int read = Math.min(remaining, end - position);
+				int read = Math.min(remaining, buffer.remaining());
 				if (read > 0) {
-					this.inputBuffer.put(buffer, position, read);
-					position += read;
+					ByteBuffer slice = buffer.slice();
+					slice.limit(read);
+					this.inputBuffer.put(slice);
+					buffer.position(buffer.position() + read);
 				} else {
 					finishedReading = true;
 				}
@@ -97,13 +94,28 @@ public class StreamDecoder {
 			// fast path for single byte encodings
 			return new String(buffer, offset, length, charset);
 		}
+		assert (offset >= 0);
+		assert (length >= 0);
+		assert (offset + length <= buffer.length);
 		StringBuilder builder = new StringBuilder();
-		decode(builder, buffer, offset, length);
+		decode(builder, ByteBuffer.wrap(buffer, offset, length));
 		return builder.toString();
 	}
 
-	private void decode(StringBuilder consumer, byte[] buffer, int offset, int length) {
-		this.internalDecode(consumer, buffer, offset, length);
+	/**
+	 * Decodes the remaining content of the given buffer and appends the result
+	 * to the given consumer. The buffer's position is advanced to its limit.
+	 *
+	 * @param consumer receives the decoded characters
+	 * @param buffer the bytes to decode
+	 */
+	public void decode(StringBuilder consumer, ByteBuffer buffer) {
+		if (this.decoder == null) {
+			// fast path for single byte encodings
+			consumer.append(charset.decode(buffer));
+			return;
+		}
+		this.internalDecode(consumer, buffer);
 		this.consume(consumer);
 	}
 
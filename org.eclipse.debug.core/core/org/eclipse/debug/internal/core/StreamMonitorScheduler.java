@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.internal.core;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.preferences.IPreferencesService;
+import org.eclipse.debug.core.DebugPlugin;
+
+/**
+ * Decides how {@link OutputStreamMonitor} and {@link InputStreamMonitor} run
+ * their stream reading and writing loops.
+ * <ul>
+ * <li>{@link #MODE_THREAD}: one dedicated platform thread per monitor. This is
+ * the default.</li>
+ * <li>{@link #MODE_SHARED}: monitors are served by a small pool of threads
+ * shared by all processes. Output is polled instead of blocking a thread in
+ * <code>read()</code>, as the streams of a process do not support readiness
+ * selection. Polling trades latency for threads: output of a stream which
+ * was idle appears up to {@link OutputStreamMonitor#MAX_POLL_DELAY}
+ * milliseconds late. Operations which may block, writing to the input of a
+ * process and waiting for the end of its output, run on a separate pool of
+ * at most {@link #BLOCKING_POOL_SIZE} threads. When all of them are blocked,
+ * e.g. by processes which do not read their input, further such operations
+ * wait until a thread is released.</li>
+ * <li>{@link #MODE_VIRTUAL}: one virtual thread per monitor if the running VM
+ * supports virtual threads, otherwise same as {@link #MODE_SHARED}.</li>
+ * </ul>
+ * The mode is configured with the preference
+ * {@link IInternalDebugCoreConstants#PREF_STREAM_MONITOR_MODE}.
+ */
+public final class StreamMonitorScheduler {
+
+	/**
+	 * Run each monitor in a dedicated platform thread.
+	 */
+	public static final String MODE_THREAD = "thread"; //$NON-NLS-1$
+
+	/**
+	 * Run monitors on a shared thread pool.
+	 */
+	public static final String MODE_SHARED = "shared"; //$NON-NLS-1$
+
+	/**
+	 * Run each monitor in a virtual thread if supported.
+	 */
+	public static final String MODE_VIRTUAL = "virtual"; //$NON-NLS-1$
+
+	/**
+	 * Number of threads in the shared pool.
+	 */
+	private static final int POOL_SIZE = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+
+	/**
+	 * Maximum number of threads in the pool for blocking tasks.
+	 */
+	static final int BLOCKING_POOL_SIZE = Math.max(8, POOL_SIZE * 4);
+
+	private static final Method THREAD_OF_VIRTUAL;
+	private static final Method BUILDER_NAME;
+	private static final Method BUILDER_UNSTARTED;
+
+	static {
+		Method ofVirtual = null;
+		Method name = null;
+		Method unstarted = null;
+		try {
+			// virtual threads are only available on newer Java versions
+			Class<?> builder = Class.forName("java.lang.Thread$Builder"); //$NON-NLS-1$
+			ofVirtual = Thread.class.getMethod("ofVirtual"); //$NON-NLS-1$
+			name = builder.getMethod("name", String.class); //$NON-NLS-1$
+			unstarted = builder.getMethod("unstarted", Runnable.class); //$NON-NLS-1$
+		} catch (ReflectiveOperationException | LinkageError e) {
+			ofVirtual = null;
+		}
+		THREAD_OF_VIRTUAL = ofVirtual;
+		BUILDER_NAME = name;
+		BUILDER_UNSTARTED = unstarted;
+	}
+
+	private static ScheduledExecutorService fgSharedPool;
+
+	private static ExecutorService fgBlockingPool;
+
+	private StreamMonitorScheduler() {
+	}
+
+	/**
+	 * Returns the configured monitor mode.
+	 *
+	 * @return one of {@link #MODE_THREAD}, {@link #MODE_SHARED} or
+	 *         {@link #MODE_VIRTUAL}
+	 */
+	public static String getMode() {
+		IPreferencesService service = Platform.getPreferencesService();
+		if (service == null) {
+			return MODE_THREAD;
+		}
+		String mode = service.getString(DebugPlugin.getUniqueIdentifier(), IInternalDebugCoreConstants.PREF_STREAM_MONITOR_MODE, MODE_THREAD, null);
+		if (MODE_SHARED.equals(mode) || MODE_VIRTUAL.equals(mode)) {
+			return mode;
+		}
+		return MODE_THREAD;
+	}
+
+	/**
+	 * @return <code>true</code> if the running VM supports virtual threads
+	 */
+	public static boolean isVirtualThreadSupported() {
+		return THREAD_OF_VIRTUAL != null;
+	}
+
+	/**
+	 * Creates an unstarted virtual thread.
+	 *
+	 * @param runnable the thread's task
+	 * @param name the thread name
+	 * @return the new thread or <code>null</code> if virtual threads are not
+	 *         supported by the running VM
+	 */
+	public static Thread newVirtualThread(Runnable runnable, String name) {
+		if (THREAD_OF_VIRTUAL == null) {
+			return null;
+		}
+		try {
+			Object builder = THREAD_OF_VIRTUAL.invoke(null);
+			builder = BUILDER_NAME.invoke(builder, name);
+			return (Thread) BUILDER_UNSTARTED.invoke(builder, runnable);
+		} catch (IllegalAccessException | InvocationTargetException e) {
+			// e.g. preview feature not enabled
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the pool shared by all monitors running in {@link #MODE_SHARED}.
+	 * Tasks submitted to this pool must not block for long.
+	 *
+	 * @return the shared pool
+	 */
+	public static synchronized ScheduledExecutorService getSharedPool() {
+		if (fgSharedPool == null) {
+			ScheduledThreadPoolExecutor pool = new ScheduledThreadPoolExecutor(POOL_SIZE, newThreadFactory("Stream Monitor Pool Thread ")); //$NON-NLS-1$
+			pool.setRemoveOnCancelPolicy(true);
+			fgSharedPool = pool;
+		}
+		return fgSharedPool;
+	}
+
+	/**
+	 * Returns the pool running tasks of monitors which may block for long,
+	 * e.g. writing to the input of a process which does not read it or
+	 * notifying slow listeners. The pool creates up to
+	 * {@link #BLOCKING_POOL_SIZE} threads as needed and releases them when
+	 * idle, further tasks are queued.
+	 *
+	 * @return the pool for blocking tasks
+	 */
+	public static synchronized ExecutorService getBlockingPool() {
+		if (fgBlockingPool == null) {
+			ThreadPoolExecutor pool = new ThreadPoolExecutor(BLOCKING_POOL_SIZE, BLOCKING_POOL_SIZE, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), newThreadFactory("Stream Monitor Blocking Thread ")); //$NON-NLS-1$
+			pool.allowCoreThreadTimeOut(true);
+			fgBlockingPool = pool;
+		}
+		return fgBlockingPool;
+	}
+
+	private static ThreadFactory newThreadFactory(String prefix) {
+		return new ThreadFactory() {
+			private final AtomicInteger fCount = new AtomicInteger();
+
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, prefix + fCount.incrementAndGet());
+				thread.setDaemon(true);
+				thread.setPriority(Thread.MIN_PRIORITY);
+				return thread;
+			}
+		};
+	}
+
+	/**
+	 * Shuts the pools down if they were created. Called on plug-in shutdown.
+	 */
+	public static synchronized void shutdown() {
+		if (fgSharedPool != null) {
+			fgSharedPool.shutdownNow();
+			fgSharedPool = null;
+		}
+		if (fgBlockingPool != null) {
+			fgBlockingPool.shutdownNow();
+			fgBlockingPool = null;
+		}
+	}
+}
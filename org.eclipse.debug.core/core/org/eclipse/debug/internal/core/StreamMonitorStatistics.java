@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.internal.core;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counters about content delivered by an {@link OutputStreamMonitor} to its
+ * listeners. Useful to find listeners which slow down process output
+ * handling.
+ */
+public class StreamMonitorStatistics {
+
+	private final long fStartTime = System.nanoTime();
+
+	private long fBytes;
+
+	private long fReads;
+
+	private long fBatches;
+
+	private final Map<Object, Long> fListenerTime = new IdentityHashMap<>();
+
+	/**
+	 * Records content read from the stream.
+	 *
+	 * @param bytes number of bytes read
+	 */
+	synchronized void contentRead(int bytes) {
+		fBytes += bytes;
+		fReads++;
+	}
+
+	/**
+	 * Records a batch delivered to the listeners.
+	 */
+	synchronized void batchDelivered() {
+		fBatches++;
+	}
+
+	/**
+	 * Starts recording the time of a listener added to the monitor.
+	 *
+	 * @param listener the added listener
+	 */
+	synchronized void listenerAdded(Object listener) {
+		fListenerTime.putIfAbsent(listener, Long.valueOf(0));
+	}
+
+	/**
+	 * Records the time a listener needed to process a batch. Not recorded if
+	 * the listener was removed meanwhile, a notification may still be running
+	 * when a listener is removed.
+	 *
+	 * @param listener the notified listener
+	 * @param nanos time spent in the listener in nanoseconds
+	 */
+	synchronized void listenerNotified(Object listener, long nanos) {
+		fListenerTime.computeIfPresent(listener, (l, time) -> Long.valueOf(time.longValue() + nanos));
+	}
+
+	/**
+	 * Forgets the time recorded for a listener removed from the monitor.
+	 *
+	 * @param listener the removed listener
+	 */
+	synchronized void listenerRemoved(Object listener) {
+		fListenerTime.remove(listener);
+	}
+
+	/**
+	 * @return number of bytes read from the stream
+	 */
+	public synchronized long getByteCount() {
+		return fBytes;
+	}
+
+	/**
+	 * @return number of reads which returned content
+	 */
+	public synchronized long getReadCount() {
+		return fReads;
+	}
+
+	/**
+	 * @return number of batches delivered to listeners. Lower than
+	 *         {@link #getReadCount()} if reads were coalesced.
+	 */
+	public synchronized long getBatchCount() {
+		return fBatches;
+	}
+
+	/**
+	 * @return average number of bytes read per second since monitor creation
+	 */
+	public synchronized double getBytesPerSecond() {
+		return perSecond(fBytes);
+	}
+
+	/**
+	 * @return average number of batches delivered per second since monitor
+	 *         creation
+	 */
+	public synchronized double getBatchesPerSecond() {
+		return perSecond(fBatches);
+	}
+
+	/**
+	 * Returns the accumulated time each listener still registered needed to
+	 * process the delivered content.
+	 *
+	 * @return listener to time in milliseconds
+	 */
+	public synchronized Map<Object, Long> getListenerTimes() {
+		Map<Object, Long> result = new IdentityHashMap<>(fListenerTime.size());
+		fListenerTime.forEach((listener, nanos) -> result.put(listener, Long.valueOf(TimeUnit.NANOSECONDS.toMillis(nanos.longValue()))));
+		return result;
+	}
+
+	private double perSecond(long count) {
+		long elapsed = System.nanoTime() - fStartTime;
+		return elapsed <= 0 ? 0 : count * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+	}
+
+	@Override
+	public synchronized String toString() {
+		StringBuilder buffer = new StringBuilder();
+		buffer.append("bytes=").append(fBytes); //$NON-NLS-1$
+		buffer.append(", reads=").append(fReads); //$NON-NLS-1$
+		buffer.append(", batches=").append(fBatches); //$NON-NLS-1$
+		buffer.append(", bytes/s=").append(Math.round(getBytesPerSecond())); //$NON-NLS-1$
+		buffer.append(", batches/s=").append(Math.round(getBatchesPerSecond())); //$NON-NLS-1$
+		getListenerTimes().forEach((listener, millis) -> buffer.append(", ").append(listener.getClass().getName()).append('=').append(millis).append("ms")); //$NON-NLS-1$ //$NON-NLS-2$
+		return buffer.toString();
+	}
+}
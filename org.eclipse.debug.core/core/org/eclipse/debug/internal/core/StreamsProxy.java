@@ -17,6 +17,9 @@ package org.eclipse.debug.internal.core;
 import java.io.IOException;
 import java.nio.charset.Charset;
 
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.preferences.IPreferencesService;
+import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.model.IBinaryStreamMonitor;
 import org.eclipse.debug.core.model.IBinaryStreamsProxy;
 import org.eclipse.debug.core.model.IStreamMonitor;
@@ -65,6 +68,11 @@ public class StreamsProxy implements IBinaryStreamsProxy {
 		fOutputMonitor = new OutputStreamMonitor(process.getInputStream(), charset);
 		fErrorMonitor = new OutputStreamMonitor(process.getErrorStream(), charset);
 		fInputMonitor = new InputStreamMonitor(process.getOutputStream(), charset);
+		configure(fOutputMonitor);
+		configure(fErrorMonitor);
+		// allows to stop polling the streams in shared mode
+		fOutputMonitor.setSourceTerminatedCondition(() -> !process.isAlive());
+		fErrorMonitor.setSourceTerminatedCondition(() -> !process.isAlive());
 		fOutputMonitor.startMonitoring("Output Stream Monitor" + suffix); //$NON-NLS-1$
 		fErrorMonitor.startMonitoring("Error Stream Monitor" + suffix); //$NON-NLS-1$
 		fInputMonitor.startMonitoring("Input Stream Monitor" + suffix); //$NON-NLS-1$
@@ -87,6 +95,24 @@ public class StreamsProxy implements IBinaryStreamsProxy {
 		this(process, Charset.forName(encoding), ""); //$NON-NLS-1$
 	}
 
+	/**
+	 * Applies the buffer retention and notification preferences to the given
+	 * monitor.
+	 *
+	 * @param monitor the monitor to configure
+	 */
+	private static void configure(OutputStreamMonitor monitor) {
+		IPreferencesService service = Platform.getPreferencesService();
+		if (service == null) {
+			return;
+		}
+		String id = DebugPlugin.getUniqueIdentifier();
+		long head = service.getLong(id, IInternalDebugCoreConstants.PREF_OUTPUT_BUFFER_HEAD_LIMIT, 1024 * 1024, null);
+		long tail = service.getLong(id, IInternalDebugCoreConstants.PREF_OUTPUT_BUFFER_TAIL_LIMIT, -1, null);
+		monitor.setBufferLimits(head, tail);
+		monitor.setNotificationDelay(service.getLong(id, IInternalDebugCoreConstants.PREF_OUTPUT_NOTIFICATION_DELAY, -1, null));
+	}
+
 	/**
 	 * Causes the proxy to close all communications between it and the
 	 * underlying streams after all remaining data in the streams is read.
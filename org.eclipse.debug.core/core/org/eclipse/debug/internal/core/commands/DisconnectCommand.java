@@ -40,6 +40,11 @@ public class DisconnectCommand extends ForEachCommand implements IDisconnectHand
 		return ((IDisconnect)target).canDisconnect();
 	}
 
+	@Override
+	protected boolean isCacheEnabledState() {
+		return true;
+	}
+
 	@Override
 	protected Object getEnabledStateJobFamily(IDebugCommandRequest request) {
 		return IDisconnectHandler.class;
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.internal.core.commands;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Enabled states of a debug command computed for recent element sets.
+ * <p>
+ * The enabled state of a command depends on the state of the debug model,
+ * which reports its changes with debug events. All cached states are
+ * invalidated when debug events are fired, before they are dispatched to
+ * listeners, so a state computed before an event is never used after it. A
+ * state computed while events were fired is not cached. Invalidating releases
+ * the cached elements, so a cache does not keep stale model elements alive.
+ * </p>
+ */
+public class EnabledStateCache {
+
+	/** Number of element sets a cache keeps the state of */
+	private static final int MAX_ENTRIES = 16;
+
+	/** Incremented whenever debug events are fired */
+	private static final AtomicLong fgGeneration = new AtomicLong();
+
+	private final Map<List<Object>, Boolean> fStates = new LinkedHashMap<>(MAX_ENTRIES, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<List<Object>, Boolean> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+
+	/** All caches, to release their states when invalidated */
+	private static final Set<EnabledStateCache> fgCaches = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+	/** Generation of the cached states */
+	private long fGeneration = -1;
+
+	/**
+	 * Creates an empty cache.
+	 */
+	public EnabledStateCache() {
+		fgCaches.add(this);
+	}
+
+	/**
+	 * Invalidates the states of all caches. Called when debug events are
+	 * fired.
+	 */
+	public static void invalidateAll() {
+		fgGeneration.incrementAndGet();
+		EnabledStateCache[] caches;
+		synchronized (fgCaches) {
+			caches = fgCaches.toArray(new EnabledStateCache[fgCaches.size()]);
+		}
+		for (EnabledStateCache cache : caches) {
+			cache.clear();
+		}
+	}
+
+	private synchronized void clear() {
+		fStates.clear();
+	}
+
+	/**
+	 * Returns the current generation, to be passed to
+	 * {@link #put(List, boolean, long)} for a state computed afterwards.
+	 *
+	 * @return the current generation
+	 */
+	public static long getGeneration() {
+		return fgGeneration.get();
+	}
+
+	/**
+	 * Returns the cached state of the given elements.
+	 *
+	 * @param elements the elements of an enabled state request
+	 * @return the enabled state or <code>null</code> if not cached
+	 */
+	public synchronized Boolean get(List<Object> elements) {
+		if (fGeneration != fgGeneration.get()) {
+			fStates.clear();
+			return null;
+		}
+		return fStates.get(elements);
+	}
+
+	/**
+	 * Caches the state of the given elements, unless debug events have been
+	 * fired since it was computed.
+	 *
+	 * @param elements the elements of an enabled state request
+	 * @param enabled the enabled state
+	 * @param generation the generation when the computation started
+	 */
+	public synchronized void put(List<Object> elements, boolean enabled, long generation) {
+		if (generation != fgGeneration.get()) {
+			return;
+		}
+		if (fGeneration != generation) {
+			fStates.clear();
+			fGeneration = generation;
+		}
+		fStates.put(elements, Boolean.valueOf(enabled));
+	}
+}
@@ -13,16 +13,41 @@
  *******************************************************************************/
 package org.eclipse.debug.internal.core.commands;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.preferences.IPreferencesService;
+import org.eclipse.debug.core.DebugException;
+import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.IRequest;
 import org.eclipse.debug.core.commands.AbstractDebugCommand;
 import org.eclipse.debug.core.commands.IDebugCommandRequest;
 import org.eclipse.debug.core.commands.IEnabledStateRequest;
+import org.eclipse.debug.core.model.IDebugElement;
+import org.eclipse.debug.internal.core.DebugCoreMessages;
+import org.eclipse.debug.internal.core.IInternalDebugCoreConstants;
+import org.eclipse.osgi.util.NLS;
 
 /**
- * A command that operates on each element individually.
+ * A command that operates on each element individually. The elements are
+ * processed one after the other, or concurrently if
+ * {@link IInternalDebugCoreConstants#PREF_COMMAND_PARALLELISM} is set.
  *
  * @since 3.3
  */
@@ -30,14 +55,124 @@ public abstract class ForEachCommand extends AbstractDebugCommand {
 
 	private final ExclusiveRule exclusiveRule = new ExclusiveRule();
 
+	/**
+	 * Threads executing commands in parallel, idle threads end after a minute
+	 */
+	private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+		Thread thread = new Thread(runnable, "Debug Command Executor"); //$NON-NLS-1$
+		thread.setDaemon(true);
+		return thread;
+	});
+
 	@Override
 	protected void doExecute(Object[] targets, IProgressMonitor monitor, IRequest request) throws CoreException {
+		int parallelism = getParallelism();
+		if (parallelism > 1 && targets.length > 1) {
+			executeInParallel(targets, parallelism, monitor, request);
+			return;
+		}
 		for (Object target : targets) {
 			execute(target);
 			monitor.worked(1);
 		}
 	}
 
+	/**
+	 * Returns the number of elements of the same debug model to execute this
+	 * command on concurrently, values lower than <code>2</code> mean one after
+	 * the other.
+	 *
+	 * @return configured parallelism
+	 * @see IInternalDebugCoreConstants#PREF_COMMAND_PARALLELISM
+	 */
+	protected int getParallelism() {
+		IPreferencesService service = Platform.getPreferencesService();
+		if (service == null) {
+			return 0;
+		}
+		return service.getInt(DebugPlugin.getUniqueIdentifier(), IInternalDebugCoreConstants.PREF_COMMAND_PARALLELISM, 0, null);
+	}
+
+	/**
+	 * Executes this command on the targets concurrently, on at most
+	 * <code>parallelism</code> targets of the same debug model at once. A
+	 * failure does not stop the execution on the other targets, all failures
+	 * are reported together. Canceling the monitor or the request stops
+	 * executing on targets not yet started.
+	 */
+	private void executeInParallel(Object[] targets, int parallelism, IProgressMonitor monitor, IRequest request) throws CoreException {
+		Map<Object, Queue<Object>> models = new LinkedHashMap<>();
+		for (Object target : targets) {
+			Object model = target instanceof IDebugElement ? ((IDebugElement) target).getModelIdentifier() : target.getClass();
+			models.computeIfAbsent(model, m -> new ConcurrentLinkedQueue<>()).add(target);
+		}
+		List<Queue<Object>> workerQueues = new ArrayList<>();
+		for (Queue<Object> queue : models.values()) {
+			for (int i = 0; i < Math.min(parallelism, queue.size()); i++) {
+				workerQueues.add(queue);
+			}
+		}
+
+		final AtomicBoolean stop = new AtomicBoolean();
+		final Queue<IStatus> results = new ConcurrentLinkedQueue<>();
+		final CountDownLatch finished = new CountDownLatch(workerQueues.size());
+		for (Queue<Object> queue : workerQueues) {
+			EXECUTOR.execute(() -> {
+				try {
+					Object target;
+					while (!stop.get() && (target = queue.poll()) != null) {
+						IStatus status = Status.OK_STATUS;
+						try {
+							execute(target);
+						} catch (CoreException e) {
+							status = e.getStatus();
+						} catch (RuntimeException e) {
+							status = new Status(IStatus.ERROR, DebugPlugin.getUniqueIdentifier(), DebugException.REQUEST_FAILED, String.valueOf(e.getMessage()), e);
+						}
+						results.add(status);
+					}
+				} finally {
+					finished.countDown();
+				}
+			});
+		}
+
+		// report progress and check for cancellation on this thread, the
+		// monitor is not thread safe
+		List<IStatus> failures = new ArrayList<>();
+		boolean running = true;
+		while (running) {
+			try {
+				running = !finished.await(100, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				stop.set(true);
+				running = false;
+			}
+			IStatus status;
+			while ((status = results.poll()) != null) {
+				if (!status.isOK()) {
+					failures.add(status);
+				}
+				monitor.worked(1);
+			}
+			if (monitor.isCanceled() || request.isCanceled()) {
+				stop.set(true);
+			}
+		}
+		if (monitor.isCanceled()) {
+			request.cancel();
+		}
+
+		if (failures.size() == 1) {
+			throw new CoreException(failures.get(0));
+		}
+		if (!failures.isEmpty()) {
+			String message = NLS.bind(DebugCoreMessages.ForEachCommand_failed, Integer.toString(failures.size()), Integer.toString(targets.length));
+			throw new CoreException(new MultiStatus(DebugPlugin.getUniqueIdentifier(), DebugException.REQUEST_FAILED, failures.toArray(new IStatus[failures.size()]), message, null));
+		}
+	}
+
 	protected abstract void execute(Object target) throws CoreException;
 
 	@Override
@@ -35,6 +35,11 @@ public class ResumeCommand extends SuspendCommand implements IResumeHandler {
 		return ((ISuspendResume)target).canResume();
 	}
 
+	@Override
+	protected boolean isCacheEnabledState() {
+		return true;
+	}
+
 	@Override
 	protected Object getEnabledStateJobFamily(IDebugCommandRequest request) {
 		return IResumeHandler.class;
@@ -85,4 +85,9 @@ public abstract class StepCommand extends AbstractDebugCommand {
 		return getAdapter(element, IStep.class);
 	}
 
+	@Override
+	protected boolean isCacheEnabledState() {
+		return true;
+	}
+
 }
@@ -40,6 +40,11 @@ public class SuspendCommand extends ForEachCommand implements ISuspendHandler {
 		return ((ISuspendResume)target).canSuspend();
 	}
 
+	@Override
+	protected boolean isCacheEnabledState() {
+		return true;
+	}
+
 	@Override
 	protected Object getEnabledStateJobFamily(IDebugCommandRequest request) {
 		return ISuspendHandler.class;
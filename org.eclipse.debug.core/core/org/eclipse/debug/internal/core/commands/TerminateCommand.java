@@ -40,6 +40,11 @@ public class TerminateCommand extends ForEachCommand implements ITerminateHandle
 		return ((ITerminate)target).canTerminate();
 	}
 
+	@Override
+	protected boolean isCacheEnabledState() {
+		return true;
+	}
+
 	@Override
 	protected Object getEnabledStateJobFamily(IDebugCommandRequest request) {
 		return ITerminateHandler.class;
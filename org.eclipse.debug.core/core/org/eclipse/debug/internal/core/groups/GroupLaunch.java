@@ -46,7 +46,12 @@ public class GroupLaunch extends Launch implements ILaunchesListener2 {
 	/**
 	 * Keeps track of whether launching has been finished
 	 */
-	private boolean fLaunched = false;
+	private volatile boolean fLaunched = false;
+
+	/**
+	 * Launch and ready times of the members
+	 */
+	private final GroupLaunchTimeline fTimeline = new GroupLaunchTimeline();
 
 	/**
 	 * A map of all our sub-launches and the current processes that belong to
@@ -63,6 +68,13 @@ public class GroupLaunch extends Launch implements ILaunchesListener2 {
 		fLaunched = true;
 	}
 
+	/**
+	 * @return the launch and ready times of the members of this group
+	 */
+	public GroupLaunchTimeline getTimeline() {
+		return fTimeline;
+	}
+
 	/**
 	 * Associate the launch
 	 *
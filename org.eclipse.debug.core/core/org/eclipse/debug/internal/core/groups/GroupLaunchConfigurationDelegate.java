@@ -17,15 +17,19 @@
 package org.eclipse.debug.internal.core.groups;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
@@ -38,15 +42,15 @@ import org.eclipse.debug.core.ILaunch;
 import org.eclipse.debug.core.ILaunchConfiguration;
 import org.eclipse.debug.core.ILaunchConfigurationWorkingCopy;
 import org.eclipse.debug.core.ILaunchManager;
+import org.eclipse.debug.core.ILaunchesListener2;
 import org.eclipse.debug.core.IStatusHandler;
 import org.eclipse.debug.core.model.ILaunchConfigurationDelegate2;
-import org.eclipse.debug.core.model.IProcess;
 import org.eclipse.debug.core.model.LaunchConfigurationDelegate;
 import org.eclipse.debug.internal.core.DebugCoreMessages;
+import org.eclipse.debug.internal.core.DebugOptions;
 import org.eclipse.debug.internal.core.IInternalDebugCoreConstants;
 import org.eclipse.debug.internal.core.groups.GroupLaunchElement.GroupElementPostLaunchAction;
-import org.eclipse.debug.internal.core.groups.observer.ProcessObserver;
-import org.eclipse.debug.internal.core.groups.observer.StreamObserver;
+import org.eclipse.debug.internal.core.groups.observer.ProcessOutputMatcher;
 import org.eclipse.osgi.util.NLS;
 
 /**
@@ -66,10 +70,17 @@ public class GroupLaunchConfigurationDelegate extends LaunchConfigurationDelegat
 	private static final String MODE_PROP = "mode"; //$NON-NLS-1$
 	private static final String ACTION_PROP = "action"; //$NON-NLS-1$
 	private static final String ACTION_PARAM_PROP = "actionParam"; //$NON-NLS-1$
+	private static final String DEPENDENCIES_PROP = "dependencies"; //$NON-NLS-1$
 	private static final String MULTI_LAUNCH_CONSTANTS_PREFIX = "org.eclipse.debug.core.launchGroup"; //$NON-NLS-1$
 
 	private static final String DEBUG_CORE = "org.eclipse.debug.core"; //$NON-NLS-1$
 
+	/**
+	 * Milliseconds to wait for a member to get ready before checking whether
+	 * launching was canceled, as the progress monitor can only be polled.
+	 */
+	private static final long CANCEL_CHECK_INTERVAL = 500;
+
 	private static final Status UNSUPPORTED_MODE = new Status(IStatus.ERROR, DEBUG_CORE, 230, IInternalDebugCoreConstants.EMPTY_STRING, null);
 	private static final Status GROUP_ELEMENT_STARTED = new Status(IStatus.OK, DEBUG_CORE, 231, IInternalDebugCoreConstants.EMPTY_STRING, null);
 	private static final Status GROUP_CYCLE = new Status(IStatus.ERROR, DEBUG_CORE, 232, IInternalDebugCoreConstants.EMPTY_STRING, null);
@@ -91,14 +102,14 @@ public class GroupLaunchConfigurationDelegate extends LaunchConfigurationDelegat
 		IStatusHandler groupStateHandler = DebugPlugin.getDefault().getStatusHandler(GROUP_LAUNCH_START);
 		groupStateHandler.handleStatus(GROUP_LAUNCH_START, group);
 
+		final List<GroupMember> members = new ArrayList<>();
+		CompletableFuture<Boolean> groupTerminated = null;
 		try {
 			SubMonitor progress = SubMonitor.convert(monitor, NLS.bind(DebugCoreMessages.GroupLaunchConfigurationDelegate_Launching, groupConfig.getName()), 1000);
 
 			List<GroupLaunchElement> launches = createLaunchElements(groupConfig);
-			for (int i = 0; i < launches.size(); ++i) {
-				GroupLaunchElement le = launches.get(i);
-
-				if (!le.enabled) {
+			for (GroupLaunchElement le : launches) {
+				if (le == null || !le.enabled) {
 					continue;
 				}
 
@@ -126,22 +137,91 @@ public class GroupLaunchConfigurationDelegate extends LaunchConfigurationDelegat
 					// loop detected. report as appropriate and die.
 					IStatusHandler cycleHandler = DebugPlugin.getDefault().getStatusHandler(GROUP_CYCLE);
 					cycleHandler.handleStatus(GROUP_CYCLE, conf.getName());
-				} else if (!launchChild(progress.newChild(1000 / launches.size()), group, le, conf, localMode, (i == launches.size() - 1))) {
+					continue;
+				}
+				members.add(new GroupMember(le, conf, localMode, group.getTimeline().add(conf.getName())));
+			}
+			resolveDependencies(groupConfig, members);
+
+			// launch each member as soon as its dependencies are ready, the
+			// post launch actions of independent members run concurrently.
+			final List<GroupMember> waiting = new ArrayList<>(members);
+			groupTerminated = waitForTermination(group);
+			while (!progress.isCanceled() && !groupTerminated.isDone()) {
+				GroupMember next = findLaunchable(waiting);
+				if (next != null) {
+					waiting.remove(next);
+					if (next.dependenciesReady()) {
+						launchChild(progress.newChild(1000 / launches.size()), group, next);
+					} else {
+						group.getTimeline().skipped(next.timelineEntry);
+						next.ready = CompletableFuture.completedFuture(Boolean.FALSE);
+					}
+					continue;
+				}
+
+				if (waiting.isEmpty()) {
+					// all members are launched, from now on the last
+					// terminating child will also terminate the group.
+					group.markLaunched();
+				}
+
+				List<GroupMember> pending = new ArrayList<>();
+				for (GroupMember member : members) {
+					if (member.ready != null && !member.ready.isDone()) {
+						pending.add(member);
+					}
+				}
+				if (pending.isEmpty()) {
+					if (!waiting.isEmpty()) {
+						// nothing left that could make the waiting members
+						// launchable
+						List<String> names = new ArrayList<>();
+						for (GroupMember member : waiting) {
+							names.add(member.configuration.getName());
+							group.getTimeline().skipped(member.timelineEntry);
+						}
+						DebugPlugin.log(new Status(IStatus.ERROR, DEBUG_CORE, NLS.bind(DebugCoreMessages.GroupLaunchConfigurationDelegate_dependencyCycle, groupConfig.getName(), names)));
+					}
 					break;
 				}
 
-				// in case the group has been terminated while waiting in the
-				// post launch action.
-				if (group.isTerminated()) {
+				progress.subTask(pending.get(0).waitingMessage);
+				CompletableFuture<?>[] futures = new CompletableFuture<?>[pending.size() + 1];
+				for (int i = 0; i < pending.size(); i++) {
+					futures[i] = pending.get(i).ready;
+				}
+				futures[pending.size()] = groupTerminated;
+				try {
+					CompletableFuture.anyOf(futures).get(CANCEL_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+				} catch (TimeoutException e) {
+					// check whether launching was canceled and wait again
+				} catch (ExecutionException e) {
+					// a member stopped waiting, look at the members again
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
 					break;
 				}
 			}
-
+			progress.subTask(""); //$NON-NLS-1$
 
 			if (!group.hasChildren()) {
 				DebugPlugin.getDefault().getLaunchManager().removeLaunch(group);
 			}
 		} finally {
+			// stop waiting for members in case launching was canceled or the
+			// group has been terminated.
+			if (groupTerminated != null) {
+				groupTerminated.cancel(false);
+			}
+			for (GroupMember member : members) {
+				if (member.ready != null) {
+					member.ready.cancel(false);
+				}
+			}
+			if (DebugOptions.DEBUG_LAUNCH_GROUPS) {
+				DebugOptions.trace("Launch group '" + groupConfig.getName() + "' timeline:" + System.lineSeparator() + group.getTimeline()); //$NON-NLS-1$ //$NON-NLS-2$
+			}
 			// safety net - launching is finished also in case of a problem.
 			group.markLaunched();
 			groupStateHandler.handleStatus(GROUP_LAUNCH_DONE, group);
@@ -149,7 +229,53 @@ public class GroupLaunchConfigurationDelegate extends LaunchConfigurationDelegat
 		}
 	}
 
-	private boolean launchChild(SubMonitor monitor, final GroupLaunch group, GroupLaunchElement le, final ILaunchConfiguration child, final String localMode, boolean lastConfig) throws CoreException {
+	/**
+	 * Resolves the dependencies of the members. Members without explicit
+	 * dependencies depend on the previous member like in a sequential launch.
+	 * Dependencies on elements which are not launched are logged and ignored.
+	 */
+	private static void resolveDependencies(ILaunchConfiguration groupConfig, List<GroupMember> members) {
+		GroupMember previous = null;
+		for (GroupMember member : members) {
+			List<String> names = member.element.dependencies;
+			if (names == null) {
+				if (previous != null) {
+					member.dependencies.add(previous);
+				}
+			} else {
+				List<String> unresolved = new ArrayList<>(names);
+				for (GroupMember other : members) {
+					if (other != member && names.contains(other.element.name)) {
+						member.dependencies.add(other);
+						unresolved.remove(other.element.name);
+					}
+				}
+				if (!unresolved.isEmpty()) {
+					DebugPlugin.log(new Status(IStatus.WARNING, DEBUG_CORE, NLS.bind(DebugCoreMessages.GroupLaunchConfigurationDelegate_unresolvedDependencies, new Object[] {
+							groupConfig.getName(), member.element.name, unresolved })));
+				}
+			}
+			previous = member;
+		}
+	}
+
+	/**
+	 * @return the first waiting member whose dependencies are done, or
+	 *         <code>null</code>
+	 */
+	private static GroupMember findLaunchable(List<GroupMember> waiting) {
+		for (GroupMember member : waiting) {
+			if (member.dependenciesDone()) {
+				return member;
+			}
+		}
+		return null;
+	}
+
+	private void launchChild(SubMonitor monitor, final GroupLaunch group, GroupMember member) throws CoreException {
+		GroupLaunchElement le = member.element;
+		GroupLaunchTimeline timeline = group.getTimeline();
+		timeline.launchStarted(member.timelineEntry);
 		final Set<ILaunch> running = le.adoptIfRunning ? findRunningLaunch(le.name) : Collections.emptySet();
 		ILaunch subLaunch = running.stream().findFirst().orElse(null);
 		boolean launched = false;
@@ -157,16 +283,18 @@ public class GroupLaunchConfigurationDelegate extends LaunchConfigurationDelegat
 			boolean build = true;// see DebugUIPreferenceInitializer
 			IStatusHandler buildHandler = DebugPlugin.getDefault().getStatusHandler(BUILD_BEFORE_LAUNCH);
 			try {
-				Object resolution = buildHandler.handleStatus(BUILD_BEFORE_LAUNCH, child);
+				Object resolution = buildHandler.handleStatus(BUILD_BEFORE_LAUNCH, member.configuration);
 				if (resolution instanceof Boolean) {
 					build = ((Boolean) resolution).booleanValue();
 				}
 			} catch (Exception e) {
 				// ignore and use default
 			}
-			subLaunch = child.launch(localMode, monitor, build);
+			subLaunch = member.configuration.launch(member.mode, monitor, build);
 			launched = true;
 		}
+		timeline.launched(member.timelineEntry);
+		member.launch = subLaunch;
 
 		group.addSubLaunch(subLaunch);
 
@@ -184,56 +312,44 @@ public class GroupLaunchConfigurationDelegate extends LaunchConfigurationDelegat
 					group, subLaunch });
 		}
 
-		// if this is the last child, mark the group as "launching finished", so
-		// that from now on the last terminating child will also terminate the
-		// group.
-		if (lastConfig) {
-			group.markLaunched();
-		}
-
 		// in case we adopted the launch, and did not launch outselves, don't
 		// execute the post launch action!
 		if (launched) {
-			return postLaunchAction(subLaunch, le, monitor);
+			member.ready = postLaunchAction(member);
 		} else {
-			return true;
+			member.ready = CompletableFuture.completedFuture(Boolean.TRUE);
 		}
+		member.ready.whenComplete((ready, e) -> timeline.ready(member.timelineEntry, Boolean.TRUE.equals(ready)));
 	}
 
-	private boolean postLaunchAction(ILaunch subLaunch, GroupLaunchElement le, IProgressMonitor monitor) {
+	/**
+	 * Starts the post launch action of a launched member.
+	 *
+	 * @return a future completed with whether the member is ready for the
+	 *         members depending on it
+	 */
+	private CompletableFuture<Boolean> postLaunchAction(GroupMember member) {
+		ILaunch subLaunch = member.launch;
+		GroupLaunchElement le = member.element;
 		switch (le.action) {
 			case NONE:
-				return true;
-			case WAIT_FOR_TERMINATION:
-				monitor.subTask(NLS.bind(DebugCoreMessages.GroupLaunchConfigurationDelegate_Waiting_for_termination, subLaunch.getLaunchConfiguration().getName()));
-				while (!subLaunch.isTerminated() && !monitor.isCanceled()) {
-					try {
-						Thread.sleep(1000);
-					} catch (InterruptedException e) {
-						break;
-					}
-				}
-				monitor.subTask(""); //$NON-NLS-1$
 				break;
+			case WAIT_FOR_TERMINATION:
+				member.waitingMessage = NLS.bind(DebugCoreMessages.GroupLaunchConfigurationDelegate_Waiting_for_termination, subLaunch.getLaunchConfiguration().getName());
+				return waitForTermination(subLaunch);
 			case DELAY:
 				Integer waitSecs = (Integer) le.actionParam;
 				if (waitSecs != null) {
-					monitor.subTask(NLS.bind(DebugCoreMessages.GroupLaunchConfigurationDelegate_Delaying, waitSecs.toString()));
-					try {
-						Thread.sleep(waitSecs * 1000); // param is milliseconds
-					} catch (InterruptedException e) {
-						// ok
-					}
+					member.waitingMessage = NLS.bind(DebugCoreMessages.GroupLaunchConfigurationDelegate_Delaying, waitSecs.toString());
+					return new CompletableFuture<Boolean>().completeOnTimeout(Boolean.TRUE, waitSecs * 1000L, TimeUnit.MILLISECONDS);
 				}
 				break;
 
 			case OUTPUT_REGEXP:
 				String regexp = (String) le.actionParam;
 				if (regexp != null) {
-					monitor.subTask(NLS.bind(DebugCoreMessages.GroupLaunchConfigurationDelegate_waiting, regexp, subLaunch.getLaunchConfiguration().getName()));
-					if (!waitForOutputMatching(subLaunch, monitor, regexp)) {
-						return false;
-					}
+					member.waitingMessage = NLS.bind(DebugCoreMessages.GroupLaunchConfigurationDelegate_waiting, regexp, subLaunch.getLaunchConfiguration().getName());
+					return waitForOutputMatching(subLaunch, regexp);
 				}
 
 				break;
@@ -242,31 +358,66 @@ public class GroupLaunchConfigurationDelegate extends LaunchConfigurationDelegat
 				assert false : "new post launch action type is missing logic"; //$NON-NLS-1$
 		}
 
-		return true;
+		return CompletableFuture.completedFuture(Boolean.TRUE);
 	}
 
-	// blocks until a specific string is in the log output
-	private boolean waitForOutputMatching(ILaunch launch, IProgressMonitor m, String regexp) {
-		int processCount = launch.getProcesses().length;
-		final ExecutorService executor = Executors.newCachedThreadPool();
-		final CountDownLatch countDownLatch = new CountDownLatch(processCount);
-		Future<Integer> process = null;
-		for (IProcess p : launch.getProcesses()) {
-			process = executor.submit(new ProcessObserver(m, p, countDownLatch));
-			executor.submit(new StreamObserver(m, p, regexp, countDownLatch));
+	/**
+	 * @return a future completed when the given launch terminates
+	 */
+	private static CompletableFuture<Boolean> waitForTermination(ILaunch launch) {
+		final CompletableFuture<Boolean> terminated = new CompletableFuture<>();
+		final ILaunchManager launchManager = DebugPlugin.getDefault().getLaunchManager();
+		final ILaunchesListener2 listener = new ILaunchesListener2() {
+			@Override
+			public void launchesTerminated(ILaunch[] launches) {
+				if (Arrays.asList(launches).contains(launch)) {
+					terminated.complete(Boolean.TRUE);
+				}
+			}
+
+			@Override
+			public void launchesRemoved(ILaunch[] launches) {
+				if (Arrays.asList(launches).contains(launch)) {
+					terminated.complete(Boolean.TRUE);
+				}
+			}
+
+			@Override
+			public void launchesAdded(ILaunch[] launches) {
+			}
+
+			@Override
+			public void launchesChanged(ILaunch[] launches) {
+				// not every launch reports its termination
+				if (Arrays.asList(launches).contains(launch) && launch.isTerminated()) {
+					terminated.complete(Boolean.TRUE);
+				}
+			}
+		};
+		launchManager.addLaunchListener(listener);
+		terminated.whenComplete((result, e) -> launchManager.removeLaunchListener(listener));
+		if (launch.isTerminated()) {
+			terminated.complete(Boolean.TRUE);
 		}
+		return terminated;
+	}
+
+	/**
+	 * @return a future completed with whether output of the given launch
+	 *         matched the regular expression before its processes terminated
+	 */
+	private static CompletableFuture<Boolean> waitForOutputMatching(ILaunch launch, String regexp) {
+		final CompletableFuture<Pattern> match;
 		try {
-			countDownLatch.await();
-		} catch (InterruptedException e) {
-			// should not happen at all!
-		}
-		executor.shutdown();
-		// process terminated before condition
-		if (process == null || process.isDone()) {
-			return false;
+			match = new ProcessOutputMatcher(launch.getProcesses(), regexp).start();
+		} catch (PatternSyntaxException e) {
+			DebugPlugin.log(e);
+			return CompletableFuture.completedFuture(Boolean.FALSE);
 		}
-		// condition matched
-		return true;
+		CompletableFuture<Boolean> matched = match.thenApply(Objects::nonNull);
+		// stop listening to the output when waiting is canceled
+		matched.whenComplete((result, e) -> match.cancel(false));
+		return matched;
 	}
 
 	@Override
@@ -359,6 +510,7 @@ public class GroupLaunchConfigurationDelegate extends LaunchConfigurationDelegat
 							}
 							el.mode = (String) attrs.get(getProp(index, MODE_PROP));
 							el.enabled = (Boolean) attrs.get(getProp(index, ENABLED_PROP));
+							el.dependencies = configuration.getAttribute(getProp(index, DEPENDENCIES_PROP), (List<String>) null);
 							try {
 								el.data = findLaunchConfiguration(el.name);
 							} catch (Exception e) {
@@ -397,6 +549,7 @@ public class GroupLaunchConfigurationDelegate extends LaunchConfigurationDelegat
 			configuration.setAttribute(getProp(i, ACTION_PARAM_PROP), el.actionParam != null ? el.actionParam.toString() : null);
 			configuration.setAttribute(getProp(i, MODE_PROP), el.mode);
 			configuration.setAttribute(getProp(i, ENABLED_PROP), el.enabled);
+			configuration.setAttribute(getProp(i, DEPENDENCIES_PROP), el.dependencies);
 			i++;
 		}
 	}
@@ -420,4 +573,45 @@ public class GroupLaunchConfigurationDelegate extends LaunchConfigurationDelegat
 	public static String getProp(int index, String string) {
 		return MULTI_LAUNCH_CONSTANTS_PREFIX + "." + index + "." + string; //$NON-NLS-1$ //$NON-NLS-2$
 	}
+
+	/**
+	 * A member of a group launch together with its launch state.
+	 */
+	private static class GroupMember {
+		final GroupLaunchElement element;
+		final ILaunchConfiguration configuration;
+		final String mode;
+		final GroupLaunchTimeline.Entry timelineEntry;
+		final List<GroupMember> dependencies = new ArrayList<>();
+		/** The launch of this member, <code>null</code> until launched */
+		ILaunch launch;
+		/** Completed once this member is ready, <code>null</code> until launched or skipped */
+		CompletableFuture<Boolean> ready;
+		String waitingMessage = ""; //$NON-NLS-1$
+
+		GroupMember(GroupLaunchElement element, ILaunchConfiguration configuration, String mode, GroupLaunchTimeline.Entry timelineEntry) {
+			this.element = element;
+			this.configuration = configuration;
+			this.mode = mode;
+			this.timelineEntry = timelineEntry;
+		}
+
+		boolean dependenciesDone() {
+			for (GroupMember dependency : dependencies) {
+				if (dependency.ready == null || !dependency.ready.isDone()) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		boolean dependenciesReady() {
+			for (GroupMember dependency : dependencies) {
+				if (!Boolean.TRUE.equals(dependency.ready.getNow(Boolean.FALSE))) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
 }
@@ -15,6 +15,8 @@
  *******************************************************************************/
 package org.eclipse.debug.internal.core.groups;
 
+import java.util.List;
+
 import org.eclipse.debug.core.ILaunchConfiguration;
 import org.eclipse.debug.internal.core.DebugCoreMessages;
 
@@ -31,8 +33,8 @@ public class GroupLaunchElement {
 	 * {@link GroupLaunchElement}.
 	 * <p>
 	 * These actions get performed after the associated
-	 * {@link GroupLaunchElement} has been launched, before the next one is
-	 * launched (or launching is finished).
+	 * {@link GroupLaunchElement} has been launched, before the elements
+	 * depending on it are launched (or launching is finished).
 	 */
 	public enum GroupElementPostLaunchAction {
 		NONE(DebugCoreMessages.GroupLaunchConfigurationDelegate_None), //
@@ -68,4 +70,11 @@ public class GroupLaunchElement {
 	public Object actionParam;
 	public String name;
 	public ILaunchConfiguration data;
+	/**
+	 * Names of the elements which must be launched and have finished their
+	 * post launch action before this element is launched. <code>null</code> to
+	 * depend on the previous element, an empty list to launch without waiting
+	 * for any other element.
+	 */
+	public List<String> dependencies;
 }
\ No newline at end of file
@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.internal.core.groups;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records when the members of a {@link GroupLaunch} were launched and became
+ * ready. Useful to find the members which delay the launch of a group.
+ */
+public class GroupLaunchTimeline {
+
+	/**
+	 * Launch and ready times of one group member. Times are in milliseconds,
+	 * <code>-1</code> if the member did not reach the state.
+	 */
+	public static class Entry {
+
+		private final String fName;
+
+		private long fLaunchStart = -1;
+
+		private long fLaunched = -1;
+
+		private long fReady = -1;
+
+		private boolean fFailed;
+
+		Entry(String name) {
+			fName = name;
+		}
+
+		/**
+		 * @return the name of the launched configuration
+		 */
+		public String getName() {
+			return fName;
+		}
+
+		/**
+		 * @return time from the start of the group launch until this member
+		 *         was launched
+		 */
+		public synchronized long getLaunchStart() {
+			return toMillis(fLaunchStart);
+		}
+
+		/**
+		 * @return time needed to launch this member
+		 */
+		public synchronized long getLaunchTime() {
+			return fLaunched < 0 ? -1 : toMillis(fLaunched - fLaunchStart);
+		}
+
+		/**
+		 * @return time from the launch of this member until it was ready
+		 */
+		public synchronized long getReadyTime() {
+			return fReady < 0 ? -1 : toMillis(fReady - fLaunched);
+		}
+
+		/**
+		 * @return <code>true</code> if this member was skipped or did not
+		 *         become ready
+		 */
+		public synchronized boolean isFailed() {
+			return fFailed;
+		}
+
+		@Override
+		public synchronized String toString() {
+			StringBuilder buffer = new StringBuilder(fName);
+			if (fLaunched < 0) {
+				buffer.append(fFailed ? ": skipped" : ": not launched"); //$NON-NLS-1$ //$NON-NLS-2$
+				return buffer.toString();
+			}
+			buffer.append(": start=").append(getLaunchStart()).append("ms"); //$NON-NLS-1$ //$NON-NLS-2$
+			buffer.append(", launch=").append(getLaunchTime()).append("ms"); //$NON-NLS-1$ //$NON-NLS-2$
+			if (fReady >= 0) {
+				buffer.append(fFailed ? ", failed=" : ", ready=").append(getReadyTime()).append("ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			}
+			return buffer.toString();
+		}
+
+		private static long toMillis(long nanos) {
+			return nanos < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(nanos);
+		}
+	}
+
+	private final long fStartTime = System.nanoTime();
+
+	private final List<Entry> fEntries = new ArrayList<>();
+
+	/**
+	 * Adds a member to the timeline.
+	 *
+	 * @param name the name of the member's configuration
+	 * @return the entry of the member
+	 */
+	synchronized Entry add(String name) {
+		Entry entry = new Entry(name);
+		fEntries.add(entry);
+		return entry;
+	}
+
+	/**
+	 * Records the start of a member's launch.
+	 *
+	 * @param entry the entry of the member
+	 */
+	void launchStarted(Entry entry) {
+		synchronized (entry) {
+			entry.fLaunchStart = System.nanoTime() - fStartTime;
+		}
+	}
+
+	/**
+	 * Records the end of a member's launch.
+	 *
+	 * @param entry the entry of the member
+	 */
+	void launched(Entry entry) {
+		synchronized (entry) {
+			entry.fLaunched = System.nanoTime() - fStartTime;
+		}
+	}
+
+	/**
+	 * Records the end of the readiness wait of a launched member.
+	 *
+	 * @param entry the entry of the member
+	 * @param success whether the member became ready
+	 */
+	void ready(Entry entry, boolean success) {
+		synchronized (entry) {
+			entry.fReady = System.nanoTime() - fStartTime;
+			entry.fFailed = !success;
+		}
+	}
+
+	/**
+	 * Records a member not launched because a dependency failed.
+	 *
+	 * @param entry the entry of the member
+	 */
+	void skipped(Entry entry) {
+		synchronized (entry) {
+			entry.fFailed = true;
+		}
+	}
+
+	/**
+	 * @return the entries of all members in group order
+	 */
+	public synchronized List<Entry> getEntries() {
+		return new ArrayList<>(fEntries);
+	}
+
+	@Override
+	public synchronized String toString() {
+		StringBuilder buffer = new StringBuilder();
+		for (Entry entry : fEntries) {
+			if (buffer.length() > 0) {
+				buffer.append(System.lineSeparator());
+			}
+			buffer.append(entry);
+		}
+		return buffer.toString();
+	}
+}
@@ -14,6 +14,7 @@
  *******************************************************************************/
 package org.eclipse.debug.internal.core.groups;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.core.runtime.CoreException;
@@ -25,7 +26,8 @@ import org.eclipse.debug.core.ILaunchConfigurationWorkingCopy;
 import org.eclipse.debug.core.ILaunchManager;
 
 /**
- * Manages renames of launch configurations that are members of group launches
+ * Manages renames of launch configurations that are members of group launches,
+ * including the dependencies of other members on them
  *
  * @since 3.11
  */
@@ -52,6 +54,12 @@ public class GroupMemberChangeListener implements ILaunchConfigurationListener {
 							updated = true;
 							e.name = configuration.getName();
 						}
+						if (e.dependencies != null && e.dependencies.contains(original.getName())) {
+							updated = true;
+							List<String> dependencies = new ArrayList<>(e.dependencies);
+							dependencies.replaceAll(name -> name.equals(original.getName()) ? configuration.getName() : name);
+							e.dependencies = dependencies;
+						}
 					}
 
 					if (updated) {
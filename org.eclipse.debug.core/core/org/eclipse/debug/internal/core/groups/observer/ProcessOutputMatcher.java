@@ -0,0 +1,229 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.internal.core.groups.observer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.debug.core.DebugEvent;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.IDebugEventSetListener;
+import org.eclipse.debug.core.IStreamListener;
+import org.eclipse.debug.core.model.IProcess;
+import org.eclipse.debug.core.model.IStreamMonitor;
+import org.eclipse.debug.core.model.IStreamsProxy;
+
+/**
+ * Waits for output of processes matching one of a set of patterns.
+ * <p>
+ * The output and error streams of all processes are matched as they are
+ * appended, without a thread per process or stream. Output is matched line by
+ * line: the unfinished last line of a stream is kept and matched again
+ * together with the following output, so a line split between two reads of a
+ * stream is still found. At most {@link #MAX_LOOK_BEHIND} characters of an
+ * unfinished line are kept. Patterns are compiled in
+ * {@link Pattern#MULTILINE} mode, <code>^</code> and <code>$</code> match at
+ * line boundaries.
+ * </p>
+ * <p>
+ * The result completes with the first pattern found, or with
+ * <code>null</code> if all processes terminated or the timeout elapsed before
+ * any output matched. Listeners are removed once the result completes, also
+ * when it is canceled.
+ * </p>
+ */
+public class ProcessOutputMatcher implements IStreamListener, IDebugEventSetListener {
+
+	/** Maximum number of characters of an unfinished line kept for matching */
+	public static final int MAX_LOOK_BEHIND = 16 * 1024;
+
+	private final IProcess[] fProcesses;
+
+	private final Pattern[] fPatterns;
+
+	private final List<IStreamMonitor> fMonitors = new ArrayList<>();
+
+	/** Unfinished last line of each stream */
+	private final Map<IStreamMonitor, String> fUnfinishedLines = new HashMap<>();
+
+	private final CompletableFuture<Pattern> fResult = new CompletableFuture<>();
+
+	private boolean fStarted;
+
+	/**
+	 * Creates a matcher for the output of the given processes.
+	 *
+	 * @param processes the processes to watch
+	 * @param regexps the regular expressions to search for
+	 * @throws java.util.regex.PatternSyntaxException if an expression is not
+	 *             valid
+	 */
+	public ProcessOutputMatcher(IProcess[] processes, String... regexps) {
+		fProcesses = processes.clone();
+		fPatterns = new Pattern[regexps.length];
+		for (int i = 0; i < regexps.length; i++) {
+			fPatterns[i] = Pattern.compile(regexps[i], Pattern.MULTILINE);
+		}
+	}
+
+	/**
+	 * Starts matching the output appended to the processes' streams from now
+	 * on and the output they already buffered.
+	 *
+	 * @return the result, completed with the first pattern found or
+	 *         <code>null</code> if all processes terminated without matching
+	 *         output
+	 */
+	public CompletableFuture<Pattern> start() {
+		synchronized (this) {
+			if (fStarted) {
+				return fResult;
+			}
+			fStarted = true;
+		}
+		// not from within the notification completing the result, some
+		// monitors do not support removing listeners while notifying them
+		fResult.whenCompleteAsync((pattern, e) -> dispose());
+		DebugPlugin.getDefault().addDebugEventListener(this);
+		for (IProcess process : fProcesses) {
+			IStreamsProxy proxy = process.getStreamsProxy();
+			if (proxy != null) {
+				watch(proxy.getOutputStreamMonitor());
+				watch(proxy.getErrorStreamMonitor());
+			}
+		}
+		checkTerminated();
+		return fResult;
+	}
+
+	/**
+	 * Starts matching like {@link #start()}, giving up after the given time.
+	 *
+	 * @param timeout the time to wait for matching output
+	 * @param unit the unit of the timeout
+	 * @return the result, completed with the first pattern found or
+	 *         <code>null</code> if all processes terminated or the timeout
+	 *         elapsed without matching output
+	 */
+	public CompletableFuture<Pattern> start(long timeout, TimeUnit unit) {
+		return start().completeOnTimeout(null, timeout, unit);
+	}
+
+	private void watch(IStreamMonitor monitor) {
+		if (monitor == null || fResult.isDone()) {
+			return;
+		}
+		String output;
+		// output read while registering is either part of the contents or
+		// passed to the listener afterwards, not both
+		synchronized (monitor) {
+			synchronized (this) {
+				fMonitors.add(monitor);
+				monitor.addListener(this);
+				output = append(monitor, monitor.getContents());
+			}
+		}
+		if (fResult.isDone()) {
+			// completed while registering, dispose may have missed the monitor
+			monitor.removeListener(this);
+		}
+		match(output);
+	}
+
+	@Override
+	public void streamAppended(String text, IStreamMonitor monitor) {
+		if (fResult.isDone()) {
+			return;
+		}
+		String output;
+		synchronized (this) {
+			output = append(monitor, text);
+		}
+		match(output);
+	}
+
+	/**
+	 * Appends text to the unfinished line of a stream.
+	 *
+	 * @return the output to match, the unfinished line followed by the text
+	 */
+	private String append(IStreamMonitor monitor, String text) {
+		String unfinished = fUnfinishedLines.remove(monitor);
+		if (text == null || text.isEmpty()) {
+			if (unfinished != null) {
+				fUnfinishedLines.put(monitor, unfinished);
+			}
+			return null;
+		}
+		String output = unfinished != null ? unfinished.concat(text) : text;
+		int lineEnd = Math.max(output.lastIndexOf('\n'), output.lastIndexOf('\r'));
+		int start = Math.max(lineEnd + 1, output.length() - MAX_LOOK_BEHIND);
+		if (start < output.length()) {
+			fUnfinishedLines.put(monitor, output.substring(start));
+		}
+		return output;
+	}
+
+	private void match(String output) {
+		if (output == null) {
+			return;
+		}
+		for (Pattern pattern : fPatterns) {
+			Matcher matcher = pattern.matcher(output);
+			if (matcher.find()) {
+				fResult.complete(pattern);
+				return;
+			}
+		}
+	}
+
+	@Override
+	public void handleDebugEvents(DebugEvent[] events) {
+		for (DebugEvent event : events) {
+			if (event.getKind() == DebugEvent.TERMINATE && Arrays.asList(fProcesses).contains(event.getSource())) {
+				checkTerminated();
+				return;
+			}
+		}
+	}
+
+	private void checkTerminated() {
+		for (IProcess process : fProcesses) {
+			if (!process.isTerminated()) {
+				return;
+			}
+		}
+		fResult.complete(null);
+	}
+
+	private void dispose() {
+		DebugPlugin.getDefault().removeDebugEventListener(this);
+		List<IStreamMonitor> monitors;
+		synchronized (this) {
+			monitors = new ArrayList<>(fMonitors);
+			fMonitors.clear();
+			fUnfinishedLines.clear();
+		}
+		for (IStreamMonitor monitor : monitors) {
+			monitor.removeListener(this);
+		}
+	}
+}
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.internal.core.sourcelookup;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters about the archives opened for source lookup by
+ * {@link SourceLookupUtils}. Useful to tune the archive cache size.
+ */
+public class ArchiveCacheStatistics {
+
+	private final LongAdder fHits = new LongAdder();
+
+	private final LongAdder fMisses = new LongAdder();
+
+	private final LongAdder fOpens = new LongAdder();
+
+	private final LongAdder fEvictions = new LongAdder();
+
+	private final AtomicInteger fOpenArchives = new AtomicInteger();
+
+	/**
+	 * Records an access to an archive which was already open.
+	 */
+	void hit() {
+		fHits.increment();
+	}
+
+	/**
+	 * Records an access to an archive which had to be opened.
+	 */
+	void miss() {
+		fMisses.increment();
+	}
+
+	/**
+	 * Records an archive successfully opened.
+	 */
+	void opened() {
+		fOpens.increment();
+		fOpenArchives.incrementAndGet();
+	}
+
+	/**
+	 * Records an archive closed or evicted.
+	 *
+	 * @param evicted whether the archive was evicted to limit the number of
+	 *            open archives
+	 */
+	void closed(boolean evicted) {
+		fOpenArchives.decrementAndGet();
+		if (evicted) {
+			fEvictions.increment();
+		}
+	}
+
+	/**
+	 * @return number of accesses to archives which were already open
+	 */
+	public long getHitCount() {
+		return fHits.sum();
+	}
+
+	/**
+	 * @return number of accesses to archives which had to be opened
+	 */
+	public long getMissCount() {
+		return fMisses.sum();
+	}
+
+	/**
+	 * @return number of archives opened, lower than {@link #getMissCount()}
+	 *         if archives failed to open
+	 */
+	public long getOpenCount() {
+		return fOpens.sum();
+	}
+
+	/**
+	 * @return number of archives evicted to limit the number of open archives
+	 */
+	public long getEvictionCount() {
+		return fEvictions.sum();
+	}
+
+	/**
+	 * @return number of archives currently open in the cache
+	 */
+	public int getOpenArchiveCount() {
+		return fOpenArchives.get();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder buffer = new StringBuilder();
+		buffer.append("hits=").append(getHitCount()); //$NON-NLS-1$
+		buffer.append(", misses=").append(getMissCount()); //$NON-NLS-1$
+		buffer.append(", opens=").append(getOpenCount()); //$NON-NLS-1$
+		buffer.append(", evictions=").append(getEvictionCount()); //$NON-NLS-1$
+		buffer.append(", open=").append(getOpenArchiveCount()); //$NON-NLS-1$
+		return buffer.toString();
+	}
+}
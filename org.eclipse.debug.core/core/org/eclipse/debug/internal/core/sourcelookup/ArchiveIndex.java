@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.internal.core.sourcelookup;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Index of the entries of an archive by their base name, i.e. the last segment
+ * of the entry name. Allows to find entries by name suffix without enumerating
+ * all entries of the archive.
+ * <p>
+ * An index is built once per open archive and shared through
+ * {@link SourceLookupUtils#getArchiveIndex(String)}. Indexes are immutable.
+ * </p>
+ *
+ * @since 3.21
+ */
+public class ArchiveIndex {
+
+	private final ZipFile fArchive;
+
+	/**
+	 * Entries by the segment following their last '/', in archive order. The
+	 * key of directory entries is the empty string.
+	 */
+	private final Map<String, List<ZipEntry>> fEntries = new HashMap<>();
+
+	/**
+	 * Directory entries by their last segment, in archive order.
+	 */
+	private final Map<String, List<ZipEntry>> fDirectories = new HashMap<>();
+
+	/**
+	 * Names of entries which would resolve outside of the archive when
+	 * extracted, usually empty.
+	 */
+	private final List<String> fInvalidNames = new ArrayList<>(0);
+
+	/**
+	 * Builds the index of the given archive.
+	 *
+	 * @param archive archive to index
+	 * @exception IllegalStateException if the archive has been closed
+	 */
+	public ArchiveIndex(ZipFile archive) {
+		fArchive = archive;
+		synchronized (archive) {
+			Enumeration<? extends ZipEntry> entries = archive.entries();
+			while (entries.hasMoreElements()) {
+				ZipEntry entry = entries.nextElement();
+				String entryName = entry.getName();
+				fEntries.computeIfAbsent(getBaseName(entryName), k -> new ArrayList<>(1)).add(entry);
+				if (entryName.endsWith("/")) { //$NON-NLS-1$
+					String directory = entryName.substring(0, entryName.length() - 1);
+					fDirectories.computeIfAbsent(getBaseName(directory), k -> new ArrayList<>(1)).add(entry);
+				}
+				if (!isContained(entryName)) {
+					fInvalidNames.add(entryName);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the segment following the last '/' in the given name.
+	 *
+	 * @param name entry or file name
+	 * @return the last segment, possibly empty
+	 */
+	public static String getBaseName(String name) {
+		return name.substring(name.lastIndexOf('/') + 1);
+	}
+
+	/**
+	 * Returns whether the given entry name, resolved against the archive,
+	 * denotes a location inside the archive.
+	 */
+	private static boolean isContained(String entryName) {
+		int depth = 0;
+		int start = 0;
+		int length = entryName.length();
+		for (int i = 0; i <= length; i++) {
+			if (i == length || entryName.charAt(i) == '/' || entryName.charAt(i) == File.separatorChar) {
+				String segment = entryName.substring(start, i);
+				if (segment.equals("..")) { //$NON-NLS-1$
+					depth--;
+					if (depth < 0) {
+						return false;
+					}
+				} else if (!segment.isEmpty() && !segment.equals(".")) { //$NON-NLS-1$
+					depth++;
+				}
+				start = i + 1;
+			}
+		}
+		return depth > 0;
+	}
+
+	/**
+	 * Returns the archive this index was built from.
+	 *
+	 * @return the archive
+	 */
+	public ZipFile getArchive() {
+		return fArchive;
+	}
+
+	/**
+	 * Returns the entries with the given base name in archive order.
+	 *
+	 * @param baseName last segment of the entry names, or the empty string for
+	 *            directory entries
+	 * @return unmodifiable list of entries, possibly empty
+	 */
+	public List<ZipEntry> getEntries(String baseName) {
+		List<ZipEntry> entries = fEntries.get(baseName);
+		return entries == null ? Collections.emptyList() : Collections.unmodifiableList(entries);
+	}
+
+	/**
+	 * Returns the directory entries with the given last segment in archive
+	 * order.
+	 *
+	 * @param baseName last segment of the directory names
+	 * @return unmodifiable list of directory entries, possibly empty
+	 */
+	public List<ZipEntry> getDirectories(String baseName) {
+		List<ZipEntry> entries = fDirectories.get(baseName);
+		return entries == null ? Collections.emptyList() : Collections.unmodifiableList(entries);
+	}
+
+	/**
+	 * Returns the name of an entry ending with the given suffix which would
+	 * resolve outside of the archive when extracted, or <code>null</code> if
+	 * none.
+	 *
+	 * @param suffix name suffix
+	 * @return name of an invalid entry or <code>null</code>
+	 */
+	public String getInvalidEntry(String suffix) {
+		for (String name : fInvalidNames) {
+			if (name.endsWith(suffix)) {
+				return name;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns whether the entry with the given name would resolve outside of
+	 * the archive when extracted.
+	 *
+	 * @param name entry name
+	 * @return whether the entry is invalid
+	 */
+	public boolean isInvalidEntry(String name) {
+		return fInvalidNames.contains(name);
+	}
+}
@@ -0,0 +1,177 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.internal.core.sourcelookup;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.preferences.IPreferencesService;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.sourcelookup.ISourceContainer;
+import org.eclipse.debug.internal.core.IInternalDebugCoreConstants;
+
+/**
+ * Searches source containers in parallel on a bounded fork-join pool shared by
+ * all source lookup participants.
+ *
+ * @see IInternalDebugCoreConstants#PREF_SOURCE_LOOKUP_PARALLELISM
+ * @since 3.21
+ */
+public class ParallelSourceLookup {
+
+	private static ForkJoinPool fgPool;
+
+	/**
+	 * Returns the number of threads to search source containers with, values
+	 * lower than <code>2</code> mean sequential search.
+	 *
+	 * @return configured parallelism
+	 */
+	public static int getParallelism() {
+		IPreferencesService service = Platform.getPreferencesService();
+		if (service == null) {
+			return 0;
+		}
+		return service.getInt(DebugPlugin.getUniqueIdentifier(), IInternalDebugCoreConstants.PREF_SOURCE_LOOKUP_PARALLELISM, 0, null);
+	}
+
+	private static synchronized ForkJoinPool getPool(int parallelism) {
+		if (fgPool == null || fgPool.getParallelism() != parallelism) {
+			if (fgPool != null) {
+				// running searches complete, submitting to it is rejected
+				fgPool.shutdown();
+			}
+			fgPool = new ForkJoinPool(parallelism, pool -> {
+				ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+				thread.setName("Source Lookup " + thread.getPoolIndex()); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			}, null, false);
+		}
+		return fgPool;
+	}
+
+	/**
+	 * Stops the pool threads. Called when the debug plug-in shuts down.
+	 */
+	public static synchronized void shutdown() {
+		if (fgPool != null) {
+			fgPool.shutdownNow();
+			fgPool = null;
+		}
+	}
+
+	/**
+	 * Searches the given containers for the given name in parallel. When
+	 * duplicates are not searched, the first container in order with a match
+	 * wins, probes of the following containers are cancelled and their
+	 * outcomes are <code>null</code>.
+	 *
+	 * @param containers containers to search, <code>null</code> entries are
+	 *            skipped
+	 * @param name source name
+	 * @param duplicates whether all containers are searched
+	 * @param parallelism number of threads to search with
+	 * @return for each container in order the <code>Object[]</code> of source
+	 *         elements found, the {@link CoreException} thrown, or
+	 *         <code>null</code> if not searched
+	 * @throws CoreException if interrupted while waiting for the search
+	 */
+	public static Object[] search(ISourceContainer[] containers, String name, boolean duplicates, int parallelism) throws CoreException {
+		ForkJoinPool pool = getPool(parallelism);
+		// index of the first container known to have a match
+		AtomicInteger winner = new AtomicInteger(Integer.MAX_VALUE);
+		ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[containers.length];
+		for (int i = 0; i < containers.length; i++) {
+			ISourceContainer container = containers[i];
+			if (container == null) {
+				continue;
+			}
+			int index = i;
+			Callable<Object> probe = () -> {
+				if (!duplicates && index > winner.get()) {
+					// an earlier container answered
+					return null;
+				}
+				try {
+					Object[] elements = container.findSourceElements(name);
+					if (!duplicates && elements.length > 0) {
+						winner.accumulateAndGet(index, Math::min);
+					}
+					return elements;
+				} catch (CoreException e) {
+					return e;
+				}
+			};
+			try {
+				tasks[i] = pool.submit(probe);
+			} catch (RejectedExecutionException e) {
+				// the pool was replaced as the parallelism changed, or shut
+				// down, search the remaining containers in this thread
+				tasks[i] = ForkJoinTask.adapt(probe);
+				tasks[i].invoke();
+			}
+		}
+		Object[] outcomes = new Object[containers.length];
+		try {
+			for (int i = 0; i < tasks.length; i++) {
+				if (tasks[i] == null) {
+					continue;
+				}
+				outcomes[i] = tasks[i].get();
+				if (!duplicates && outcomes[i] instanceof Object[] && ((Object[]) outcomes[i]).length > 0) {
+					cancel(tasks, i + 1);
+					break;
+				}
+			}
+		} catch (InterruptedException e) {
+			cancel(tasks, 0);
+			Thread.currentThread().interrupt();
+			throw new CoreException(Status.CANCEL_STATUS);
+		} catch (ExecutionException e) {
+			cancel(tasks, 0);
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new CoreException(new Status(IStatus.ERROR, DebugPlugin.getUniqueIdentifier(), cause.getMessage(), cause));
+		}
+		return outcomes;
+	}
+
+	/**
+	 * Cancels the tasks from the given index on. Running probes are not
+	 * interrupted as containers may not tolerate interrupts during I/O, their
+	 * results are ignored.
+	 */
+	private static void cancel(ForkJoinTask<?>[] tasks, int from) {
+		for (int i = from; i < tasks.length; i++) {
+			if (tasks[i] != null) {
+				tasks[i].cancel(false);
+			}
+		}
+	}
+}
@@ -0,0 +1,595 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.internal.core.sourcelookup;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.preferences.IPreferencesService;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.sourcelookup.ISourceContainer;
+import org.eclipse.debug.core.sourcelookup.ISourceContainerType;
+import org.eclipse.debug.core.sourcelookup.ISourceLookupParticipant;
+import org.eclipse.debug.core.sourcelookup.containers.ArchiveSourceContainer;
+import org.eclipse.debug.core.sourcelookup.containers.ExternalArchiveSourceContainer;
+import org.eclipse.debug.core.sourcelookup.containers.LocalFileStorage;
+import org.eclipse.debug.core.sourcelookup.containers.ZipEntryStorage;
+import org.eclipse.debug.internal.core.IInternalDebugCoreConstants;
+
+/**
+ * Cache of the source elements found by source lookup participants in the
+ * source containers of a source lookup director, by source name. A cache is
+ * specific to a list of source containers.
+ * <p>
+ * Cached results are discarded when a file with the same name is added or
+ * removed in the workspace, and all results are discarded when an archive
+ * searched by the source containers is modified. Changes to external
+ * directories are not detected. Optionally, results are persisted across
+ * sessions for the same list of source containers. Persisted results which
+ * have not been used for {@link #MAX_PERSISTED_AGE} are deleted.
+ * </p>
+ *
+ * @since 3.21
+ */
+public class SourceLookupCache implements IResourceChangeListener {
+
+	/**
+	 * Minimum time between checks of the archive modification times in
+	 * milliseconds
+	 */
+	private static final long ARCHIVE_CHECK_INTERVAL = 1000;
+
+	/**
+	 * Directory of the persisted caches in the state location
+	 */
+	private static final String CACHE_DIRECTORY = ".sourceLookupCache"; //$NON-NLS-1$
+
+	/**
+	 * Time in milliseconds after which persisted results not used meanwhile
+	 * are deleted
+	 */
+	private static final long MAX_PERSISTED_AGE = 30L * 24 * 60 * 60 * 1000;
+
+	/**
+	 * Persisted key of the archive stamp
+	 */
+	private static final String ARCHIVE_STAMP = "archiveStamp"; //$NON-NLS-1$
+
+	// prefixes of persisted source elements
+	private static final String RESOURCE = "r:"; //$NON-NLS-1$
+	private static final String FILE = "f:"; //$NON-NLS-1$
+	private static final String ZIP_ENTRY = "z:"; //$NON-NLS-1$
+
+	private final ISourceContainer[] fContainers;
+
+	private final int fSize;
+
+	/**
+	 * Name of the file persisting this cache or <code>null</code> if not
+	 * persisted
+	 */
+	private final String fFileName;
+
+	/**
+	 * Cached results by key, least recently used first
+	 */
+	private final LinkedHashMap<String, Object[]> fEntries;
+
+	/**
+	 * Persisted results not yet requested in this session, by key
+	 */
+	private Map<String, String> fPersisted;
+
+	/**
+	 * Archives searched by the source containers, computed lazily
+	 */
+	private volatile List<File> fArchives;
+
+	private long fArchiveStamp;
+
+	private long fLastArchiveCheck;
+
+	/**
+	 * Incremented whenever all results are discarded
+	 */
+	private long fGeneration;
+
+	private boolean fDisposed;
+
+	/**
+	 * Creates a cache for the given source containers.
+	 *
+	 * @param id source locator type identifier of the director or
+	 *            <code>null</code>
+	 * @param containers source containers of the director
+	 * @param size maximum number of cached results
+	 * @param persist whether to persist results across sessions
+	 */
+	public SourceLookupCache(String id, ISourceContainer[] containers, int size, boolean persist) {
+		fContainers = containers;
+		fSize = size;
+		fFileName = persist ? getFingerprint(id, containers) : null;
+		fEntries = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Object[]> eldest) {
+				return size() > fSize;
+			}
+		};
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+	}
+
+	/**
+	 * Returns a cache for the given source containers according to the
+	 * preferences, or <code>null</code> if source lookup results are not to be
+	 * cached.
+	 *
+	 * @param id source locator type identifier of the director or
+	 *            <code>null</code>
+	 * @param containers source containers of the director
+	 * @return a new cache or <code>null</code>
+	 */
+	public static SourceLookupCache create(String id, ISourceContainer[] containers) {
+		IPreferencesService service = Platform.getPreferencesService();
+		if (service == null) {
+			return null;
+		}
+		int size = service.getInt(DebugPlugin.getUniqueIdentifier(), IInternalDebugCoreConstants.PREF_SOURCE_LOOKUP_CACHE_SIZE, 0, null);
+		if (size <= 0) {
+			return null;
+		}
+		boolean persist = service.getBoolean(DebugPlugin.getUniqueIdentifier(), IInternalDebugCoreConstants.PREF_SOURCE_LOOKUP_CACHE_PERSIST, false, null);
+		return new SourceLookupCache(id, containers, size, persist);
+	}
+
+	/**
+	 * Returns the cache key of a source name searched by a participant.
+	 *
+	 * @param participant participant searching the source containers
+	 * @param name source name
+	 * @param duplicates whether all matching source elements are searched
+	 * @return cache key
+	 */
+	public static String getKey(ISourceLookupParticipant participant, String name, boolean duplicates) {
+		return participant.getClass().getName() + (duplicates ? "\n*\n" : "\n\n") + name; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Returns the source elements cached for the given key, or
+	 * <code>null</code> if none.
+	 *
+	 * @param key cache key
+	 * @return the cached source elements, possibly empty, or <code>null</code>
+	 */
+	public Object[] get(String key) {
+		checkArchives();
+		String persisted;
+		long generation;
+		synchronized (this) {
+			if (fDisposed) {
+				return null;
+			}
+			Object[] elements = fEntries.get(key);
+			if (elements != null) {
+				for (Object element : elements) {
+					if (element instanceof ZipEntryStorage && !SourceLookupUtils.isOpen(((ZipEntryStorage) element).getArchive())) {
+						// the archive has been closed or evicted since
+						fEntries.remove(key);
+						return null;
+					}
+				}
+				return elements.clone();
+			}
+			persisted = fPersisted == null ? null : fPersisted.remove(key);
+			if (persisted == null) {
+				return null;
+			}
+			generation = fGeneration;
+		}
+		// restoring opens archives, do not block other lookups meanwhile
+		Object[] elements = decode(persisted);
+		if (elements == null) {
+			return null;
+		}
+		synchronized (this) {
+			if (!fDisposed && generation == fGeneration) {
+				fEntries.putIfAbsent(key, elements);
+			}
+		}
+		return elements.clone();
+	}
+
+	/**
+	 * Caches the source elements found for the given key.
+	 *
+	 * @param key cache key
+	 * @param elements source elements, possibly empty
+	 */
+	public synchronized void put(String key, Object[] elements) {
+		if (!fDisposed) {
+			fEntries.put(key, elements.clone());
+		}
+	}
+
+	/**
+	 * Discards all cached results, including persisted results.
+	 */
+	public synchronized void clear() {
+		fEntries.clear();
+		fPersisted = new HashMap<>();
+		fGeneration++;
+	}
+
+	/**
+	 * Disposes this cache, persisting the cached results if enabled.
+	 */
+	public void dispose() {
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+		Properties properties = null;
+		long stamp;
+		synchronized (this) {
+			if (fDisposed) {
+				return;
+			}
+			fDisposed = true;
+			if (fFileName != null && fPersisted != null) {
+				properties = getPersistedProperties();
+			}
+			stamp = fArchiveStamp;
+			fEntries.clear();
+			fPersisted = null;
+		}
+		if (properties != null) {
+			save(properties, stamp);
+			deleteUnused();
+		}
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta = event.getDelta();
+		if (delta == null) {
+			return;
+		}
+		Set<String> names = new HashSet<>();
+		boolean[] clear = new boolean[1];
+		try {
+			delta.accept(d -> {
+				IResource resource = d.getResource();
+				int kind = d.getKind();
+				if (resource.getType() == IResource.FILE) {
+					if (kind == IResourceDelta.ADDED || kind == IResourceDelta.REMOVED) {
+						names.add(resource.getName());
+					}
+				} else if (resource.getType() != IResource.ROOT) {
+					if (kind == IResourceDelta.ADDED || kind == IResourceDelta.REMOVED || (d.getFlags() & IResourceDelta.OPEN) != 0) {
+						clear[0] = true;
+						return false;
+					}
+				}
+				return !clear[0];
+			});
+		} catch (CoreException e) {
+			DebugPlugin.log(e);
+			clear[0] = true;
+		}
+		if (clear[0]) {
+			clear();
+		} else if (!names.isEmpty()) {
+			synchronized (this) {
+				fEntries.keySet().removeIf(key -> names.contains(getFileName(key)));
+				if (fPersisted != null) {
+					fPersisted.keySet().removeIf(key -> names.contains(getFileName(key)));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the last segment of the source name in the given key.
+	 */
+	private static String getFileName(String key) {
+		int index = Math.max(key.lastIndexOf('/'), Math.max(key.lastIndexOf('\\'), key.lastIndexOf('\n')));
+		return key.substring(index + 1);
+	}
+
+	/**
+	 * Discards all results when an archive has been modified, loads the
+	 * persisted results on first access. The archives and the persisted
+	 * results are read without holding the lock of this cache.
+	 */
+	private void checkArchives() {
+		boolean load;
+		synchronized (this) {
+			long now = System.currentTimeMillis();
+			if (fDisposed || (fPersisted != null && now - fLastArchiveCheck < ARCHIVE_CHECK_INTERVAL)) {
+				return;
+			}
+			fLastArchiveCheck = now;
+			load = fPersisted == null;
+		}
+		long stamp = getArchiveStamp();
+		Map<String, String> loaded = load ? load(stamp) : null;
+		synchronized (this) {
+			if (fDisposed) {
+				return;
+			}
+			if (fPersisted == null) {
+				if (loaded != null) {
+					// first access
+					fArchiveStamp = stamp;
+					fPersisted = loaded;
+				}
+			} else if (stamp != fArchiveStamp) {
+				fArchiveStamp = stamp;
+				clear();
+			}
+		}
+	}
+
+	/**
+	 * Returns a value changing when an archive searched by the source
+	 * containers is modified.
+	 */
+	private long getArchiveStamp() {
+		List<File> archives = fArchives;
+		if (archives == null) {
+			archives = new ArrayList<>();
+			collectArchives(fContainers, archives);
+			fArchives = archives;
+		}
+		long stamp = 17;
+		for (File archive : archives) {
+			stamp = stamp * 31 + archive.lastModified();
+		}
+		return stamp;
+	}
+
+	private static void collectArchives(ISourceContainer[] containers, List<File> archives) {
+		for (ISourceContainer container : containers) {
+			if (container instanceof ExternalArchiveSourceContainer) {
+				archives.add(new File(container.getName()));
+			} else if (container instanceof ArchiveSourceContainer) {
+				IPath location = ((ArchiveSourceContainer) container).getFile().getLocation();
+				if (location != null) {
+					archives.add(location.toFile());
+				}
+			} else if (container.isComposite()) {
+				try {
+					collectArchives(container.getSourceContainers(), archives);
+				} catch (CoreException e) {
+					// not searched either
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the name of the file persisting the results for the given
+	 * source containers, or <code>null</code> if the containers cannot be
+	 * persisted.
+	 */
+	private static String getFingerprint(String id, ISourceContainer[] containers) {
+		StringBuilder buffer = new StringBuilder(String.valueOf(id));
+		for (ISourceContainer container : containers) {
+			ISourceContainerType type = container.getType();
+			if (type == null) {
+				return null;
+			}
+			try {
+				buffer.append('\n').append(type.getId()).append('\n').append(type.getMemento(container));
+			} catch (CoreException e) {
+				return null;
+			}
+		}
+		return UUID.nameUUIDFromBytes(buffer.toString().getBytes(StandardCharsets.UTF_8)) + ".properties"; //$NON-NLS-1$
+	}
+
+	private static File getDirectory() {
+		return DebugPlugin.getDefault().getStateLocation().append(CACHE_DIRECTORY).toFile();
+	}
+
+	private File getFile() {
+		return new File(getDirectory(), fFileName);
+	}
+
+	/**
+	 * Returns the persisted results if they were persisted with the given
+	 * archive stamp, otherwise an empty map.
+	 */
+	private Map<String, String> load(long stamp) {
+		Map<String, String> persisted = new HashMap<>();
+		if (fFileName == null) {
+			return persisted;
+		}
+		File file = getFile();
+		if (!file.exists()) {
+			return persisted;
+		}
+		Properties properties = new Properties();
+		try (InputStream stream = new FileInputStream(file)) {
+			properties.load(stream);
+		} catch (IOException e) {
+			DebugPlugin.log(e);
+			return persisted;
+		}
+		if (!Long.toString(stamp).equals(properties.getProperty(ARCHIVE_STAMP))) {
+			// persisted for another version of the archives
+			file.delete();
+			return persisted;
+		}
+		properties.remove(ARCHIVE_STAMP);
+		for (String key : properties.stringPropertyNames()) {
+			persisted.put(key, properties.getProperty(key));
+		}
+		return persisted;
+	}
+
+	/**
+	 * Returns the cached results which can be restored, most recently used
+	 * last, in their persisted form.
+	 */
+	private Properties getPersistedProperties() {
+		Map<String, String> persisted = new LinkedHashMap<>(fPersisted);
+		for (Map.Entry<String, Object[]> entry : fEntries.entrySet()) {
+			String value = encode(entry.getValue());
+			if (value != null) {
+				persisted.remove(entry.getKey());
+				persisted.put(entry.getKey(), value);
+			}
+		}
+		Iterator<String> keys = persisted.keySet().iterator();
+		for (int excess = persisted.size() - fSize; excess > 0; excess--) {
+			keys.next();
+			keys.remove();
+		}
+		Properties properties = new Properties();
+		properties.putAll(persisted);
+		return properties;
+	}
+
+	/**
+	 * Persists the given results found with the given archive stamp, deletes
+	 * the persisted results if there are none.
+	 */
+	private void save(Properties properties, long stamp) {
+		File file = getFile();
+		if (properties.isEmpty()) {
+			file.delete();
+			return;
+		}
+		properties.setProperty(ARCHIVE_STAMP, Long.toString(stamp));
+		file.getParentFile().mkdirs();
+		try (OutputStream stream = new FileOutputStream(file)) {
+			properties.store(stream, null);
+		} catch (IOException e) {
+			DebugPlugin.log(e);
+		}
+	}
+
+	/**
+	 * Deletes the persisted results of all source containers which have not
+	 * been used for {@link #MAX_PERSISTED_AGE}.
+	 */
+	private static void deleteUnused() {
+		File[] files = getDirectory().listFiles();
+		if (files == null) {
+			return;
+		}
+		long oldest = System.currentTimeMillis() - MAX_PERSISTED_AGE;
+		for (File file : files) {
+			if (file.isFile() && file.lastModified() < oldest) {
+				file.delete();
+			}
+		}
+	}
+
+	/**
+	 * Returns the persisted form of the given source elements or
+	 * <code>null</code> if an element cannot be restored.
+	 */
+	private static String encode(Object[] elements) {
+		StringBuilder buffer = new StringBuilder();
+		for (Object element : elements) {
+			if (buffer.length() > 0) {
+				buffer.append('\n');
+			}
+			if (element instanceof IResource) {
+				buffer.append(RESOURCE).append(((IResource) element).getFullPath());
+			} else if (element instanceof LocalFileStorage) {
+				buffer.append(FILE).append(((LocalFileStorage) element).getFile().getAbsolutePath());
+			} else if (element instanceof ZipEntryStorage) {
+				ZipEntryStorage storage = (ZipEntryStorage) element;
+				buffer.append(ZIP_ENTRY).append(storage.getArchive().getName()).append('\t').append(storage.getZipEntry().getName());
+			} else {
+				return null;
+			}
+		}
+		return buffer.toString();
+	}
+
+	/**
+	 * Restores persisted source elements, returns <code>null</code> if an
+	 * element no longer exists.
+	 */
+	@SuppressWarnings("resource")
+	private static Object[] decode(String value) {
+		if (value.isEmpty()) {
+			return new Object[0];
+		}
+		String[] descriptions = value.split("\n"); //$NON-NLS-1$
+		Object[] elements = new Object[descriptions.length];
+		for (int i = 0; i < descriptions.length; i++) {
+			String description = descriptions[i];
+			String path = description.substring(2);
+			if (description.startsWith(RESOURCE)) {
+				IResource resource = ResourcesPlugin.getWorkspace().getRoot().findMember(path);
+				if (resource == null) {
+					return null;
+				}
+				elements[i] = resource;
+			} else if (description.startsWith(FILE)) {
+				File file = new File(path);
+				if (!file.isFile()) {
+					return null;
+				}
+				elements[i] = new LocalFileStorage(file);
+			} else if (description.startsWith(ZIP_ENTRY)) {
+				int separator = path.indexOf('\t');
+				if (separator < 0) {
+					return null;
+				}
+				try {
+					ZipFile archive = SourceLookupUtils.getZipFile(path.substring(0, separator));
+					ZipEntry entry = archive.getEntry(path.substring(separator + 1));
+					if (entry == null) {
+						return null;
+					}
+					elements[i] = new ZipEntryStorage(archive, entry);
+				} catch (IOException | IllegalStateException e) {
+					return null;
+				}
+			} else {
+				return null;
+			}
+		}
+		return elements;
+	}
+}
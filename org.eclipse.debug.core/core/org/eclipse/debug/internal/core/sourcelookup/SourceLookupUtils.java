@@ -13,16 +13,22 @@
  *******************************************************************************/
 package org.eclipse.debug.internal.core.sourcelookup;
 
+import java.io.File;
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.zip.ZipFile;
 
 import org.eclipse.core.resources.IResourceChangeEvent;
 import org.eclipse.core.resources.IResourceChangeListener;
 import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.preferences.IPreferencesService;
 import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.ILaunch;
 import org.eclipse.debug.core.ILaunchesListener2;
+import org.eclipse.debug.internal.core.IInternalDebugCoreConstants;
 
 /**
  * Utility and supporting methods for source location. Most of these
@@ -35,57 +41,217 @@ import org.eclipse.debug.core.ILaunchesListener2;
 public class SourceLookupUtils {
 
 	/**
-	 * Cache of shared zip files. Zip files are closed
-	 * when this class's plug-in is shutdown, when a project
-	 * is about to be closed or deleted, when a launch is
-	 * removed, and when a debug target or process terminates.
+	 * Default maximum number of archives kept open.
+	 *
+	 * @see IInternalDebugCoreConstants#PREF_SOURCE_ARCHIVE_CACHE_SIZE
+	 */
+	public static final int DEFAULT_ARCHIVE_CACHE_SIZE = 64;
+
+	/**
+	 * Cache of shared zip files. When more archives than the cache size are
+	 * open, the least recently used of them are closed, so the cache size
+	 * bounds the number of open file descriptors. An archive being searched is
+	 * closed once the search ended. Storages found in a closed zip file read
+	 * from the archive's current zip file instead. Source containers reference
+	 * the archives they search, zip files not referenced are also closed when
+	 * a launch is removed, and when a debug target or process terminates. All
+	 * zip files are closed when this class's plug-in is shutdown, and when a
+	 * project is about to be closed or deleted.
+	 */
+	private static final ConcurrentHashMap<String, CachedArchive> fgArchives = new ConcurrentHashMap<>();
+	private static final AtomicLong fgAccessClock = new AtomicLong();
+	private static final ArchiveCacheStatistics fgStatistics = new ArchiveCacheStatistics();
+	/**
+	 * Lock serializing evictions
 	 */
-	private static HashMap<String, ZipFile> fgZipFileCache = new HashMap<>(5);
-	private static ArchiveCleaner fgCleaner = null;
+	private static final Object fgEvictionLock = new Object();
+	private static volatile ArchiveCleaner fgCleaner = null;
 
 	/**
-	 * Returns a zip file with the given name
+	 * Returns a zip file with the given name. A cached zip file is reopened
+	 * when the archive has been modified since it was opened. The zip file is
+	 * closed when evicted from the cache, archives are searched through
+	 * {@link #getArchiveIndex(String)} instead.
 	 *
 	 * @param name zip file name
 	 * @return The zip file with the given name
 	 * @exception IOException if unable to create the specified zip
 	 * 	file
 	 */
-	@SuppressWarnings("resource")
 	public static ZipFile getZipFile(String name) throws IOException {
-		synchronized (fgZipFileCache) {
-			if (fgCleaner == null) {
-				fgCleaner = new ArchiveCleaner();
-				DebugPlugin.getDefault().getLaunchManager().addLaunchListener(fgCleaner);
-				ResourcesPlugin.getWorkspace().addResourceChangeListener(fgCleaner, IResourceChangeEvent.PRE_DELETE | IResourceChangeEvent.PRE_CLOSE);
+		initCleaner();
+		while (true) {
+			CachedArchive archive = fgArchives.computeIfAbsent(name, CachedArchive::new);
+			ZipFile zip = archive.open();
+			if (zip != null) {
+				trimToSize(archive);
+				return zip;
 			}
-			ZipFile zip = fgZipFileCache.get(name);
-			if (zip == null) {
-				zip = new ZipFile(name);
-				fgZipFileCache.put(name, zip);
+			// discarded concurrently, retry
+		}
+	}
+
+	/**
+	 * Returns the index of the zip file with the given name to search in. The
+	 * index is built on first access and shared until the zip file is closed
+	 * or the archive is modified. The zip file is not closed until the search
+	 * ends with {@link #ungetArchiveIndex(ArchiveIndex)}.
+	 *
+	 * @param name zip file name
+	 * @return index of the zip file with the given name
+	 * @exception IOException if unable to create the specified zip file
+	 * @exception IllegalStateException if the zip file was closed while it was
+	 *                being indexed
+	 */
+	public static ArchiveIndex getArchiveIndex(String name) throws IOException {
+		initCleaner();
+		while (true) {
+			CachedArchive archive = fgArchives.computeIfAbsent(name, CachedArchive::new);
+			ArchiveIndex index = archive.openIndex();
+			if (index != null) {
+				trimToSize(archive);
+				return index;
+			}
+			// discarded concurrently, retry
+		}
+	}
+
+	/**
+	 * Ends a search in the given index returned by
+	 * {@link #getArchiveIndex(String)}. Closes the zip file if it has been
+	 * evicted or closed during the search.
+	 *
+	 * @param index index of the zip file searched in
+	 */
+	public static void ungetArchiveIndex(ArchiveIndex index) {
+		CachedArchive archive = fgArchives.get(index.getArchive().getName());
+		if (archive != null) {
+			archive.unget();
+		}
+		trimToSize(null);
+	}
+
+	/**
+	 * Returns whether the given zip file, as returned by
+	 * {@link #getZipFile(String)}, is still open in the cache.
+	 *
+	 * @param file zip file
+	 * @return whether the zip file is open
+	 */
+	public static boolean isOpen(ZipFile file) {
+		CachedArchive archive = fgArchives.get(file.getName());
+		return archive != null && archive.isOpen(file);
+	}
+
+	/**
+	 * Adds a reference to the archive with the given name. Referenced archives
+	 * are not closed when a launch terminates or is removed, but are evicted
+	 * like others when the cache is full. Each reference must be released with
+	 * {@link #releaseArchive(String)}.
+	 *
+	 * @param name zip file name
+	 */
+	public static void acquireArchive(String name) {
+		while (!fgArchives.computeIfAbsent(name, CachedArchive::new).acquire()) {
+			// discarded concurrently, retry
+		}
+	}
+
+	/**
+	 * Removes a reference to the archive with the given name added by
+	 * {@link #acquireArchive(String)}.
+	 *
+	 * @param name zip file name
+	 */
+	public static void releaseArchive(String name) {
+		CachedArchive archive = fgArchives.get(name);
+		if (archive != null) {
+			archive.release();
+		}
+	}
+
+	/**
+	 * Returns counters about the archives opened for source lookup.
+	 *
+	 * @return archive cache statistics
+	 */
+	public static ArchiveCacheStatistics getStatistics() {
+		return fgStatistics;
+	}
+
+	private static void initCleaner() {
+		if (fgCleaner == null) {
+			synchronized (SourceLookupUtils.class) {
+				if (fgCleaner == null) {
+					ArchiveCleaner cleaner = new ArchiveCleaner();
+					DebugPlugin.getDefault().getLaunchManager().addLaunchListener(cleaner);
+					ResourcesPlugin.getWorkspace().addResourceChangeListener(cleaner, IResourceChangeEvent.PRE_DELETE | IResourceChangeEvent.PRE_CLOSE);
+					fgCleaner = cleaner;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the maximum number of open archives.
+	 */
+	private static int getCacheSize() {
+		IPreferencesService service = Platform.getPreferencesService();
+		if (service == null) {
+			return DEFAULT_ARCHIVE_CACHE_SIZE;
+		}
+		return Math.max(1, service.getInt(DebugPlugin.getUniqueIdentifier(), IInternalDebugCoreConstants.PREF_SOURCE_ARCHIVE_CACHE_SIZE, DEFAULT_ARCHIVE_CACHE_SIZE, null));
+	}
+
+	/**
+	 * Evicts the least recently used archives not being searched while more
+	 * archives than the cache size are open.
+	 *
+	 * @param accessed archive just returned to a caller and not evicted, or
+	 *            <code>null</code>
+	 */
+	private static void trimToSize(CachedArchive accessed) {
+		int size = getCacheSize();
+		if (fgStatistics.getOpenArchiveCount() <= size) {
+			return;
+		}
+		synchronized (fgEvictionLock) {
+			// order by last access as of now, accesses continue concurrently
+			TreeMap<Long, CachedArchive> idle = new TreeMap<>();
+			for (CachedArchive archive : fgArchives.values()) {
+				if (archive != accessed && archive.isOpen() && !archive.isInUse()) {
+					idle.put(Long.valueOf(archive.getLastAccess()), archive);
+				}
+			}
+			for (CachedArchive archive : idle.values()) {
+				if (fgStatistics.getOpenArchiveCount() <= size) {
+					return;
+				}
+				archive.evict();
 			}
-			return zip;
 		}
 	}
 
 	/**
 	 * Closes all zip files that have been opened,
-	 * and removes them from the zip file cache.
+	 * and removes the unreferenced ones from the zip file cache.
 	 * This method is only to be called by the debug
 	 * plug-in.
 	 */
 	public static void closeArchives() {
-		synchronized (fgZipFileCache) {
-			for (ZipFile file : fgZipFileCache.values()) {
-				synchronized (file) {
-					try {
-						file.close();
-					} catch (IOException e) {
-						DebugPlugin.log(e);
-					}
-				}
-			}
-			fgZipFileCache.clear();
+		for (CachedArchive archive : fgArchives.values()) {
+			archive.close();
+		}
+	}
+
+	/**
+	 * Closes the zip files not referenced by any source container, and removes
+	 * them from the zip file cache. Zip files being searched are closed once
+	 * the search ended.
+	 */
+	public static void closeUnreferencedArchives() {
+		for (CachedArchive archive : fgArchives.values()) {
+			archive.closeUnreferenced();
 		}
 	}
 
@@ -94,26 +260,234 @@ public class SourceLookupUtils {
 	 */
 	public static void shutdown() {
 		closeArchives();
-		if (fgCleaner != null) {
-			DebugPlugin.getDefault().getLaunchManager().removeLaunchListener(fgCleaner);
-			ResourcesPlugin.getWorkspace().removeResourceChangeListener(fgCleaner);
+		ArchiveCleaner cleaner = fgCleaner;
+		if (cleaner != null) {
+			DebugPlugin.getDefault().getLaunchManager().removeLaunchListener(cleaner);
+			ResourcesPlugin.getWorkspace().removeResourceChangeListener(cleaner);
+		}
+	}
+
+	/**
+	 * A zip file in the cache with the number of references to it and the
+	 * number of searches in it. The entry is discarded from the cache when it
+	 * is closed and unreferenced.
+	 */
+	static final class CachedArchive {
+
+		private final String fName;
+
+		private ZipFile fZipFile;
+
+		/**
+		 * Modification time of the archive when opened
+		 */
+		private long fStamp;
+
+		private ArchiveIndex fIndex;
+
+		private int fReferences;
+
+		/**
+		 * Number of searches in the zip file
+		 */
+		private int fUsers;
+
+		/**
+		 * Whether the zip file is closed when the last search ended
+		 */
+		private boolean fClosePending;
+
+		private boolean fDiscarded;
+
+		private volatile long fLastAccess;
+
+		CachedArchive(String name) {
+			fName = name;
+		}
+
+		/**
+		 * Returns the open zip file, opens it if it is closed or the archive
+		 * has been modified.
+		 *
+		 * @return the zip file or <code>null</code> if this entry has been
+		 *         discarded
+		 */
+		synchronized ZipFile open() throws IOException {
+			if (fDiscarded) {
+				return null;
+			}
+			fLastAccess = fgAccessClock.incrementAndGet();
+			long stamp = new File(fName).lastModified();
+			if (fZipFile != null) {
+				if (fStamp == stamp) {
+					fgStatistics.hit();
+					return fZipFile;
+				}
+				// the archive was replaced, its entries and index are stale
+				closeZipFile(false);
+			}
+			fgStatistics.miss();
+			try {
+				fZipFile = new ZipFile(fName);
+			} catch (IOException e) {
+				if (fReferences == 0) {
+					discard();
+				}
+				throw e;
+			}
+			fStamp = stamp;
+			fgStatistics.opened();
+			return fZipFile;
+		}
+
+		/**
+		 * Returns the index of the open zip file for a search, opens and
+		 * indexes it as required. The search must end with {@link #unget()}.
+		 *
+		 * @return the index or <code>null</code> if this entry has been
+		 *         discarded
+		 */
+		synchronized ArchiveIndex openIndex() throws IOException {
+			ZipFile zip = open();
+			if (zip == null) {
+				return null;
+			}
+			if (fIndex == null || fIndex.getArchive() != zip) {
+				fIndex = new ArchiveIndex(zip);
+			}
+			fUsers++;
+			fClosePending = false;
+			return fIndex;
+		}
+
+		/**
+		 * Ends a search started with {@link #openIndex()}, closes the zip file
+		 * if requested meanwhile.
+		 */
+		synchronized void unget() {
+			if (fUsers > 0) {
+				fUsers--;
+			}
+			if (fUsers == 0 && fClosePending) {
+				fClosePending = false;
+				closeZipFile(true);
+				if (fReferences == 0) {
+					discard();
+				}
+			}
+		}
+
+		synchronized boolean isInUse() {
+			return fUsers > 0;
+		}
+
+		/**
+		 * @return whether the reference was added, <code>false</code> if this
+		 *         entry has been discarded
+		 */
+		synchronized boolean acquire() {
+			if (fDiscarded) {
+				return false;
+			}
+			fReferences++;
+			return true;
+		}
+
+		synchronized void release() {
+			if (fReferences > 0) {
+				fReferences--;
+			}
+			if (fReferences == 0 && fZipFile == null) {
+				discard();
+			}
+		}
+
+		synchronized boolean isOpen() {
+			return fZipFile != null;
+		}
+
+		synchronized boolean isOpen(ZipFile file) {
+			return fZipFile == file;
+		}
+
+		long getLastAccess() {
+			return fLastAccess;
+		}
+
+		/**
+		 * Closes the zip file and discards this entry if unreferenced.
+		 */
+		synchronized void close() {
+			closeZipFile(false);
+			if (fReferences == 0) {
+				discard();
+			}
+		}
+
+		/**
+		 * Closes the zip file and discards this entry if unreferenced, once no
+		 * search is running.
+		 */
+		synchronized void closeUnreferenced() {
+			if (fReferences > 0) {
+				return;
+			}
+			if (fUsers > 0) {
+				fClosePending = true;
+			} else {
+				close();
+			}
+		}
+
+		/**
+		 * Closes the zip file if it is open and not being searched, and
+		 * discards this entry if unreferenced.
+		 */
+		synchronized void evict() {
+			if (fZipFile == null || fUsers > 0) {
+				return;
+			}
+			closeZipFile(true);
+			if (fReferences == 0) {
+				discard();
+			}
+		}
+
+		/**
+		 * @param evicted whether the zip file is closed to limit the number of
+		 *            open archives
+		 */
+		private void closeZipFile(boolean evicted) {
+			if (fZipFile != null) {
+				synchronized (fZipFile) {
+					try {
+						fZipFile.close();
+					} catch (IOException e) {
+						DebugPlugin.log(e);
+					}
+				}
+				fZipFile = null;
+				fIndex = null;
+				fgStatistics.closed(evicted);
+			}
+		}
+
+		private void discard() {
+			fDiscarded = true;
+			fgArchives.remove(fName, this);
 		}
 	}
 
 	/**
-	 * Clears the cache of open zip files when a launch terminates,
-	 * is removed, or when a project is about to be deleted or closed.
+	 * Closes unreferenced zip files when a launch terminates or is removed,
+	 * and clears the cache of open zip files when a project is about to be
+	 * deleted or closed.
 	 */
 	static class ArchiveCleaner implements IResourceChangeListener, ILaunchesListener2 {
 
 		@Override
 		public void launchesRemoved(ILaunch[] launches) {
-			for (ILaunch launch : launches) {
-				if (!launch.isTerminated()) {
-					SourceLookupUtils.closeArchives();
-					return;
-				}
-			}
+			SourceLookupUtils.closeUnreferencedArchives();
 		}
 
 		@Override
@@ -131,7 +505,7 @@ public class SourceLookupUtils {
 
 		@Override
 		public void launchesTerminated(ILaunch[] launches) {
-			SourceLookupUtils.closeArchives();
+			SourceLookupUtils.closeUnreferencedArchives();
 		}
 
 	}
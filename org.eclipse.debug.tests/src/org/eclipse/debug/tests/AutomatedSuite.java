@@ -18,9 +18,15 @@ package org.eclipse.debug.tests;
 import org.eclipse.debug.tests.breakpoint.BreakpointOrderingTests;
 import org.eclipse.debug.tests.breakpoint.BreakpointTests;
 import org.eclipse.debug.tests.breakpoint.SerialExecutorTest;
+import org.eclipse.debug.tests.commands.AbstractDebugCommandTests;
+import org.eclipse.debug.tests.commands.ForEachCommandTests;
+import org.eclipse.debug.tests.console.AnsiConsoleStyleListenerTests;
+import org.eclipse.debug.tests.console.AnsiEscapeScannerTests;
+import org.eclipse.debug.tests.console.AnsiPositionIndexTests;
 import org.eclipse.debug.tests.console.ConsoleDocumentAdapterTests;
 import org.eclipse.debug.tests.console.ConsoleManagerTests;
 import org.eclipse.debug.tests.console.ConsoleTests;
+import org.eclipse.debug.tests.console.ConsoleTextStoreTests;
 import org.eclipse.debug.tests.console.FileLinkTests;
 import org.eclipse.debug.tests.console.IOConsoleFixedWidthTests;
 import org.eclipse.debug.tests.console.IOConsoleTests;
@@ -31,6 +37,8 @@ import org.eclipse.debug.tests.console.ProcessConsoleTests;
 import org.eclipse.debug.tests.console.RuntimeProcessTests;
 import org.eclipse.debug.tests.console.StreamsProxyTests;
 import org.eclipse.debug.tests.console.TextConsoleViewerTest;
+import org.eclipse.debug.tests.events.DebugEventDispatchTests;
+import org.eclipse.debug.tests.events.DebugEventSubscriptionTests;
 import org.eclipse.debug.tests.launching.AcceleratorSubstitutionTests;
 import org.eclipse.debug.tests.launching.ArgumentParsingTests;
 import org.eclipse.debug.tests.launching.LaunchConfigurationTests;
@@ -41,10 +49,14 @@ import org.eclipse.debug.tests.launching.LaunchManagerTests;
 import org.eclipse.debug.tests.launching.LaunchTests;
 import org.eclipse.debug.tests.launching.RefreshTabTests;
 import org.eclipse.debug.tests.logicalstructure.LogicalStructureCacheTest;
+import org.eclipse.debug.tests.sourcelookup.ExternalArchiveSourceContainerTests;
+import org.eclipse.debug.tests.sourcelookup.ParallelSourceLookupTests;
+import org.eclipse.debug.tests.sourcelookup.SourceLookupCacheTests;
 import org.eclipse.debug.tests.sourcelookup.SourceLookupFacilityTests;
 import org.eclipse.debug.tests.statushandlers.StatusHandlerTests;
 import org.eclipse.debug.tests.stepfilters.StepFiltersTests;
 import org.eclipse.debug.tests.ui.VariableValueEditorManagerTests;
+import org.eclipse.debug.tests.variables.StringSubstitutionTests;
 import org.eclipse.debug.tests.view.memory.MemoryRenderingTests;
 import org.eclipse.debug.tests.view.memory.TableRenderingTests;
 import org.eclipse.debug.tests.viewer.model.ChildrenUpdateTests;
@@ -69,10 +81,19 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({
 		// Source lookup tests
 		SourceLookupFacilityTests.class,
+		ExternalArchiveSourceContainerTests.class,
+		SourceLookupCacheTests.class,
+		ParallelSourceLookupTests.class,
 		// BP tests
 		BreakpointOrderingTests.class,
 		BreakpointTests.class,
 		SerialExecutorTest.class,
+		// Debug event tests
+		DebugEventSubscriptionTests.class,
+		DebugEventDispatchTests.class,
+		// Debug command tests
+		AbstractDebugCommandTests.class,
+		ForEachCommandTests.class,
 		// Note: jface viewer tests were moved out of nightly tests
 		// due to frequent problems on nightly build machines.
 		// (Bug 343308).
@@ -106,6 +127,9 @@ import org.junit.runners.Suite;
 		ArgumentParsingTests.class,
 		LaunchTests.class,
 
+		// String substitution
+		StringSubstitutionTests.class,
+
 		// Status handlers
 		StatusHandlerTests.class,
 
@@ -113,9 +137,13 @@ import org.junit.runners.Suite;
 		StepFiltersTests.class,
 
 		// Console view
+		AnsiConsoleStyleListenerTests.class,
+		AnsiEscapeScannerTests.class,
+		AnsiPositionIndexTests.class,
 		ConsoleDocumentAdapterTests.class,
 		ConsoleManagerTests.class,
 		ConsoleTests.class,
+		ConsoleTextStoreTests.class,
 		IOConsoleTests.class,
 		IOConsoleFixedWidthTests.class,
 		ProcessConsoleManagerTests.class,
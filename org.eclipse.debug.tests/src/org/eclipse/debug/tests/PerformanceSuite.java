@@ -13,6 +13,10 @@
  *******************************************************************************/
 package org.eclipse.debug.tests;
 
+import org.eclipse.debug.tests.console.AnsiConsoleStyleListenerPerformanceTests;
+import org.eclipse.debug.tests.console.ConsoleDocumentPerformanceTests;
+import org.eclipse.debug.tests.launching.LaunchConfigurationXMLPerformanceTests;
+import org.eclipse.debug.tests.sourcelookup.ExternalArchiveSourceContainerPerformanceTests;
 import org.eclipse.debug.tests.viewer.model.JFaceViewerPerformanceTests;
 import org.eclipse.debug.tests.viewer.model.VirtualViewerPerformanceTests;
 import org.junit.runner.RunWith;
@@ -26,6 +30,10 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
 		JFaceViewerPerformanceTests.class,
-		VirtualViewerPerformanceTests.class })
+		VirtualViewerPerformanceTests.class,
+		LaunchConfigurationXMLPerformanceTests.class,
+		ExternalArchiveSourceContainerPerformanceTests.class,
+		AnsiConsoleStyleListenerPerformanceTests.class,
+		ConsoleDocumentPerformanceTests.class })
 public class PerformanceSuite {
 }
@@ -18,14 +18,25 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.eclipse.core.commands.operations.IOperationHistory;
 import org.eclipse.core.commands.operations.IUndoContext;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IMarkerDelta;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.preferences.InstanceScope;
 import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.IBreakpointManager;
+import org.eclipse.debug.core.IBreakpointsListener;
 import org.eclipse.debug.core.model.IBreakpoint;
 import org.eclipse.debug.internal.core.BreakpointManager;
+import org.eclipse.debug.internal.core.IInternalDebugCoreConstants;
+import org.eclipse.debug.internal.core.Preferences;
 import org.eclipse.debug.internal.ui.DebugUIPlugin;
 import org.eclipse.debug.internal.ui.views.breakpoints.BreakpointsView;
 import org.eclipse.debug.tests.AbstractDebugTest;
@@ -63,6 +74,110 @@ public class BreakpointTests extends AbstractDebugTest {
 		return bps;
 	}
 
+	/**
+	 * Test lookup of registered breakpoints by model identifier stays
+	 * consistent while breakpoints are added and removed.
+	 */
+	@Test
+	public void testBreakpointsByModel() throws Exception {
+		TestBreakpoint first = new TestBreakpoint("first");
+		TestBreakpoint second = new TestBreakpoint("second");
+		bpm.addBreakpoints(new IBreakpoint[] { first, second });
+		assertTrue("Breakpoint not registered", bpm.isRegistered(first));
+		assertTrue("Breakpoint not registered", bpm.isRegistered(second));
+		assertEquals(List.of(first, second), getTestBreakpoints());
+		assertEquals(0, bpm.getBreakpoints("unknown.model").length);
+
+		bpm.removeBreakpoint(first, true);
+		assertFalse("Breakpoint still registered", bpm.isRegistered(first));
+		assertEquals(List.of(second), getTestBreakpoints());
+	}
+
+	/**
+	 * Creates a breakpoint marker at the given line as restored by undoing its
+	 * deletion.
+	 */
+	private IMarker createRestoredMarker(int line) throws CoreException {
+		IMarker[] marker = new IMarker[1];
+		IWorkspaceRunnable wr = monitor -> {
+			marker[0] = ResourcesPlugin.getWorkspace().getRoot().createMarker(IBreakpoint.BREAKPOINT_MARKER);
+			marker[0].setAttribute(IBreakpoint.ID, TestBreakpoint.MODEL);
+			marker[0].setAttribute(IMarker.LINE_NUMBER, line);
+			marker[0].setAttribute(DebugPlugin.ATTR_BREAKPOINT_IS_DELETED, true);
+		};
+		ResourcesPlugin.getWorkspace().run(wr, null);
+		return marker[0];
+	}
+
+	/**
+	 * Test a restored breakpoint marker replaces the registered breakpoint on
+	 * the same resource and line, using the line the registered breakpoint's
+	 * marker was changed to.
+	 */
+	@Test
+	public void testRestoredMarkerReplacesMatchingBreakpoint() throws Exception {
+		TestBreakpoint moved = new TestBreakpoint("moved");
+		TestBreakpoint other = new TestBreakpoint("other");
+		moved.getMarker().setAttribute(IMarker.LINE_NUMBER, 5);
+		other.getMarker().setAttribute(IMarker.LINE_NUMBER, 7);
+		bpm.addBreakpoints(new IBreakpoint[] { moved, other });
+		moved.getMarker().setAttribute(IMarker.LINE_NUMBER, 10);
+
+		// no breakpoint left on the old line
+		IMarker restored = createRestoredMarker(5);
+		TestUtil.waitWhile(() -> bpm.getBreakpoint(restored) == null, testTimeout);
+		assertNotNull("Breakpoint not restored", bpm.getBreakpoint(restored));
+		assertTrue("Breakpoint not registered", bpm.isRegistered(moved));
+		assertTrue("Breakpoint not registered", bpm.isRegistered(other));
+
+		IMarker replacing = createRestoredMarker(10);
+		TestUtil.waitWhile(() -> bpm.getBreakpoint(replacing) == null, testTimeout);
+		IBreakpoint replacement = bpm.getBreakpoint(replacing);
+		assertNotNull("Breakpoint not restored", replacement);
+		assertTrue("Breakpoint not registered", bpm.isRegistered(replacement));
+		assertFalse("Breakpoint still registered", bpm.isRegistered(moved));
+		assertFalse("Breakpoint marker not removed", moved.getMarker().exists());
+		assertTrue("Breakpoint not registered", bpm.isRegistered(other));
+	}
+
+	/**
+	 * Test loading persisted breakpoints in background.
+	 */
+	@Test
+	public void testBackgroundLoading() throws Exception {
+		TestBreakpoint bp = new TestBreakpoint("background");
+		bpm.addBreakpoint(bp);
+		BreakpointManager manager = new BreakpointManager();
+		try {
+			Preferences.setBoolean(DebugPlugin.getUniqueIdentifier(), IInternalDebugCoreConstants.PREF_BREAKPOINT_BACKGROUND_LOADING, true, InstanceScope.INSTANCE);
+			List<IBreakpoint> added = new ArrayList<>();
+			manager.addBreakpointListener(new IBreakpointsListener() {
+				@Override
+				public void breakpointsAdded(IBreakpoint[] breakpoints) {
+					added.addAll(Arrays.asList(breakpoints));
+				}
+
+				@Override
+				public void breakpointsRemoved(IBreakpoint[] breakpoints, IMarkerDelta[] deltas) {
+				}
+
+				@Override
+				public void breakpointsChanged(IBreakpoint[] breakpoints, IMarkerDelta[] deltas) {
+				}
+			});
+			manager.ensureInitialized();
+			Job.getJobManager().join(manager, null);
+			assertTrue("Missing load time", manager.getInitializationTime() >= 0);
+			IBreakpoint loaded = manager.getBreakpoint(bp.getMarker());
+			assertNotNull("Breakpoint not loaded", loaded);
+			assertTrue("Breakpoint not registered", manager.isRegistered(loaded));
+			assertTrue("Missing add notification", added.contains(loaded));
+		} finally {
+			Preferences.setBoolean(DebugPlugin.getUniqueIdentifier(), IInternalDebugCoreConstants.PREF_BREAKPOINT_BACKGROUND_LOADING, false, InstanceScope.INSTANCE);
+			manager.shutdown();
+		}
+	}
+
 	/**
 	 * Test for bug 424561 where a breakpoint is deleted and the sequence undo
 	 * (recreate breakpoint), redo (delete again), undo (recreate breakpoint)
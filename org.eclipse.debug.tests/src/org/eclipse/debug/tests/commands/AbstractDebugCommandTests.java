@@ -0,0 +1,339 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.tests.commands;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.debug.core.DebugEvent;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.IRequest;
+import org.eclipse.debug.core.commands.AbstractDebugCommand;
+import org.eclipse.debug.core.commands.IDebugCommandRequest;
+import org.eclipse.debug.core.commands.IEnabledStateRequest;
+import org.eclipse.debug.core.model.ISuspendResume;
+import org.eclipse.debug.internal.core.commands.Request;
+import org.eclipse.debug.internal.core.commands.ResumeCommand;
+import org.eclipse.debug.tests.AbstractDebugTest;
+import org.junit.Test;
+
+/**
+ * Tests the enabled state updates of {@link AbstractDebugCommand}
+ */
+public class AbstractDebugCommandTests extends AbstractDebugTest {
+
+	private static final long TIMEOUT = 10000;
+
+	/**
+	 * Serializes the enabled state updates of a test command
+	 */
+	static class MutexRule implements ISchedulingRule {
+		@Override
+		public boolean contains(ISchedulingRule rule) {
+			return rule == this;
+		}
+
+		@Override
+		public boolean isConflicting(ISchedulingRule rule) {
+			return rule == this;
+		}
+	}
+
+	/**
+	 * Command counting its enabled state evaluations
+	 */
+	static class TestCommand extends AbstractDebugCommand {
+
+		final AtomicInteger evaluations = new AtomicInteger();
+		final MutexRule rule = new MutexRule();
+		final Object family = new Object();
+		volatile CountDownLatch release;
+		volatile CountDownLatch running;
+		volatile boolean cache;
+		volatile boolean fail;
+
+		@Override
+		protected void doExecute(Object[] targets, IProgressMonitor monitor, IRequest request) throws CoreException {
+		}
+
+		@Override
+		protected boolean isExecutable(Object[] targets, IProgressMonitor monitor, IEnabledStateRequest request) throws CoreException {
+			evaluations.incrementAndGet();
+			CountDownLatch started = running;
+			if (started != null) {
+				started.countDown();
+			}
+			CountDownLatch latch = release;
+			if (latch != null) {
+				try {
+					latch.await(TIMEOUT, TimeUnit.MILLISECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			if (fail) {
+				throw new CoreException(new Status(IStatus.ERROR, DebugPlugin.getUniqueIdentifier(), "Failed")); //$NON-NLS-1$
+			}
+			return true;
+		}
+
+		@Override
+		protected Object getTarget(Object element) {
+			return element;
+		}
+
+		@Override
+		protected boolean isCacheEnabledState() {
+			return cache;
+		}
+
+		@Override
+		protected ISchedulingRule getEnabledStateSchedulingRule(IDebugCommandRequest request) {
+			return rule;
+		}
+
+		@Override
+		protected Object getEnabledStateJobFamily(IDebugCommandRequest request) {
+			return family;
+		}
+	}
+
+	/**
+	 * Element counting the checks whether it can be resumed
+	 */
+	static class TestSuspendResume implements ISuspendResume {
+
+		final AtomicInteger checks = new AtomicInteger();
+
+		@Override
+		public boolean canResume() {
+			checks.incrementAndGet();
+			return true;
+		}
+
+		@Override
+		public boolean canSuspend() {
+			return false;
+		}
+
+		@Override
+		public boolean isSuspended() {
+			return true;
+		}
+
+		@Override
+		public void resume() {
+		}
+
+		@Override
+		public void suspend() {
+		}
+	}
+
+	/**
+	 * Enabled state request recording its result
+	 */
+	static class TestRequest extends Request implements IEnabledStateRequest {
+
+		private final Object[] fElements;
+		private final CountDownLatch fDone = new CountDownLatch(1);
+		private volatile boolean fEnabled;
+
+		TestRequest(Object... elements) {
+			fElements = elements;
+		}
+
+		@Override
+		public Object[] getElements() {
+			return fElements;
+		}
+
+		@Override
+		public void setEnabled(boolean result) {
+			fEnabled = result;
+		}
+
+		@Override
+		public void done() {
+			fDone.countDown();
+		}
+
+		boolean isDone() {
+			return fDone.getCount() == 0;
+		}
+
+		boolean isEnabled() {
+			return fEnabled;
+		}
+
+		void waitDone() throws InterruptedException {
+			assertTrue("request not done", fDone.await(TIMEOUT, TimeUnit.MILLISECONDS)); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Starts an update keeping the command's scheduling rule until released.
+	 */
+	private TestRequest block(TestCommand command) throws InterruptedException {
+		command.release = new CountDownLatch(1);
+		command.running = new CountDownLatch(1);
+		TestRequest request = new TestRequest("blocking"); //$NON-NLS-1$
+		command.canExecute(request);
+		assertTrue("update not running", command.running.await(TIMEOUT, TimeUnit.MILLISECONDS)); //$NON-NLS-1$
+		command.running = null;
+		return request;
+	}
+
+	@Test
+	public void testJoinedRequests() throws Exception {
+		TestCommand command = new TestCommand();
+		TestRequest blocking = block(command);
+		TestRequest[] requests = new TestRequest[] {
+				new TestRequest("a", "b"), new TestRequest("a", "b"), new TestRequest("a", "b") }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+		TestRequest other = new TestRequest("a"); //$NON-NLS-1$
+		for (TestRequest request : requests) {
+			command.canExecute(request);
+		}
+		command.canExecute(other);
+		command.release.countDown();
+		blocking.waitDone();
+		for (TestRequest request : requests) {
+			request.waitDone();
+			assertTrue(request.isEnabled());
+			assertFalse(request.isCanceled());
+		}
+		other.waitDone();
+		assertTrue(other.isEnabled());
+		// one evaluation for the joined requests, one for the other elements
+		assertEquals(3, command.evaluations.get());
+	}
+
+	@Test
+	public void testCanceledBeforeRun() throws Exception {
+		TestCommand command = new TestCommand();
+		TestRequest blocking = block(command);
+		TestRequest first = new TestRequest("a"); //$NON-NLS-1$
+		TestRequest joined = new TestRequest("a"); //$NON-NLS-1$
+		command.canExecute(first);
+		command.canExecute(joined);
+		for (Job job : Job.getJobManager().find(command.family)) {
+			if (job.getState() == Job.WAITING) {
+				job.cancel();
+			}
+		}
+		first.waitDone();
+		joined.waitDone();
+		assertTrue(first.isCanceled());
+		assertTrue(joined.isCanceled());
+		command.release.countDown();
+		blocking.waitDone();
+		assertEquals(1, command.evaluations.get());
+
+		// requests made after the cancellation are evaluated
+		TestRequest later = new TestRequest("a"); //$NON-NLS-1$
+		command.canExecute(later);
+		later.waitDone();
+		assertTrue(later.isEnabled());
+		assertEquals(2, command.evaluations.get());
+	}
+
+	@Test
+	public void testNotCachedByDefault() throws Exception {
+		TestCommand command = new TestCommand();
+		for (int i = 0; i < 2; i++) {
+			TestRequest request = new TestRequest("a"); //$NON-NLS-1$
+			command.canExecute(request);
+			request.waitDone();
+			assertTrue(request.isEnabled());
+		}
+		assertEquals(2, command.evaluations.get());
+	}
+
+	@Test
+	public void testCachedState() throws Exception {
+		TestCommand command = new TestCommand();
+		command.cache = true;
+		TestRequest request = new TestRequest("a"); //$NON-NLS-1$
+		command.canExecute(request);
+		request.waitDone();
+		assertTrue(request.isEnabled());
+
+		// answered immediately
+		request = new TestRequest("a"); //$NON-NLS-1$
+		command.canExecute(request);
+		assertTrue(request.isDone());
+		assertTrue(request.isEnabled());
+		assertEquals(1, command.evaluations.get());
+
+		// debug events invalidate the cached state
+		DebugPlugin.getDefault().fireDebugEventSet(new DebugEvent[] { new DebugEvent(this, DebugEvent.CHANGE) });
+		request = new TestRequest("a"); //$NON-NLS-1$
+		command.canExecute(request);
+		request.waitDone();
+		assertTrue(request.isEnabled());
+		assertEquals(2, command.evaluations.get());
+	}
+
+	@Test
+	public void testNotCachedOnError() throws Exception {
+		TestCommand command = new TestCommand();
+		command.cache = true;
+		command.fail = true;
+		TestRequest request = new TestRequest("a"); //$NON-NLS-1$
+		command.canExecute(request);
+		request.waitDone();
+		assertFalse(request.isEnabled());
+		assertFalse(request.getStatus().isOK());
+
+		command.fail = false;
+		request = new TestRequest("a"); //$NON-NLS-1$
+		command.canExecute(request);
+		request.waitDone();
+		assertTrue(request.isEnabled());
+		assertEquals(2, command.evaluations.get());
+	}
+
+	@Test
+	public void testBuiltInCommandCachedState() throws Exception {
+		ResumeCommand command = new ResumeCommand();
+		TestSuspendResume element = new TestSuspendResume();
+		TestRequest request = new TestRequest(element);
+		command.canExecute(request);
+		request.waitDone();
+		assertTrue(request.isEnabled());
+
+		request = new TestRequest(element);
+		command.canExecute(request);
+		assertTrue(request.isDone());
+		assertTrue(request.isEnabled());
+		assertEquals(1, element.checks.get());
+
+		DebugPlugin.getDefault().fireDebugEventSet(new DebugEvent[] { new DebugEvent(this, DebugEvent.RESUME) });
+		request = new TestRequest(element);
+		command.canExecute(request);
+		request.waitDone();
+		assertEquals(2, element.checks.get());
+	}
+}
@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.tests.commands;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.IRequest;
+import org.eclipse.debug.internal.core.IInternalDebugCoreConstants;
+import org.eclipse.debug.internal.core.commands.ForEachCommand;
+import org.eclipse.debug.internal.core.commands.Request;
+import org.eclipse.debug.tests.AbstractDebugTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the parallel execution of commands operating on each element
+ */
+public class ForEachCommandTests extends AbstractDebugTest {
+
+	private static final String FAIL = "fail"; //$NON-NLS-1$
+
+	/**
+	 * Command recording the elements it executed on and its concurrency
+	 */
+	static class TestCommand extends ForEachCommand {
+
+		final Set<Object> executed = ConcurrentHashMap.newKeySet();
+		final AtomicInteger running = new AtomicInteger();
+		final AtomicInteger maxRunning = new AtomicInteger();
+		IRequest cancelAfterFirst;
+
+		@Override
+		protected void execute(Object target) throws CoreException {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(100);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				running.decrementAndGet();
+			}
+			executed.add(target);
+			if (cancelAfterFirst != null) {
+				cancelAfterFirst.cancel();
+			}
+			if (target.toString().startsWith(FAIL)) {
+				throw new CoreException(new Status(IStatus.ERROR, DebugPlugin.getUniqueIdentifier(), target.toString()));
+			}
+		}
+
+		@Override
+		protected boolean isExecutable(Object target) {
+			return true;
+		}
+
+		@Override
+		protected Object getTarget(Object element) {
+			return element;
+		}
+
+		void run(Object[] targets, IRequest request) throws CoreException {
+			doExecute(targets, new NullProgressMonitor(), request);
+		}
+	}
+
+	private IEclipsePreferences getPreferences() {
+		return InstanceScope.INSTANCE.getNode(DebugPlugin.getUniqueIdentifier());
+	}
+
+	@Override
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+		getPreferences().putInt(IInternalDebugCoreConstants.PREF_COMMAND_PARALLELISM, 4);
+	}
+
+	@Override
+	@After
+	public void tearDown() throws Exception {
+		getPreferences().remove(IInternalDebugCoreConstants.PREF_COMMAND_PARALLELISM);
+		super.tearDown();
+	}
+
+	private static Object[] createTargets(int count, String prefix) {
+		Object[] targets = new Object[count];
+		for (int i = 0; i < count; i++) {
+			targets[i] = prefix + i;
+		}
+		return targets;
+	}
+
+	@Test
+	public void testSequential() throws Exception {
+		getPreferences().putInt(IInternalDebugCoreConstants.PREF_COMMAND_PARALLELISM, 0);
+		TestCommand command = new TestCommand();
+		command.run(createTargets(4, "target"), new Request()); //$NON-NLS-1$
+		assertEquals(4, command.executed.size());
+		assertEquals(1, command.maxRunning.get());
+	}
+
+	@Test
+	public void testParallel() throws Exception {
+		TestCommand command = new TestCommand();
+		Object[] targets = createTargets(16, "target"); //$NON-NLS-1$
+		long start = System.currentTimeMillis();
+		command.run(targets, new Request());
+		assertEquals(16, command.executed.size());
+		assertTrue("too many concurrent executions: " + command.maxRunning, command.maxRunning.get() <= 4); //$NON-NLS-1$
+		assertTrue("no concurrent executions", command.maxRunning.get() > 1); //$NON-NLS-1$
+		assertTrue("execution not parallel", System.currentTimeMillis() - start < 16 * 100); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testFailures() throws Exception {
+		TestCommand command = new TestCommand();
+		Object[] targets = new Object[] {
+				"target0", FAIL + 1, "target2", FAIL + 3 }; //$NON-NLS-1$ //$NON-NLS-2$
+		try {
+			command.run(targets, new Request());
+			fail("failures not reported"); //$NON-NLS-1$
+		} catch (CoreException e) {
+			assertTrue(e.getStatus().isMultiStatus());
+			assertEquals(2, e.getStatus().getChildren().length);
+		}
+		assertEquals("a failure should not stop the other executions", 4, command.executed.size()); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testCancel() throws Exception {
+		getPreferences().putInt(IInternalDebugCoreConstants.PREF_COMMAND_PARALLELISM, 2);
+		TestCommand command = new TestCommand();
+		Request request = new Request();
+		command.cancelAfterFirst = request;
+		command.run(createTargets(20, "target"), request); //$NON-NLS-1$
+		assertTrue(request.isCanceled());
+		assertFalse("canceled execution continued: " + command.executed.size(), command.executed.size() > 10); //$NON-NLS-1$
+	}
+}
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.tests.console;
+
+import org.eclipse.debug.tests.AbstractDebugTest;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.test.performance.Performance;
+import org.eclipse.test.performance.PerformanceMeter;
+import org.eclipse.ui.internal.console.ansi.participants.AnsiConsoleStyleListener;
+import org.junit.Test;
+
+/**
+ * Measures the throughput of the ANSI escape scanning of colored output
+ * appended to a console document. Every iteration appends
+ * {@value #MEGABYTES_PER_ITERATION} MB of text, so the throughput in MB/s is
+ * that size divided by the elapsed time of an iteration.
+ */
+public class AnsiConsoleStyleListenerPerformanceTests extends AbstractDebugTest {
+
+	private static final int ITERATIONS = 10;
+	private static final int MEGABYTES_PER_ITERATION = 4;
+
+	public String getDefaultScenarioId() {
+		return this.getClass().getName() + '#' + name.getMethodName() + "()"; //$NON-NLS-1$
+	}
+
+	@Test
+	public void testSmallChunks() throws Exception {
+		measure(100);
+	}
+
+	@Test
+	public void testLargeChunks() throws Exception {
+		measure(16 * 1024);
+	}
+
+	/**
+	 * Returns colored build output like text, the chunks appended are cut from it
+	 * so escape sequences are split between chunks.
+	 */
+	private String createOutput() {
+		StringBuilder output = new StringBuilder();
+		for (int i = 0; output.length() < 64 * 1024; i++) {
+			output.append("\u001b[1;3").append(i % 8).append("m[INFO]\u001b[0m Compiling module ").append(i); //$NON-NLS-1$ //$NON-NLS-2$
+			output.append(" \u001b[32mSUCCESS\u001b[0m \u001b[38;5;").append(i % 256).append("m").append(i * 7).append(" ms\u001b[K\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		}
+		return output.toString();
+	}
+
+	private void append(String output, int chunkSize) throws BadLocationException {
+		Document document = new Document();
+		new AnsiConsoleStyleListener(document);
+		int total = MEGABYTES_PER_ITERATION * 1024 * 1024;
+		int offset = 0;
+		for (int appended = 0; appended < total; appended += chunkSize) {
+			int end = offset + chunkSize;
+			String chunk;
+			if (end <= output.length()) {
+				chunk = output.substring(offset, end);
+			} else {
+				end -= output.length();
+				chunk = output.substring(offset) + output.substring(0, end);
+			}
+			document.replace(document.getLength(), 0, chunk);
+			offset = end;
+		}
+	}
+
+	private void measure(int chunkSize) throws Exception {
+		String output = createOutput();
+		// warm up
+		append(output, chunkSize);
+		Performance perf = Performance.getDefault();
+		PerformanceMeter meter = perf.createPerformanceMeter(getDefaultScenarioId());
+		try {
+			for (int i = 0; i < ITERATIONS; i++) {
+				meter.start();
+				append(output, chunkSize);
+				meter.stop();
+			}
+			meter.commit();
+			perf.assertPerformance(meter);
+		} finally {
+			meter.dispose();
+		}
+	}
+}
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.tests.console;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.debug.tests.AbstractDebugTest;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.StyleRange;
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.ui.internal.console.ansi.participants.AnsiConsoleStyleListener;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the styles the ANSI style listener computes for the lines of a console
+ * document
+ */
+public class AnsiConsoleStyleListenerTests extends AbstractDebugTest {
+
+	private Shell shell;
+	private StyledText text;
+	private Document document;
+	private final Map<Integer, StyleRange[]> lineStyles = new HashMap<>();
+
+	@Override
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+		shell = new Shell(Display.getDefault());
+		text = new StyledText(shell, SWT.NONE);
+		document = new Document();
+		text.addLineStyleListener(new AnsiConsoleStyleListener(document));
+		// notified after the ANSI listener, records the styles it computed
+		text.addLineStyleListener(event -> lineStyles.put(event.lineOffset, event.styles));
+	}
+
+	@Override
+	@After
+	public void tearDown() throws Exception {
+		shell.dispose();
+		super.tearDown();
+	}
+
+	private void append(String output) throws BadLocationException {
+		document.replace(document.getLength(), 0, output);
+	}
+
+	/**
+	 * Returns the styles of a line of the document.
+	 */
+	private StyleRange[] getLineStyles(int line) {
+		text.setText(document.get());
+		lineStyles.clear();
+		int offset = text.getOffsetAtLine(line);
+		// laying out the line requests its styles
+		text.getLocationAtOffset(offset);
+		StyleRange[] styles = lineStyles.get(offset);
+		assertNotNull("no styles for line " + line, styles); //$NON-NLS-1$
+		return styles;
+	}
+
+	private static void assertSameStyles(StyleRange[] expected, int shift, StyleRange[] actual) {
+		assertEquals(expected.length, actual.length);
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i].start - shift, actual[i].start);
+			assertEquals(expected[i].length, actual[i].length);
+			assertTrue(expected[i] + " differs from " + actual[i], expected[i].similarTo(actual[i])); //$NON-NLS-1$
+		}
+	}
+
+	@Test
+	public void testTrimmedHead() throws Exception {
+		append("\u001b[0m\u001b[31mred\n"); //$NON-NLS-1$
+		append("still red\n"); //$NON-NLS-1$
+		append("\u001b[0mplain\n"); //$NON-NLS-1$
+		StyleRange[] redLine = getLineStyles(1);
+		StyleRange[] plainLine = getLineStyles(2);
+		assertFalse(redLine[0].similarTo(plainLine[plainLine.length - 1]));
+
+		// the attributes set by the removed escapes still apply
+		int trimmed = document.getLineLength(0);
+		document.replace(0, trimmed, ""); //$NON-NLS-1$
+		assertSameStyles(redLine, trimmed, getLineStyles(0));
+		assertSameStyles(plainLine, trimmed, getLineStyles(1));
+
+		// and after appending more output
+		append("\u001b[31mred again\n"); //$NON-NLS-1$
+		assertSameStyles(redLine, trimmed, getLineStyles(0));
+		assertSameStyles(plainLine, trimmed, getLineStyles(1));
+	}
+
+	@Test
+	public void testAppendedToLastLine() throws Exception {
+		append("\u001b[0mplain\n"); //$NON-NLS-1$
+		append("start \u001b[3"); //$NON-NLS-1$
+		StyleRange[] plainLine = getLineStyles(0);
+		// no escape sequence in the line yet
+		assertEquals(1, getLineStyles(1).length);
+
+		// the appended text completes the escape sequence of the last line
+		append("1mred\n"); //$NON-NLS-1$
+		assertSameStyles(plainLine, 0, getLineStyles(0));
+		StyleRange[] redLine = getLineStyles(1);
+		// the text before, the escape sequence and the red text
+		assertEquals(3, redLine.length);
+		assertFalse(redLine[redLine.length - 1].similarTo(plainLine[plainLine.length - 1]));
+	}
+
+	@Test
+	public void testEvictedLines() throws Exception {
+		int lines = 600;
+		for (int i = 0; i < lines; i++) {
+			append("\u001b[3" + (i % 8) + "mline " + i + '\n'); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		StyleRange[][] styles = new StyleRange[lines][];
+		for (int i = 0; i < lines; i++) {
+			styles[i] = getLineStyles(i);
+		}
+		assertFalse(styles[0][1].similarTo(styles[1][1]));
+		// more lines than cached, the styles of the first lines are computed
+		// again
+		for (int i = 0; i < 10; i++) {
+			assertSameStyles(styles[i], 0, getLineStyles(i));
+		}
+	}
+}
@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.tests.console;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+
+import org.eclipse.debug.tests.AbstractDebugTest;
+import org.eclipse.ui.internal.console.ansi.AnsiConsoleUtils;
+import org.eclipse.ui.internal.console.ansi.participants.AnsiEscapeScanner;
+import org.eclipse.ui.internal.console.ansi.participants.AnsiPosition;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests finding the escape sequences of text appended in chunks
+ */
+public class AnsiEscapeScannerTests extends AbstractDebugTest {
+
+	private static final String RESET = "\u001b[0m"; //$NON-NLS-1$
+
+	private AnsiEscapeScanner scanner;
+
+	@Override
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+		scanner = new AnsiEscapeScanner();
+	}
+
+	/**
+	 * Scans the given text in chunks ending at the given offsets.
+	 */
+	private List<AnsiPosition> scan(String text, int... splits) {
+		List<AnsiPosition> positions = new ArrayList<>();
+		int start = 0;
+		for (int split : splits) {
+			positions.addAll(scanner.scan(start, text.substring(start, split)));
+			start = split;
+		}
+		positions.addAll(scanner.scan(start, text.substring(start)));
+		return positions;
+	}
+
+	/**
+	 * Returns the escape sequences the pattern finds in the given text.
+	 */
+	private static List<AnsiPosition> match(String text) {
+		List<AnsiPosition> positions = new ArrayList<>();
+		Matcher matcher = AnsiConsoleUtils.ESCAPE_SEQUENCE_REGEX_TXT.matcher(text);
+		while (matcher.find()) {
+			positions.add(new AnsiPosition(matcher.start(), matcher.group()));
+		}
+		return positions;
+	}
+
+	private static List<String> toStrings(List<AnsiPosition> positions) {
+		List<String> strings = new ArrayList<>();
+		for (AnsiPosition position : positions) {
+			strings.add(position.toString());
+		}
+		return strings;
+	}
+
+	private static List<String> toStrings(AnsiPosition... positions) {
+		return toStrings(Arrays.asList(positions));
+	}
+
+	@Test
+	public void testWholeText() {
+		List<AnsiPosition> positions = scan(RESET + "a\u001b[1;31mb\u001b[Kc" + RESET); //$NON-NLS-1$
+		assertEquals(toStrings(new AnsiPosition(0, RESET), new AnsiPosition(5, "\u001b[1;31m"), new AnsiPosition(13, "\u001b[K"), new AnsiPosition(17, RESET)), toStrings(positions)); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void testSplitSequence() {
+		String text = RESET + "a\u001b[1;31mb"; //$NON-NLS-1$
+		List<String> expected = toStrings(scan(text));
+		// escape, bracket, parameters and command in separate chunks
+		scanner.reset();
+		assertEquals(expected, toStrings(scan(text, 5, 6, 7, 9, 10)));
+		scanner.reset();
+		assertEquals(expected, toStrings(scan(text, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11)));
+		// chunks without text do not discard the incomplete sequence
+		scanner.reset();
+		assertEquals(expected, toStrings(scan(text, 7, 7, 7, 12)));
+	}
+
+	@Test
+	public void testInvalidSequences() {
+		// the escape or the bracket is missing, or the command is unknown
+		assertEquals(Collections.emptyList(), scan("\u001b]0m \u001b0m [0m \u001b[3x \u001b[1;\nm \u001b[L")); //$NON-NLS-1$
+		// an escape aborts a sequence and starts the next one
+		assertEquals(toStrings(new AnsiPosition(1, RESET), new AnsiPosition(8, RESET)), toStrings(scan("\u001b\u001b[0m\u001b[1\u001b[0m"))); //$NON-NLS-1$
+		// an aborted sequence split between chunks
+		assertEquals(toStrings(new AnsiPosition(4, RESET)), toStrings(scan("\u001b[1x\u001b[0m", 3, 5))); //$NON-NLS-1$
+		// an incomplete sequence is discarded by a chunk that does not follow
+		// it
+		assertEquals(Collections.emptyList(), scanner.scan(0, "\u001b[3")); //$NON-NLS-1$
+		assertEquals(Collections.emptyList(), scanner.scan(10, "1m")); //$NON-NLS-1$
+		assertEquals(Collections.emptyList(), scanner.scan(0, "\u001b[3")); //$NON-NLS-1$
+		scanner.reset();
+		assertEquals(Collections.emptyList(), scanner.scan(3, "1m")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testReplaced() {
+		assertEquals(Collections.emptyList(), scanner.scan(0, "ab\u001b[3")); //$NON-NLS-1$
+		// the head of the document is removed
+		scanner.replaced(0, 2, 0);
+		assertEquals(toStrings(new AnsiPosition(0, "\u001b[31m")), toStrings(scanner.scan(3, "1m"))); //$NON-NLS-1$ //$NON-NLS-2$
+
+		// the incomplete sequence is changed
+		assertEquals(Collections.emptyList(), scanner.scan(5, "\u001b[3")); //$NON-NLS-1$
+		scanner.replaced(6, 2, 0);
+		assertEquals(Collections.emptyList(), scanner.scan(6, "1m")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testRandomChunks() {
+		String[] parts = { "a", "\n", "\u001b", "[", "1", "3", ";", "m", "K", "x", RESET, "\u001b[1;32m", "\u001b[38;5;208m" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$ //$NON-NLS-10$ //$NON-NLS-11$ //$NON-NLS-12$
+		Random random = new Random(42);
+		for (int round = 0; round < 200; round++) {
+			StringBuilder builder = new StringBuilder(RESET);
+			for (int i = 0; i < 50; i++) {
+				builder.append(parts[random.nextInt(parts.length)]);
+			}
+			String text = builder.toString();
+			int[] splits = random.ints(random.nextInt(20), 0, text.length() + 1).sorted().toArray();
+
+			// same sequences and, starting from a reset, same attributes
+			List<String> expected = toStrings(match(text));
+			scanner.reset();
+			assertEquals(text, expected, toStrings(scan(text, splits)));
+		}
+	}
+}
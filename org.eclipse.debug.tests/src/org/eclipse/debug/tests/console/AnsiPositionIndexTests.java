@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.tests.console;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.eclipse.debug.tests.AbstractDebugTest;
+import org.eclipse.ui.internal.console.ansi.participants.AnsiPosition;
+import org.eclipse.ui.internal.console.ansi.participants.AnsiPositionIndex;
+import org.eclipse.ui.internal.console.ansi.utils.AnsiConsoleAttributes;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the lookup of escape sequence positions by offset
+ */
+public class AnsiPositionIndexTests extends AbstractDebugTest {
+
+	// "\e[0maa\e[31mbb\e[Kcc\e[0mdd\n"
+	private AnsiPosition reset;
+	private AnsiPosition red;
+	private AnsiPosition clearLine;
+	private AnsiPosition resetAgain;
+	private AnsiPositionIndex index;
+	private final AnsiConsoleAttributes defaultAttributes = new AnsiConsoleAttributes();
+
+	@Override
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+		reset = new AnsiPosition(0, "\u001b[0m"); //$NON-NLS-1$
+		red = new AnsiPosition(6, "\u001b[31m"); //$NON-NLS-1$
+		clearLine = new AnsiPosition(13, "\u001b[K"); //$NON-NLS-1$
+		resetAgain = new AnsiPosition(18, "\u001b[0m"); //$NON-NLS-1$
+		index = new AnsiPositionIndex();
+		index.add(reset);
+		index.add(red);
+		index.add(clearLine);
+		index.add(resetAgain);
+	}
+
+	@Test
+	public void testIndexOf() {
+		assertEquals(4, index.size());
+		// at and inside a position
+		assertEquals(0, index.indexOf(0));
+		assertEquals(0, index.indexOf(3));
+		assertEquals(1, index.indexOf(6));
+		assertEquals(1, index.indexOf(10));
+		// between positions
+		assertEquals(1, index.indexOf(4));
+		assertEquals(2, index.indexOf(11));
+		assertEquals(3, index.indexOf(16));
+		// after the last position
+		assertEquals(4, index.indexOf(22));
+		assertEquals(4, index.indexOf(1000));
+	}
+
+	@Test
+	public void testAttributesBefore() {
+		assertSame(defaultAttributes, index.getAttributesBefore(0, defaultAttributes));
+		assertEquals("", index.getAttributesBefore(1, defaultAttributes).toString()); //$NON-NLS-1$
+		assertEquals(Integer.valueOf(1), index.getAttributesBefore(2, defaultAttributes).currentFgColor);
+		// \e[K does not change the attributes
+		assertEquals(Integer.valueOf(1), index.getAttributesBefore(3, defaultAttributes).currentFgColor);
+		assertEquals("", index.getAttributesBefore(4, defaultAttributes).toString()); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testRemoveDeleted() {
+		// the document deleted the head of its text
+		reset.delete();
+		red.delete();
+		clearLine.offset -= 13;
+		resetAgain.offset -= 13;
+		index.removeDeleted();
+
+		assertEquals(2, index.size());
+		assertSame(clearLine, index.get(0));
+		assertSame(resetAgain, index.get(1));
+		assertEquals(0, index.indexOf(0));
+		assertEquals(1, index.indexOf(3));
+		assertEquals(2, index.indexOf(9));
+		// the attributes before the first position are the caller's
+		assertSame(defaultAttributes, index.getAttributesBefore(0, defaultAttributes));
+		// the attributes set by removed positions are kept for the others
+		assertEquals(Integer.valueOf(1), index.getAttributesBefore(1, defaultAttributes).currentFgColor);
+		assertEquals("", index.getAttributesBefore(2, defaultAttributes).toString()); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testRemoveDeletedHead() {
+		AnsiPositionIndex large = new AnsiPositionIndex();
+		AnsiPosition[] added = new AnsiPosition[100];
+		for (int i = 0; i < 100; i++) {
+			added[i] = new AnsiPosition(i * 10, "\u001b[3" + (i % 8) + 'm'); //$NON-NLS-1$
+			large.add(added[i]);
+		}
+		// the document deleted the head of its text
+		for (int i = 0; i < 60; i++) {
+			added[i].delete();
+		}
+		for (int i = 60; i < 100; i++) {
+			added[i].offset -= 600;
+		}
+		large.removeDeletedHead();
+		assertEquals(40, large.size());
+		assertSame(added[60], large.get(0));
+		assertEquals(0, large.indexOf(0));
+		assertEquals(Integer.valueOf(60 % 8), large.getAttributesBefore(1, defaultAttributes).currentFgColor);
+
+		// positions appended afterwards reuse the space of the removed ones
+		for (int i = 0; i < 100; i++) {
+			large.add(new AnsiPosition(400 + i * 10, "\u001b[3" + ((i + 4) % 8) + 'm')); //$NON-NLS-1$
+		}
+		assertEquals(140, large.size());
+		assertSame(added[99], large.get(39));
+		for (int i = 0; i < 140; i++) {
+			assertEquals(i, large.indexOf(i * 10));
+			assertEquals(Integer.valueOf((i + 4) % 8), large.getAttributesBefore(i + 1, defaultAttributes).currentFgColor);
+		}
+	}
+
+	@Test
+	public void testGrowth() {
+		AnsiPositionIndex large = new AnsiPositionIndex();
+		for (int i = 0; i < 100; i++) {
+			large.add(new AnsiPosition(i * 10, "\u001b[3" + (i % 8) + 'm')); //$NON-NLS-1$
+		}
+		assertEquals(100, large.size());
+		for (int i = 0; i < 100; i++) {
+			assertEquals(i, large.indexOf(i * 10));
+			assertEquals(i + 1, large.indexOf(i * 10 + 5));
+			assertEquals(Integer.valueOf(i % 8), large.getAttributesBefore(i + 1, defaultAttributes).currentFgColor);
+		}
+		large.clear();
+		assertEquals(0, large.size());
+		assertEquals(0, large.indexOf(0));
+	}
+}
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.tests.console;
+
+import org.eclipse.debug.tests.AbstractDebugTest;
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.test.performance.Performance;
+import org.eclipse.test.performance.PerformanceMeter;
+import org.eclipse.ui.internal.console.ConsoleDocument;
+import org.junit.Test;
+
+/**
+ * Streams 1 GB of output through a console document which is trimmed like a
+ * console with water marks set.
+ */
+public class ConsoleDocumentPerformanceTests extends AbstractDebugTest {
+
+	private static final int ITERATIONS = 5;
+	private static final long STREAMED_LENGTH = 1024L * 1024 * 1024;
+	private static final int HIGH_WATER_MARK = 10 * 1024 * 1024;
+	private static final int LOW_WATER_MARK = 8 * 1024 * 1024;
+
+	public String getDefaultScenarioId() {
+		return this.getClass().getName() + '#' + name.getMethodName() + "()"; //$NON-NLS-1$
+	}
+
+	@Test
+	public void testAppendAndTrim() throws Exception {
+		StringBuilder output = new StringBuilder();
+		for (int i = 0; output.length() < 8192; i++) {
+			output.append("[INFO] Compiling module ").append(i).append(" of the build\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		String chunk = output.toString();
+		// warm up
+		stream(chunk, STREAMED_LENGTH / 16);
+		Performance perf = Performance.getDefault();
+		PerformanceMeter meter = perf.createPerformanceMeter(getDefaultScenarioId());
+		try {
+			for (int i = 0; i < ITERATIONS; i++) {
+				meter.start();
+				stream(chunk, STREAMED_LENGTH);
+				meter.stop();
+			}
+			meter.commit();
+			perf.assertPerformance(meter);
+		} finally {
+			meter.dispose();
+		}
+	}
+
+	/**
+	 * Appends the chunk until the given length was streamed, trimming the
+	 * document to the low water mark at a line start whenever it exceeds the
+	 * high water mark, as the console partitioner does.
+	 */
+	private void stream(String chunk, long length) throws BadLocationException {
+		IDocument document = new ConsoleDocument();
+		for (long streamed = 0; streamed < length; streamed += chunk.length()) {
+			document.replace(document.getLength(), 0, chunk);
+			int documentLength = document.getLength();
+			if (documentLength > HIGH_WATER_MARK) {
+				int cutOffset = document.getLineOffset(document.getLineOfOffset(documentLength - LOW_WATER_MARK));
+				document.replace(0, cutOffset, ""); //$NON-NLS-1$
+			}
+		}
+	}
+}
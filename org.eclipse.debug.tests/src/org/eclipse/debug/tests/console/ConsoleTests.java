@@ -21,6 +21,9 @@ import static org.junit.Assert.fail;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.commands.Command;
 import org.eclipse.debug.tests.AbstractDebugTest;
@@ -37,7 +40,10 @@ import org.eclipse.ui.console.IConsoleConstants;
 import org.eclipse.ui.console.IConsoleManager;
 import org.eclipse.ui.console.IOConsole;
 import org.eclipse.ui.console.IOConsoleOutputStream;
+import org.eclipse.ui.console.IPatternMatchListener;
 import org.eclipse.ui.console.MessageConsole;
+import org.eclipse.ui.console.PatternMatchEvent;
+import org.eclipse.ui.console.TextConsole;
 import org.eclipse.ui.texteditor.IWorkbenchActionDefinitionIds;
 import org.junit.Test;
 
@@ -229,4 +235,76 @@ public class ConsoleTests extends AbstractDebugTest {
 			consoleInput.available();
 		}
 	}
+
+	/**
+	 * Counts the matches of a pattern match listener.
+	 */
+	private static class CountingPatternMatchListener implements IPatternMatchListener {
+
+		private final String fPattern;
+		private final String fQualifier;
+		private final Set<Integer> fOffsets = ConcurrentHashMap.newKeySet();
+		private final AtomicInteger fMatches = new AtomicInteger();
+
+		CountingPatternMatchListener(String pattern, String qualifier) {
+			fPattern = pattern;
+			fQualifier = qualifier;
+		}
+
+		@Override
+		public String getPattern() {
+			return fPattern;
+		}
+
+		@Override
+		public int getCompilerFlags() {
+			return 0;
+		}
+
+		@Override
+		public String getLineQualifier() {
+			return fQualifier;
+		}
+
+		@Override
+		public void connect(TextConsole console) {
+		}
+
+		@Override
+		public void disconnect() {
+		}
+
+		@Override
+		public void matchFound(PatternMatchEvent event) {
+			fMatches.incrementAndGet();
+			fOffsets.add(Integer.valueOf(event.getOffset()));
+		}
+	}
+
+	/**
+	 * Tests that listeners with literal and regular expression qualifiers find
+	 * every match once in output larger than a single matching run searches.
+	 */
+	@Test
+	public void testPatternMatchListeners() throws Exception {
+		MessageConsole console = new MessageConsole("Test Console 5", //$NON-NLS-1$
+				IConsoleConstants.MESSAGE_CONSOLE_TYPE, null, StandardCharsets.UTF_8.name(), true);
+		CountingPatternMatchListener links = new CountingPatternMatchListener("\\w+\\.java:\\d+", "\\.java"); //$NON-NLS-1$ //$NON-NLS-2$
+		CountingPatternMatchListener errors = new CountingPatternMatchListener("ERROR \\w+", "ERR(OR)?"); //$NON-NLS-1$ //$NON-NLS-2$
+		console.addPatternMatchListener(links);
+		console.addPatternMatchListener(errors);
+		int lines = 40000;
+		try (IOConsoleOutputStream outStream = console.newOutputStream()) {
+			for (int i = 0; i < lines; i++) {
+				outStream.write("line " + i + (i % 2 == 0 ? " at Foo.java:" + i : " ERROR code" + i) + '\n'); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			}
+		}
+		TestUtil.waitWhile(() -> links.fMatches.get() + errors.fMatches.get() < lines, 20000);
+		TestUtil.waitForJobs(name.getMethodName(), 200, 5000);
+		assertEquals(lines / 2, links.fMatches.get());
+		assertEquals(lines / 2, links.fOffsets.size());
+		assertEquals(lines / 2, errors.fMatches.get());
+		assertEquals(lines / 2, errors.fOffsets.size());
+		console.destroy();
+	}
 }
@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.tests.console;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.eclipse.debug.tests.AbstractDebugTest;
+import org.eclipse.jface.text.GapTextStore;
+import org.eclipse.jface.text.ITextStore;
+import org.eclipse.ui.internal.console.ConsoleTextStore;
+import org.junit.Test;
+
+/**
+ * Tests the chunked text store of console documents
+ */
+public class ConsoleTextStoreTests extends AbstractDebugTest {
+
+	@Test
+	public void testAppendAndTrim() {
+		ConsoleTextStore store = new ConsoleTextStore();
+		StringBuilder expected = new StringBuilder();
+		for (int i = 0; i < 10000; i++) {
+			String line = "line " + i + '\n'; //$NON-NLS-1$
+			store.replace(store.getLength(), 0, line);
+			expected.append(line);
+			if (store.getLength() > 50000) {
+				store.replace(0, 30000, ""); //$NON-NLS-1$
+				expected.delete(0, 30000);
+			}
+		}
+		assertEquals(expected.length(), store.getLength());
+		assertEquals(expected.toString(), store.get(0, store.getLength()));
+		assertEquals(expected.charAt(12345), store.get(12345));
+	}
+
+	/**
+	 * Compares random changes with the default text store.
+	 */
+	@Test
+	public void testRandomChanges() {
+		Random random = new Random(42);
+		ITextStore reference = new GapTextStore();
+		ConsoleTextStore store = new ConsoleTextStore();
+		for (int i = 0; i < 5000; i++) {
+			int length = reference.getLength();
+			int offset;
+			int replaced;
+			String text = randomText(random, random.nextInt(10) == 0 ? 40000 : 50);
+			switch (random.nextInt(6)) {
+				case 0:
+				case 1:
+				case 2:
+					// append
+					offset = length;
+					replaced = 0;
+					break;
+				case 3:
+					// trim
+					offset = 0;
+					replaced = random.nextInt(length + 1);
+					text = ""; //$NON-NLS-1$
+					break;
+				case 4:
+					reference.set(text);
+					store.set(text);
+					continue;
+				default:
+					offset = random.nextInt(length + 1);
+					replaced = random.nextInt(length - offset + 1);
+					break;
+			}
+			reference.replace(offset, replaced, text);
+			store.replace(offset, replaced, text);
+			length = reference.getLength();
+			assertEquals(length, store.getLength());
+			assertEquals(reference.get(0, length), store.get(0, length));
+			if (length > 0) {
+				int start = random.nextInt(length);
+				assertEquals(reference.get(start), store.get(start));
+				int end = start + random.nextInt(length - start + 1);
+				assertEquals(reference.get(start, end - start), store.get(start, end - start));
+			}
+		}
+	}
+
+	private static String randomText(Random random, int maxLength) {
+		char[] text = new char[random.nextInt(maxLength + 1)];
+		for (int i = 0; i < text.length; i++) {
+			text[i] = (char) ('a' + random.nextInt(26));
+		}
+		return new String(text);
+	}
+}
@@ -58,6 +58,8 @@ import org.eclipse.ui.console.IConsoleDocumentPartitionerExtension;
 import org.eclipse.ui.console.IConsoleManager;
 import org.eclipse.ui.console.IOConsole;
 import org.eclipse.ui.console.IOConsoleOutputStream;
+import org.eclipse.ui.console.IOConsoleOverflowPolicy;
+import org.eclipse.ui.internal.console.IOConsolePartitioner;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -709,6 +711,44 @@ public class IOConsoleTests extends AbstractDebugTest {
 		}
 	}
 
+	/**
+	 * Test output written faster than the console can display it with the
+	 * different {@link IOConsoleOverflowPolicy overflow policies}. The test
+	 * runs in the UI thread so output can not be displayed while writing.
+	 */
+	@Test
+	public void testOverflowPolicy() throws Exception {
+		final String chunk = String.join("", Collections.nCopies(100_000, "123456789\n"));
+		final int fittingChunks = 8;
+
+		IOConsoleTestUtil c = getTestUtil("Test drop");
+		c.getConsole().setOverflowPolicy(IOConsoleOverflowPolicy.DROP);
+		for (int i = 0; i < fittingChunks + 2; i++) {
+			c.writeFast(chunk);
+		}
+		c.flush();
+		assertEquals("Output not dropped.", fittingChunks * chunk.length(), c.getDocument().getLineOffset(c.getDocument().getNumberOfLines() - 3));
+		c.verifyContentByLine("[" + 2 * chunk.length() + " characters of output dropped]", -2);
+		@SuppressWarnings("restriction")
+		org.eclipse.ui.internal.console.IOConsoleOutputStatistics statistics = ((IOConsolePartitioner) c.getPartitioner()).getStatistics();
+		assertEquals(2 * chunk.length(), statistics.getDroppedLength());
+		assertEquals(fittingChunks * chunk.length(), statistics.getMaxPendingLength());
+		closeConsole(c);
+
+		c = getTestUtil("Test spill");
+		c.getConsole().setOverflowPolicy(IOConsoleOverflowPolicy.SPILL);
+		final StringBuilder expected = new StringBuilder();
+		for (int i = 0; i < fittingChunks + 2; i++) {
+			c.writeFast(chunk);
+			expected.append(chunk);
+			c.writeFast(i + "\n");
+			expected.append(i).append('\n');
+		}
+		c.flush();
+		c.verifyContent(expected.toString());
+		closeConsole(c);
+	}
+
 	/**
 	 * Some extra tests for IOConsolePartitioner.
 	 */
@@ -16,6 +16,7 @@ package org.eclipse.debug.tests.console;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PipedInputStream;
@@ -26,6 +27,7 @@ import java.util.function.Supplier;
 
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.debug.internal.core.InputStreamMonitor;
+import org.eclipse.debug.internal.core.StreamMonitorScheduler;
 import org.eclipse.debug.tests.AbstractDebugTest;
 import org.eclipse.debug.tests.TestUtil;
 import org.eclipse.debug.tests.TestsPlugin;
@@ -67,6 +69,40 @@ public class InputStreamMonitorTests extends AbstractDebugTest {
 		}
 	}
 
+	/**
+	 * Test input stream monitor running on the shared monitor pool. Content
+	 * must be written in order and the stream closed on monitor close.
+	 */
+	@Test
+	@SuppressWarnings("resource")
+	public void testSharedInputStreamMonitor() throws Exception {
+		ByteArrayOutputStream written = new ByteArrayOutputStream();
+		ClosableTestOutputStream sysin = new ClosableTestOutputStream() {
+			@Override
+			public synchronized void write(int b) throws IOException {
+				written.write(b);
+			}
+		};
+		InputStreamMonitor monitor = new InputStreamMonitor(sysin);
+
+		byte[] content = new byte[1000];
+		for (int i = 0; i < content.length; i++) {
+			content[i] = (byte) (i % 255);
+		}
+		int half = content.length / 2;
+		monitor.write(content, 0, half);
+		monitor.startMonitoring("", StreamMonitorScheduler.MODE_SHARED);
+		for (int i = half; i < content.length; i += 10) {
+			monitor.write(content, i, 10);
+		}
+		monitor.close();
+		TestUtil.waitWhile(() -> sysin.numClosed == 0, 1000);
+		assertEquals("Stream not closed.", 1, sysin.numClosed);
+		synchronized (sysin) {
+			assertArrayEquals("Monitor wrote wrong content.", content, written.toByteArray());
+		}
+	}
+
 	/**
 	 * Test that passing <code>null</code> as charset does not raise exceptions.
 	 */
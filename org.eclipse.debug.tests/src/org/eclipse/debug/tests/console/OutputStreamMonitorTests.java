@@ -15,6 +15,8 @@ package org.eclipse.debug.tests.console;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -24,12 +26,18 @@ import java.io.PipedOutputStream;
 import java.io.PrintStream;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.debug.core.IBinaryStreamListener;
 import org.eclipse.debug.core.IStreamListener;
 import org.eclipse.debug.core.model.IBinaryStreamMonitor;
 import org.eclipse.debug.core.model.IStreamMonitor;
+import org.eclipse.debug.internal.core.OutputStreamBuffer;
 import org.eclipse.debug.internal.core.OutputStreamMonitor;
+import org.eclipse.debug.internal.core.StreamMonitorScheduler;
+import org.eclipse.debug.internal.core.StreamMonitorStatistics;
 import org.eclipse.debug.tests.AbstractDebugTest;
 import org.eclipse.debug.tests.TestUtil;
 import org.junit.Before;
@@ -46,6 +54,8 @@ public class OutputStreamMonitorTests extends AbstractDebugTest {
 	TestOutputStreamMonitor monitor;
 	/** The bytes received through listener. */
 	ByteArrayOutputStream notifiedBytes = new ByteArrayOutputStream();
+	/** Whether {@link #sysout} was closed by the test. */
+	volatile boolean sysoutClosed;
 	/** The strings received through listener. */
 	StringBuilder notifiedChars = new StringBuilder();
 
@@ -185,6 +195,168 @@ public class OutputStreamMonitorTests extends AbstractDebugTest {
 		}
 	}
 
+	/**
+	 * Test that a bounded buffer keeps head and tail of the stream and discards
+	 * the content in between.
+	 */
+	@Test
+	public void testBufferLimits() throws Exception {
+		final int chunk = OutputStreamBuffer.DEFAULT_CHUNK_SIZE;
+		final int total = chunk * 10 + 123;
+		byte[] input = new byte[total];
+		for (int i = 0; i < input.length; i++) {
+			input[i] = (byte) ('a' + (i % 26));
+		}
+		try {
+			monitor.addBinaryListener(fBinaryListener);
+			monitor.setBufferLimits(chunk, chunk);
+			monitor.startMonitoring();
+			sysout.write(input);
+			sysout.flush();
+			TestUtil.waitWhile(() -> notifiedBytes.size() < total, 5000);
+			assertArrayEquals("Wrong binary content through listener.", input, notifiedBytes.toByteArray());
+
+			byte[] data = monitor.getData();
+			assertTrue("Buffer not bounded: " + data.length, data.length < chunk * 4);
+			assertEquals("Discarded count does not match.", total, data.length + monitor.getDiscardedByteCount());
+			for (int i = 0; i < chunk; i++) {
+				assertEquals("Head not retained at " + i, input[i], data[i]);
+			}
+			for (int i = 1; i <= chunk; i++) {
+				assertEquals("Tail not retained at " + i, input[total - i], data[data.length - i]);
+			}
+			assertEquals("Decoded content differs from buffered content.", new String(data, StandardCharsets.UTF_8), monitor.getContents());
+
+			monitor.flushContents();
+			assertEquals("Flush did not reset discarded count.", 0, monitor.getDiscardedByteCount());
+			assertEquals("Flush did not clear content.", "", monitor.getContents());
+		} finally {
+			sysout.close();
+			monitor.close();
+		}
+	}
+
+	/**
+	 * Test output stream monitor reading on the shared monitor pool. Content
+	 * must be received in order and reading done must be reported after end
+	 * of stream.
+	 */
+	@Test
+	public void testSharedOutputStreamMonitor() throws Exception {
+		// stay below pipe buffer size; a polling reader does not wake up a
+		// blocked PipedOutputStream writer
+		byte[] input = new byte[1000];
+		for (int i = 0; i < input.length; i++) {
+			input[i] = (byte) (i % 251);
+		}
+		try {
+			monitor.addBinaryListener(fBinaryListener);
+			monitor.setSourceTerminatedCondition(() -> sysoutClosed);
+			monitor.startMonitoring(StreamMonitorScheduler.MODE_SHARED);
+			for (int i = 0; i < input.length; i += 100) {
+				sysout.write(input, i, 100);
+			}
+			sysout.flush();
+			TestUtil.waitWhile(() -> notifiedBytes.size() < input.length, 5000);
+			assertArrayEquals("Wrong binary content through listener.", input, notifiedBytes.toByteArray());
+			assertArrayEquals("Monitor buffered wrong content.", input, monitor.getData());
+			assertFalse("Reading done before end of stream.", monitor.isReadingDone());
+
+			sysout.close();
+			sysoutClosed = true;
+			TestUtil.waitWhile(() -> !monitor.isReadingDone(), 1000);
+			assertTrue("Reading not done after end of stream.", monitor.isReadingDone());
+		} finally {
+			sysout.close();
+			monitor.close();
+		}
+	}
+
+	/**
+	 * Test that streams kept open after their source terminated, e.g. by a
+	 * child of a terminated process, do not block the shared monitor pool.
+	 */
+	@Test
+	public void testSharedOutputStreamKeptOpen() throws Exception {
+		List<PipedOutputStream> outputs = new ArrayList<>();
+		List<TestOutputStreamMonitor> monitors = new ArrayList<>();
+		try {
+			for (int i = 0; i < Runtime.getRuntime().availableProcessors() + 2; i++) {
+				PipedOutputStream output = new PipedOutputStream();
+				@SuppressWarnings("resource")
+				TestOutputStreamMonitor sharedMonitor = new TestOutputStreamMonitor(new PipedInputStream(output), StandardCharsets.UTF_8);
+				outputs.add(output);
+				monitors.add(sharedMonitor);
+				sharedMonitor.setSourceTerminatedCondition(() -> true);
+				sharedMonitor.startMonitoring(StreamMonitorScheduler.MODE_SHARED);
+			}
+			assertTrue("Shared pool blocked.", StreamMonitorScheduler.getSharedPool().submit(() -> true).get(5, TimeUnit.SECONDS));
+			outputs.get(0).write(new byte[] { 1, 2, 3 });
+			outputs.get(0).flush();
+			TestUtil.waitWhile(() -> monitors.get(0).getData().length < 3, 5000);
+			assertArrayEquals("Monitor buffered wrong content.", new byte[] { 1, 2, 3 }, monitors.get(0).getData());
+			for (PipedOutputStream output : outputs) {
+				output.close();
+			}
+			TestUtil.waitWhile(() -> monitors.stream().anyMatch(m -> !m.isReadingDone()), 5000);
+			for (TestOutputStreamMonitor sharedMonitor : monitors) {
+				assertTrue("Reading not done after end of stream.", sharedMonitor.isReadingDone());
+			}
+		} finally {
+			for (PipedOutputStream output : outputs) {
+				output.close();
+			}
+			for (TestOutputStreamMonitor sharedMonitor : monitors) {
+				sharedMonitor.close();
+			}
+		}
+	}
+
+	/**
+	 * Test that content is coalesced and delivered outside the reading thread
+	 * if a notification delay is set. A slow listener must not block reading
+	 * and reading done must only be reported after all content was delivered.
+	 */
+	@Test
+	public void testCoalescedNotification() throws Exception {
+		byte[] input = new byte[1000];
+		for (int i = 0; i < input.length; i++) {
+			input[i] = (byte) ('a' + (i % 26));
+		}
+		IStreamListener slowListener = (text, mon) -> {
+			try {
+				Thread.sleep(20);
+			} catch (InterruptedException e) {
+			}
+		};
+		try {
+			monitor.addBinaryListener(fBinaryListener);
+			monitor.addListener(fStreamListener);
+			monitor.addListener(slowListener);
+			monitor.setNotificationDelay(10);
+			monitor.startMonitoring();
+			for (int i = 0; i < input.length; i += 10) {
+				sysout.write(input, i, 10);
+				sysout.flush();
+				Thread.sleep(1);
+			}
+			TestUtil.waitWhile(() -> monitor.getStatistics().getByteCount() < input.length, 1000);
+			assertArrayEquals("Monitor buffered wrong content.", input, monitor.getData());
+			sysout.close();
+			TestUtil.waitWhile(() -> !monitor.isReadingDone(), 5000);
+			assertArrayEquals("Wrong binary content through listener.", input, notifiedBytes.toByteArray());
+			assertEquals("Wrong content through listener.", new String(input, StandardCharsets.UTF_8), notifiedChars.toString());
+			StreamMonitorStatistics statistics = monitor.getStatistics();
+			assertTrue("Content not coalesced: " + statistics, statistics.getBatchCount() < statistics.getReadCount());
+			assertTrue("Slow listener not recorded: " + statistics, statistics.getListenerTimes().containsKey(slowListener));
+			monitor.removeListener(slowListener);
+			assertFalse("Removed listener still recorded: " + statistics, statistics.getListenerTimes().containsKey(slowListener));
+		} finally {
+			sysout.close();
+			monitor.close();
+		}
+	}
+
 	/**
 	 * {@link OutputStreamMonitor} with public {@link #startMonitoring()} for
 	 * testing.
@@ -199,6 +371,10 @@ public class OutputStreamMonitorTests extends AbstractDebugTest {
 			super.startMonitoring("");
 		}
 
+		public void startMonitoring(String mode) {
+			super.startMonitoring("", mode);
+		}
+
 		@Override
 		public void close() {
 			super.close();
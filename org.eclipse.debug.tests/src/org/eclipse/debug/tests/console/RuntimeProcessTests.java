@@ -20,15 +20,18 @@ import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.debug.core.DebugEvent;
 import org.eclipse.debug.core.DebugException;
 import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.IDebugEventSetListener;
 import org.eclipse.debug.core.model.IProcess;
 import org.eclipse.debug.core.model.RuntimeProcess;
 import org.eclipse.debug.internal.core.DebugCoreMessages;
@@ -98,6 +101,41 @@ public class RuntimeProcessTests extends AbstractDebugTest {
 		assertEquals("RuntimeProcess reported wrong exit code.", 1, runtimeProcess.getExitValue());
 	}
 
+	/**
+	 * Test many short living processes report their termination once each.
+	 */
+	@Test
+	public void testManyProcessesTerminated() throws Exception {
+		List<RuntimeProcess> processes = new ArrayList<>();
+		Map<Object, Integer> processTerminateEvents = new ConcurrentHashMap<>();
+		IDebugEventSetListener listener = events -> {
+			for (DebugEvent event : events) {
+				if (event.getKind() == DebugEvent.TERMINATE) {
+					processTerminateEvents.merge(event.getSource(), 1, Integer::sum);
+				}
+			}
+		};
+		DebugPlugin.getDefault().addDebugEventListener(listener);
+		try {
+			for (int i = 0; i < 100; i++) {
+				MockProcess mockProcess = new MockProcess(i % 10);
+				mockProcess.setExitValue(i);
+				processes.add(mockProcess.toRuntimeProcess("MockProcess " + i));
+			}
+			for (RuntimeProcess runtimeProcess : processes) {
+				TestUtil.waitWhile(p -> !p.isTerminated(), runtimeProcess, 5000, p -> "RuntimePocess not terminated.");
+			}
+			TestUtil.waitForJobs(name.getMethodName(), 25, 500);
+			for (int i = 0; i < processes.size(); i++) {
+				RuntimeProcess runtimeProcess = processes.get(i);
+				assertEquals("Wrong number of terminate events.", Integer.valueOf(1), processTerminateEvents.get(runtimeProcess));
+				assertEquals("RuntimeProcess reported wrong exit code.", i, runtimeProcess.getExitValue());
+			}
+		} finally {
+			DebugPlugin.getDefault().removeDebugEventListener(listener);
+		}
+	}
+
 	/**
 	 * Test {@link RuntimeProcess} terminating the wrapped process and its
 	 * descendants.
@@ -0,0 +1,222 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.tests.events;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.debug.core.DebugEvent;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.IDebugEventSetListener;
+import org.eclipse.debug.internal.core.IInternalDebugCoreConstants;
+import org.eclipse.debug.tests.AbstractDebugTest;
+import org.eclipse.debug.tests.TestUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the dispatching of queued debug event sets in batches, and the merging
+ * of identical change event sets.
+ */
+public class DebugEventDispatchTests extends AbstractDebugTest {
+
+	private static final long TIMEOUT = 10000;
+
+	/**
+	 * Source of the events fired by the tests
+	 */
+	static class Source {
+		private final String fName;
+
+		Source(String name) {
+			fName = name;
+		}
+
+		@Override
+		public String toString() {
+			return fName;
+		}
+	}
+
+	private final Source fBlocker = new Source("blocker"); //$NON-NLS-1$
+	private final Source fSource1 = new Source("s1"); //$NON-NLS-1$
+	private final Source fSource2 = new Source("s2"); //$NON-NLS-1$
+
+	private final List<String> fDispatched = Collections.synchronizedList(new ArrayList<>());
+	private final CountDownLatch fBlocked = new CountDownLatch(1);
+	private final CountDownLatch fRelease = new CountDownLatch(1);
+
+	private final IDebugEventSetListener fListener = events -> {
+		StringBuilder set = new StringBuilder();
+		for (DebugEvent event : events) {
+			if (event.getSource() == fBlocker) {
+				fBlocked.countDown();
+				try {
+					fRelease.await(TIMEOUT, TimeUnit.MILLISECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			} else if (event.getSource() instanceof Source) {
+				if (set.length() > 0) {
+					set.append(',');
+				}
+				set.append(toString(event));
+			}
+		}
+		if (set.length() > 0) {
+			fDispatched.add(set.toString());
+		}
+	};
+
+	private static String toString(DebugEvent event) {
+		String kind;
+		switch (event.getKind()) {
+			case DebugEvent.CREATE:
+				kind = "CREATE"; //$NON-NLS-1$
+				break;
+			case DebugEvent.TERMINATE:
+				kind = "TERMINATE"; //$NON-NLS-1$
+				break;
+			case DebugEvent.CHANGE:
+				kind = event.getDetail() == DebugEvent.STATE ? "STATE" : "CHANGE"; //$NON-NLS-1$ //$NON-NLS-2$
+				break;
+			default:
+				kind = Integer.toString(event.getKind());
+				break;
+		}
+		return kind + ' ' + event.getSource() + (event.getData() != null ? " " + event.getData() : ""); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private IEclipsePreferences getPreferences() {
+		return InstanceScope.INSTANCE.getNode(DebugPlugin.getUniqueIdentifier());
+	}
+
+	@Override
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+		DebugPlugin.getDefault().addDebugEventListener(fListener);
+	}
+
+	@Override
+	@After
+	public void tearDown() throws Exception {
+		fRelease.countDown();
+		DebugPlugin.getDefault().removeDebugEventListener(fListener);
+		getPreferences().remove(IInternalDebugCoreConstants.PREF_MERGE_CHANGE_EVENTS);
+		super.tearDown();
+	}
+
+	private static DebugEvent change(Source source, Object data) {
+		DebugEvent event = new DebugEvent(source, DebugEvent.CHANGE, DebugEvent.CONTENT);
+		event.setData(data);
+		return event;
+	}
+
+	/**
+	 * Fires the given event sets while the dispatcher is blocked, so they are
+	 * queued and dispatched in one batch, and returns the dispatched sets.
+	 */
+	private List<String> fireQueued(DebugEvent[]... sets) throws Exception {
+		DebugPlugin plugin = DebugPlugin.getDefault();
+		plugin.fireDebugEventSet(new DebugEvent[] { new DebugEvent(fBlocker, DebugEvent.CHANGE) });
+		assertTrue("dispatcher not blocked", fBlocked.await(TIMEOUT, TimeUnit.MILLISECONDS)); //$NON-NLS-1$
+		for (DebugEvent[] set : sets) {
+			plugin.fireDebugEventSet(set);
+		}
+		CountDownLatch done = new CountDownLatch(1);
+		plugin.asyncExec(done::countDown);
+		fRelease.countDown();
+		assertTrue("events not dispatched", done.await(TIMEOUT, TimeUnit.MILLISECONDS)); //$NON-NLS-1$
+		synchronized (fDispatched) {
+			return new ArrayList<>(fDispatched);
+		}
+	}
+
+	@Test
+	public void testOrder() throws Exception {
+		List<String> runs = Collections.synchronizedList(new ArrayList<>());
+		DebugPlugin plugin = DebugPlugin.getDefault();
+		plugin.fireDebugEventSet(new DebugEvent[] { new DebugEvent(fBlocker, DebugEvent.CHANGE) });
+		assertTrue("dispatcher not blocked", fBlocked.await(TIMEOUT, TimeUnit.MILLISECONDS)); //$NON-NLS-1$
+		plugin.fireDebugEventSet(new DebugEvent[] { new DebugEvent(fSource1, DebugEvent.CREATE) });
+		plugin.asyncExec(() -> runs.add(fDispatched.size() + " dispatched")); //$NON-NLS-1$
+		plugin.fireDebugEventSet(new DebugEvent[] { change(fSource1, null), change(fSource2, null) });
+		plugin.fireDebugEventSet(new DebugEvent[] { change(fSource1, null), change(fSource2, null) });
+		plugin.fireDebugEventSet(new DebugEvent[] { new DebugEvent(fSource1, DebugEvent.TERMINATE) });
+		fRelease.countDown();
+		TestUtil.waitWhile(() -> fDispatched.size() < 4, TIMEOUT);
+
+		// without merging every set is dispatched in the order fired
+		assertEquals(Arrays.asList("CREATE s1", "CHANGE s1,CHANGE s2", "CHANGE s1,CHANGE s2", "TERMINATE s1"), fDispatched); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		// runnables are executed in the order queued as well
+		assertEquals(Arrays.asList("1 dispatched"), runs); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testMergeIdenticalChanges() throws Exception {
+		getPreferences().putBoolean(IInternalDebugCoreConstants.PREF_MERGE_CHANGE_EVENTS, true);
+		DebugEvent state = new DebugEvent(fSource1, DebugEvent.CHANGE, DebugEvent.STATE);
+		List<String> dispatched = fireQueued(
+				new DebugEvent[] { change(fSource1, null), change(fSource2, null) },
+				new DebugEvent[] { change(fSource1, null), change(fSource2, null) },
+				new DebugEvent[] { change(fSource1, null) },
+				new DebugEvent[] { state },
+				new DebugEvent[] { change(fSource2, null) },
+				new DebugEvent[] { change(fSource2, "a") }, //$NON-NLS-1$
+				new DebugEvent[] { change(fSource2, "b") }, //$NON-NLS-1$
+				new DebugEvent[] { change(fSource2, "b") }); //$NON-NLS-1$
+
+		// only a set followed by an identical set is skipped
+		assertEquals(Arrays.asList(
+				"CHANGE s1,CHANGE s2", //$NON-NLS-1$
+				"CHANGE s1", //$NON-NLS-1$
+				"STATE s1", //$NON-NLS-1$
+				"CHANGE s2", //$NON-NLS-1$
+				"CHANGE s2 a", //$NON-NLS-1$
+				"CHANGE s2 b"), dispatched); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testNoMergeAcrossOtherEvents() throws Exception {
+		getPreferences().putBoolean(IInternalDebugCoreConstants.PREF_MERGE_CHANGE_EVENTS, true);
+		List<String> dispatched = fireQueued(
+				new DebugEvent[] { change(fSource1, null) },
+				new DebugEvent[] { new DebugEvent(fSource1, DebugEvent.TERMINATE) },
+				new DebugEvent[] { change(fSource1, null) },
+				new DebugEvent[] { new DebugEvent(fSource1, DebugEvent.CREATE) },
+				new DebugEvent[] { change(fSource1, null) },
+				new DebugEvent[] { change(fSource1, null), new DebugEvent(fSource1, DebugEvent.TERMINATE) },
+				new DebugEvent[] { change(fSource1, null), new DebugEvent(fSource1, DebugEvent.TERMINATE) });
+
+		assertEquals(Arrays.asList(
+				"CHANGE s1", //$NON-NLS-1$
+				"TERMINATE s1", //$NON-NLS-1$
+				"CHANGE s1", //$NON-NLS-1$
+				"CREATE s1", //$NON-NLS-1$
+				"CHANGE s1", //$NON-NLS-1$
+				"CHANGE s1,TERMINATE s1", //$NON-NLS-1$
+				"CHANGE s1,TERMINATE s1"), dispatched); //$NON-NLS-1$
+	}
+}
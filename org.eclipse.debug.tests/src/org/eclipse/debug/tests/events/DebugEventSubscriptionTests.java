@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.tests.events;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.debug.core.DebugEvent;
+import org.eclipse.debug.core.DebugEventSubscription;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.IDebugEventSetListener;
+import org.eclipse.debug.internal.core.DebugEventListenerRegistry;
+import org.eclipse.debug.internal.core.DebugEventListenerRegistry.Registration;
+import org.eclipse.debug.tests.AbstractDebugTest;
+import org.eclipse.debug.tests.TestUtil;
+import org.junit.Test;
+
+/**
+ * Tests for {@link DebugEventSubscription} and listeners registered with a
+ * subscription.
+ */
+public class DebugEventSubscriptionTests extends AbstractDebugTest {
+
+	@Test
+	public void testSelect() {
+		DebugEvent suspend = new DebugEvent(this, DebugEvent.SUSPEND, DebugEvent.BREAKPOINT);
+		DebugEvent resume = new DebugEvent(this, DebugEvent.RESUME, DebugEvent.STEP_OVER);
+		DebugEvent change = new DebugEvent("source", DebugEvent.CHANGE); //$NON-NLS-1$
+
+		DebugEventSubscription subscription = new DebugEventSubscription(DebugEvent.SUSPEND | DebugEvent.RESUME);
+		DebugEvent[] events = new DebugEvent[] { suspend, resume };
+		assertSame(events, subscription.select(events));
+		assertArrayEquals(events, subscription.select(new DebugEvent[] { suspend, change, resume }));
+		assertNull(subscription.select(new DebugEvent[] { change }));
+
+		subscription = new DebugEventSubscription(DebugEventSubscription.ALL_KINDS, new int[] { DebugEvent.BREAKPOINT }, null);
+		assertArrayEquals(new DebugEvent[] { suspend }, subscription.select(new DebugEvent[] { suspend, resume }));
+
+		subscription = new DebugEventSubscription(DebugEventSubscription.ALL_KINDS, null, new Class<?>[] { String.class });
+		assertArrayEquals(new DebugEvent[] { change }, subscription.select(new DebugEvent[] { suspend, change, resume }));
+	}
+
+	/**
+	 * Listener equal to the listeners with the same name
+	 */
+	static class NamedListener implements IDebugEventSetListener {
+		private final String fName;
+
+		NamedListener(String name) {
+			fName = name;
+		}
+
+		@Override
+		public void handleDebugEvents(DebugEvent[] events) {
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof NamedListener && ((NamedListener) obj).fName.equals(fName);
+		}
+
+		@Override
+		public int hashCode() {
+			return fName.hashCode();
+		}
+	}
+
+	private static List<IDebugEventSetListener> getListeners(Registration[] registrations) {
+		List<IDebugEventSetListener> listeners = new ArrayList<>();
+		for (Registration registration : registrations) {
+			listeners.add(registration.getListener());
+		}
+		return listeners;
+	}
+
+	@Test
+	public void testRegistry() {
+		DebugEventListenerRegistry registry = new DebugEventListenerRegistry();
+		NamedListener all = new NamedListener("all"); //$NON-NLS-1$
+		NamedListener suspend = new NamedListener("suspend"); //$NON-NLS-1$
+		NamedListener terminate = new NamedListener("terminate"); //$NON-NLS-1$
+		registry.add(all, null);
+		registry.add(suspend, new DebugEventSubscription(DebugEvent.SUSPEND));
+		registry.add(terminate, new DebugEventSubscription(DebugEvent.TERMINATE));
+
+		assertEquals(List.of(all, suspend), getListeners(registry.getRegistrations(DebugEvent.SUSPEND)));
+		int mixed = DebugEvent.SUSPEND | DebugEvent.TERMINATE;
+		assertEquals(List.of(all, suspend, terminate), getListeners(registry.getRegistrations(mixed)));
+		assertSame(registry.getRegistrations(mixed), registry.getRegistrations(mixed));
+		assertEquals(List.of(all), getListeners(registry.getRegistrations(DebugEvent.CHANGE | DebugEvent.CREATE)));
+
+		// listeners are identified by equality
+		registry.add(new NamedListener("suspend"), new DebugEventSubscription(DebugEvent.RESUME)); //$NON-NLS-1$
+		assertEquals(List.of(all, suspend), getListeners(registry.getRegistrations(DebugEvent.RESUME)));
+		assertEquals(List.of(all), getListeners(registry.getRegistrations(DebugEvent.SUSPEND)));
+		registry.remove(new NamedListener("terminate")); //$NON-NLS-1$
+		assertEquals(List.of(all, suspend), getListeners(registry.getRegistrations(mixed | DebugEvent.RESUME)));
+	}
+
+	@Test
+	public void testSubscribedListener() throws Exception {
+		List<DebugEvent> all = Collections.synchronizedList(new ArrayList<>());
+		List<DebugEvent> terminated = Collections.synchronizedList(new ArrayList<>());
+		List<DebugEvent[]> terminatedSets = Collections.synchronizedList(new ArrayList<>());
+		IDebugEventSetListener allListener = events -> {
+			for (DebugEvent event : events) {
+				if (event.getSource() == this) {
+					all.add(event);
+				}
+			}
+		};
+		IDebugEventSetListener terminateListener = events -> {
+			terminatedSets.add(events);
+			for (DebugEvent event : events) {
+				if (event.getSource() == this) {
+					terminated.add(event);
+				}
+			}
+		};
+		DebugPlugin plugin = DebugPlugin.getDefault();
+		plugin.addDebugEventListener(allListener);
+		plugin.addDebugEventListener(terminateListener, new DebugEventSubscription(DebugEvent.TERMINATE, null, new Class<?>[] { getClass() }));
+		try {
+			plugin.fireDebugEventSet(new DebugEvent[] { new DebugEvent(this, DebugEvent.CREATE) });
+			plugin.fireDebugEventSet(new DebugEvent[] {
+					new DebugEvent(this, DebugEvent.CHANGE),
+					new DebugEvent(this, DebugEvent.TERMINATE) });
+			// listeners are notified one after the other
+			TestUtil.waitWhile(() -> all.size() < 3 || terminated.isEmpty(), 5000);
+			assertEquals(3, all.size());
+			assertEquals(1, terminated.size());
+			assertEquals(DebugEvent.TERMINATE, terminated.get(0).getKind());
+			for (DebugEvent[] set : terminatedSets) {
+				for (DebugEvent event : set) {
+					assertEquals("Listener notified of unsubscribed event.", DebugEvent.TERMINATE, event.getKind()); //$NON-NLS-1$
+				}
+			}
+		} finally {
+			plugin.removeDebugEventListener(allListener);
+			plugin.removeDebugEventListener(terminateListener);
+		}
+	}
+}
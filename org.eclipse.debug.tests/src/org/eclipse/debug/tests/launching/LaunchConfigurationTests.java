@@ -19,8 +19,10 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileFilter;
 import java.io.IOException;
@@ -42,6 +44,8 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import javax.xml.stream.XMLStreamException;
+
 import org.eclipse.core.filesystem.EFS;
 import org.eclipse.core.filesystem.IFileSystem;
 import org.eclipse.core.resources.IContainer;
@@ -1971,6 +1975,140 @@ public class LaunchConfigurationTests extends AbstractLaunchTest implements ILau
 		assertTrue(t2.isPrototype());
 	}
 
+	/**
+	 * Tests that lookups by name, type, project and mapped resource follow
+	 * changes of a shared configuration.
+	 *
+	 * @throws CoreException
+	 */
+	@Test
+	public void testIndexedLookups() throws CoreException {
+		LaunchManager manager = (LaunchManager) getLaunchManager();
+		IProject project = getProject();
+		IFile mapped = project.getFile("mapped.txt"); //$NON-NLS-1$
+		ILaunchConfigurationWorkingCopy wc = newConfiguration(project, "indexed-config"); //$NON-NLS-1$
+		wc.setMappedResources(new IResource[] { mapped });
+		ILaunchConfiguration config = wc.doSave();
+		try {
+			assertTrue("Name should exist", manager.isExistingLaunchConfigurationName("indexed-config")); //$NON-NLS-1$ //$NON-NLS-2$
+			assertEquals(config, manager.findLaunchConfiguration("indexed-config")); //$NON-NLS-1$
+			assertTrue("Missing config of type", existsIn(manager.getLaunchConfigurations(config.getType()), config)); //$NON-NLS-1$
+			assertTrue("Missing mapped config", existsIn(manager.getMappedConfigurations(mapped), config)); //$NON-NLS-1$
+			assertTrue("Missing config mapped to file in project", existsIn(manager.getMappedConfigurations(project), config)); //$NON-NLS-1$
+
+			wc = config.getWorkingCopy();
+			wc.setMappedResources(new IResource[] { project });
+			config = wc.doSave();
+			assertFalse("Config still mapped to file", existsIn(manager.getMappedConfigurations(mapped), config)); //$NON-NLS-1$
+			assertTrue("Missing mapped config", existsIn(manager.getMappedConfigurations(project), config)); //$NON-NLS-1$
+		} finally {
+			config.delete();
+		}
+		assertFalse("Name should not exist", manager.isExistingLaunchConfigurationName("indexed-config")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNull(manager.findLaunchConfiguration("indexed-config")); //$NON-NLS-1$
+		assertFalse("Config still mapped", existsIn(manager.getMappedConfigurations(project), config)); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that the streaming XML writer produces the same bytes as the DOM
+	 * serialization and that both readers produce the same attributes.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testStreamingXML() throws Exception {
+		TestLaunchConfigurationInfo info = new TestLaunchConfigurationInfo(getLaunchManager().getLaunchConfigurationType(ID_TEST_LAUNCH_TYPE));
+		String special = "a&b<c>d\"e'f\tg\nh\ri é€  😀"; //$NON-NLS-1$
+		info.setAttribute("String1", special); //$NON-NLS-1$
+		info.setAttribute("Int1", Integer.valueOf(-7)); //$NON-NLS-1$
+		info.setAttribute("Boolean1", Boolean.TRUE); //$NON-NLS-1$
+		info.setAttribute("List1", List.of("one", special, "")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		info.setAttribute("List2", List.of()); //$NON-NLS-1$
+		info.setAttribute("Map1", Map.of("b", special, "a", "1", special, "c")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+		info.setAttribute("Map2", Map.of()); //$NON-NLS-1$
+		info.setAttribute("Set1", Set.of("z", "a", special)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		for (String lineDelimiter : new String[] { "\n", "\r\n" }) { //$NON-NLS-1$ //$NON-NLS-2$
+			assertEquals(info.getDocumentXML(lineDelimiter), info.getStreamingXML(lineDelimiter));
+		}
+		byte[] xml = info.getStreamingXML("\n").getBytes(StandardCharsets.UTF_8); //$NON-NLS-1$
+		TestLaunchConfigurationInfo streamed = new TestLaunchConfigurationInfo();
+		streamed.readStreaming(new ByteArrayInputStream(xml));
+		TestLaunchConfigurationInfo parsed = new TestLaunchConfigurationInfo();
+		parsed.readDocument(new ByteArrayInputStream(xml));
+		assertEquals(info, streamed);
+		assertEquals(parsed, streamed);
+
+		// control characters are written by the DOM serialization
+		info.setAttribute("String2", "\u0001"); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(info.getDocumentXML("\n"), info.getStreamingXML("\n")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Tests that the streaming XML reader reports a parse error for files
+	 * without root element.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testStreamingXMLWithoutRoot() throws Exception {
+		String[] contents = { "", "  \n", "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n", "<?xml version=\"1.0\"?><!-- comment -->" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		for (String content : contents) {
+			TestLaunchConfigurationInfo info = new TestLaunchConfigurationInfo();
+			assertThrows(content, XMLStreamException.class, () -> info.readStreaming(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))));
+		}
+	}
+
+	/**
+	 * Tests that changing a configuration while configurations are looked up
+	 * by type does not deadlock the index and the launch manager.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testConcurrentChangeAndLookup() throws Exception {
+		LaunchManager manager = (LaunchManager) getLaunchManager();
+		ILaunchConfiguration config = newConfiguration(null, "concurrent-config").doSave(); //$NON-NLS-1$
+		ILaunchConfigurationType type = config.getType();
+		AtomicBoolean done = new AtomicBoolean();
+		List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+		Thread changer = new Thread(() -> {
+			try {
+				for (int i = 0; i < 200; i++) {
+					ILaunchConfigurationWorkingCopy wc = config.getWorkingCopy();
+					wc.setAttribute("count", i); //$NON-NLS-1$
+					wc.doSave();
+				}
+			} catch (Throwable e) {
+				errors.add(e);
+			} finally {
+				done.set(true);
+			}
+		}, "Launch configuration changer"); //$NON-NLS-1$
+		Thread reader = new Thread(() -> {
+			try {
+				while (!done.get()) {
+					manager.getLaunchConfigurations(type);
+				}
+			} catch (Throwable e) {
+				errors.add(e);
+			}
+		}, "Launch configuration reader"); //$NON-NLS-1$
+		changer.setDaemon(true);
+		reader.setDaemon(true);
+		try {
+			changer.start();
+			reader.start();
+			changer.join(30000);
+			reader.join(30000);
+			assertFalse("Changing configuration deadlocked", changer.isAlive()); //$NON-NLS-1$
+			assertFalse("Looking up configurations deadlocked", reader.isAlive()); //$NON-NLS-1$
+			assertTrue("Unexpected errors: " + errors, errors.isEmpty()); //$NON-NLS-1$
+			assertTrue("Missing config of type", existsIn(manager.getLaunchConfigurations(type), config)); //$NON-NLS-1$
+		} finally {
+			config.delete();
+		}
+	}
+
 	@Test
 	public void testNewInstanceNotifiesListener() throws CoreException {
 		ILaunchManager launchManager = DebugPlugin.getDefault().getLaunchManager();
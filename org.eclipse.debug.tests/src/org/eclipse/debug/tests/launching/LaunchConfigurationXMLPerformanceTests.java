@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.tests.launching;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.tests.AbstractDebugTest;
+import org.eclipse.test.performance.Performance;
+import org.eclipse.test.performance.PerformanceMeter;
+import org.junit.Test;
+
+/**
+ * Compares the streaming launch configuration XML reader and writer with the
+ * DOM based implementation for small configurations and for configurations
+ * with large environment maps and list attributes.
+ */
+public class LaunchConfigurationXMLPerformanceTests extends AbstractDebugTest {
+
+	private static final int ITERATIONS = 10;
+
+	private interface XMLOperation {
+		void run(TestLaunchConfigurationInfo info, byte[] xml) throws Exception;
+	}
+
+	public String getDefaultScenarioId() {
+		return this.getClass().getName() + '#' + name.getMethodName() + "()"; //$NON-NLS-1$
+	}
+
+	@Test
+	public void testWriteSmallDocument() throws Exception {
+		measure(createInfo(10), 2000, (info, xml) -> info.getDocumentXML("\n")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testWriteSmallStreaming() throws Exception {
+		measure(createInfo(10), 2000, (info, xml) -> info.getStreamingXML("\n")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testWriteLargeDocument() throws Exception {
+		measure(createInfo(5000), 20, (info, xml) -> info.getDocumentXML("\n")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testWriteLargeStreaming() throws Exception {
+		measure(createInfo(5000), 20, (info, xml) -> info.getStreamingXML("\n")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testReadSmallDocument() throws Exception {
+		measure(createInfo(10), 2000, (info, xml) -> new TestLaunchConfigurationInfo().readDocument(new ByteArrayInputStream(xml)));
+	}
+
+	@Test
+	public void testReadSmallStreaming() throws Exception {
+		measure(createInfo(10), 2000, (info, xml) -> new TestLaunchConfigurationInfo().readStreaming(new ByteArrayInputStream(xml)));
+	}
+
+	@Test
+	public void testReadLargeDocument() throws Exception {
+		measure(createInfo(5000), 20, (info, xml) -> new TestLaunchConfigurationInfo().readDocument(new ByteArrayInputStream(xml)));
+	}
+
+	@Test
+	public void testReadLargeStreaming() throws Exception {
+		measure(createInfo(5000), 20, (info, xml) -> new TestLaunchConfigurationInfo().readStreaming(new ByteArrayInputStream(xml)));
+	}
+
+	/**
+	 * Creates an info with a few simple attributes, an environment map and a
+	 * list attribute of the given size.
+	 */
+	private TestLaunchConfigurationInfo createInfo(int size) {
+		TestLaunchConfigurationInfo info = new TestLaunchConfigurationInfo(DebugPlugin.getDefault().getLaunchManager().getLaunchConfigurationType(LaunchConfigurationTests.ID_TEST_LAUNCH_TYPE));
+		info.setAttribute("String1", "String1"); //$NON-NLS-1$ //$NON-NLS-2$
+		info.setAttribute("Int1", Integer.valueOf(1)); //$NON-NLS-1$
+		info.setAttribute("Boolean1", Boolean.TRUE); //$NON-NLS-1$
+		Map<String, String> environment = new HashMap<>();
+		List<String> list = new ArrayList<>();
+		for (int i = 0; i < size; i++) {
+			environment.put("VARIABLE_" + i, "/some/path/" + i + ":/other/path/" + i); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			list.add("-Dproperty" + i + "=\"value " + i + '"'); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		info.setAttribute(DebugPlugin.ATTR_ENVIRONMENT, environment);
+		info.setAttribute("List1", list); //$NON-NLS-1$
+		return info;
+	}
+
+	private void measure(TestLaunchConfigurationInfo info, int repetitions, XMLOperation operation) throws Exception {
+		byte[] xml = info.getDocumentXML("\n").getBytes(StandardCharsets.UTF_8); //$NON-NLS-1$
+		// warm up
+		for (int i = 0; i < repetitions; i++) {
+			operation.run(info, xml);
+		}
+		Performance perf = Performance.getDefault();
+		PerformanceMeter meter = perf.createPerformanceMeter(getDefaultScenarioId());
+		try {
+			for (int i = 0; i < ITERATIONS; i++) {
+				meter.start();
+				for (int j = 0; j < repetitions; j++) {
+					operation.run(info, xml);
+				}
+				meter.stop();
+			}
+			meter.commit();
+			perf.assertPerformance(meter);
+		} finally {
+			meter.dispose();
+		}
+	}
+}
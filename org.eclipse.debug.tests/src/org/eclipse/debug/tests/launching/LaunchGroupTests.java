@@ -14,6 +14,7 @@
 package org.eclipse.debug.tests.launching;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.lang.reflect.InvocationHandler;
@@ -21,6 +22,7 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -29,6 +31,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.debug.core.DebugEvent;
 import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.ILaunch;
 import org.eclipse.debug.core.ILaunchConfiguration;
@@ -44,9 +47,11 @@ import org.eclipse.debug.core.model.IStreamMonitor;
 import org.eclipse.debug.core.model.IStreamsProxy;
 import org.eclipse.debug.core.model.LaunchConfigurationDelegate;
 import org.eclipse.debug.internal.core.LaunchManager;
+import org.eclipse.debug.internal.core.groups.GroupLaunch;
 import org.eclipse.debug.internal.core.groups.GroupLaunchConfigurationDelegate;
 import org.eclipse.debug.internal.core.groups.GroupLaunchElement;
 import org.eclipse.debug.internal.core.groups.GroupLaunchElement.GroupElementPostLaunchAction;
+import org.eclipse.debug.internal.core.groups.GroupLaunchTimeline;
 import org.eclipse.debug.internal.ui.DebugUIPlugin;
 import org.eclipse.debug.internal.ui.launchConfigurations.LaunchHistory;
 import org.eclipse.debug.tests.TestUtil;
@@ -328,6 +333,75 @@ public class LaunchGroupTests extends AbstractLaunchTest {
 		assertTrue("history[2] should be Test1", history[2].contentsEqual(t1)); //$NON-NLS-1$
 	}
 
+	@Test
+	public void testWaitForSplitOutput() throws Exception {
+		final ILaunchConfiguration t1 = getLaunchConfiguration("Test1"); //$NON-NLS-1$
+		ILaunchConfiguration t2 = getLaunchConfiguration("Test2"); //$NON-NLS-1$
+		ILaunchConfiguration grp = createLaunchGroup(DEF_GRP_NAME, createLaunchGroupElement(t1, GroupElementPostLaunchAction.OUTPUT_REGEXP, "^Test\\w+ started$", false), createLaunchGroupElement(t2, GroupElementPostLaunchAction.NONE, null, false)); //$NON-NLS-1$
+
+		final DummyAttachListener attachListener = new DummyAttachListener(t1);
+		getLaunchManager().addLaunchListener(attachListener);
+
+		final AtomicBoolean finished = new AtomicBoolean();
+		long start = System.currentTimeMillis();
+		// the matching line arrives in several chunks
+		new Thread("Output Producer") { //$NON-NLS-1$
+			@Override
+			public void run() {
+				try {
+					Thread.sleep(1000);
+					attachListener.getStream().write("Starting\nTest"); //$NON-NLS-1$
+					Thread.sleep(1000);
+					synchronized (finished) {
+						attachListener.getStream().write("Output started\n"); //$NON-NLS-1$
+						finished.set(true);
+					}
+				} catch (Exception e) {
+					e.printStackTrace();
+				}
+			}
+		}.start();
+
+		LaunchHistory runHistory = getRunLaunchHistory();
+		grp.launch(ILaunchManager.RUN_MODE, new NullProgressMonitor());
+
+		synchronized (finished) {
+			getLaunchManager().removeLaunchListener(attachListener);
+		}
+
+		assertTrue("thread did not finish", finished.get()); //$NON-NLS-1$
+		assertTrue("output was not awaited", (System.currentTimeMillis() - start) >= 2000); //$NON-NLS-1$
+		assertEquals("Test2 should be launched after the output matched", 3, runHistory.getHistory().length); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testDependencies() throws Exception {
+		ILaunchConfiguration t1 = getLaunchConfiguration("Test1"); //$NON-NLS-1$
+		ILaunchConfiguration t2 = getLaunchConfiguration("Test2"); //$NON-NLS-1$
+		ILaunchConfiguration t3 = getLaunchConfiguration("Test3"); //$NON-NLS-1$
+		GroupLaunchElement e1 = createLaunchGroupElement(t1, GroupElementPostLaunchAction.DELAY, 2, false);
+		GroupLaunchElement e2 = createLaunchGroupElement(t2, GroupElementPostLaunchAction.NONE, null, false);
+		e2.dependencies = Collections.emptyList();
+		GroupLaunchElement e3 = createLaunchGroupElement(t3, GroupElementPostLaunchAction.NONE, null, false);
+		e3.dependencies = Collections.singletonList(t1.getName());
+		ILaunchConfiguration grp = createLaunchGroup(DEF_GRP_NAME, e1, e2, e3);
+
+		List<GroupLaunchElement> elements = GroupLaunchConfigurationDelegate.createLaunchElements(grp);
+		assertNull("dependencies should default to the previous element", elements.get(0).dependencies); //$NON-NLS-1$
+		assertEquals(Collections.emptyList(), elements.get(1).dependencies);
+		assertEquals(Collections.singletonList(t1.getName()), elements.get(2).dependencies);
+
+		long start = System.currentTimeMillis();
+		GroupLaunch launch = (GroupLaunch) grp.launch(ILaunchManager.RUN_MODE, new NullProgressMonitor());
+		assertTrue("delay was not awaited", (System.currentTimeMillis() - start) >= 2000); //$NON-NLS-1$
+
+		List<GroupLaunchTimeline.Entry> timeline = launch.getTimeline().getEntries();
+		assertEquals(3, timeline.size());
+		assertTrue("Test2 should not wait for Test1: " + launch.getTimeline(), timeline.get(1).getLaunchStart() < timeline.get(0).getLaunchStart() + 2000); //$NON-NLS-1$
+		assertTrue("Test3 should wait for Test1: " + launch.getTimeline(), timeline.get(2).getLaunchStart() >= timeline.get(0).getLaunchStart() + 2000); //$NON-NLS-1$
+		assertTrue("Test1 should be ready after the delay: " + launch.getTimeline(), timeline.get(0).getReadyTime() >= 2000); //$NON-NLS-1$
+	}
+
 	@Test
 	public void testRename() throws Exception {
 		ILaunchConfiguration t1 = getLaunchConfiguration("Test1"); //$NON-NLS-1$
@@ -347,6 +421,27 @@ public class LaunchGroupTests extends AbstractLaunchTest {
 		assertTrue("group element should be updated", elements.get(0).name.equals("AnotherTest")); //$NON-NLS-1$//$NON-NLS-2$
 	}
 
+	@Test
+	public void testRenameDependency() throws Exception {
+		ILaunchConfiguration t1 = getLaunchConfiguration("Test1"); //$NON-NLS-1$
+		ILaunchConfiguration t2 = getLaunchConfiguration("Test2"); //$NON-NLS-1$
+		ILaunchConfiguration t3 = getLaunchConfiguration("Test3"); //$NON-NLS-1$
+		GroupLaunchElement e2 = createLaunchGroupElement(t2, GroupElementPostLaunchAction.NONE, null, false);
+		e2.dependencies = Arrays.asList(t1.getName(), t3.getName());
+		ILaunchConfiguration grp = createLaunchGroup(DEF_GRP_NAME, createLaunchGroupElement(t1, GroupElementPostLaunchAction.NONE, null, false), e2, createLaunchGroupElement(t3, GroupElementPostLaunchAction.NONE, null, false));
+
+		ILaunchConfigurationWorkingCopy workingCopy = t1.getWorkingCopy();
+		workingCopy.rename("AnotherTest"); //$NON-NLS-1$
+		workingCopy.doSave();
+
+		grp = getLaunchConfiguration(DEF_GRP_NAME);
+		List<GroupLaunchElement> elements = GroupLaunchConfigurationDelegate.createLaunchElements(grp);
+
+		assertEquals("AnotherTest", elements.get(0).name); //$NON-NLS-1$
+		assertEquals("dependency should be updated", Arrays.asList("AnotherTest", t3.getName()), elements.get(1).dependencies); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNull(elements.get(2).dependencies);
+	}
+
 	/**
 	 * Test for Bug 529651. Build before launch was not invoked for launches
 	 * started as part of group launch.
@@ -430,6 +525,9 @@ public class LaunchGroupTests extends AbstractLaunchTest {
 				}
 				if (name.equals("terminate")) { //$NON-NLS-1$
 					terminated = true;
+					// like a real process, report the termination
+					DebugPlugin.getDefault().fireDebugEventSet(new DebugEvent[] {
+							new DebugEvent(proxy, DebugEvent.TERMINATE) });
 				}
 				if (name.equals("getAdapter")) { //$NON-NLS-1$
 					return null;
@@ -372,12 +372,10 @@ public class LaunchManagerTests extends AbstractLaunchTest {
 	 */
 	@Test
 	public void testNPE_Bug484882() throws Exception {
-		// In this thread continuously creates configs so that
-		// org.eclipse.debug.internal.core.LaunchManager.clearConfigNameCache()
-		// is called repeatedly. We also want to make lots of configurations so
-		// the runtime of getAllSortedConfigNames (called by
-		// isExistingLaunchConfigurationName
-		// below) is long enough to hit the race condition.
+		// In this thread continuously creates configs so that the index of
+		// launch configurations changes repeatedly. We also want to make lots
+		// of configurations so the runtime of isExistingLaunchConfigurationName
+		// below is long enough to hit the race condition.
 		final boolean stop[] = new boolean[] { false };
 		final Throwable exception[] = new Throwable[] { null };
 		Thread thread = new Thread() {
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.tests.launching;
+
+import java.io.InputStream;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.eclipse.debug.core.ILaunchConfigurationType;
+import org.eclipse.debug.internal.core.LaunchConfigurationInfo;
+import org.eclipse.debug.internal.core.LaunchConfigurationXML;
+import org.w3c.dom.Element;
+
+/**
+ * Gives tests access to the streaming and the DOM based XML handling of a
+ * {@link LaunchConfigurationInfo}.
+ */
+public class TestLaunchConfigurationInfo extends LaunchConfigurationInfo {
+
+	public TestLaunchConfigurationInfo() {
+	}
+
+	public TestLaunchConfigurationInfo(ILaunchConfigurationType type) {
+		setType(type);
+	}
+
+	@Override
+	public void setAttribute(String key, Object value) {
+		super.setAttribute(key, value);
+	}
+
+	/**
+	 * @param lineDelimiter line delimiter to use
+	 * @return the XML as written when a configuration is saved
+	 * @throws Exception if writing fails
+	 */
+	public String getStreamingXML(String lineDelimiter) throws Exception {
+		return getAsXML(lineDelimiter);
+	}
+
+	/**
+	 * @param lineDelimiter line delimiter to use
+	 * @return the XML serialized from a DOM document
+	 * @throws Exception if writing fails
+	 */
+	public String getDocumentXML(String lineDelimiter) throws Exception {
+		return getAsDocumentXML(lineDelimiter);
+	}
+
+	/**
+	 * Initializes this info with the streaming reader.
+	 *
+	 * @param stream XML to read
+	 * @throws Exception if reading fails
+	 */
+	public void readStreaming(InputStream stream) throws Exception {
+		LaunchConfigurationXML.read(stream, this, false);
+	}
+
+	/**
+	 * Initializes this info from a DOM document.
+	 *
+	 * @param stream XML to read
+	 * @throws Exception if reading fails
+	 */
+	public void readDocument(InputStream stream) throws Exception {
+		Element root = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(stream).getDocumentElement();
+		initializeFromXML(root, false);
+	}
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.tests.sourcelookup;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.debug.core.sourcelookup.containers.ExternalArchiveSourceContainer;
+import org.eclipse.debug.internal.core.sourcelookup.SourceLookupUtils;
+import org.eclipse.debug.tests.AbstractDebugTest;
+import org.eclipse.test.performance.Performance;
+import org.eclipse.test.performance.PerformanceMeter;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Measures qualified, unqualified and duplicate lookups in a large archive
+ * with {@link ExternalArchiveSourceContainer}.
+ */
+public class ExternalArchiveSourceContainerPerformanceTests extends AbstractDebugTest {
+
+	private static final int PACKAGES = 200;
+	private static final int TYPES = 100;
+	private static final int ITERATIONS = 10;
+	private static final int LOOKUPS = 1000;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	public String getDefaultScenarioId() {
+		return this.getClass().getName() + '#' + name.getMethodName() + "()"; //$NON-NLS-1$
+	}
+
+	@Override
+	@After
+	public void tearDown() throws Exception {
+		SourceLookupUtils.closeArchives();
+		super.tearDown();
+	}
+
+	@Test
+	public void testQualifiedLookup() throws Exception {
+		ExternalArchiveSourceContainer container = new ExternalArchiveSourceContainer(createArchive(), true);
+		measure(container, i -> "org/example/p" + (i % PACKAGES) + "/Type" + (i % TYPES) + ".java"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	@Test
+	public void testUnqualifiedLookup() throws Exception {
+		ExternalArchiveSourceContainer container = new ExternalArchiveSourceContainer(createArchive(), false);
+		measure(container, i -> "Type" + (i % TYPES) + ".java"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void testDuplicatesLookup() throws Exception {
+		ExternalArchiveSourceContainer container = new ExternalArchiveSourceContainer(createArchive(), false);
+		TestSourceDirector director = new TestSourceDirector();
+		director.setFindDuplicates(true);
+		container.init(director);
+		measure(container, i -> "Type" + (i % TYPES) + ".java"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Creates an archive with a source root and the same type names in every
+	 * package.
+	 */
+	private String createArchive() throws Exception {
+		List<String> names = new ArrayList<>();
+		for (int i = 0; i < PACKAGES; i++) {
+			for (int j = 0; j < TYPES; j++) {
+				names.add("src/org/example/p" + i + "/Type" + j + ".java"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			}
+		}
+		File archive = ExternalArchiveSourceContainerTests.createArchive(folder.newFile("src.zip"), names.toArray(new String[names.size()])); //$NON-NLS-1$
+		return archive.getAbsolutePath();
+	}
+
+	private interface NameProvider {
+		String getName(int i);
+	}
+
+	private void measure(ExternalArchiveSourceContainer container, NameProvider names) throws Exception {
+		try {
+			// warm up, also builds the archive index
+			for (int i = 0; i < LOOKUPS; i++) {
+				container.findSourceElements(names.getName(i));
+			}
+			Performance perf = Performance.getDefault();
+			PerformanceMeter meter = perf.createPerformanceMeter(getDefaultScenarioId());
+			try {
+				for (int i = 0; i < ITERATIONS; i++) {
+					meter.start();
+					for (int j = 0; j < LOOKUPS; j++) {
+						container.findSourceElements(names.getName(j));
+					}
+					meter.stop();
+				}
+				meter.commit();
+				perf.assertPerformance(meter);
+			} finally {
+				meter.dispose();
+			}
+		} finally {
+			container.dispose();
+		}
+	}
+}
@@ -0,0 +1,270 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.tests.sourcelookup;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.sourcelookup.containers.ExternalArchiveSourceContainer;
+import org.eclipse.debug.core.sourcelookup.containers.ZipEntryStorage;
+import org.eclipse.debug.internal.core.IInternalDebugCoreConstants;
+import org.eclipse.debug.internal.core.sourcelookup.ArchiveCacheStatistics;
+import org.eclipse.debug.internal.core.sourcelookup.ArchiveIndex;
+import org.eclipse.debug.internal.core.sourcelookup.SourceLookupUtils;
+import org.eclipse.debug.tests.AbstractDebugTest;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests lookups in an {@link ExternalArchiveSourceContainer}
+ */
+public class ExternalArchiveSourceContainerTests extends AbstractDebugTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Override
+	@After
+	public void tearDown() throws Exception {
+		SourceLookupUtils.closeArchives();
+		super.tearDown();
+	}
+
+	/**
+	 * Creates an archive with empty entries of the given names.
+	 */
+	static File createArchive(File file, String... names) throws IOException {
+		try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(file))) {
+			for (String name : names) {
+				out.putNextEntry(new ZipEntry(name));
+				out.closeEntry();
+			}
+		}
+		return file;
+	}
+
+	private static String[] getNames(Object[] elements) {
+		String[] names = new String[elements.length];
+		for (int i = 0; i < elements.length; i++) {
+			names[i] = ((ZipEntryStorage) elements[i]).getZipEntry().getName();
+		}
+		return names;
+	}
+
+	@Test
+	public void testUnqualifiedLookup() throws Exception {
+		File archive = createArchive(folder.newFile("src.zip"), "a/XFoo.java", "a/Foo.java", "b/Foo.java", "Foo.java.bak"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+		ExternalArchiveSourceContainer container = new ExternalArchiveSourceContainer(archive.getAbsolutePath(), false);
+		try {
+			assertArrayEquals(new String[] { "a/Foo.java" }, getNames(container.findSourceElements("Foo.java"))); //$NON-NLS-1$ //$NON-NLS-2$
+			assertArrayEquals(new String[] { "b/Foo.java" }, getNames(container.findSourceElements("b\\Foo.java"))); //$NON-NLS-1$ //$NON-NLS-2$
+			assertEquals(0, container.findSourceElements("Bar.java").length); //$NON-NLS-1$
+		} finally {
+			container.dispose();
+		}
+	}
+
+	@Test
+	public void testDuplicatesLookup() throws Exception {
+		File archive = createArchive(folder.newFile("src.zip"), "a/Foo.java", "a/XFoo.java", "b/Foo.java", "c/a/Foo.java"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+		ExternalArchiveSourceContainer container = new ExternalArchiveSourceContainer(archive.getAbsolutePath(), false);
+		TestSourceDirector director = new TestSourceDirector();
+		director.setFindDuplicates(true);
+		container.init(director);
+		try {
+			assertArrayEquals(new String[] { "a/Foo.java", "b/Foo.java", "c/a/Foo.java" }, getNames(container.findSourceElements("Foo.java"))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		} finally {
+			container.dispose();
+		}
+	}
+
+	@Test
+	public void testInvalidEntry() throws Exception {
+		File archive = createArchive(folder.newFile("src.zip"), "a/Foo.java", "../Foo.java", "../Bar.java", "a/Bar.java"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+		ExternalArchiveSourceContainer container = new ExternalArchiveSourceContainer(archive.getAbsolutePath(), false);
+		try {
+			// a valid match preceding the invalid entry is found
+			assertArrayEquals(new String[] { "a/Foo.java" }, getNames(container.findSourceElements("Foo.java"))); //$NON-NLS-1$ //$NON-NLS-2$
+			assertThrows(CoreException.class, () -> container.findSourceElements("Bar.java")); //$NON-NLS-1$
+		} finally {
+			container.dispose();
+		}
+	}
+
+	@Test
+	public void testDetectRoots() throws Exception {
+		File archive = createArchive(folder.newFile("src.zip"), "src/a/b/Foo.java", "src/a/b/Bar.java", "src/x/a/b/Baz.java", "a/b/Baz.java"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+		ExternalArchiveSourceContainer container = new ExternalArchiveSourceContainer(archive.getAbsolutePath(), true);
+		try {
+			assertArrayEquals(new String[] { "src/a/b/Foo.java" }, getNames(container.findSourceElements("a/b/Foo.java"))); //$NON-NLS-1$ //$NON-NLS-2$
+			assertArrayEquals(new String[] { "src/a/b/Bar.java" }, getNames(container.findSourceElements("a/b/Bar.java"))); //$NON-NLS-1$ //$NON-NLS-2$
+			// roots nested in a detected root are not considered
+			assertArrayEquals(new String[] { "a/b/Baz.java" }, getNames(container.findSourceElements("a/b/Baz.java"))); //$NON-NLS-1$ //$NON-NLS-2$
+			assertEquals(0, container.findSourceElements("a/b/Qux.java").length); //$NON-NLS-1$
+		} finally {
+			container.dispose();
+		}
+	}
+
+	@Test
+	public void testIndexInvalidatedOnModification() throws Exception {
+		File archive = createArchive(folder.newFile("src.zip"), "a/Foo.java"); //$NON-NLS-1$ //$NON-NLS-2$
+		String path = archive.getAbsolutePath();
+		ArchiveIndex index = SourceLookupUtils.getArchiveIndex(path);
+		SourceLookupUtils.ungetArchiveIndex(index);
+		ArchiveIndex same = SourceLookupUtils.getArchiveIndex(path);
+		SourceLookupUtils.ungetArchiveIndex(same);
+		assertSame(index, same);
+
+		createArchive(archive, "a/Foo.java", "b/Bar.java"); //$NON-NLS-1$ //$NON-NLS-2$
+		archive.setLastModified(archive.lastModified() + 2000);
+		ArchiveIndex updated = SourceLookupUtils.getArchiveIndex(path);
+		SourceLookupUtils.ungetArchiveIndex(updated);
+		assertNotSame(index, updated);
+		assertEquals(1, updated.getEntries("Bar.java").size()); //$NON-NLS-1$
+
+		ExternalArchiveSourceContainer container = new ExternalArchiveSourceContainer(path, false);
+		try {
+			assertArrayEquals(new String[] { "b/Bar.java" }, getNames(container.findSourceElements("Bar.java"))); //$NON-NLS-1$ //$NON-NLS-2$
+		} finally {
+			container.dispose();
+		}
+	}
+
+	@Test
+	public void testReferencedArchivesKeptOpen() throws Exception {
+		String used = createArchive(folder.newFile("used.zip"), "a/Foo.java").getAbsolutePath(); //$NON-NLS-1$ //$NON-NLS-2$
+		String unused = createArchive(folder.newFile("unused.zip"), "a/Foo.java").getAbsolutePath(); //$NON-NLS-1$ //$NON-NLS-2$
+		ExternalArchiveSourceContainer container = new ExternalArchiveSourceContainer(used, false);
+		try {
+			container.findSourceElements("Foo.java"); //$NON-NLS-1$
+			ZipFile usedZip = SourceLookupUtils.getZipFile(used);
+			ZipFile unusedZip = SourceLookupUtils.getZipFile(unused);
+			// as when a launch terminates
+			SourceLookupUtils.closeUnreferencedArchives();
+			assertSame(usedZip, SourceLookupUtils.getZipFile(used));
+			assertNotSame(unusedZip, SourceLookupUtils.getZipFile(unused));
+		} finally {
+			container.dispose();
+		}
+		ZipFile usedZip = SourceLookupUtils.getZipFile(used);
+		SourceLookupUtils.closeUnreferencedArchives();
+		assertNotSame(usedZip, SourceLookupUtils.getZipFile(used));
+	}
+
+	@Test
+	public void testCacheSize() throws Exception {
+		IEclipsePreferences preferences = InstanceScope.INSTANCE.getNode(DebugPlugin.getUniqueIdentifier());
+		preferences.putInt(IInternalDebugCoreConstants.PREF_SOURCE_ARCHIVE_CACHE_SIZE, 2);
+		String referenced = createArchive(folder.newFile("referenced.zip"), "a/Foo.java").getAbsolutePath(); //$NON-NLS-1$ //$NON-NLS-2$
+		SourceLookupUtils.acquireArchive(referenced);
+		try {
+			ArchiveCacheStatistics statistics = SourceLookupUtils.getStatistics();
+			long evictions = statistics.getEvictionCount();
+			ZipFile referencedZip = SourceLookupUtils.getZipFile(referenced);
+			for (int i = 0; i < 5; i++) {
+				SourceLookupUtils.getZipFile(createArchive(folder.newFile("archive" + i + ".zip"), "a/Foo.java").getAbsolutePath()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				// referenced archives are limited too
+				assertTrue(statistics.getOpenArchiveCount() <= 2);
+			}
+			assertEquals(evictions + 4, statistics.getEvictionCount());
+			// evicted zip files are closed
+			assertThrows(IllegalStateException.class, referencedZip::size);
+			long misses = statistics.getMissCount();
+			assertNotSame(referencedZip, SourceLookupUtils.getZipFile(referenced));
+			assertEquals(misses + 1, statistics.getMissCount());
+		} finally {
+			SourceLookupUtils.releaseArchive(referenced);
+			preferences.remove(IInternalDebugCoreConstants.PREF_SOURCE_ARCHIVE_CACHE_SIZE);
+		}
+	}
+
+	@Test
+	public void testSearchedArchiveClosedAfterSearch() throws Exception {
+		IEclipsePreferences preferences = InstanceScope.INSTANCE.getNode(DebugPlugin.getUniqueIdentifier());
+		preferences.putInt(IInternalDebugCoreConstants.PREF_SOURCE_ARCHIVE_CACHE_SIZE, 1);
+		String searched = createArchive(folder.newFile("searched.zip"), "a/Foo.java").getAbsolutePath(); //$NON-NLS-1$ //$NON-NLS-2$
+		String other = createArchive(folder.newFile("other.zip"), "a/Foo.java").getAbsolutePath(); //$NON-NLS-1$ //$NON-NLS-2$
+		try {
+			ArchiveCacheStatistics statistics = SourceLookupUtils.getStatistics();
+			ArchiveIndex index = SourceLookupUtils.getArchiveIndex(searched);
+			ZipFile otherZip = SourceLookupUtils.getZipFile(other);
+			// the archive being searched is not evicted
+			assertTrue(SourceLookupUtils.isOpen(index.getArchive()));
+			assertEquals(2, statistics.getOpenArchiveCount());
+			SourceLookupUtils.ungetArchiveIndex(index);
+			assertThrows(IllegalStateException.class, () -> index.getArchive().size());
+			assertTrue(SourceLookupUtils.isOpen(otherZip));
+			assertEquals(1, statistics.getOpenArchiveCount());
+
+			// closing an archive being searched is deferred too
+			ArchiveIndex otherIndex = SourceLookupUtils.getArchiveIndex(other);
+			SourceLookupUtils.closeUnreferencedArchives();
+			assertTrue(SourceLookupUtils.isOpen(otherIndex.getArchive()));
+			SourceLookupUtils.ungetArchiveIndex(otherIndex);
+			assertThrows(IllegalStateException.class, () -> otherIndex.getArchive().size());
+			assertEquals(0, statistics.getOpenArchiveCount());
+		} finally {
+			preferences.remove(IInternalDebugCoreConstants.PREF_SOURCE_ARCHIVE_CACHE_SIZE);
+		}
+	}
+
+	@Test
+	public void testStorageReadableAfterEviction() throws Exception {
+		IEclipsePreferences preferences = InstanceScope.INSTANCE.getNode(DebugPlugin.getUniqueIdentifier());
+		preferences.putInt(IInternalDebugCoreConstants.PREF_SOURCE_ARCHIVE_CACHE_SIZE, 1);
+		File archive = createArchive(folder.newFile("src.zip"), "a/Foo.java"); //$NON-NLS-1$ //$NON-NLS-2$
+		File other = createArchive(folder.newFile("other.zip"), "b/Bar.java"); //$NON-NLS-1$ //$NON-NLS-2$
+		ExternalArchiveSourceContainer container = new ExternalArchiveSourceContainer(archive.getAbsolutePath(), false);
+		try {
+			ZipEntryStorage referenced = (ZipEntryStorage) container.findSourceElements("Foo.java")[0]; //$NON-NLS-1$
+			// no container references the other archive, as when a storage
+			// is still open in an editor after its launch terminated
+			ZipFile otherZip = SourceLookupUtils.getZipFile(other.getAbsolutePath());
+			ZipEntryStorage unreferenced = new ZipEntryStorage(otherZip, otherZip.getEntry("b/Bar.java")); //$NON-NLS-1$
+			long evictions = SourceLookupUtils.getStatistics().getEvictionCount();
+			for (int i = 0; i < 5; i++) {
+				SourceLookupUtils.getZipFile(createArchive(folder.newFile("archive" + i + ".zip"), "a/Foo.java").getAbsolutePath()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			}
+			assertEquals(evictions + 5, SourceLookupUtils.getStatistics().getEvictionCount());
+			try (InputStream contents = referenced.getContents()) {
+				assertEquals(-1, contents.read());
+			}
+			try (InputStream contents = unreferenced.getContents()) {
+				assertEquals(-1, contents.read());
+			}
+		} finally {
+			container.dispose();
+			preferences.remove(IInternalDebugCoreConstants.PREF_SOURCE_ARCHIVE_CACHE_SIZE);
+		}
+	}
+}
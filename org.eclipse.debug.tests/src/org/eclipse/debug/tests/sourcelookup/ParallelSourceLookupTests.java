@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.tests.sourcelookup;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.sourcelookup.ISourceContainer;
+import org.eclipse.debug.core.sourcelookup.ISourceLookupParticipant;
+import org.eclipse.debug.internal.core.IInternalDebugCoreConstants;
+import org.eclipse.debug.tests.AbstractDebugTest;
+import org.eclipse.debug.tests.sourcelookup.SourceLookupCacheTests.CountingSourceContainer;
+import org.eclipse.debug.tests.sourcelookup.SourceLookupCacheTests.NameParticipant;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the parallel search of source containers
+ */
+public class ParallelSourceLookupTests extends AbstractDebugTest {
+
+	/**
+	 * Container answering after a delay, or failing
+	 */
+	static class DelayedSourceContainer extends CountingSourceContainer {
+
+		private final long fDelay;
+		private final boolean fFail;
+
+		DelayedSourceContainer(long delay, Object element, boolean fail) {
+			fDelay = delay;
+			fFail = fail;
+			if (element != null) {
+				fElements.put("Foo.java", element); //$NON-NLS-1$
+			}
+		}
+
+		@Override
+		public Object[] findSourceElements(String name) throws CoreException {
+			try {
+				Thread.sleep(fDelay);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			if (fFail) {
+				throw new CoreException(new Status(IStatus.ERROR, DebugPlugin.getUniqueIdentifier(), "failed")); //$NON-NLS-1$
+			}
+			return super.findSourceElements(name);
+		}
+	}
+
+	private IEclipsePreferences getPreferences() {
+		return InstanceScope.INSTANCE.getNode(DebugPlugin.getUniqueIdentifier());
+	}
+
+	@Override
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+		getPreferences().putInt(IInternalDebugCoreConstants.PREF_SOURCE_LOOKUP_PARALLELISM, 4);
+	}
+
+	@Override
+	@After
+	public void tearDown() throws Exception {
+		getPreferences().remove(IInternalDebugCoreConstants.PREF_SOURCE_LOOKUP_PARALLELISM);
+		super.tearDown();
+	}
+
+	private TestSourceDirector createDirector(ISourceContainer... containers) {
+		TestSourceDirector director = new TestSourceDirector();
+		director.addParticipants(new ISourceLookupParticipant[] { new NameParticipant() });
+		director.setSourceContainers(containers);
+		return director;
+	}
+
+	@Test
+	public void testFirstMatchWins() throws Exception {
+		TestSourceDirector director = createDirector(new DelayedSourceContainer(10, null, true), new DelayedSourceContainer(300, "first", false), new DelayedSourceContainer(0, "second", false), new DelayedSourceContainer(0, null, false)); //$NON-NLS-1$ //$NON-NLS-2$
+		try {
+			assertArrayEquals(new Object[] { "first" }, director.findSourceElements("Foo.java")); //$NON-NLS-1$ //$NON-NLS-2$
+		} finally {
+			director.dispose();
+		}
+	}
+
+	@Test
+	public void testDuplicatesInOrder() throws Exception {
+		TestSourceDirector director = createDirector(new DelayedSourceContainer(300, "first", false), new DelayedSourceContainer(10, null, true), new DelayedSourceContainer(0, "second", false)); //$NON-NLS-1$ //$NON-NLS-2$
+		director.setFindDuplicates(true);
+		try {
+			assertArrayEquals(new Object[] { "first", "second" }, director.findSourceElements("Foo.java")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		} finally {
+			director.dispose();
+		}
+	}
+
+	@Test
+	public void testErrorsReported() throws Exception {
+		TestSourceDirector director = createDirector(new DelayedSourceContainer(0, null, true), new DelayedSourceContainer(0, null, false));
+		try {
+			director.findSourceElements("Foo.java"); //$NON-NLS-1$
+			fail("Expected the error of the first container"); //$NON-NLS-1$
+		} catch (CoreException e) {
+			assertEquals("failed", e.getStatus().getMessage()); //$NON-NLS-1$
+		} finally {
+			director.dispose();
+		}
+	}
+}
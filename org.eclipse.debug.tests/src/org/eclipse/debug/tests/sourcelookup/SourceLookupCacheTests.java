@@ -0,0 +1,305 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.tests.sourcelookup;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipFile;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.sourcelookup.AbstractSourceLookupParticipant;
+import org.eclipse.debug.core.sourcelookup.ISourceContainer;
+import org.eclipse.debug.core.sourcelookup.ISourceContainerType;
+import org.eclipse.debug.core.sourcelookup.ISourceLookupParticipant;
+import org.eclipse.debug.core.sourcelookup.containers.AbstractSourceContainer;
+import org.eclipse.debug.core.sourcelookup.containers.ExternalArchiveSourceContainer;
+import org.eclipse.debug.core.sourcelookup.containers.LocalFileStorage;
+import org.eclipse.debug.core.sourcelookup.containers.ZipEntryStorage;
+import org.eclipse.debug.internal.core.IInternalDebugCoreConstants;
+import org.eclipse.debug.internal.core.sourcelookup.SourceLookupCache;
+import org.eclipse.debug.internal.core.sourcelookup.SourceLookupUtils;
+import org.eclipse.debug.tests.AbstractDebugTest;
+import org.eclipse.debug.tests.TestsPlugin;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests the cache of source lookup results of source lookup directors
+ */
+public class SourceLookupCacheTests extends AbstractDebugTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * Container counting the searches
+	 */
+	static class CountingSourceContainer extends AbstractSourceContainer {
+
+		final Map<String, Object> fElements = new HashMap<>();
+		int fSearches;
+
+		@Override
+		public Object[] findSourceElements(String name) throws CoreException {
+			fSearches++;
+			Object element = fElements.get(name);
+			return element == null ? EMPTY : new Object[] { element };
+		}
+
+		@Override
+		public String getName() {
+			return "Counting"; //$NON-NLS-1$
+		}
+
+		@Override
+		public ISourceContainerType getType() {
+			return null;
+		}
+	}
+
+	/**
+	 * Container failing the given number of searches
+	 */
+	static class FailingSourceContainer extends CountingSourceContainer {
+
+		int fFailures;
+
+		@Override
+		public Object[] findSourceElements(String name) throws CoreException {
+			if (fFailures > 0) {
+				fFailures--;
+				throw new CoreException(new Status(IStatus.ERROR, DebugPlugin.getUniqueIdentifier(), "Failed")); //$NON-NLS-1$
+			}
+			return super.findSourceElements(name);
+		}
+	}
+
+	static class NameParticipant extends AbstractSourceLookupParticipant {
+		@Override
+		public String getSourceName(Object object) throws CoreException {
+			return object instanceof String ? (String) object : null;
+		}
+	}
+
+	private IEclipsePreferences getPreferences() {
+		return InstanceScope.INSTANCE.getNode(DebugPlugin.getUniqueIdentifier());
+	}
+
+	private TestSourceDirector createDirector(ISourceContainer... containers) {
+		TestSourceDirector director = new TestSourceDirector();
+		director.addParticipants(new ISourceLookupParticipant[] { new NameParticipant() });
+		director.setSourceContainers(containers);
+		return director;
+	}
+
+	@Override
+	@After
+	public void tearDown() throws Exception {
+		SourceLookupUtils.closeArchives();
+		super.tearDown();
+	}
+
+	@Test
+	public void testDisabledByDefault() throws Exception {
+		CountingSourceContainer container = new CountingSourceContainer();
+		TestSourceDirector director = createDirector(container);
+		try {
+			director.findSourceElements("a/Foo.java"); //$NON-NLS-1$
+			director.findSourceElements("a/Foo.java"); //$NON-NLS-1$
+			assertEquals(2, container.fSearches);
+		} finally {
+			director.dispose();
+		}
+	}
+
+	@Test
+	public void testCachedResults() throws Exception {
+		getPreferences().putInt(IInternalDebugCoreConstants.PREF_SOURCE_LOOKUP_CACHE_SIZE, 100);
+		CountingSourceContainer container = new CountingSourceContainer();
+		container.fElements.put("a/Foo.java", "Foo"); //$NON-NLS-1$ //$NON-NLS-2$
+		TestSourceDirector director = createDirector(container);
+		try {
+			assertArrayEquals(new Object[] { "Foo" }, director.findSourceElements("a/Foo.java")); //$NON-NLS-1$ //$NON-NLS-2$
+			assertArrayEquals(new Object[] { "Foo" }, director.findSourceElements("a/Foo.java")); //$NON-NLS-1$ //$NON-NLS-2$
+			assertEquals(1, container.fSearches);
+			// elements not found are cached as well
+			assertEquals(0, director.findSourceElements("a/Bar.java").length); //$NON-NLS-1$
+			assertEquals(0, director.findSourceElements("a/Bar.java").length); //$NON-NLS-1$
+			assertEquals(2, container.fSearches);
+			// changing the source containers discards the results
+			director.setSourceContainers(new ISourceContainer[] { container });
+			director.findSourceElements("a/Foo.java"); //$NON-NLS-1$
+			assertEquals(3, container.fSearches);
+		} finally {
+			director.dispose();
+			getPreferences().remove(IInternalDebugCoreConstants.PREF_SOURCE_LOOKUP_CACHE_SIZE);
+		}
+	}
+
+	@Test
+	public void testInvalidatedByResourceChanges() throws Exception {
+		getPreferences().putInt(IInternalDebugCoreConstants.PREF_SOURCE_LOOKUP_CACHE_SIZE, 100);
+		IProject project = TestsPlugin.createProject("SourceLookupCacheTests"); //$NON-NLS-1$
+		CountingSourceContainer container = new CountingSourceContainer();
+		TestSourceDirector director = createDirector(container);
+		try {
+			director.findSourceElements("a/Foo.java"); //$NON-NLS-1$
+			director.findSourceElements("a/Bar.java"); //$NON-NLS-1$
+			assertEquals(2, container.fSearches);
+			project.getFile("Foo.java").create(new ByteArrayInputStream(new byte[0]), true, null); //$NON-NLS-1$
+			director.findSourceElements("a/Foo.java"); //$NON-NLS-1$
+			director.findSourceElements("a/Bar.java"); //$NON-NLS-1$
+			assertEquals(3, container.fSearches);
+		} finally {
+			director.dispose();
+			project.delete(true, true, null);
+			getPreferences().remove(IInternalDebugCoreConstants.PREF_SOURCE_LOOKUP_CACHE_SIZE);
+		}
+	}
+
+	@Test
+	public void testNotCachedAfterError() throws Exception {
+		getPreferences().putInt(IInternalDebugCoreConstants.PREF_SOURCE_LOOKUP_CACHE_SIZE, 100);
+		FailingSourceContainer failing = new FailingSourceContainer();
+		failing.fElements.put("a/Foo.java", "Foo"); //$NON-NLS-1$ //$NON-NLS-2$
+		failing.fFailures = 1;
+		CountingSourceContainer container = new CountingSourceContainer();
+		container.fElements.put("a/Foo.java", "Bar"); //$NON-NLS-1$ //$NON-NLS-2$
+		TestSourceDirector director = createDirector(failing, container);
+		try {
+			// the result found after the first container failed is not cached
+			assertArrayEquals(new Object[] { "Bar" }, director.findSourceElements("a/Foo.java")); //$NON-NLS-1$ //$NON-NLS-2$
+			assertArrayEquals(new Object[] { "Foo" }, director.findSourceElements("a/Foo.java")); //$NON-NLS-1$ //$NON-NLS-2$
+			assertArrayEquals(new Object[] { "Foo" }, director.findSourceElements("a/Foo.java")); //$NON-NLS-1$ //$NON-NLS-2$
+			assertEquals(2, failing.fSearches);
+			assertEquals(1, container.fSearches);
+		} finally {
+			director.dispose();
+			getPreferences().remove(IInternalDebugCoreConstants.PREF_SOURCE_LOOKUP_CACHE_SIZE);
+		}
+	}
+
+	@Test
+	public void testPersistedResults() throws Exception {
+		File archive = ExternalArchiveSourceContainerTests.createArchive(folder.newFile("src.zip"), "a/Foo.java"); //$NON-NLS-1$ //$NON-NLS-2$
+		File file = folder.newFile("Bar.java"); //$NON-NLS-1$
+		ISourceContainer[] containers = new ISourceContainer[] { new ExternalArchiveSourceContainer(archive.getAbsolutePath(), false) };
+		SourceLookupCache cache = new SourceLookupCache("SourceLookupCacheTests", containers, 100, true); //$NON-NLS-1$
+		ZipFile zip = SourceLookupUtils.getZipFile(archive.getAbsolutePath());
+		assertNull(cache.get("Foo")); //$NON-NLS-1$
+		cache.put("Foo", new Object[] { new ZipEntryStorage(zip, zip.getEntry("a/Foo.java")) }); //$NON-NLS-1$ //$NON-NLS-2$
+		cache.put("Bar", new Object[] { new LocalFileStorage(file) }); //$NON-NLS-1$
+		cache.put("Baz", new Object[0]); //$NON-NLS-1$
+		cache.put("Other", new Object[] { "Other" }); //$NON-NLS-1$ //$NON-NLS-2$
+		cache.dispose();
+
+		// restored in the next session
+		cache = new SourceLookupCache("SourceLookupCacheTests", containers, 100, true); //$NON-NLS-1$
+		try {
+			Object[] elements = cache.get("Foo"); //$NON-NLS-1$
+			assertEquals(1, elements.length);
+			assertTrue(elements[0] instanceof ZipEntryStorage);
+			assertEquals("a/Foo.java", ((ZipEntryStorage) elements[0]).getZipEntry().getName()); //$NON-NLS-1$
+			assertEquals(archive.getAbsolutePath(), ((ZipEntryStorage) elements[0]).getArchive().getName());
+			elements = cache.get("Bar"); //$NON-NLS-1$
+			assertEquals(1, elements.length);
+			assertEquals(file, ((LocalFileStorage) elements[0]).getFile());
+			assertEquals(0, cache.get("Baz").length); //$NON-NLS-1$
+			// elements which cannot be restored are not persisted
+			assertNull(cache.get("Other")); //$NON-NLS-1$
+		} finally {
+			cache.dispose();
+		}
+
+		// restored elements which no longer exist are discarded
+		assertTrue(file.delete());
+		cache = new SourceLookupCache("SourceLookupCacheTests", containers, 100, true); //$NON-NLS-1$
+		try {
+			assertNull(cache.get("Bar")); //$NON-NLS-1$
+			assertEquals(1, cache.get("Foo").length); //$NON-NLS-1$
+		} finally {
+			cache.dispose();
+		}
+	}
+
+	@Test
+	public void testStaleFilesDeleted() throws Exception {
+		File archive = ExternalArchiveSourceContainerTests.createArchive(folder.newFile("src.zip"), "a/Foo.java"); //$NON-NLS-1$ //$NON-NLS-2$
+		ISourceContainer[] containers = new ISourceContainer[] { new ExternalArchiveSourceContainer(archive.getAbsolutePath(), false) };
+		File directory = DebugPlugin.getDefault().getStateLocation().append(".sourceLookupCache").toFile(); //$NON-NLS-1$
+		assertTrue(directory.isDirectory() || directory.mkdirs());
+		File unused = new File(directory, "unused.properties"); //$NON-NLS-1$
+		assertTrue(unused.createNewFile());
+		assertTrue(unused.setLastModified(System.currentTimeMillis() - 31L * 24 * 60 * 60 * 1000));
+		File[] before = directory.listFiles();
+
+		SourceLookupCache cache = new SourceLookupCache("SourceLookupCacheTests", containers, 100, true); //$NON-NLS-1$
+		assertNull(cache.get("Foo")); //$NON-NLS-1$
+		cache.put("Foo", new Object[0]); //$NON-NLS-1$
+		cache.dispose();
+		// results not used for long are deleted
+		assertFalse(unused.exists());
+		assertEquals(before.length, directory.listFiles().length);
+
+		// no file is kept without results
+		cache = new SourceLookupCache("SourceLookupCacheTests", containers, 100, true); //$NON-NLS-1$
+		assertEquals(0, cache.get("Foo").length); //$NON-NLS-1$
+		cache.clear();
+		cache.dispose();
+		assertEquals(before.length - 1, directory.listFiles().length);
+	}
+
+	@Test
+	public void testInvalidatedByArchiveChanges() throws Exception {
+		File archive = ExternalArchiveSourceContainerTests.createArchive(folder.newFile("src.zip"), "a/Foo.java"); //$NON-NLS-1$ //$NON-NLS-2$
+		ISourceContainer[] containers = new ISourceContainer[] { new ExternalArchiveSourceContainer(archive.getAbsolutePath(), false) };
+		SourceLookupCache cache = new SourceLookupCache("SourceLookupCacheTests", containers, 100, true); //$NON-NLS-1$
+		try {
+			cache.put("Baz", new Object[0]); //$NON-NLS-1$
+			assertEquals(0, cache.get("Baz").length); //$NON-NLS-1$
+			assertTrue(archive.setLastModified(archive.lastModified() - 10000));
+			// archives are checked at most once per second
+			Thread.sleep(1100);
+			assertNull(cache.get("Baz")); //$NON-NLS-1$
+			cache.put("Baz", new Object[0]); //$NON-NLS-1$
+		} finally {
+			cache.dispose();
+		}
+
+		// results persisted for another version of the archive are discarded
+		assertTrue(archive.setLastModified(archive.lastModified() - 10000));
+		cache = new SourceLookupCache("SourceLookupCacheTests", containers, 100, true); //$NON-NLS-1$
+		try {
+			assertNull(cache.get("Baz")); //$NON-NLS-1$
+		} finally {
+			cache.dispose();
+		}
+	}
+}
@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.tests.variables;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.variables.IDynamicVariable;
+import org.eclipse.core.variables.IDynamicVariableResolver;
+
+/**
+ * Resolves a dynamic variable to its argument and counts the resolutions per
+ * variable.
+ */
+public class CountingVariableResolver implements IDynamicVariableResolver {
+
+	private static final Map<String, AtomicInteger> fgResolutions = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns how often the given variable has been resolved.
+	 */
+	static int getResolutions(String variable) {
+		AtomicInteger count = fgResolutions.get(variable);
+		return count == null ? 0 : count.get();
+	}
+
+	@Override
+	public String resolveValue(IDynamicVariable variable, String argument) throws CoreException {
+		fgResolutions.computeIfAbsent(variable.getName(), name -> new AtomicInteger()).incrementAndGet();
+		return "value of " + argument; //$NON-NLS-1$
+	}
+}
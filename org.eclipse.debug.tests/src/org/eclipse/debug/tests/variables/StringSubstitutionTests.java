@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.debug.tests.variables;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.variables.IStringVariableManager;
+import org.eclipse.core.variables.IValueVariable;
+import org.eclipse.core.variables.VariablesPlugin;
+import org.eclipse.debug.tests.AbstractDebugTest;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests the substitution of variables in expressions
+ */
+public class StringSubstitutionTests extends AbstractDebugTest {
+
+	private final List<IValueVariable> fVariables = new ArrayList<>();
+
+	private IStringVariableManager getManager() {
+		return VariablesPlugin.getDefault().getStringVariableManager();
+	}
+
+	private IValueVariable addVariable(String name, String value) throws CoreException {
+		IValueVariable variable = getManager().newValueVariable(name, null);
+		variable.setValue(value);
+		getManager().addVariables(new IValueVariable[] { variable });
+		fVariables.add(variable);
+		return variable;
+	}
+
+	@Override
+	@After
+	public void tearDown() throws Exception {
+		getManager().removeVariables(fVariables.toArray(new IValueVariable[fVariables.size()]));
+		fVariables.clear();
+		super.tearDown();
+	}
+
+	@Test
+	public void testNestedReferences() throws Exception {
+		addVariable("debug_tests_a", "x"); //$NON-NLS-1$ //$NON-NLS-2$
+		addVariable("debug_tests_b_x", "nested"); //$NON-NLS-1$ //$NON-NLS-2$
+		addVariable("debug_tests_c", "${debug_tests_b_${debug_tests_a}}"); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("pre nested post", getManager().performStringSubstitution("pre ${debug_tests_b_${debug_tests_a}} post")); //$NON-NLS-1$ //$NON-NLS-2$
+		// values are substituted recursively
+		assertEquals("[nested]", getManager().performStringSubstitution("[${debug_tests_c}]")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void testIncompleteReferences() throws Exception {
+		addVariable("debug_tests_a", "x"); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("${debug_tests_a", getManager().performStringSubstitution("${debug_tests_a")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("x ${debug_tests_a", getManager().performStringSubstitution("${debug_tests_a} ${debug_tests_a")); //$NON-NLS-1$ //$NON-NLS-2$
+		// complete references nested in incomplete ones are substituted
+		assertEquals("${debug_tests_a x", getManager().performStringSubstitution("${debug_tests_a ${debug_tests_a}")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("x}", getManager().performStringSubstitution("${debug_tests_a}}")); //$NON-NLS-1$ //$NON-NLS-2$
+		// undefined variables are left as is unless reported
+		assertEquals("${debug_tests_undefined} x", getManager().performStringSubstitution("${debug_tests_undefined} ${debug_tests_a}", false)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertThrows(CoreException.class, () -> getManager().performStringSubstitution("${debug_tests_undefined}")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testReferenceCycle() throws Exception {
+		addVariable("debug_tests_a", "${debug_tests_b}"); //$NON-NLS-1$ //$NON-NLS-2$
+		addVariable("debug_tests_b", "${debug_tests_a}"); //$NON-NLS-1$ //$NON-NLS-2$
+		addVariable("debug_tests_self", "-${debug_tests_self}"); //$NON-NLS-1$ //$NON-NLS-2$
+		CoreException e = assertThrows(CoreException.class, () -> getManager().performStringSubstitution("${debug_tests_a}")); //$NON-NLS-1$
+		assertEquals(VariablesPlugin.REFERENCE_CYCLE_ERROR, e.getStatus().getCode());
+		e = assertThrows(CoreException.class, () -> getManager().performStringSubstitution("${debug_tests_self}")); //$NON-NLS-1$
+		assertEquals(VariablesPlugin.REFERENCE_CYCLE_ERROR, e.getStatus().getCode());
+	}
+
+	@Test
+	public void testLiteralDollar() throws Exception {
+		addVariable("debug_tests_a", "x"); //$NON-NLS-1$ //$NON-NLS-2$
+		// only "${" starts a reference, there is no escape syntax
+		assertEquals("$", getManager().performStringSubstitution("$")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("$$ $a {b}", getManager().performStringSubstitution("$$ $a {b}")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("$ {debug_tests_a}", getManager().performStringSubstitution("$ {debug_tests_a}")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("$x$", getManager().performStringSubstitution("$${debug_tests_a}$")); //$NON-NLS-1$ //$NON-NLS-2$
+		addVariable("debug_tests_dollar", "$"); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("${debug_tests_undefined}", getManager().performStringSubstitution("${debug_tests_dollar}{debug_tests_undefined}", false)); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void testChangedValue() throws Exception {
+		IValueVariable variable = addVariable("debug_tests_a", "x"); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("[x]", getManager().performStringSubstitution("[${debug_tests_a}]")); //$NON-NLS-1$ //$NON-NLS-2$
+		// the parsed expression is reused, its values are not
+		variable.setValue("y"); //$NON-NLS-1$
+		assertEquals("[y]", getManager().performStringSubstitution("[${debug_tests_a}]")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void testLongExpression() throws Exception {
+		addVariable("debug_tests_a", "x"); //$NON-NLS-1$ //$NON-NLS-2$
+		// too long to be cached, parsed on every use
+		String padding = "-".repeat(5000); //$NON-NLS-1$
+		String expression = "${debug_tests_a}" + padding + "${debug_tests_a"; //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("x" + padding + "${debug_tests_a", getManager().performStringSubstitution(expression)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("x" + padding + "${debug_tests_a", getManager().performStringSubstitution(expression)); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void testCacheableVariable() throws Exception {
+		String argument = "arg" + System.nanoTime(); //$NON-NLS-1$
+		int resolutions = CountingVariableResolver.getResolutions("debug_tests_cacheable"); //$NON-NLS-1$
+		assertEquals("value of " + argument, getManager().performStringSubstitution("${debug_tests_cacheable:" + argument + "}")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals("value of " + argument, getManager().performStringSubstitution("${debug_tests_cacheable:" + argument + "}")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals(resolutions + 1, CountingVariableResolver.getResolutions("debug_tests_cacheable")); //$NON-NLS-1$
+		// cached per argument
+		assertEquals("value of other" + argument, getManager().performStringSubstitution("${debug_tests_cacheable:other" + argument + "}")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals(resolutions + 2, CountingVariableResolver.getResolutions("debug_tests_cacheable")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void testUncachedVariable() throws Exception {
+		int resolutions = CountingVariableResolver.getResolutions("debug_tests_uncached"); //$NON-NLS-1$
+		assertEquals("value of a", getManager().performStringSubstitution("${debug_tests_uncached:a}")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("value of a", getManager().performStringSubstitution("${debug_tests_uncached:a}")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(resolutions + 2, CountingVariableResolver.getResolutions("debug_tests_uncached")); //$NON-NLS-1$
+	}
+}
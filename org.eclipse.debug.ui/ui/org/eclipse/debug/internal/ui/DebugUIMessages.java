@@ -262,6 +262,9 @@ public class DebugUIMessages extends NLS {
 	public static String GroupLaunchConfigurationSelectionDialog_9;
 	public static String GroupLaunchConfigurationSelectionDialog_adoptText;
 	public static String GroupLaunchConfigurationSelectionDialog_adoptTooltip;
+	public static String GroupLaunchConfigurationSelectionDialog_dependencies;
+	public static String GroupLaunchConfigurationSelectionDialog_previousText;
+	public static String GroupLaunchConfigurationSelectionDialog_previousTooltip;
 	public static String GroupLaunchConfigurationSelectionDialog_errorNoRegexp;
 	public static String GroupLaunchConfigurationSelectionDialog_regexp;
 	public static String GroupLaunchConfigurationTabGroup_0;
@@ -18,6 +18,7 @@
 package org.eclipse.debug.internal.ui.groups;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -60,6 +61,8 @@ import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableItem;
 import org.eclipse.swt.widgets.Text;
 import org.eclipse.ui.dialogs.PatternFilter;
 
@@ -74,6 +77,8 @@ class GroupLaunchConfigurationSelectionDialog extends TitleAreaDialog implements
 	private GroupElementPostLaunchAction action = GroupElementPostLaunchAction.NONE;
 	private Object actionParam;
 	private boolean adoptIfRunning;
+	private List<String> dependencies; // null to start after the previous entry
+	private List<String> dependencyCandidates = Collections.emptyList();
 	private ViewerFilter emptyTypeFilter;
 	private IStructuredSelection fInitialSelection;
 	private Label fActionParamLabel;
@@ -191,9 +196,65 @@ class GroupLaunchConfigurationSelectionDialog extends TitleAreaDialog implements
 		});
 		GridDataFactory.fillDefaults().grab(true, false).span(3, 1).applyTo(chkAdopt);
 
+		if (fForEditing && !dependencyCandidates.isEmpty()) {
+			createDependenciesControl(additionalSettings);
+		}
+
 		return comp;
 	}
 
+	private void createDependenciesControl(Composite comp) {
+		// skip the first cell and put the checkbox in the second one
+		Composite c = new Composite(comp, SWT.NONE);
+		GridLayoutFactory.fillDefaults().applyTo(c);
+		GridDataFactory.fillDefaults().applyTo(c);
+
+		Button chkPrevious = new Button(comp, SWT.CHECK);
+		chkPrevious.setText(DebugUIMessages.GroupLaunchConfigurationSelectionDialog_previousText);
+		chkPrevious.setToolTipText(DebugUIMessages.GroupLaunchConfigurationSelectionDialog_previousTooltip);
+		chkPrevious.setSelection(dependencies == null);
+		GridDataFactory.fillDefaults().grab(true, false).span(3, 1).applyTo(chkPrevious);
+
+		Label label = new Label(comp, SWT.NONE);
+		label.setText(DebugUIMessages.GroupLaunchConfigurationSelectionDialog_dependencies);
+		GridDataFactory.fillDefaults().align(SWT.BEGINNING, SWT.BEGINNING).applyTo(label);
+
+		Table table = new Table(comp, SWT.CHECK | SWT.BORDER | SWT.V_SCROLL);
+		for (String name : dependencyCandidates) {
+			TableItem item = new TableItem(table, SWT.NONE);
+			item.setText(name);
+			item.setChecked(dependencies != null && dependencies.contains(name));
+		}
+		table.setEnabled(dependencies != null);
+		GridDataFactory.fillDefaults().grab(true, false).span(3, 1).hint(SWT.DEFAULT, convertHeightInCharsToPixels(5)).applyTo(table);
+
+		chkPrevious.addSelectionListener(new SelectionAdapter() {
+			@Override
+			public void widgetSelected(SelectionEvent e) {
+				table.setEnabled(!chkPrevious.getSelection());
+				dependencies = chkPrevious.getSelection() ? null : getCheckedNames(table);
+			}
+		});
+		table.addSelectionListener(new SelectionAdapter() {
+			@Override
+			public void widgetSelected(SelectionEvent e) {
+				if (e.detail == SWT.CHECK) {
+					dependencies = getCheckedNames(table);
+				}
+			}
+		});
+	}
+
+	private static List<String> getCheckedNames(Table table) {
+		List<String> names = new ArrayList<>();
+		for (TableItem item : table.getItems()) {
+			if (item.getChecked()) {
+				names.add(item.getText());
+			}
+		}
+		return names;
+	}
+
 	private void createModeSelectionControl(Map<String, ILaunchGroup> modes, Composite comp) {
 		Label label = new Label(comp, SWT.NONE);
 		label.setText(DebugUIMessages.GroupLaunchConfigurationSelectionDialog_4);
@@ -320,6 +381,24 @@ class GroupLaunchConfigurationSelectionDialog extends TitleAreaDialog implements
 		return actionParam;
 	}
 
+	/**
+	 * @return the names of the entries to start after, or <code>null</code>
+	 *         to start after the previous entry
+	 */
+	public List<String> getDependencies() {
+		return dependencies;
+	}
+
+	/**
+	 * Sets the names of the entries the edited entry can be started after.
+	 * Without candidates the dependencies can not be edited.
+	 *
+	 * @param names the names of the other entries of the group
+	 */
+	public void setDependencyCandidates(List<String> names) {
+		dependencyCandidates = names;
+	}
+
 	public static GroupLaunchConfigurationSelectionDialog createDialog(Shell shell, String initMode, boolean forEditing, ILaunchConfiguration self) {
 		return new GroupLaunchConfigurationSelectionDialog(shell, initMode, forEditing, self);
 	}
@@ -427,6 +506,7 @@ class GroupLaunchConfigurationSelectionDialog extends TitleAreaDialog implements
 		action = el.action;
 		actionParam = el.actionParam;
 		adoptIfRunning = el.adoptIfRunning;
+		dependencies = el.dependencies;
 		fInitialSelection = new StructuredSelection(el.data);
 		fSelection = fInitialSelection;
 	}
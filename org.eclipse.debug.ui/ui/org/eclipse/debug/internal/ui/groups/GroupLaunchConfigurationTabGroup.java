@@ -22,6 +22,7 @@ import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -347,6 +348,17 @@ public class GroupLaunchConfigurationTabGroup extends AbstractLaunchConfiguratio
 					if (isValidLaunchReference(el.data)) {
 						dialog.setInitialSelection(el);
 					}
+					Set<String> candidates = new LinkedHashSet<>();
+					for (GroupLaunchElement other : input) {
+						if (other != el) {
+							candidates.add(other.name);
+						}
+					}
+					if (el.dependencies != null) {
+						// keep dependencies on entries removed from the group
+						candidates.addAll(el.dependencies);
+					}
+					dialog.setDependencyCandidates(new ArrayList<>(candidates));
 					if (dialog.open() == Window.OK) {
 						ILaunchConfiguration[] confs = dialog.getSelectedLaunchConfigurations();
 						if (confs.length < 0) {
@@ -367,6 +379,7 @@ public class GroupLaunchConfigurationTabGroup extends AbstractLaunchConfiguratio
 					el.action = dialog.getAction();
 					el.adoptIfRunning = dialog.getAdoptIfRunning();
 					el.actionParam = dialog.getActionParam();
+					el.dependencies = dialog.getDependencies();
 				}
 
 				@Override
@@ -253,6 +253,28 @@ public class IOConsole extends TextConsole {
 		partitioner.setWaterMarks(low, high);
 	}
 
+	/**
+	 * Returns how this console handles output written faster than it can be
+	 * displayed.
+	 *
+	 * @return the overflow policy of this console
+	 * @since 3.13
+	 */
+	public IOConsoleOverflowPolicy getOverflowPolicy() {
+		return partitioner.getOverflowPolicy();
+	}
+
+	/**
+	 * Sets how this console handles output written faster than it can be
+	 * displayed. The default is {@link IOConsoleOverflowPolicy#BLOCK}.
+	 *
+	 * @param policy the overflow policy, not <code>null</code>
+	 * @since 3.13
+	 */
+	public void setOverflowPolicy(IOConsoleOverflowPolicy policy) {
+		partitioner.setOverflowPolicy(policy);
+	}
+
 	/**
 	 * Check if all streams connected to this console are closed. If so,
 	 * notify the partitioner that this console is finished.
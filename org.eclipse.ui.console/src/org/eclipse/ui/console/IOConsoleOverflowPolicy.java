@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.console;
+
+/**
+ * Defines how an {@link IOConsole} handles output written faster than the
+ * console can display it. Output not yet displayed is buffered up to a fixed
+ * limit, the policy applies once this limit is reached.
+ * <p>
+ * Regardless of the policy consecutive output of the same stream is combined
+ * in the buffer and displayed as one update.
+ * </p>
+ *
+ * @see IOConsole#setOverflowPolicy(IOConsoleOverflowPolicy)
+ * @since 3.13
+ */
+public enum IOConsoleOverflowPolicy {
+
+	/**
+	 * Writing to an output stream of the console blocks until the console has
+	 * displayed enough buffered output. This is the default.
+	 */
+	BLOCK,
+
+	/**
+	 * Output written while the buffer is full is discarded. A line with the
+	 * number of discarded characters is shown in its place.
+	 */
+	DROP,
+
+	/**
+	 * Output written while the buffer is full is buffered in a temporary file
+	 * and displayed once the console catches up, so writing never blocks and
+	 * no output is lost.
+	 */
+	SPILL,
+}
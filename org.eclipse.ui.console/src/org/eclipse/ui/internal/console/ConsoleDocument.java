@@ -24,6 +24,13 @@ import org.eclipse.jface.text.Position;
  */
 public class ConsoleDocument extends Document {
 
+	/**
+	 * Creates an empty console document backed by a {@link ConsoleTextStore}.
+	 */
+	public ConsoleDocument() {
+		setTextStore(new ConsoleTextStore());
+	}
+
 	@Override
 	public synchronized String get(int pos, int length) throws BadLocationException {
 		return super.get(pos, length);
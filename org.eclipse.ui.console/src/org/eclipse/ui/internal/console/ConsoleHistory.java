@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.console;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Console output waiting to be appended to a console document, kept in a
+ * temporary file.
+ * <p>
+ * The text is stored with two bytes per character so a character offset maps
+ * directly to a file position and any range of the history can be read
+ * without reading the text in front of it. The file is created with the first
+ * spilled text and deleted when the history is disposed.
+ * </p>
+ */
+public class ConsoleHistory {
+
+	/** Number of characters written or read at once. */
+	private static final int BLOCK_SIZE = 64 * 1024;
+
+	private FileChannel fChannel;
+
+	/** Number of characters in the history. */
+	private long fLength;
+
+	private boolean fDisposed;
+
+	/**
+	 * Appends text to the history.
+	 *
+	 * @param text the text to append
+	 * @throws IOException if the text could not be written
+	 */
+	public synchronized void append(String text) throws IOException {
+		if (fDisposed) {
+			throw new IOException("Console history is disposed"); //$NON-NLS-1$
+		}
+		if (text.isEmpty()) {
+			return;
+		}
+		if (fChannel == null) {
+			Path file = Files.createTempFile("console", ".history"); //$NON-NLS-1$ //$NON-NLS-2$
+			fChannel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(Math.min(text.length(), BLOCK_SIZE) * 2);
+		for (int start = 0; start < text.length(); start += BLOCK_SIZE) {
+			int end = Math.min(start + BLOCK_SIZE, text.length());
+			buffer.clear();
+			// a char view stores the characters as they are, even unpaired surrogates
+			buffer.asCharBuffer().put(text, start, end);
+			buffer.limit((end - start) * 2);
+			long position = (fLength + start) * 2;
+			while (buffer.hasRemaining()) {
+				position += fChannel.write(buffer, position);
+			}
+		}
+		fLength += text.length();
+	}
+
+	/**
+	 * Returns text of the history.
+	 *
+	 * @param offset the offset of the text
+	 * @param length the number of characters to return
+	 * @return the text of the given range
+	 * @throws IOException if the text could not be read
+	 * @throws IndexOutOfBoundsException if the range is not inside the history
+	 */
+	public synchronized String get(long offset, int length) throws IOException {
+		if (fDisposed) {
+			throw new IOException("Console history is disposed"); //$NON-NLS-1$
+		}
+		if (offset < 0 || length < 0 || offset + length > fLength) {
+			throw new IndexOutOfBoundsException("Range " + offset + '+' + length + " outside history of length " + fLength); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		if (length == 0) {
+			return ""; //$NON-NLS-1$
+		}
+		StringBuilder text = new StringBuilder(length);
+		ByteBuffer buffer = ByteBuffer.allocate(Math.min(length, BLOCK_SIZE) * 2);
+		long position = offset * 2;
+		long end = (offset + length) * 2;
+		while (position < end) {
+			buffer.clear();
+			buffer.limit((int) Math.min(buffer.capacity(), end - position));
+			while (buffer.hasRemaining()) {
+				int read = fChannel.read(buffer, position + buffer.position());
+				if (read < 0) {
+					throw new IOException("Unexpected end of console history"); //$NON-NLS-1$
+				}
+			}
+			buffer.flip();
+			text.append(buffer.asCharBuffer());
+			position += buffer.limit();
+		}
+		return text.toString();
+	}
+
+	/**
+	 * Returns the number of characters in the history.
+	 *
+	 * @return the history length
+	 */
+	public synchronized long getLength() {
+		return fLength;
+	}
+
+	/**
+	 * Removes all text from the history.
+	 *
+	 * @throws IOException if the history file could not be truncated
+	 */
+	public synchronized void clear() throws IOException {
+		fLength = 0;
+		if (fChannel != null) {
+			fChannel.truncate(0);
+		}
+	}
+
+	/**
+	 * Removes all text and deletes the history file. The history can not be
+	 * used afterwards.
+	 *
+	 * @throws IOException if the history file could not be closed
+	 */
+	public synchronized void dispose() throws IOException {
+		fDisposed = true;
+		fLength = 0;
+		if (fChannel != null) {
+			FileChannel channel = fChannel;
+			fChannel = null;
+			channel.close();
+		}
+	}
+}
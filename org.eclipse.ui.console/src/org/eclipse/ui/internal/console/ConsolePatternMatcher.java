@@ -15,6 +15,7 @@
 package org.eclipse.ui.internal.console;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -34,6 +35,12 @@ import org.eclipse.ui.console.TextConsole;
 
 public class ConsolePatternMatcher implements IDocumentListener {
 
+	/**
+	 * Maximum number of characters searched by one run of the match job, the
+	 * job reschedules itself to search the rest.
+	 */
+	private static final int MAX_SEARCH_LENGTH = 512 * 1024;
+
 	private MatchJob fMatchJob;
 
 	/**
@@ -47,6 +54,8 @@ public class ConsolePatternMatcher implements IDocumentListener {
 
 	private boolean fScheduleFinal;
 
+	private volatile int fMaxUnmatchedLength;
+
 	public ConsolePatternMatcher(TextConsole console) {
 		fConsole = console;
 		fMatchJob = new MatchJob();
@@ -62,27 +71,41 @@ public class ConsolePatternMatcher implements IDocumentListener {
 		@Override
 		protected IStatus run(IProgressMonitor monitor) {
 			IDocument doc = fConsole.getDocument();
-			String text = null;
-			int prevBaseOffset = -1;
+			boolean searchedAll = true;
 			if (doc != null && !monitor.isCanceled()) {
+				Object[] patterns = null;
+				synchronized (fPatterns) {
+					patterns = fPatterns.toArray();
+				}
+				// the text not searched yet by all patterns is fetched once
 				int endOfSearch = doc.getLength();
-				int indexOfLastChar = endOfSearch;
-				if (indexOfLastChar > 0) {
-					indexOfLastChar--;
+				int startOfSearch = endOfSearch;
+				for (Object pattern : patterns) {
+					startOfSearch = Math.min(startOfSearch, ((CompiledPatternMatchListener) pattern).end);
 				}
-				int lastLineToSearch = 0;
-				int offsetOfLastLineToSearch = 0;
+				fMaxUnmatchedLength = Math.max(fMaxUnmatchedLength, endOfSearch - startOfSearch);
+				String text;
+				int offsetOfLastLineToSearch;
 				try {
-					lastLineToSearch = doc.getLineOfOffset(indexOfLastChar);
-					offsetOfLastLineToSearch = doc.getLineOffset(lastLineToSearch);
+					if (endOfSearch - startOfSearch > MAX_SEARCH_LENGTH) {
+						// search up to the end of a line, the rest in the next run
+						int line = doc.getLineOfOffset(startOfSearch + MAX_SEARCH_LENGTH);
+						if (line + 1 < doc.getNumberOfLines()) {
+							endOfSearch = doc.getLineOffset(line + 1);
+							searchedAll = false;
+						}
+					}
+					text = doc.get(startOfSearch, endOfSearch - startOfSearch);
+					offsetOfLastLineToSearch = doc.getLineOffset(doc.getLineOfOffset(Math.max(endOfSearch - 1, 0)));
 				} catch (BadLocationException e) {
 					// perhaps the buffer was re-set
 					return Status.OK_STATUS;
 				}
-				Object[] patterns = null;
-				synchronized (fPatterns) {
-					patterns = fPatterns.toArray();
-				}
+				// lines are counted from the start of the search
+				LineIndex lines = new LineIndex(text);
+				int lastLineToSearch = lines.getLineOfOffset(Math.max(text.length() - 1, 0));
+				int prevBaseOffset = -1;
+				String searchText = null;
 				for (Object pattern : patterns) {
 					if (monitor.isCanceled()) {
 						break;
@@ -90,77 +113,83 @@ public class ConsolePatternMatcher implements IDocumentListener {
 					CompiledPatternMatchListener notifier = (CompiledPatternMatchListener) pattern;
 					int baseOffset = notifier.end;
 					int lengthToSearch = endOfSearch - baseOffset;
-					if (lengthToSearch > 0) {
-						try {
-							if (prevBaseOffset != baseOffset) {
-								// reuse the text string if possible
-								text = doc.get(baseOffset, lengthToSearch);
-							}
-							if(text == null) {
-								continue;
-							}
-							Matcher reg = notifier.pattern.matcher(text);
-							Matcher quick = null;
+					if (lengthToSearch > 0 && baseOffset >= startOfSearch) {
+						// offset of the searched text in the fetched text
+						int base = baseOffset - startOfSearch;
+						if (prevBaseOffset != baseOffset) {
+							// reuse the text string if possible
+							searchText = text.substring(base);
+						}
+						Matcher reg = notifier.pattern.matcher(searchText);
+						Matcher quick = null;
+						if (notifier.qualifier != null && notifier.literalQualifier == null) {
+							quick = notifier.qualifier.matcher(searchText);
+						}
+						int startOfNextSearch = 0;
+						int endOfLastMatch = -1;
+						int lineOfLastMatch = -1;
+						while ((startOfNextSearch < lengthToSearch) && !monitor.isCanceled()) {
 							if (notifier.qualifier != null) {
-								quick = notifier.qualifier.matcher(text);
-							}
-							int startOfNextSearch = 0;
-							int endOfLastMatch = -1;
-							int lineOfLastMatch = -1;
-							while ((startOfNextSearch < lengthToSearch) && !monitor.isCanceled()) {
+								int qualifierStart;
 								if (quick != null) {
-									if (quick.find(startOfNextSearch)) {
-										// start searching on the beginning
-										// of the line where the potential
-										// match was found, or after the
-										// last match on the same line
-										int matchLine = doc.getLineOfOffset(baseOffset + quick.start());
-										if (lineOfLastMatch == matchLine) {
-											startOfNextSearch = endOfLastMatch;
-										} else {
-											startOfNextSearch = doc.getLineOffset(matchLine) - baseOffset;
-										}
-									} else {
-										startOfNextSearch = lengthToSearch;
-									}
-								}
-								if (startOfNextSearch < 0) {
-									startOfNextSearch = 0;
+									qualifierStart = quick.find(startOfNextSearch) ? quick.start() : -1;
+								} else {
+									qualifierStart = searchText.indexOf(notifier.literalQualifier, startOfNextSearch);
 								}
-								if (startOfNextSearch < lengthToSearch) {
-									if (reg.find(startOfNextSearch)) {
-										endOfLastMatch = reg.end();
-										lineOfLastMatch = doc.getLineOfOffset(baseOffset + endOfLastMatch - 1);
-										int regStart = reg.start();
-										IPatternMatchListener listener = notifier.listener;
-										if (listener != null && !monitor.isCanceled()) {
-											listener.matchFound(new PatternMatchEvent(fConsole, baseOffset + regStart, endOfLastMatch - regStart));
-										}
+								if (qualifierStart >= 0) {
+									// start searching on the beginning
+									// of the line where the potential
+									// match was found, or after the
+									// last match on the same line
+									int matchLine = lines.getLineOfOffset(base + qualifierStart);
+									if (lineOfLastMatch == matchLine) {
 										startOfNextSearch = endOfLastMatch;
 									} else {
-										startOfNextSearch = lengthToSearch;
+										startOfNextSearch = lines.getLineOffset(matchLine) - base;
 									}
+								} else {
+									startOfNextSearch = lengthToSearch;
 								}
 							}
-							// update start of next search to the last line
-							// searched
-							// or the end of the last match if it was on the
-							// line that
-							// was last searched
-							if (lastLineToSearch == lineOfLastMatch) {
-								notifier.end = baseOffset + endOfLastMatch;
-							} else {
-								notifier.end = offsetOfLastLineToSearch;
+							if (startOfNextSearch < 0) {
+								startOfNextSearch = 0;
 							}
-						} catch (BadLocationException e) {
-							ConsolePlugin.log(e);
+							if (startOfNextSearch < lengthToSearch) {
+								if (reg.find(startOfNextSearch)) {
+									endOfLastMatch = reg.end();
+									lineOfLastMatch = lines.getLineOfOffset(base + endOfLastMatch - 1);
+									int regStart = reg.start();
+									IPatternMatchListener listener = notifier.listener;
+									if (listener != null && !monitor.isCanceled()) {
+										listener.matchFound(new PatternMatchEvent(fConsole, baseOffset + regStart, endOfLastMatch - regStart));
+									}
+									startOfNextSearch = endOfLastMatch;
+								} else {
+									startOfNextSearch = lengthToSearch;
+								}
+							}
+						}
+						// update start of next search to the last line
+						// searched
+						// or the end of the last match if it was on the
+						// line that
+						// was last searched. Lines searched in a bounded
+						// run are complete.
+						if (!searchedAll) {
+							notifier.end = endOfSearch;
+						} else if (lastLineToSearch == lineOfLastMatch) {
+							notifier.end = baseOffset + endOfLastMatch;
+						} else {
+							notifier.end = offsetOfLastLineToSearch;
 						}
 					}
 					prevBaseOffset = baseOffset;
 				}
 			}
 
-			if (fFinalMatch) {
+			if (!searchedAll && !monitor.isCanceled()) {
+				schedule();
+			} else if (fFinalMatch) {
 				disconnect();
 				fConsole.matcherFinished();
 			} else if (fScheduleFinal) {
@@ -179,11 +208,63 @@ public class ConsolePatternMatcher implements IDocumentListener {
 
 	}
 
+	/**
+	 * Line offsets of the text searched by a run of the match job, so matches
+	 * are mapped to lines without querying the document. Lines are separated
+	 * by the default line delimiters of a document.
+	 */
+	private static class LineIndex {
+
+		private int[] fOffsets = new int[16];
+
+		private int fLines = 1;
+
+		LineIndex(String text) {
+			int length = text.length();
+			for (int i = 0; i < length; i++) {
+				char ch = text.charAt(i);
+				if (ch == '\r' && i + 1 < length && text.charAt(i + 1) == '\n') {
+					i++;
+				} else if (ch != '\r' && ch != '\n') {
+					continue;
+				}
+				if (fLines == fOffsets.length) {
+					fOffsets = Arrays.copyOf(fOffsets, fLines * 2);
+				}
+				fOffsets[fLines++] = i + 1;
+			}
+		}
+
+		int getLineOfOffset(int offset) {
+			int low = 0;
+			int high = fLines - 1;
+			while (low < high) {
+				int mid = (low + high + 1) >>> 1;
+				if (fOffsets[mid] <= offset) {
+					low = mid;
+				} else {
+					high = mid - 1;
+				}
+			}
+			return low;
+		}
+
+		int getLineOffset(int line) {
+			return fOffsets[line];
+		}
+	}
+
 	private static class CompiledPatternMatchListener {
 		Pattern pattern;
 
 		Pattern qualifier;
 
+		/**
+		 * Text matched by the qualifier if it is a literal, searched without
+		 * the regular expression engine
+		 */
+		String literalQualifier;
+
 		IPatternMatchListener listener;
 
 		int end = 0;
@@ -198,6 +279,7 @@ public class ConsolePatternMatcher implements IDocumentListener {
 			listener.disconnect();
 			pattern = null;
 			qualifier = null;
+			literalQualifier = null;
 			listener = null;
 		}
 	}
@@ -228,12 +310,80 @@ public class ConsolePatternMatcher implements IDocumentListener {
 				qPattern = Pattern.compile(qualifier, matchListener.getCompilerFlags());
 			}
 			CompiledPatternMatchListener notifier = new CompiledPatternMatchListener(pattern, qPattern, matchListener);
+			if (qualifier != null) {
+				notifier.literalQualifier = getLiteral(qualifier, matchListener.getCompilerFlags());
+			}
 			fPatterns.add(notifier);
 			matchListener.connect(fConsole);
 			fMatchJob.schedule();
 		}
 	}
 
+	/**
+	 * Returns the text matched by the given regular expression if it only
+	 * matches literal text.
+	 *
+	 * @param regex the regular expression
+	 * @param flags the compiler flags of the expression
+	 * @return the matched text, or <code>null</code> if the expression is not a
+	 *         literal
+	 */
+	static String getLiteral(String regex, int flags) {
+		if (regex.isEmpty() || (flags & (Pattern.CASE_INSENSITIVE | Pattern.COMMENTS | Pattern.CANON_EQ)) != 0) {
+			return null;
+		}
+		if ((flags & Pattern.LITERAL) != 0) {
+			return regex;
+		}
+		StringBuilder literal = new StringBuilder(regex.length());
+		for (int i = 0; i < regex.length(); i++) {
+			char ch = regex.charAt(i);
+			if (ch == '\\') {
+				// escaped letters and digits are classes, references or quotes
+				if (++i == regex.length() || Character.isLetterOrDigit(regex.charAt(i))) {
+					return null;
+				}
+				ch = regex.charAt(i);
+			} else if ("[](){}.*+?^$|".indexOf(ch) >= 0) { //$NON-NLS-1$
+				return null;
+			}
+			literal.append(ch);
+		}
+		return literal.toString();
+	}
+
+	/**
+	 * Returns the number of characters of the document not searched yet by
+	 * all pattern match listeners, that is how far matching lags behind the
+	 * console output.
+	 *
+	 * @return number of characters not searched yet
+	 */
+	public int getUnmatchedLength() {
+		IDocument doc = fConsole.getDocument();
+		if (doc == null) {
+			return 0;
+		}
+		int length = doc.getLength();
+		int unmatched = 0;
+		synchronized (fPatterns) {
+			for (CompiledPatternMatchListener notifier : fPatterns) {
+				unmatched = Math.max(unmatched, length - notifier.end);
+			}
+		}
+		return unmatched;
+	}
+
+	/**
+	 * Returns the largest number of characters not searched yet found at the
+	 * start of a matching run.
+	 *
+	 * @return largest number of characters not searched yet
+	 */
+	public int getMaxUnmatchedLength() {
+		return fMaxUnmatchedLength;
+	}
+
 	/**
 	 * Removes the given pattern match listener from this console. The listener
 	 * will be disconnected and will no longer receive match notifications.
@@ -0,0 +1,210 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.console;
+
+import java.util.Arrays;
+
+import org.eclipse.jface.text.ITextStore;
+
+/**
+ * Text store of a console document, optimized for appending output and
+ * trimming the beginning of the document.
+ * <p>
+ * The text is kept in a sequence of fixed size chunks. Appending fills the
+ * last chunk and adds new ones, removing text from the beginning drops the
+ * leading chunks, so both cost is proportional to the changed text and not to
+ * the document length, unlike a gap text store which moves the whole content
+ * to open the gap at the beginning. Other replacements rewrite the text
+ * following the replaced range, which is cheap for the changes console
+ * documents see near their end.
+ * </p>
+ * <p>
+ * Chunk start offsets are counted from the creation of the store so trimming
+ * does not update them. Not thread safe, {@link ConsoleDocument} synchronizes
+ * the access.
+ * </p>
+ */
+public class ConsoleTextStore implements ITextStore {
+
+	private static final int CHUNK_SIZE = 16 * 1024;
+
+	private char[][] fChunks = new char[16][];
+
+	/** Start of each chunk counted from the creation of the store */
+	private long[] fStarts = new long[16];
+
+	/** Index of the first chunk in use */
+	private int fFirst;
+
+	/** Index after the last chunk in use */
+	private int fEnd;
+
+	/** Start of the text counted from the creation of the store */
+	private long fBase;
+
+	/** End of the text counted from the creation of the store */
+	private long fLimit;
+
+	/** Chunk of the last character read, characters are often read in sequence */
+	private int fLastChunk;
+
+	@Override
+	public char get(int offset) {
+		long position = fBase + offset;
+		int chunk = fLastChunk;
+		if (chunk < fFirst || chunk >= fEnd || position < fStarts[chunk] || position - fStarts[chunk] >= getChunkLength(chunk)) {
+			chunk = findChunk(position);
+			fLastChunk = chunk;
+		}
+		return fChunks[chunk][(int) (position - fStarts[chunk])];
+	}
+
+	@Override
+	public String get(int offset, int length) {
+		if (length == 0) {
+			return ""; //$NON-NLS-1$
+		}
+		char[] text = new char[length];
+		long position = fBase + offset;
+		int chunk = findChunk(position);
+		int copied = 0;
+		while (copied < length) {
+			int start = (int) (position - fStarts[chunk]);
+			int count = Math.min(length - copied, getChunkLength(chunk) - start);
+			System.arraycopy(fChunks[chunk], start, text, copied, count);
+			copied += count;
+			position += count;
+			chunk++;
+		}
+		return new String(text);
+	}
+
+	@Override
+	public int getLength() {
+		return (int) (fLimit - fBase);
+	}
+
+	@Override
+	public void replace(int offset, int length, String text) {
+		int textLength = text == null ? 0 : text.length();
+		if (length == 0 && offset == getLength()) {
+			append(text);
+		} else if (offset == 0 && textLength == 0) {
+			removeHead(length);
+		} else {
+			String tail = get(offset + length, getLength() - offset - length);
+			truncate(offset);
+			append(text);
+			append(tail);
+		}
+	}
+
+	@Override
+	public void set(String text) {
+		Arrays.fill(fChunks, fFirst, fEnd, null);
+		fFirst = 0;
+		fEnd = 0;
+		fBase = 0;
+		fLimit = 0;
+		append(text);
+	}
+
+	private int getChunkLength(int chunk) {
+		long end = chunk + 1 < fEnd ? fStarts[chunk + 1] : fLimit;
+		return (int) (end - fStarts[chunk]);
+	}
+
+	/**
+	 * Returns the index of the chunk containing the given position.
+	 */
+	private int findChunk(long position) {
+		int low = fFirst;
+		int high = fEnd - 1;
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (fStarts[mid] <= position) {
+				low = mid;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return low;
+	}
+
+	private void append(String text) {
+		int length = text == null ? 0 : text.length();
+		int appended = 0;
+		while (appended < length) {
+			int free = fEnd > fFirst ? CHUNK_SIZE - getChunkLength(fEnd - 1) : 0;
+			if (free == 0) {
+				addChunk();
+				free = CHUNK_SIZE;
+			}
+			int count = Math.min(free, length - appended);
+			int chunk = fEnd - 1;
+			text.getChars(appended, appended + count, fChunks[chunk], getChunkLength(chunk));
+			appended += count;
+			fLimit += count;
+		}
+	}
+
+	private void addChunk() {
+		if (fEnd == fChunks.length) {
+			int used = fEnd - fFirst;
+			if (fFirst > 0 && used < fChunks.length / 2) {
+				// reuse the slots of trimmed chunks
+				System.arraycopy(fChunks, fFirst, fChunks, 0, used);
+				System.arraycopy(fStarts, fFirst, fStarts, 0, used);
+				Arrays.fill(fChunks, used, fEnd, null);
+			} else {
+				fChunks = Arrays.copyOfRange(fChunks, fFirst, fFirst + fChunks.length * 2);
+				fStarts = Arrays.copyOfRange(fStarts, fFirst, fFirst + fStarts.length * 2);
+			}
+			fFirst = 0;
+			fEnd = used;
+		}
+		fChunks[fEnd] = new char[CHUNK_SIZE];
+		fStarts[fEnd] = fLimit;
+		fEnd++;
+	}
+
+	/**
+	 * Removes text from the beginning, dropping the chunks no longer used.
+	 */
+	private void removeHead(int length) {
+		fBase += length;
+		while (fFirst < fEnd && (fFirst + 1 < fEnd ? fStarts[fFirst + 1] <= fBase : fLimit <= fBase)) {
+			fChunks[fFirst++] = null;
+		}
+		if (fFirst == fEnd) {
+			// everything was removed, start over
+			fFirst = 0;
+			fEnd = 0;
+		}
+	}
+
+	/**
+	 * Removes the text from the given offset to the end.
+	 */
+	private void truncate(int offset) {
+		fLimit = fBase + offset;
+		while (fEnd > fFirst && fStarts[fEnd - 1] >= fLimit) {
+			fChunks[--fEnd] = null;
+		}
+		if (fFirst == fEnd) {
+			fFirst = 0;
+			fEnd = 0;
+		}
+	}
+}
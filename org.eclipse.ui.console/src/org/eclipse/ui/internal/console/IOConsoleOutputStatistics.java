@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.console;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counters about output passed from the output streams of an IOConsole to its
+ * document by an {@link IOConsolePartitioner}. Useful to find whether output
+ * handling is limited by the writers or by the UI thread.
+ */
+public class IOConsoleOutputStatistics {
+
+	private final long fStartTime = System.nanoTime();
+
+	private long fAppended;
+
+	private long fWrites;
+
+	private long fBatches;
+
+	private long fApplyTime;
+
+	private long fMaxApplyTime;
+
+	private int fPendingLength;
+
+	private int fMaxPendingLength;
+
+	private long fDropped;
+
+	private long fSpilled;
+
+	/**
+	 * Records output written to a stream of the console.
+	 *
+	 * @param length number of characters written
+	 * @param pendingLength number of characters waiting to be appended to the
+	 *            document afterwards
+	 */
+	synchronized void outputWritten(int length, int pendingLength) {
+		fAppended += length;
+		fWrites++;
+		setPendingLength(pendingLength);
+	}
+
+	/**
+	 * Records output discarded because too much output was pending.
+	 *
+	 * @param length number of characters discarded
+	 */
+	synchronized void outputDropped(int length) {
+		fDropped += length;
+	}
+
+	/**
+	 * Records output spilled to disk because too much output was pending.
+	 *
+	 * @param length number of characters spilled
+	 */
+	synchronized void outputSpilled(int length) {
+		fSpilled += length;
+	}
+
+	/**
+	 * Records a batch of pending output appended to the document.
+	 *
+	 * @param nanos time needed to update the document in nanoseconds
+	 * @param pendingLength number of characters still pending afterwards
+	 */
+	synchronized void batchApplied(long nanos, int pendingLength) {
+		fBatches++;
+		fApplyTime += nanos;
+		fMaxApplyTime = Math.max(fMaxApplyTime, nanos);
+		setPendingLength(pendingLength);
+	}
+
+	private void setPendingLength(int pendingLength) {
+		fPendingLength = pendingLength;
+		fMaxPendingLength = Math.max(fMaxPendingLength, pendingLength);
+	}
+
+	/**
+	 * @return number of characters written to the console streams
+	 */
+	public synchronized long getAppendedLength() {
+		return fAppended;
+	}
+
+	/**
+	 * @return number of writes to the console streams
+	 */
+	public synchronized long getWriteCount() {
+		return fWrites;
+	}
+
+	/**
+	 * @return number of batches appended to the document. Lower than
+	 *         {@link #getWriteCount()} if writes were combined.
+	 */
+	public synchronized long getBatchCount() {
+		return fBatches;
+	}
+
+	/**
+	 * @return number of characters kept in memory waiting to be appended to the
+	 *         document, does not include spilled characters
+	 */
+	public synchronized int getPendingLength() {
+		return fPendingLength;
+	}
+
+	/**
+	 * @return highest number of characters waiting in memory so far
+	 */
+	public synchronized int getMaxPendingLength() {
+		return fMaxPendingLength;
+	}
+
+	/**
+	 * @return number of characters discarded because too much output was
+	 *         pending
+	 */
+	public synchronized long getDroppedLength() {
+		return fDropped;
+	}
+
+	/**
+	 * @return number of characters spilled to disk because too much output was
+	 *         pending
+	 */
+	public synchronized long getSpilledLength() {
+		return fSpilled;
+	}
+
+	/**
+	 * @return average number of characters written per second since the
+	 *         partitioner was created
+	 */
+	public synchronized double getCharactersPerSecond() {
+		long elapsed = System.nanoTime() - fStartTime;
+		return elapsed <= 0 ? 0 : fAppended * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+	}
+
+	/**
+	 * @return average time in milliseconds the UI thread needed to append a
+	 *         batch to the document
+	 */
+	public synchronized double getAverageApplyTime() {
+		return fBatches == 0 ? 0 : fApplyTime / (double) fBatches / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	/**
+	 * @return longest time in milliseconds the UI thread needed to append a
+	 *         batch to the document
+	 */
+	public synchronized double getMaxApplyTime() {
+		return fMaxApplyTime / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	@Override
+	public synchronized String toString() {
+		StringBuilder buffer = new StringBuilder();
+		buffer.append("chars=").append(fAppended); //$NON-NLS-1$
+		buffer.append(", writes=").append(fWrites); //$NON-NLS-1$
+		buffer.append(", batches=").append(fBatches); //$NON-NLS-1$
+		buffer.append(", chars/s=").append(Math.round(getCharactersPerSecond())); //$NON-NLS-1$
+		buffer.append(", pending=").append(fPendingLength); //$NON-NLS-1$
+		buffer.append(", maxPending=").append(fMaxPendingLength); //$NON-NLS-1$
+		buffer.append(", dropped=").append(fDropped); //$NON-NLS-1$
+		buffer.append(", spilled=").append(fSpilled); //$NON-NLS-1$
+		buffer.append(", applyAvg=").append(getAverageApplyTime()).append("ms"); //$NON-NLS-1$ //$NON-NLS-2$
+		buffer.append(", applyMax=").append(getMaxApplyTime()).append("ms"); //$NON-NLS-1$ //$NON-NLS-2$
+		return buffer.toString();
+	}
+}
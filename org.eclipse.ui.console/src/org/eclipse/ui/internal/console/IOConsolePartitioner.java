@@ -22,15 +22,13 @@
 package org.eclipse.ui.internal.console;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -49,6 +47,7 @@ import org.eclipse.jface.text.MultiStringMatcher;
 import org.eclipse.jface.text.MultiStringMatcher.Match;
 import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.TypedRegion;
+import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.custom.StyleRange;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.console.ConsolePlugin;
@@ -57,6 +56,7 @@ import org.eclipse.ui.console.IConsoleDocumentPartitionerExtension;
 import org.eclipse.ui.console.IOConsole;
 import org.eclipse.ui.console.IOConsoleInputStream;
 import org.eclipse.ui.console.IOConsoleOutputStream;
+import org.eclipse.ui.console.IOConsoleOverflowPolicy;
 import org.eclipse.ui.progress.UIJob;
 import org.eclipse.ui.progress.WorkbenchJob;
 
@@ -123,16 +123,63 @@ public class IOConsolePartitioner
 	 */
 	private static final int MAX_BUFFER_BYTES = 16_000_000;
 	/**
-	 * Queue of buffers that have not yet been appended to the document. Every
-	 * buffer will hold up to 8192 byte - but typically a single line output if
-	 * handled fast. The debugged application will block if the limit is exceeded.
+	 * Maximum number of characters in {@link #pendingPartitions}. Output exceeding
+	 * it is handled according to the {@link #overflowPolicy}.
 	 */
-	private final BlockingQueue<PendingPartition> pendingPartitions = new LinkedBlockingQueue<>(
-			MAX_BUFFER_BYTES / 8192);
+	private static final int MAX_PENDING_LENGTH = MAX_BUFFER_BYTES / 2;
+	/** Result of {@link #enqueue(IOConsoleOutputStream, String)}: output was queued. */
+	private static final int ENQUEUED = 0;
+	/** Result of {@link #enqueue(IOConsoleOutputStream, String)}: output must be spilled. */
+	private static final int SPILL_REQUIRED = 1;
+	/** Result of {@link #enqueue(IOConsoleOutputStream, String)}: writer must wait. */
+	private static final int WAIT_REQUIRED = 2;
+	/**
+	 * Queue of output that has not yet been appended to the document. Consecutive
+	 * output of the same stream is combined in one pending partition. All pending
+	 * output related fields are synchronized on this queue.
+	 */
+	private final ArrayDeque<PendingPartition> pendingPartitions = new ArrayDeque<>();
+	/** Number of characters in {@link #pendingPartitions}. */
+	private int pendingLength;
+	/**
+	 * Maximum number of characters of spilled output read back at once.
+	 */
+	private static final int MAX_SPILL_READ_LENGTH = MAX_PENDING_LENGTH / 8;
+	/**
+	 * Output spilled to {@link #spilledOutput} because {@link #pendingPartitions}
+	 * was full. The partitions have no text, only a length. All spilled output is
+	 * newer than the output in {@link #pendingPartitions}.
+	 */
+	private final ArrayDeque<PendingPartition> spilledPartitions = new ArrayDeque<>();
+	/** Text of the {@link #spilledPartitions}. Created on first use. */
+	private ConsoleHistory spilledOutput;
+	/** Offset of the first of the {@link #spilledPartitions} in {@link #spilledOutput}. */
+	private long spilledOutputOffset;
+	/**
+	 * Whether spilled output taken from {@link #spilledPartitions} is being read
+	 * back. Newer output must be spilled meanwhile.
+	 */
+	private boolean spillReading;
+	/**
+	 * Serializes writers spilling output so it is written to the file in order
+	 * without holding the lock of {@link #pendingPartitions}. Acquired before
+	 * that lock.
+	 */
+	private final Object spillLock = new Object();
+	/** Number of characters dropped since the last dropped output marker. */
+	private long droppedLength;
+	/** Stream of the last dropped output. */
+	private IOConsoleOutputStream droppedStream;
+	/** How to handle output if {@link #pendingPartitions} is full. */
+	private volatile IOConsoleOverflowPolicy overflowPolicy = IOConsoleOverflowPolicy.BLOCK;
+	/** Counters about the output passed to the document. */
+	private final IOConsoleOutputStatistics statistics = new IOConsoleOutputStatistics();
 	/** Job that appends pending partitions to the document. */
 	private final QueueProcessingJob queueJob = new QueueProcessingJob();
 	/** Job that trims console content if it exceeds {@link #highWaterMark}. */
 	private final TrimJob trimJob = new TrimJob();
+	/** Job that reads spilled output back into {@link #pendingPartitions}. */
+	private final SpillReadingJob spillReadingJob = new SpillReadingJob();
 	/**
 	 * Reason for document update. Set before changing document inside this
 	 * partitioner to prevent that change is interpreted as user input.
@@ -225,10 +272,11 @@ public class IOConsolePartitioner
 
 	@Override
 	public void disconnect() {
-		pendingPartitions.clear();
+		clearPendingPartitions();
 		synchronized (partitions) {
 			trimJob.cancel();
 			queueJob.cancel();
+			spillReadingJob.cancel();
 			legalLineDelimiterMatcher = null;
 			document = null;
 			inputPartitions = null;
@@ -290,7 +338,7 @@ public class IOConsolePartitioner
 		if (streamsClosed) {
 			// do not expect new data since all streams are closed
 			// check if pending data is queued
-			final boolean morePending = !pendingPartitions.isEmpty();
+			final boolean morePending = hasPendingPartitions();
 			if (morePending) {
 				queueJob.schedule();
 			} else {
@@ -444,7 +492,7 @@ public class IOConsolePartitioner
 	 * Clears the console content.
 	 */
 	public void clearBuffer() {
-		pendingPartitions.clear();
+		clearPendingPartitions();
 		synchronized (partitions) {
 			if (document != null) {
 				trimJob.setTrimOffset(document.getLength());
@@ -691,42 +739,243 @@ public class IOConsolePartitioner
 		if (s == null) {
 			return;
 		}
-		PendingPartition partition = new PendingPartition(stream, s);
-		while (!offer(partition)) {
-			helpProgress();
+		boolean interrupted = false;
+		while (true) {
+			int result;
+			synchronized (spillLock) {
+				synchronized (pendingPartitions) {
+					result = enqueue(stream, s);
+				}
+				if (result == SPILL_REQUIRED) {
+					result = spill(stream, s) ? ENQUEUED : WAIT_REQUIRED;
+				}
+			}
+			if (result == ENQUEUED) {
+				break;
+			}
+			if (Display.getCurrent() == null) {
+				// give UI thread chance to proceed
+				synchronized (pendingPartitions) {
+					try {
+						pendingPartitions.wait(10);
+					} catch (InterruptedException e) {
+						interrupted = true;
+					}
+				}
+				continue;
+			}
+			// make sure pendingPartitions can take
+			queueJob.processPendingPartitions();
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
 		}
 		queueJob.schedule();
 	}
 
-	private void helpProgress() {
-		if (Display.getCurrent() != null) {
-			// make sure pendingPartitions can take
-			queueJob.processPendingPartitions();
+	/**
+	 * Adds output to the pending output, handling a full
+	 * {@link #pendingPartitions} according to the {@link #overflowPolicy}. Must be
+	 * called synchronized on {@link #pendingPartitions}.
+	 *
+	 * @param stream the stream that was written to
+	 * @param s      the output
+	 * @return {@link #ENQUEUED}, {@link #SPILL_REQUIRED} if the output must be
+	 *         spilled or {@link #WAIT_REQUIRED} if the writer has to wait for
+	 *         pending output to be appended to the document
+	 */
+	private int enqueue(IOConsoleOutputStream stream, String s) {
+		final int length = s.length();
+		if (!spilledPartitions.isEmpty() || spillReading) {
+			// keep order, newer output follows the spilled output
+			return SPILL_REQUIRED;
+		} else if (pendingLength > 0 && pendingLength + length > MAX_PENDING_LENGTH) {
+			switch (overflowPolicy) {
+			case DROP:
+				droppedLength += length;
+				droppedStream = stream;
+				statistics.outputDropped(length);
+				break;
+			case SPILL:
+				return SPILL_REQUIRED;
+			default:
+				return WAIT_REQUIRED;
+			}
 		} else {
-			Thread.yield(); // give UI thread chance to proceed
+			if (droppedLength > 0) {
+				addPendingPartition(droppedStream, getDroppedOutputMarker(droppedLength));
+				droppedLength = 0;
+				droppedStream = null;
+			}
+			addPendingPartition(stream, s);
 		}
+		statistics.outputWritten(length, pendingLength);
+		return ENQUEUED;
 	}
 
-	private boolean offer(PendingPartition p) {
+	private void addPendingPartition(IOConsoleOutputStream stream, String s) {
+		final PendingPartition last = pendingPartitions.peekLast();
+		if (last != null && last.stream == stream) {
+			last.append(s);
+		} else {
+			pendingPartitions.add(new PendingPartition(stream, s));
+		}
+		pendingLength += s.length();
+	}
+
+	/**
+	 * Appends output to {@link #spilledOutput}. Must be called synchronized on
+	 * {@link #spillLock} but not on {@link #pendingPartitions} so the file is
+	 * written without blocking the UI.
+	 *
+	 * @param stream the stream that was written to
+	 * @param s      the output
+	 * @return <code>false</code> if the output could not be spilled
+	 */
+	private boolean spill(IOConsoleOutputStream stream, String s) {
+		final ConsoleHistory output;
+		synchronized (pendingPartitions) {
+			if (spilledOutput == null) {
+				spilledOutput = new ConsoleHistory();
+			}
+			output = spilledOutput;
+		}
 		try {
-			return pendingPartitions.offer(p, 10, TimeUnit.MILLISECONDS);
-		} catch (InterruptedException e) {
+			output.append(s);
+		} catch (IOException e) {
+			log(e);
 			return false;
 		}
+		synchronized (pendingPartitions) {
+			final PendingPartition last = spilledPartitions.peekLast();
+			if (last != null && last.stream == stream && last.length + s.length() <= MAX_SPILL_READ_LENGTH) {
+				last.length += s.length();
+			} else {
+				spilledPartitions.add(new PendingPartition(stream, s.length()));
+			}
+			statistics.outputSpilled(s.length());
+			statistics.outputWritten(s.length(), pendingLength);
+		}
+		return true;
+	}
+
+	private static String getDroppedOutputMarker(long length) {
+		return System.lineSeparator() + NLS.bind(ConsoleMessages.IOConsolePartitioner_outputDropped, Long.valueOf(length)) + System.lineSeparator();
+	}
+
+	/**
+	 * @return whether output not yet appended to the document is pending, in
+	 *         memory or spilled
+	 */
+	private boolean hasPendingPartitions() {
+		synchronized (pendingPartitions) {
+			return !pendingPartitions.isEmpty() || !spilledPartitions.isEmpty() || spillReading || droppedLength > 0;
+		}
+	}
+
+	/**
+	 * @return whether output can be appended to the document without reading
+	 *         spilled output
+	 */
+	private boolean hasQueuedPartitions() {
+		synchronized (pendingPartitions) {
+			return !pendingPartitions.isEmpty() || droppedLength > 0;
+		}
+	}
+
+	/**
+	 * Discards all output not yet appended to the document.
+	 */
+	private void clearPendingPartitions() {
+		synchronized (spillLock) {
+			synchronized (pendingPartitions) {
+				pendingPartitions.clear();
+				pendingLength = 0;
+				spilledPartitions.clear();
+				spilledOutputOffset = 0;
+				spillReading = false;
+				droppedLength = 0;
+				droppedStream = null;
+				if (spilledOutput != null) {
+					try {
+						spilledOutput.dispose();
+					} catch (IOException e) {
+						log(e);
+					}
+					spilledOutput = null;
+				}
+				pendingPartitions.notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Get the policy for output written faster than it can be appended to the
+	 * document.
+	 *
+	 * @return the overflow policy
+	 * @see IOConsole#getOverflowPolicy()
+	 */
+	public IOConsoleOverflowPolicy getOverflowPolicy() {
+		return overflowPolicy;
+	}
+
+	/**
+	 * Set the policy for output written faster than it can be appended to the
+	 * document.
+	 *
+	 * @param policy the overflow policy
+	 * @see IOConsole#setOverflowPolicy(IOConsoleOverflowPolicy)
+	 */
+	public void setOverflowPolicy(IOConsoleOverflowPolicy policy) {
+		synchronized (pendingPartitions) {
+			overflowPolicy = Objects.requireNonNull(policy);
+			// writers waiting for space may proceed now
+			pendingPartitions.notifyAll();
+		}
+	}
+
+	/**
+	 * Returns counters about the output passed from the output streams to the
+	 * document.
+	 *
+	 * @return the output statistics
+	 */
+	public IOConsoleOutputStatistics getStatistics() {
+		return statistics;
 	}
 
 	/**
 	 * Holds data until updateJob can be run and the document can be updated.
 	 */
 	private class PendingPartition {
-		private final CharSequence text;
+		private CharSequence text;
 		private final IOConsoleOutputStream stream;
+		/** Length of spilled output, which has no text. */
+		private int length;
 
 		PendingPartition(IOConsoleOutputStream stream, CharSequence text) {
 			this.stream = stream;
 			this.text = text;
 		}
 
+		PendingPartition(IOConsoleOutputStream stream, int length) {
+			this.stream = stream;
+			this.length = length;
+		}
+
+		/**
+		 * Combines further output of the same stream with this partition.
+		 *
+		 * @param s output to append
+		 */
+		void append(String s) {
+			if (!(text instanceof StringBuilder)) {
+				text = new StringBuilder(text);
+			}
+			((StringBuilder) text).append(s);
+		}
+
 		@Override
 		public String toString() {
 			return text.toString();
@@ -759,6 +1008,9 @@ public class IOConsolePartitioner
 			if (ASSERT) {
 				checkPartitions();
 			}
+			if (hasQueuedPartitions()) {
+				schedule();
+			}
 			return Status.OK_STATUS;
 		}
 
@@ -771,7 +1023,7 @@ public class IOConsolePartitioner
 		 */
 		@Override
 		public boolean shouldRun() {
-			return !pendingPartitions.isEmpty();
+			return hasQueuedPartitions();
 		}
 
 		/**
@@ -783,7 +1035,24 @@ public class IOConsolePartitioner
 			// draining the whole buffer here is important - this way we get as much data as
 			// available and may skip to draw text that exceeds the Console buffer size
 			// anyway (see checkBufferSize()).
-			pendingPartitions.drainTo(pendingCopy);
+			final boolean spilled;
+			synchronized (pendingPartitions) {
+				pendingCopy.addAll(pendingPartitions);
+				pendingPartitions.clear();
+				pendingLength = 0;
+				if (droppedLength > 0) {
+					// no output was accepted since the drop
+					pendingCopy.add(new PendingPartition(droppedStream, getDroppedOutputMarker(droppedLength)));
+					droppedLength = 0;
+					droppedStream = null;
+				}
+				spilled = !spilledPartitions.isEmpty();
+				pendingPartitions.notifyAll();
+			}
+			if (spilled) {
+				// read the next batch while this one is appended
+				spillReadingJob.schedule();
+			}
 			int sizeHint = 0;
 			if (pendingCopy.isEmpty()) {
 				return;
@@ -795,6 +1064,7 @@ public class IOConsolePartitioner
 				}
 				sizeHint += p.text.length();
 			}
+			final long start = System.nanoTime();
 			synchronized (partitions) {
 				if (document != null) {
 					applyStreamOutput(pendingCopy, sizeHint);
@@ -802,6 +1072,10 @@ public class IOConsolePartitioner
 				checkFinished();
 				checkBufferSize(); // needs partitions synchronized
 			}
+			final long applyTime = System.nanoTime() - start;
+			synchronized (pendingPartitions) {
+				statistics.batchApplied(applyTime, pendingLength);
+			}
 		}
 
 		/**
@@ -1145,6 +1419,79 @@ public class IOConsolePartitioner
 		}
 	}
 
+	/**
+	 * Job reading spilled output back into {@link #pendingPartitions} in batches
+	 * of at most {@link #MAX_SPILL_READ_LENGTH} characters, outside the UI
+	 * thread and without holding the lock of {@link #pendingPartitions} while
+	 * reading. A batch is only read if it fits in {@link #pendingPartitions}.
+	 */
+	private class SpillReadingJob extends Job {
+
+		SpillReadingJob() {
+			super("IOConsole Spilled Output Reader"); //$NON-NLS-1$
+			setSystem(true);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			final List<PendingPartition> batch = new ArrayList<>();
+			final ConsoleHistory output;
+			long offset;
+			synchronized (pendingPartitions) {
+				if (spillReading || spilledPartitions.isEmpty() || pendingLength > MAX_PENDING_LENGTH - MAX_SPILL_READ_LENGTH) {
+					// appending queued output schedules the next batch
+					return Status.OK_STATUS;
+				}
+				int length = 0;
+				while (!spilledPartitions.isEmpty() && (batch.isEmpty() || length + spilledPartitions.peek().length <= MAX_SPILL_READ_LENGTH)) {
+					final PendingPartition spilled = spilledPartitions.remove();
+					batch.add(spilled);
+					length += spilled.length;
+				}
+				output = spilledOutput;
+				offset = spilledOutputOffset;
+				spilledOutputOffset += length;
+				spillReading = true;
+			}
+			final List<PendingPartition> read = new ArrayList<>(batch.size());
+			for (PendingPartition spilled : batch) {
+				CharSequence text;
+				try {
+					text = output.get(offset, spilled.length);
+				} catch (IOException e) {
+					log(e);
+					text = getDroppedOutputMarker(spilled.length);
+				}
+				read.add(new PendingPartition(spilled.stream, text));
+				offset += spilled.length;
+			}
+			synchronized (spillLock) {
+				synchronized (pendingPartitions) {
+					if (output != spilledOutput) {
+						// cleared meanwhile
+						return Status.OK_STATUS;
+					}
+					spillReading = false;
+					for (PendingPartition partition : read) {
+						addPendingPartition(partition.stream, partition.text.toString());
+					}
+					if (spilledPartitions.isEmpty()) {
+						// no writer is spilling while the spill lock is held
+						try {
+							spilledOutput.clear();
+						} catch (IOException e) {
+							log(e);
+						}
+						spilledOutputOffset = 0;
+					}
+					pendingPartitions.notifyAll();
+				}
+			}
+			queueJob.schedule();
+			return Status.OK_STATUS;
+		}
+	}
+
 	/**
 	 * Job to trim the console document, runs in the UI thread.
 	 */
@@ -1212,8 +1559,8 @@ public class IOConsolePartitioner
 
 						// remove partitions and reset Partition offsets
 						int index = partitions.indexOf(partition);
-						for (int i = 0; i < index; i++) {
-							partitions.remove(0);
+						if (index > 0) {
+							partitions.subList(0, index).clear();
 						}
 
 						int offset = 0;
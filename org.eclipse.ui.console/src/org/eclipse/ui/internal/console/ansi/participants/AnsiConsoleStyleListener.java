@@ -11,9 +11,9 @@
 package org.eclipse.ui.internal.console.ansi.participants;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.regex.Matcher;
+import java.util.Map;
 
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.BadPositionCategoryException;
@@ -21,7 +21,6 @@ import org.eclipse.jface.text.DefaultPositionUpdater;
 import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IPositionUpdater;
-import org.eclipse.jface.text.Position;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.custom.LineStyleEvent;
 import org.eclipse.swt.custom.LineStyleListener;
@@ -30,16 +29,26 @@ import org.eclipse.swt.custom.StyledText;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.GlyphMetrics;
-import org.eclipse.ui.internal.console.ansi.AnsiConsoleUtils;
 import org.eclipse.ui.internal.console.ansi.preferences.AnsiConsolePreferenceUtils;
 import org.eclipse.ui.internal.console.ansi.utils.AnsiConsoleAttributes;
 import org.eclipse.ui.internal.console.ansi.utils.AnsiConsoleColorPalette;
 
 public class AnsiConsoleStyleListener implements LineStyleListener, IPositionUpdater {
 	private static final Font MONO_FONT = new Font(null, "Monospaced", 6, SWT.NORMAL); //$NON-NLS-1$
+	// Lines are painted a screen at a time, a few screens are enough
+	private static final int MAX_CACHED_LINES = 500;
 
 	private final DefaultPositionUpdater defaultPositionUpdater = new DefaultPositionUpdater(AnsiPosition.POSITION_NAME);
-	private final HashMap<Integer, List<StyleRange>> offsetToStyleRangeCache = new HashMap<>();
+	private final Map<Integer, List<StyleRange>> offsetToStyleRangeCache = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, List<StyleRange>> eldest) {
+			return size() > MAX_CACHED_LINES;
+		}
+	};
+	private final AnsiPositionIndex positionIndex = new AnsiPositionIndex();
+	private final AnsiEscapeScanner escapeScanner = new AnsiEscapeScanner();
 	private IDocument document;
 	private boolean documentEverScanned = false;
 	private boolean isCdtBuildConsole = false;
@@ -54,6 +63,8 @@ public class AnsiConsoleStyleListener implements LineStyleListener, IPositionUpd
 
 	private void setDocument(IDocument newDocument) {
 		offsetToStyleRangeCache.clear();
+		positionIndex.clear();
+		escapeScanner.reset();
 		documentEverScanned = false;
 		document = newDocument;
 		isCdtBuildConsole = document.getClass().getSimpleName().equals("BuildConsoleDocument"); //$NON-NLS-1$
@@ -130,14 +141,7 @@ public class AnsiConsoleStyleListener implements LineStyleListener, IPositionUpd
 			calculateDocumentAnsiPositions(document, 0, 0, null);
 		}
 
-		Position[] positions;
-		try {
-			positions = document.getPositions(AnsiPosition.POSITION_NAME);
-		} catch (BadPositionCategoryException e) {
-			return;
-		}
-
-		if (positions.length == 0) {
+		if (positionIndex.size() == 0) {
 			return;
 		}
 
@@ -153,11 +157,13 @@ public class AnsiConsoleStyleListener implements LineStyleListener, IPositionUpd
 		}
 
 		final List<StyleRange> ranges = new ArrayList<>();
-		AnsiConsoleAttributes prevAttr = lastVisibleAttribute;
+		// Skip the positions before the line, only their attributes matter
+		final int first = positionIndex.indexOf(eventOffset);
+		AnsiConsoleAttributes prevAttr = positionIndex.getAttributesBefore(first, lastVisibleAttribute);
 		int prevPos = eventOffset;
 
-		for (Position position : positions) {
-			AnsiPosition apos = (AnsiPosition) position;
+		for (int i = first; i < positionIndex.size(); i++) {
+			AnsiPosition apos = positionIndex.get(i);
 			if (apos.getOffset() > eventOffset + eventLength) { // we passed the end of line, stop searching
 				break;
 			}
@@ -194,19 +200,9 @@ public class AnsiConsoleStyleListener implements LineStyleListener, IPositionUpd
 		}
 	}
 
-	private static List<AnsiPosition> findPositions(int offset, String currentText) {
-		final List<AnsiPosition> result = new ArrayList<>();
-		final Matcher matcher = AnsiConsoleUtils.ESCAPE_SEQUENCE_REGEX_TXT.matcher(currentText);
-		while (matcher.find()) {
-			int start = matcher.start();
-			String group = matcher.group();
-			result.add(new AnsiPosition(start + offset, group));
-		}
-		return result;
-	}
-
 	/**
 	 * We scan newly appended text, or the full document the first time.
+	 * An escape sequence split between two appends is found with the second one.
 	 *
 	 * Although in a general an IDocument can also replace text, or insert text in the middle (or beginning)
 	 * that would complicate things a lot.
@@ -235,9 +231,10 @@ public class AnsiConsoleStyleListener implements LineStyleListener, IPositionUpd
 		}
 		documentEverScanned = true;
 		try {
-			List<AnsiPosition> newPos = findPositions(offset, text);
+			List<AnsiPosition> newPos = escapeScanner.scan(offset, text);
 			for (AnsiPosition apos : newPos) {
 				eventDocument.addPosition(AnsiPosition.POSITION_NAME, apos);
+				positionIndex.add(apos);
 			}
 		} catch (BadPositionCategoryException | BadLocationException e) {
 			// ignored
@@ -252,29 +249,89 @@ public class AnsiConsoleStyleListener implements LineStyleListener, IPositionUpd
 		}
 
 		final IDocument eventDocument = event.getDocument();
+		// The listener might still be registered with previous documents, those are scanned again when shown
+		if (eventDocument != document) {
+			defaultPositionUpdater.update(event);
+			return;
+		}
 
 		final int offset = event.getOffset();
 		final int length = event.getLength();
 		final String text = event.getText();
-		try {
-			if (offset == 0 && length != 0) { // This removes the beginning. We scan to find and save the last style.
-				for (Position pos : eventDocument.getPositions(AnsiPosition.POSITION_NAME)) {
-					if (pos.offset >= length) {
-						break;
+		if (offset == 0 && length != 0) { // This removes the beginning. We save the last style of the removed text.
+			int removed = 0;
+			while (removed < positionIndex.size() && positionIndex.get(removed).offset < length) {
+				removed++;
+			}
+			lastVisibleAttribute = positionIndex.getAttributesBefore(removed, lastVisibleAttribute);
+		}
+		defaultPositionUpdater.update(event);
+		final int textLength = text == null ? 0 : text.length();
+		if (length != 0 || offset + textLength != eventDocument.getLength()) { // Not an append
+			escapeScanner.replaced(offset, length, textLength);
+		}
+		if (length != 0) {
+			// Escapes starting where the text was removed are only shrunk, drop the empty ones
+			for (int i = 0; i < positionIndex.size(); i++) {
+				AnsiPosition apos = positionIndex.get(i);
+				if (apos.isDeleted()) {
+					continue;
+				}
+				if (apos.offset > offset) {
+					break;
+				}
+				if (apos.offset == offset && apos.length == 0) {
+					apos.delete();
+					try {
+						eventDocument.removePosition(AnsiPosition.POSITION_NAME, apos);
+					} catch (BadPositionCategoryException e) {
+						// ignored
 					}
-					AnsiConsoleAttributes attributes = ((AnsiPosition) pos).attributes;
-					if (attributes != null) {
-						lastVisibleAttribute = attributes;
+				}
+			}
+			if (offset == 0) {
+				positionIndex.removeDeletedHead();
+			} else {
+				positionIndex.removeDeleted();
+			}
+		}
+		// This will only do something on new text (appended)
+		calculateDocumentAnsiPositions(eventDocument, offset, length, text);
+		updateCachedStyles(eventDocument, offset, length, textLength);
+	}
+
+	/**
+	 * Drops or moves the cached styles of the lines affected by a document change.
+	 * Appending text only changes the styles of the last line, removing the
+	 * beginning moves the styles of the remaining lines.
+	 */
+	private void updateCachedStyles(IDocument eventDocument, int offset, int length, int textLength) {
+		if (length == 0 && offset + textLength == eventDocument.getLength()) {
+			try {
+				// an escape sequence completed by the appended text starts in the same line
+				offsetToStyleRangeCache.remove(eventDocument.getLineOffset(eventDocument.getLineOfOffset(offset)));
+			} catch (BadLocationException e) {
+				offsetToStyleRangeCache.clear();
+			}
+		} else if (offset == 0 && textLength == 0) {
+			List<Map.Entry<Integer, List<StyleRange>>> entries = new ArrayList<>(offsetToStyleRangeCache.entrySet());
+			offsetToStyleRangeCache.clear();
+			for (Map.Entry<Integer, List<StyleRange>> entry : entries) {
+				int lineOffset = entry.getKey().intValue() - length;
+				// lines which were removed entirely or in part are dropped
+				if (lineOffset >= 0) {
+					List<StyleRange> ranges = new ArrayList<>(entry.getValue().size());
+					for (StyleRange range : entry.getValue()) {
+						// the ranges handed out before are not changed
+						StyleRange moved = (StyleRange) range.clone();
+						moved.start -= length;
+						ranges.add(moved);
 					}
+					offsetToStyleRangeCache.put(lineOffset, ranges);
 				}
 			}
-			defaultPositionUpdater.update(event);
-			// This will only do something on new text (appended)
-			calculateDocumentAnsiPositions(eventDocument, offset, length, text);
-			// Would probably be possible to re-calculate things. But let's measure first (premature optimization and all that :-)
+		} else {
 			offsetToStyleRangeCache.clear();
-		} catch (BadPositionCategoryException e) {
-			// ignored
 		}
 	}
 }
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.console.ansi.participants;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.ui.internal.console.ansi.AnsiConsoleUtils;
+
+/**
+ * Finds the escape sequences of text appended to a console document chunk by
+ * chunk.
+ * <p>
+ * The scanner is a state machine accepting the same sequences as
+ * {@link AnsiConsoleUtils#ESCAPE_SEQUENCE_REGEX_TXT}. Only the appended text is
+ * scanned, and a sequence split between two appends is completed by the second
+ * one.
+ * </p>
+ */
+public class AnsiEscapeScanner {
+
+	private static final char ESCAPE = '\u001b';
+	private static final String COMMANDS = "ABCDEFGHJKSTfimnsu"; //$NON-NLS-1$
+
+	// The incomplete escape sequence at the end of the scanned text
+	private final StringBuilder pending = new StringBuilder();
+	private int pendingOffset;
+	// Offset the next chunk is expected at, -1 if unknown
+	private int nextOffset = -1;
+
+	/**
+	 * Scans a chunk of text.
+	 *
+	 * @param offset the document offset of the chunk, an incomplete escape
+	 *               sequence of the previous chunk is discarded unless the chunk
+	 *               follows it
+	 * @param text   the text of the chunk
+	 * @return the escape sequences completed by the chunk, in document order
+	 */
+	public List<AnsiPosition> scan(int offset, String text) {
+		if (offset != nextOffset) {
+			pending.setLength(0);
+		}
+		final List<AnsiPosition> result = new ArrayList<>();
+		final int length = text.length();
+		int i = 0;
+		while (i < length) {
+			if (pending.length() == 0) {
+				i = text.indexOf(ESCAPE, i);
+				if (i < 0) {
+					break;
+				}
+				pendingOffset = offset + i;
+				pending.append(ESCAPE);
+				i++;
+				continue;
+			}
+			char ch = text.charAt(i);
+			if (pending.length() == 1 ? ch == '[' : (ch >= '0' && ch <= '9') || ch == ';') {
+				pending.append(ch);
+				i++;
+			} else if (pending.length() > 1 && COMMANDS.indexOf(ch) >= 0) {
+				pending.append(ch);
+				result.add(new AnsiPosition(pendingOffset, pending.toString()));
+				pending.setLength(0);
+				i++;
+			} else {
+				// Not an escape sequence, the character may start the next one
+				pending.setLength(0);
+			}
+		}
+		nextOffset = offset + length;
+		return result;
+	}
+
+	/**
+	 * Adjusts the scanner to text replaced in the document. Changes in front of
+	 * an incomplete escape sequence shift it, other changes discard it.
+	 *
+	 * @param offset     the offset of the replaced text
+	 * @param length     the length of the replaced text
+	 * @param textLength the length of the replacing text
+	 */
+	public void replaced(int offset, int length, int textLength) {
+		if (nextOffset < 0) {
+			return;
+		}
+		int limit = pending.length() > 0 ? pendingOffset : nextOffset;
+		if (offset + length <= limit) {
+			pendingOffset += textLength - length;
+			nextOffset += textLength - length;
+		} else {
+			reset();
+		}
+	}
+
+	public void reset() {
+		pending.setLength(0);
+		nextOffset = -1;
+	}
+}
@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.console.ansi.participants;
+
+import java.util.Arrays;
+
+import org.eclipse.ui.internal.console.ansi.utils.AnsiConsoleAttributes;
+
+/**
+ * Offset sorted index of the escape sequences of a console document.
+ * <p>
+ * Escape sequences do not overlap, so sorting them by offset also sorts them by
+ * end offset and the positions overlapping a line are found with a binary
+ * search. Next to each position the index keeps the attributes in effect after
+ * it, so the attributes a line starts with are known without walking the
+ * positions preceding it.
+ * </p>
+ * <p>
+ * The positions are shared with the document, which updates their offsets and
+ * marks the removed ones as deleted. Console documents only append text or
+ * remove it from the beginning, so the order of the positions never changes.
+ * </p>
+ */
+public class AnsiPositionIndex {
+
+	private AnsiPosition[] positions = new AnsiPosition[16];
+	private AnsiConsoleAttributes[] effectiveAttributes = new AnsiConsoleAttributes[16];
+	// the positions are stored from index first to index end (exclusive), so
+	// positions removed from the head don't move the others
+	private int first;
+	private int end;
+
+	/**
+	 * Appends a position, which must not start before the last position of this
+	 * index.
+	 *
+	 * @param position the position to append
+	 */
+	public void add(AnsiPosition position) {
+		if (end == positions.length) {
+			makeRoom();
+		}
+		AnsiConsoleAttributes attributes = position.attributes;
+		if (attributes == null && end > first) {
+			// non SGR escapes (for example \e[K) don't change the attributes
+			attributes = effectiveAttributes[end - 1];
+		}
+		positions[end] = position;
+		effectiveAttributes[end] = attributes;
+		end++;
+	}
+
+	/**
+	 * Moves the positions to the start of the arrays if the removed head takes
+	 * at least half of them, otherwise grows the arrays.
+	 */
+	private void makeRoom() {
+		int size = size();
+		int capacity = first >= positions.length / 2 ? positions.length : positions.length + (positions.length >> 1);
+		AnsiPosition[] newPositions = new AnsiPosition[capacity];
+		AnsiConsoleAttributes[] newAttributes = new AnsiConsoleAttributes[capacity];
+		System.arraycopy(positions, first, newPositions, 0, size);
+		System.arraycopy(effectiveAttributes, first, newAttributes, 0, size);
+		positions = newPositions;
+		effectiveAttributes = newAttributes;
+		first = 0;
+		end = size;
+	}
+
+	/**
+	 * Drops the deleted positions at the start of the index, which are the
+	 * positions removed with the beginning of the document. Only walks the
+	 * dropped positions.
+	 */
+	public void removeDeletedHead() {
+		while (first < end && positions[first].isDeleted()) {
+			positions[first] = null;
+			effectiveAttributes[first] = null;
+			first++;
+		}
+		if (first == end) {
+			first = 0;
+			end = 0;
+		}
+	}
+
+	/**
+	 * Drops all positions the document deleted. Walks all positions, use
+	 * {@link #removeDeletedHead()} if only the beginning of the document was
+	 * removed.
+	 */
+	public void removeDeleted() {
+		int kept = first;
+		for (int i = first; i < end; i++) {
+			if (!positions[i].isDeleted()) {
+				positions[kept] = positions[i];
+				effectiveAttributes[kept] = effectiveAttributes[i];
+				kept++;
+			}
+		}
+		Arrays.fill(positions, kept, end, null);
+		Arrays.fill(effectiveAttributes, kept, end, null);
+		end = kept;
+		removeDeletedHead();
+	}
+
+	public void clear() {
+		Arrays.fill(positions, first, end, null);
+		Arrays.fill(effectiveAttributes, first, end, null);
+		first = 0;
+		end = 0;
+	}
+
+	public int size() {
+		return end - first;
+	}
+
+	public AnsiPosition get(int index) {
+		return positions[first + index];
+	}
+
+	/**
+	 * Returns the index of the first position ending after the given offset, that
+	 * is the first position which overlaps with or follows a range starting at
+	 * the offset.
+	 *
+	 * @param offset document offset
+	 * @return index of the first position ending after the offset, or
+	 *         {@link #size()} if there is none
+	 */
+	public int indexOf(int offset) {
+		int low = first;
+		int high = end - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			AnsiPosition position = positions[mid];
+			if (position.offset + position.length <= offset) {
+				low = mid + 1;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return low - first;
+	}
+
+	/**
+	 * Returns the attributes in effect before the position at the given index.
+	 *
+	 * @param index            index of a position, or {@link #size()}
+	 * @param defaultAttributes the attributes to return if no position before
+	 *                         the index sets any
+	 * @return the attributes in effect before the position at the index
+	 */
+	public AnsiConsoleAttributes getAttributesBefore(int index, AnsiConsoleAttributes defaultAttributes) {
+		AnsiConsoleAttributes attributes = index > 0 ? effectiveAttributes[first + index - 1] : null;
+		return attributes != null ? attributes : defaultAttributes;
+	}
+}